@@ -8,18 +8,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.micronaut.context.ApplicationContext;
 import io.micronaut.context.event.BeanCreatedEvent;
 import io.micronaut.context.event.BeanCreatedEventListener;
 import io.micronaut.runtime.Micronaut;
+import io.micronaut.runtime.server.EmbeddedServer;
 import jakarta.inject.Singleton;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 public class Application {
+    // Set when training the class-data sharing archive: start up, let one player in, and exit
+    static final String CDS_TRAINING_PROPERTY = "fullsteam.cds.training";
+
     public static void main(String[] args) {
-        Micronaut.run(Application.class, args);
+        ApplicationContext context = Micronaut.run(Application.class, args);
+        if (Boolean.getBoolean(CDS_TRAINING_PROPERTY)) {
+            int status = 0;
+            try {
+                StartupProbe.connectPlayer(context.getBean(EmbeddedServer.class).getURI());
+            } catch (Exception e) {
+                LoggerFactory.getLogger(Application.class).error("Class-data sharing training run failed", e);
+                status = 1;
+            }
+            context.close();
+            // Game loops run on non-daemon threads; exiting is also when the archive is written
+            System.exit(status);
+        }
     }
 
     @Singleton
@@ -4,7 +4,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 public class Config {
-    public static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(8);
+    public static final int GAME_THREADS = 8;
+    public static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(GAME_THREADS);
+    // How often each game loop ticks
+    public static final long TICK_INTERVAL_MS = 16;
 
     // Player physics configuration
     public static final double PLAYER_SPEED = 600.0; // pixels per second (max speed)
@@ -1,25 +1,57 @@
 package com.fullsteam;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.cluster.FileNodeRegistry;
+import com.fullsteam.cluster.InMemoryNodeRegistry;
+import com.fullsteam.cluster.NodeClient;
+import com.fullsteam.cluster.NodeRegistry;
 import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameImage;
 import com.fullsteam.games.GameManager;
 import com.fullsteam.model.GameInfo;
+import com.fullsteam.model.LobbyInfo;
+import com.fullsteam.model.NodeInfo;
 import com.fullsteam.util.GameConstants;
 import com.fullsteam.util.IdGenerator;
+import io.micronaut.context.annotation.Context;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
-import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
-@Singleton
-public class GameLobby {
+/**
+ * The games hosted on this node, and this node's view of the cluster.
+ * <p>
+ * Without a cluster directory the lobby runs as a single node and every game is local. With one,
+ * every node publishes its load and games to a shared {@link NodeRegistry}: new games are placed on
+ * the node with the most tick-budget headroom, and the game list covers every node, each game with
+ * the address of the node to connect to. A running game can be moved to another node, as a
+ * {@link GameImage}; draining a node moves all of its games before it is taken down.
+ * <p>
+ * New games are taken from a {@link GamePool} of games built ahead of time when one is ready.
+ * <p>
+ * The game list is kept as a {@link LobbyListing}, invalidated by whatever changes it; other nodes'
+ * games are as of the last heartbeat.
+ * <p>
+ * The lobby is created with the server rather than on its first request, so the node joins the cluster
+ * and builds its first pooled games while it waits for players.
+ */
+@Context
+public class GameLobby implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(GameLobby.class);
 
     private final Map<String, GameManager> activeGames = new ConcurrentSkipListMap<>();
@@ -28,65 +60,455 @@ public class GameLobby {
     // Game cleanup settings
     private static final long CLEANUP_CHECK_INTERVAL_MS = 30 * 1000; // 30 seconds
     private static final long AI_ONLY_GRACE_PERIOD_MS = 2 * 60 * 1000; // 2 minutes grace period for players to join
+    private static final long HEARTBEAT_INTERVAL_MS = 2000;
+    // How long to wait for a game's tick to capture it for a move
+    private static final long CAPTURE_TIMEOUT_MS = 1000;
+
+    /**
+     * Where a new game was placed.
+     *
+     * @param nodeAddress base URL of the node hosting the game, or null when running as a single node
+     */
+    public record PlacedGame(String gameId, String nodeAddress) {
+    }
+
+    /**
+     * Other nodes' games and players, as of the last heartbeat.
+     */
+    private record RemoteView(long playerCount, List<GameInfo> games) {
+    }
 
     private final ObjectMapper objectMapper;
+    private final NodeRegistry nodeRegistry;
+    private final NodeClient nodeClient = new NodeClient(GameConstants.CLUSTER_SECRET);
+    private final GamePool gamePool;
+    private final String nodeId;
+    private final String nodeAddress;
+    private final boolean clustered;
+    // Set while this node hands its games to other nodes and takes no new ones, until undrained
+    private volatile boolean draining = false;
+    private final LobbyListing listing;
+    private volatile RemoteView remoteView = new RemoteView(0, List.of());
+    private final ScheduledFuture<?> cleanup;
+    private final ScheduledFuture<?> heartbeat;
 
     @Inject
     public GameLobby(ObjectMapper objectMapper) {
+        this(objectMapper,
+                GameConstants.CLUSTER_DIR != null
+                        ? new FileNodeRegistry(Path.of(GameConstants.CLUSTER_DIR))
+                        : new InMemoryNodeRegistry(),
+                GameConstants.NODE_ID,
+                GameConstants.NODE_ADDRESS,
+                GameConstants.CLUSTER_DIR != null);
+    }
+
+    /**
+     * @param clustered whether other nodes share the registry
+     */
+    GameLobby(ObjectMapper objectMapper, NodeRegistry nodeRegistry, String nodeId, String nodeAddress, boolean clustered) {
         this.objectMapper = objectMapper;
-        Config.EXECUTOR.scheduleAtFixedRate(this::cleanupAIOnlyGames, CLEANUP_CHECK_INTERVAL_MS, CLEANUP_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        this.nodeRegistry = nodeRegistry;
+        this.nodeId = nodeId;
+        this.nodeAddress = nodeAddress;
+        this.clustered = clustered;
+        this.listing = new LobbyListing(this::buildListing, objectMapper);
+        this.gamePool = new GamePool(gameConfig -> new GameManager(nextGameId(), gameConfig, objectMapper, false));
+        gamePool.prime(defaultGameConfig());
+        if (clustered) {
+            if (nodeAddress == null) {
+                log.warn("Node {} has no node.address; other nodes won't be able to send players to it", nodeId);
+            }
+            if (GameConstants.CLUSTER_SECRET == null) {
+                log.warn("Node {} has no cluster.secret; nodes won't be able to place or move games on each other", nodeId);
+            }
+            log.info("Node {} joining cluster at {}", nodeId, GameConstants.CLUSTER_DIR);
+        }
+        publishHeartbeat();
+        cleanup = Config.EXECUTOR.scheduleAtFixedRate(this::cleanupAIOnlyGames, CLEANUP_CHECK_INTERVAL_MS, CLEANUP_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        heartbeat = Config.EXECUTOR.scheduleAtFixedRate(this::publishHeartbeat, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Stop every game hosted here and the lobby's background work, as the server shuts down.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        cleanup.cancel(false);
+        heartbeat.cancel(false);
+        gamePool.close();
+        for (String gameId : new ArrayList<>(activeGames.keySet())) {
+            removeGame(gameId);
+        }
+    }
+
+    /**
+     * Games on every live node.
+     */
     public List<GameInfo> getActiveGames() {
-        return activeGames.values().stream()
-                .map(GameManager::getGameInfo)
-                .toList();
+        List<GameInfo> games = new ArrayList<>(getLocalGames());
+        for (NodeInfo node : getRemoteNodes()) {
+            games.addAll(node.games());
+        }
+        return games;
     }
 
+    /**
+     * Players on every live node.
+     */
     public long getGlobalPlayerCount() {
-        return globalPlayerCount.get();
+        long players = globalPlayerCount.get();
+        for (NodeInfo node : getRemoteNodes()) {
+            players += node.playerCount();
+        }
+        return players;
+    }
+
+    /**
+     * The game list of every live node, encoded.
+     */
+    public LobbyListing getListing() {
+        return listing;
+    }
+
+    private LobbyInfo buildListing() {
+        RemoteView remote = remoteView;
+        List<GameInfo> games = new ArrayList<>(getLocalGames());
+        games.addAll(remote.games());
+        return new LobbyInfo(globalPlayerCount.get() + remote.playerCount(), GameConstants.MAX_GLOBAL_PLAYERS, games);
     }
 
     public GameManager createGame() {
-        return createGameWithConfig(GameConfig.builder()
-                .maxPlayers(18)
-                .teamCount(4)
-                .worldHeight(3000)
-                .worldWidth(3000)
-                .build());
+        return createGameWithConfig(defaultGameConfig());
+    }
+
+    /**
+     * Create a game on the node with the most tick-budget headroom, which may be this one.
+     *
+     * @param placeHere host the game on this node, because another node already chose it
+     */
+    public PlacedGame placeGame(GameConfig gameConfig, boolean placeHere) {
+        if (gameConfig == null) {
+            gameConfig = defaultGameConfig();
+        }
+        applyServerLimits(gameConfig);
+        NodeInfo node = placeHere || !clustered ? null : choosePlacement();
+        if (node == null || node.nodeId().equals(nodeId)) {
+            return new PlacedGame(createGameWithConfig(gameConfig).getGameId(), nodeAddress);
+        }
+        String gameId = nodeClient.createGame(node, gameConfig);
+        log.info("Placed new game {} on node {} ({} tick headroom)", gameId, node.nodeId(), String.format("%.2f", node.tickHeadroom()));
+        return new PlacedGame(gameId, node.address());
+    }
+
+    /**
+     * Turn off what a client asked for that this server doesn't allow.
+     */
+    static void applyServerLimits(GameConfig gameConfig) {
+        gameConfig.setEnableAITrace(gameConfig.isEnableAITrace() && GameConstants.ALLOW_AI_TRACE);
+        gameConfig.setEnableReplayRecording(gameConfig.isEnableReplayRecording() && GameConstants.ALLOW_REPLAY_RECORDING);
+        gameConfig.setEnableSnapshotArchive(gameConfig.isEnableSnapshotArchive() && GameConstants.ALLOW_SNAPSHOT_ARCHIVE);
+        gameConfig.setSnapshotSegmentMegabytes(Math.min(gameConfig.getSnapshotSegmentMegabytes(), GameConstants.MAX_SNAPSHOT_SEGMENT_MEGABYTES));
+        gameConfig.setSnapshotRetentionSeconds(Math.min(gameConfig.getSnapshotRetentionSeconds(), GameConstants.MAX_SNAPSHOT_RETENTION_SECONDS));
+    }
+
+    /**
+     * The live node with the most tick-budget headroom that can still take a game, or null if all are full.
+     */
+    NodeInfo choosePlacement() {
+        List<NodeInfo> nodes = getReachableRemoteNodes();
+        nodes.add(createNodeInfo());
+        return leastLoaded(nodes);
+    }
+
+    private static NodeInfo leastLoaded(List<NodeInfo> nodes) {
+        return nodes.stream()
+                .filter(node -> node.gameCount() < GameConstants.MAX_GLOBAL_GAMES && node.tickHeadroom() > 0)
+                .max(Comparator.comparingDouble(NodeInfo::tickHeadroom)
+                        .thenComparing(Comparator.comparingInt(NodeInfo::gameCount).reversed()))
+                .orElse(null);
     }
 
     public GameManager createGameWithConfig(GameConfig gameConfig) {
         if (activeGames.size() >= GameConstants.MAX_GLOBAL_GAMES) {
             throw new IllegalStateException("Maximum number of games reached");
         }
-        String gameId = IdGenerator.nextGameId();
-        GameManager game = new GameManager(gameId, gameConfig, objectMapper);
+        GameManager game = gamePool.claim(gameConfig);
+        if (game != null) {
+            game.setLobbyListener(listing::invalidate);
+            game.start();
+        } else {
+            game = new GameManager(nextGameId(), gameConfig, objectMapper);
+            game.setLobbyListener(listing::invalidate);
+        }
+        String gameId = game.getGameId();
         activeGames.put(gameId, game);
+        listing.invalidate();
+        nodeRegistry.assignGame(gameId, nodeId);
         log.info("Created new game: {} with config: maxPlayers={}, teamCount={}, world={}x{}",
                 gameId, gameConfig.getMaxPlayers(), gameConfig.getTeamCount(),
                 gameConfig.getWorldWidth(), gameConfig.getWorldHeight());
         return game;
     }
 
+    private String nextGameId() {
+        // Game ids must be unique across the cluster
+        return clustered ? nodeId + "-" + IdGenerator.nextGameId() : IdGenerator.nextGameId();
+    }
+
     public GameManager getGame(String gameId) {
         return activeGames.get(gameId);
     }
 
+    /**
+     * @return the address of the other node hosting the game, or null if no other live node is
+     */
+    public String getRemoteGameAddress(String gameId) {
+        if (!clustered || activeGames.containsKey(gameId)) {
+            return null;
+        }
+        String gameNode = nodeRegistry.getGameNode(gameId);
+        if (gameNode == null || gameNode.equals(nodeId)) {
+            return null;
+        }
+        return getRemoteNodes().stream()
+                .filter(node -> node.nodeId().equals(gameNode))
+                .map(NodeInfo::address)
+                .findFirst()
+                .orElse(null);
+    }
+
     public void removeGame(String gameId) {
         GameManager removed = activeGames.remove(gameId);
         if (removed != null) {
+            listing.invalidate();
             log.info("Removed game: {}", gameId);
-            removed.shutdown();
+            nodeRegistry.releaseGame(gameId);
+            endGame(removed);
+        }
+    }
+
+    /**
+     * Stop a game for good, along with its replay log unless the server keeps them.
+     */
+    private static void endGame(GameManager game) {
+        game.shutdown();
+        if (!GameConstants.KEEP_REPLAYS) {
+            game.deleteReplay();
+        }
+    }
+
+    /**
+     * Move a game to another node: freeze it, hand its image over, and send its players there to
+     * resume. If the other node can't take it, the game carries on here.
+     *
+     * @param targetNodeId the node to move the game to
+     * @throws IllegalArgumentException if the game isn't hosted here or the node isn't live
+     * @throws IllegalStateException    if the game couldn't be moved
+     */
+    public PlacedGame migrateGame(String gameId, String targetNodeId) {
+        GameManager game = activeGames.get(gameId);
+        if (game == null) {
+            throw new IllegalArgumentException("Game " + gameId + " isn't hosted on node " + nodeId);
+        }
+        NodeInfo target = getReachableRemoteNodes().stream()
+                .filter(node -> node.nodeId().equals(targetNodeId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Node " + targetNodeId + " isn't live"));
+        return migrateGame(game, target);
+    }
+
+    private PlacedGame migrateGame(GameManager game, NodeInfo target) {
+        String gameId = game.getGameId();
+        long frozenAt = System.nanoTime();
+        Future<GameImage.Captured> capture = game.freezeForMigration();
+        GameImage.Captured captured;
+        try {
+            captured = capture.get(CAPTURE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            capture.cancel(false);
+            game.thaw();
+            throw new IllegalStateException("Interrupted capturing game " + gameId, e);
+        } catch (ExecutionException | TimeoutException e) {
+            capture.cancel(false);
+            game.thaw();
+            throw new IllegalStateException("Failed to capture game " + gameId, e);
+        }
+        try {
+            nodeClient.importGame(target.address(), captured.image());
+        } catch (IllegalStateException e) {
+            game.thaw();
+            throw e;
+        }
+
+        // The other node has taken over the game's registration
+        activeGames.remove(gameId);
+        listing.invalidate();
+        endGame(game);
+        game.redirectPlayers(target.address(), captured.resumeTokens());
+        log.info("Moved game {} to node {} ({} bytes, {} players), frozen for {} ms",
+                gameId, target.nodeId(), captured.image().length, captured.resumeTokens().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - frozenAt));
+        return new PlacedGame(gameId, target.address());
+    }
+
+    /**
+     * Stop taking new games and move every game hosted here to the other nodes, e.g. ahead of a deploy.
+     * Games no other node can take carry on here.
+     *
+     * @return the number of games moved
+     */
+    public int drain() {
+        draining = true;
+        publishHeartbeat();
+        int moved = 0;
+        for (GameManager game : new ArrayList<>(activeGames.values())) {
+            NodeInfo target = leastLoaded(getReachableRemoteNodes());
+            if (target == null) {
+                log.warn("No node can take game {}, it stays on draining node {}", game.getGameId(), nodeId);
+                continue;
+            }
+            try {
+                migrateGame(game, target);
+                moved++;
+            } catch (IllegalStateException e) {
+                log.error("Failed to move game {} to node {}", game.getGameId(), target.nodeId(), e);
+            }
+        }
+        log.info("Drained node {}: moved {} games, {} left", nodeId, moved, activeGames.size());
+        return moved;
+    }
+
+    /**
+     * Take new games again after {@link #drain()}, e.g. once the deploy it was drained for is done.
+     */
+    public void undrain() {
+        draining = false;
+        publishHeartbeat();
+        log.info("Node {} takes games again", nodeId);
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * Continue a game moved here from another node.
+     *
+     * @throws IOException           if the image can't be read
+     * @throws IllegalStateException if this node can't take the game
+     */
+    public GameManager importGame(byte[] image) throws IOException {
+        if (draining) {
+            throw new IllegalStateException("Node " + nodeId + " is draining");
+        }
+        if (activeGames.size() >= GameConstants.MAX_GLOBAL_GAMES) {
+            throw new IllegalStateException("Maximum number of games reached");
         }
+        long start = System.nanoTime();
+        GameManager game = GameImage.restore(image, objectMapper, GameLobby::applyServerLimits);
+        if (activeGames.putIfAbsent(game.getGameId(), game) != null) {
+            game.shutdown();
+            throw new IllegalStateException("Game " + game.getGameId() + " is already hosted on node " + nodeId);
+        }
+        nodeRegistry.assignGame(game.getGameId(), nodeId);
+        game.setLobbyListener(listing::invalidate);
+        listing.invalidate();
+        game.thaw();
+        log.info("Restored game {} with {} players from a {} byte image in {} ms",
+                game.getGameId(), game.getGameEntities().getAllPlayers().size(), image.length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return game;
     }
 
     public void incrementPlayerCount() {
         globalPlayerCount.incrementAndGet();
+        listing.invalidate();
     }
 
     public void decrementPlayerCount() {
         globalPlayerCount.decrementAndGet();
+        listing.invalidate();
+    }
+
+    private GameConfig defaultGameConfig() {
+        return GameConfig.builder()
+                .maxPlayers(18)
+                .teamCount(4)
+                .worldHeight(3000)
+                .worldWidth(3000)
+                .build();
+    }
+
+    private List<GameInfo> getLocalGames() {
+        return activeGames.values().stream()
+                .map(game -> game.getGameInfo().withNodeAddress(nodeAddress))
+                .toList();
+    }
+
+    private List<NodeInfo> getReachableRemoteNodes() {
+        List<NodeInfo> nodes = new ArrayList<>(getRemoteNodes());
+        nodes.removeIf(node -> node.address() == null);
+        return nodes;
+    }
+
+    private List<NodeInfo> getRemoteNodes() {
+        if (!clustered) {
+            return List.of();
+        }
+        return nodeRegistry.getLiveNodes().stream()
+                .filter(node -> !node.nodeId().equals(nodeId))
+                .toList();
+    }
+
+    /**
+     * This node's current load: the share of the game threads' tick budget its games leave free.
+     */
+    NodeInfo createNodeInfo() {
+        double budgetNanos = Config.GAME_THREADS * TimeUnit.MILLISECONDS.toNanos(Config.TICK_INTERVAL_MS);
+        long usedNanos = 0;
+        for (GameManager game : activeGames.values()) {
+            usedNanos += game.getAverageTickNanos();
+        }
+        // A draining node takes no new games
+        double headroom = draining ? 0 : Math.max(0, 1 - usedNanos / budgetNanos);
+        return new NodeInfo(
+                nodeId,
+                nodeAddress,
+                headroom,
+                activeGames.size(),
+                globalPlayerCount.get(),
+                System.currentTimeMillis(),
+                getLocalGames()
+        );
+    }
+
+    private void publishHeartbeat() {
+        try {
+            nodeRegistry.heartbeat(createNodeInfo());
+            refreshRemoteView();
+        } catch (Exception e) {
+            log.error("Failed to publish heartbeat of node {}", nodeId, e);
+        }
+    }
+
+    private void refreshRemoteView() {
+        if (!clustered) {
+            return;
+        }
+        long players = 0;
+        List<GameInfo> games = new ArrayList<>();
+        for (NodeInfo node : getRemoteNodes()) {
+            players += node.playerCount();
+            games.addAll(node.games());
+        }
+        RemoteView view = new RemoteView(players, List.copyOf(games));
+        if (!view.equals(remoteView)) {
+            remoteView = view;
+            listing.invalidate();
+        }
     }
 
     /**
@@ -116,8 +538,10 @@ public class GameLobby {
         for (String gameId : gamesToRemove) {
             GameManager game = activeGames.remove(gameId);
             if (game != null) {
+                listing.invalidate();
+                nodeRegistry.releaseGame(gameId);
                 try {
-                    game.shutdown();
+                    endGame(game);
                     log.info("Successfully shut down AI-only game: {}", gameId);
                 } catch (Exception e) {
                     log.error("Error shutting down AI-only game {}: {}", gameId, e.getMessage());
@@ -126,5 +550,3 @@ public class GameLobby {
         }
     }
 }
-
-
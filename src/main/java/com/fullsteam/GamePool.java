@@ -0,0 +1,226 @@
+package com.fullsteam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Games built ahead of time, so creating a game doesn't wait for its world to be generated.
+ * <p>
+ * Building a game (terrain, physics world, objectives, initial AI players) takes far longer than a join
+ * should. The pool keeps built but not yet started games for each config that is being asked for, and
+ * tops them up on {@link Config#EXECUTOR}. How many are kept follows how often the config was asked for
+ * recently: enough to cover the creations expected over the next minute, within bounds, and none once a
+ * config has not been asked for in a while.
+ * <p>
+ * Configs are mutable and games change theirs as they're played (e.g. raising a tied game's score limit),
+ * so the pool keys on a JSON snapshot of the config as it was asked for, and builds every game with its own
+ * copy decoded from that snapshot.
+ * <p>
+ * Games that record to disk from the moment they're built (input logs, snapshot archives) aren't pooled.
+ */
+class GamePool implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(GamePool.class);
+
+    static final long REFILL_INTERVAL_MS = 1000;
+    static final int MAX_READY_PER_CONFIG = 4;
+    // Configs tracked at once; further configs are built on demand
+    static final int MAX_CONFIGS = 16;
+    // Demand is a count of requests that halves every half-life
+    static final long DEMAND_HALF_LIFE_MS = 5 * 60 * 1000;
+    // Ready games cover the requests expected this far ahead
+    static final long LOOKAHEAD_MS = 60 * 1000;
+    // Below this demand a config's games are let go
+    static final double MIN_DEMAND = 0.1;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * The ready games and recent demand for one config.
+     */
+    private static final class Pooled {
+        private final Deque<GameManager> ready = new ConcurrentLinkedDeque<>();
+        private double demand;
+        private long demandUpdated;
+
+        private Pooled(long now) {
+            this.demandUpdated = now;
+        }
+
+        synchronized void recordDemand(long now, double requests) {
+            decay(now);
+            demand += requests;
+        }
+
+        /**
+         * How many ready games to keep.
+         */
+        synchronized int target(long now) {
+            decay(now);
+            if (demand < MIN_DEMAND) {
+                return 0;
+            }
+            double expected = demand * Math.log(2) / DEMAND_HALF_LIFE_MS * LOOKAHEAD_MS;
+            return (int) Math.min(MAX_READY_PER_CONFIG, Math.ceil(expected));
+        }
+
+        private void decay(long now) {
+            demand *= Math.pow(0.5, (now - demandUpdated) / (double) DEMAND_HALF_LIFE_MS);
+            demandUpdated = now;
+        }
+    }
+
+    // Keyed by config snapshot
+    private final Map<String, Pooled> pools = new ConcurrentHashMap<>();
+    private final Function<GameConfig, GameManager> builder;
+    private final LongSupplier clock;
+    private final ScheduledFuture<?> refill;
+
+    /**
+     * @param builder builds an unscheduled game for a config
+     */
+    GamePool(Function<GameConfig, GameManager> builder) {
+        this(builder, System::currentTimeMillis, true);
+    }
+
+    /**
+     * @param clock     wall clock demand is measured with
+     * @param scheduled whether to refill from {@link Config#EXECUTOR}; otherwise {@link #refill()} is
+     *                  called manually
+     */
+    GamePool(Function<GameConfig, GameManager> builder, LongSupplier clock, boolean scheduled) {
+        this.builder = builder;
+        this.clock = clock;
+        this.refill = scheduled
+                ? Config.EXECUTOR.scheduleWithFixedDelay(this::refill, 0, REFILL_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    static boolean isPoolable(GameConfig gameConfig) {
+        return !gameConfig.isEnableReplayRecording() && !gameConfig.isEnableSnapshotArchive();
+    }
+
+    /**
+     * Keep games ready for a config before anyone has asked for it, e.g. the default config.
+     */
+    void prime(GameConfig gameConfig) {
+        Pooled pooled = getPooled(gameConfig);
+        if (pooled != null) {
+            pooled.recordDemand(clock.getAsLong(), 1);
+        }
+    }
+
+    /**
+     * Take a ready game for the config. The request counts towards the config's demand either way.
+     *
+     * @return an unstarted game, or null if none is ready
+     */
+    GameManager claim(GameConfig gameConfig) {
+        Pooled pooled = getPooled(gameConfig);
+        if (pooled == null) {
+            return null;
+        }
+        pooled.recordDemand(clock.getAsLong(), 1);
+        return pooled.ready.pollFirst();
+    }
+
+    int getReadyCount(GameConfig gameConfig) {
+        Pooled pooled = pools.get(snapshot(gameConfig));
+        return pooled != null ? pooled.ready.size() : 0;
+    }
+
+    private Pooled getPooled(GameConfig gameConfig) {
+        if (!isPoolable(gameConfig)) {
+            return null;
+        }
+        String snapshot = snapshot(gameConfig);
+        Pooled pooled = pools.get(snapshot);
+        if (pooled == null && pools.size() < MAX_CONFIGS) {
+            pooled = pools.computeIfAbsent(snapshot, config -> new Pooled(clock.getAsLong()));
+        }
+        return pooled;
+    }
+
+    static String snapshot(GameConfig gameConfig) {
+        try {
+            return JSON.writeValueAsString(gameConfig);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode a game config", e);
+        }
+    }
+
+    /**
+     * A config of the game's own, which it may change without affecting other games or the pool.
+     */
+    static GameConfig copyOf(String snapshot) {
+        try {
+            return JSON.readValue(snapshot, GameConfig.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to decode a game config", e);
+        }
+    }
+
+    /**
+     * Bring every config's ready games towards its target: build at most one game per config, so a
+     * burst of demand doesn't hold up the game loops sharing the executor, and let go of games nobody
+     * is asking for anymore.
+     */
+    void refill() {
+        long now = clock.getAsLong();
+        Iterator<Map.Entry<String, Pooled>> entries = pools.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Pooled> entry = entries.next();
+            Pooled pooled = entry.getValue();
+            int target = pooled.target(now);
+            while (pooled.ready.size() > target) {
+                GameManager surplus = pooled.ready.pollLast();
+                if (surplus == null) {
+                    break;
+                }
+                surplus.shutdown();
+            }
+            if (target == 0) {
+                entries.remove();
+                continue;
+            }
+            if (pooled.ready.size() < target) {
+                try {
+                    pooled.ready.addLast(builder.apply(copyOf(entry.getKey())));
+                } catch (Exception e) {
+                    log.error("Failed to build a game ahead of time, no longer pooling its config", e);
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (refill != null) {
+            refill.cancel(false);
+        }
+        for (Pooled pooled : pools.values()) {
+            GameManager game;
+            while ((game = pooled.ready.pollFirst()) != null) {
+                game.shutdown();
+            }
+        }
+        pools.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package com.fullsteam;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.model.LobbyInfo;
+import com.fullsteam.util.ETags;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The lobby's game list, encoded once per change rather than once per request.
+ * <p>
+ * Anything that changes what the list shows (games created or removed, players joining or leaving,
+ * other nodes' games) calls {@link #invalidate()}, which only bumps a version. The list is rebuilt and
+ * encoded by the next reader, and served as-is with an ETag until it changes again, so polling clients
+ * are answered with a 304 or the cached bytes.
+ */
+public class LobbyListing {
+
+    /**
+     * An encoded game list.
+     *
+     * @param version the listing version it was built for
+     */
+    public record Encoded(byte[] json, String etag, long version) {
+    }
+
+    private final Supplier<LobbyInfo> source;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Encoded encoded;
+
+    /**
+     * @param source builds the current game list
+     */
+    public LobbyListing(Supplier<LobbyInfo> source, ObjectMapper objectMapper) {
+        this.source = source;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Mark the list as changed.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * The current game list, encoding it first if it changed since it was last read.
+     */
+    public Encoded get() {
+        Encoded current = encoded;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            // Read the version first: a change while encoding leaves the result stale, to be rebuilt
+            long building = version.get();
+            current = encoded;
+            if (current != null && current.version() == building) {
+                return current;
+            }
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(source.get());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException("Failed to encode the game list", e);
+            }
+            current = new Encoded(json, ETags.of(json), building);
+            encoded = current;
+            return current;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.fullsteam;
 
+import com.fullsteam.util.GameRandom;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -28,6 +30,6 @@ public final class RandomNames {
     }
 
     public static String randomName() {
-        return names.get((int) (Math.random() * names.size()));
+        return names.get((int) (GameRandom.current().nextDouble() * names.size()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.fullsteam;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets a player into a freshly started node, the path a node has to get through before it can host
+ * games. Used to train the class-data sharing archive on that path, and to benchmark startup.
+ */
+public final class StartupProbe {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private StartupProbe() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Connect a player to a new game on the node and wait until it is sent the game.
+     *
+     * @param server base URI of the node, e.g. http://localhost:8080
+     * @return the first message the player was sent
+     */
+    public static String connectPlayer(URI server) throws Exception {
+        URI gameUri = URI.create("ws://" + server.getHost() + ":" + server.getPort() + "/game/startup-probe");
+        CompletableFuture<String> firstMessage = new CompletableFuture<>();
+        WebSocket webSocket = HttpClient.newHttpClient()
+                .newWebSocketBuilder()
+                .buildAsync(gameUri, new WebSocket.Listener() {
+                    private final StringBuilder text = new StringBuilder();
+
+                    @Override
+                    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                        text.append(data);
+                        if (last) {
+                            firstMessage.complete(text.toString());
+                        } else {
+                            webSocket.request(1);
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+                        firstMessage.completeExceptionally(new IllegalStateException("Closed before joining: " + reason));
+                        return null;
+                    }
+
+                    @Override
+                    public void onError(WebSocket webSocket, Throwable error) {
+                        firstMessage.completeExceptionally(error);
+                    }
+                })
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        try {
+            return firstMessage.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            webSocket.abort();
+        }
+    }
+}
@@ -2,12 +2,25 @@ package com.fullsteam.ai;
 
 import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.WorldFact;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Base interface for AI behavior strategies.
  * Each behavior defines how an AI player should act in specific situations.
  */
 public interface AIBehavior {
+
+    /**
+     * Dependencies of a behavior whose priority must be recomputed on every evaluation.
+     */
+    Set<WorldFact> UNCACHEABLE = Collections.unmodifiableSet(EnumSet.of(WorldFact.ENEMY_POSITIONS));
     
     /**
      * Generate player input based on the current game state and AI player state.
@@ -59,7 +72,39 @@ public interface AIBehavior {
     default int getPriority(AIPlayer aiPlayer, GameEntities gameEntities) {
         return 50; // Default moderate priority
     }
+
+    /**
+     * Declare which world facts {@link #getPriority} reads.
+     * The priority is cached between decisions and only recomputed once one of these facts changes.
+     * Behaviors that depend on {@link WorldFact#ENEMY_POSITIONS} are never cached.
+     *
+     * @return The facts this behavior's priority depends on
+     */
+    default Set<WorldFact> getPriorityDependencies() {
+        return UNCACHEABLE;
+    }
+    
+    /**
+     * Get the id of the entity this behavior is currently targeting.
+     *
+     * @return The target's entity id, or -1 if this behavior has no target
+     */
+    default int getTargetId() {
+        return -1;
+    }
     
+    /**
+     * Write the state this behavior has built up, for a game moved to another node.
+     * Read back by {@link #readState} into a new instance of the same behavior.
+     */
+    default void writeState(DataOutputStream out) throws IOException {
+        // Override if the behavior keeps state between decisions
+    }
+
+    default void readState(DataInputStream in) throws IOException {
+        // Override if the behavior keeps state between decisions
+    }
+
     /**
      * Get a human-readable name for this behavior (useful for debugging).
      */
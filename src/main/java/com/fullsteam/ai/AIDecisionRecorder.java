@@ -0,0 +1,236 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.model.PlayerInput;
+import com.fullsteam.util.GameClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in recorder for AI decision making: behavior switches, priority scores, chosen targets and
+ * generated inputs. Records are fixed-size and written into a memory-mapped ring buffer, so
+ * recording is a handful of absolute puts with no allocation, and the oldest records are simply
+ * overwritten once the buffer wraps.
+ * <p>
+ * Records are written from the game loop thread only. Readers (e.g. the debug endpoint) may query
+ * concurrently; records being overwritten during a read are skipped.
+ */
+public class AIDecisionRecorder {
+    private static final Logger log = LoggerFactory.getLogger(AIDecisionRecorder.class);
+
+    public static final int DEFAULT_CAPACITY = 1 << 17; // ~40 seconds for a full 16-bot game
+
+    // Record layout
+    static final int RECORD_SIZE = 48;
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int PLAYER_OFFSET = 16;
+    private static final int TYPE_OFFSET = 20;
+    private static final int BEHAVIOR_OFFSET = 21;
+    private static final int FLAGS_OFFSET = 22;
+    private static final int VALUE_OFFSET = 24;
+    private static final int AUX_OFFSET = 28;
+    private static final int A_OFFSET = 32;
+    private static final int B_OFFSET = 36;
+    private static final int C_OFFSET = 40;
+    private static final int D_OFFSET = 44;
+
+    // Input button flags
+    private static final int FLAG_PRIMARY_FIRE = 1;
+    private static final int FLAG_ALT_FIRE = 1 << 1;
+    private static final int FLAG_RELOAD = 1 << 2;
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final List<String> behaviorNames;
+    private final Map<Integer, Integer> lastTargets = new HashMap<>();
+    private volatile long nextSequence = 0;
+
+    public enum EventType {
+        BEHAVIOR_SWITCH, // behavior: new behavior, aux: previous behavior index, value: winning priority
+        PRIORITY,        // behavior: scored behavior, value: priority, aux: 1 if it is the current behavior
+        TARGET,          // value: new target id, aux: previous target id
+        INPUT            // a/b: movement, c/d: aim point, flags: buttons
+    }
+
+    /**
+     * A single decoded trace record.
+     */
+    public record TraceEntry(
+            long timestamp,
+            EventType type,
+            String behavior,
+            String previousBehavior,
+            int value,
+            int previousValue,
+            boolean current,
+            double moveX,
+            double moveY,
+            double aimX,
+            double aimY,
+            boolean primaryFire,
+            boolean altFire,
+            boolean reload
+    ) {
+    }
+
+    /**
+     * @param capacity      number of records kept before the oldest are overwritten
+     * @param behaviorNames behavior names, indexed the same way as the behavior indexes passed to the recorder
+     */
+    public AIDecisionRecorder(int capacity, List<String> behaviorNames) {
+        this.capacity = capacity;
+        this.behaviorNames = List.copyOf(behaviorNames);
+        try {
+            Path file = Files.createTempFile("ai-trace-", ".bin");
+            // The mapping outlives the channel, and the file is unlinked as soon as the channel closes
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create AI trace buffer", e);
+        }
+        log.debug("Created AI trace buffer with {} records ({} bytes)", capacity, (long) capacity * RECORD_SIZE);
+    }
+
+    public void recordPriority(int playerId, int behaviorIndex, int priority, boolean current) {
+        write(playerId, EventType.PRIORITY, behaviorIndex, 0, priority, current ? 1 : 0, 0, 0, 0, 0);
+    }
+
+    public void recordBehaviorSwitch(int playerId, int previousIndex, int behaviorIndex, int priority) {
+        write(playerId, EventType.BEHAVIOR_SWITCH, behaviorIndex, 0, priority, previousIndex, 0, 0, 0, 0);
+    }
+
+    /**
+     * Record the player's current target. Only changes of target are written.
+     */
+    public void recordTarget(int playerId, int targetId) {
+        Integer previous = lastTargets.put(playerId, targetId);
+        int previousTarget = previous != null ? previous : -1;
+        if (previousTarget != targetId) {
+            write(playerId, EventType.TARGET, -1, 0, targetId, previousTarget, 0, 0, 0, 0);
+        }
+    }
+
+    public void recordInput(int playerId, int behaviorIndex, PlayerInput input) {
+        int flags = 0;
+        if (input.isLeft()) {
+            flags |= FLAG_PRIMARY_FIRE;
+        }
+        if (input.isAltFire()) {
+            flags |= FLAG_ALT_FIRE;
+        }
+        if (Boolean.TRUE.equals(input.getReload())) {
+            flags |= FLAG_RELOAD;
+        }
+        write(playerId, EventType.INPUT, behaviorIndex, flags, 0, 0,
+                (float) input.getMoveX(), (float) input.getMoveY(),
+                (float) input.getWorldX(), (float) input.getWorldY());
+    }
+
+    /**
+     * Forget per-player state for a player that left the game.
+     */
+    public void forgetPlayer(int playerId) {
+        lastTargets.remove(playerId);
+    }
+
+    private void write(int playerId, EventType type, int behaviorIndex, int flags, int value, int aux,
+                       float a, float b, float c, float d) {
+        long sequence = nextSequence;
+        int base = (int) (sequence % capacity) * RECORD_SIZE;
+
+        // Invalidate the slot first so a concurrent reader never mixes old and new fields
+        buffer.putLong(base + SEQUENCE_OFFSET, -1L);
+        VarHandle.releaseFence();
+        buffer.putLong(base + TIMESTAMP_OFFSET, GameClock.currentTimeMillis());
+        buffer.putInt(base + PLAYER_OFFSET, playerId);
+        buffer.put(base + TYPE_OFFSET, (byte) type.ordinal());
+        buffer.put(base + BEHAVIOR_OFFSET, (byte) behaviorIndex);
+        buffer.putShort(base + FLAGS_OFFSET, (short) flags);
+        buffer.putInt(base + VALUE_OFFSET, value);
+        buffer.putInt(base + AUX_OFFSET, aux);
+        buffer.putFloat(base + A_OFFSET, a);
+        buffer.putFloat(base + B_OFFSET, b);
+        buffer.putFloat(base + C_OFFSET, c);
+        buffer.putFloat(base + D_OFFSET, d);
+        VarHandle.releaseFence();
+        buffer.putLong(base + SEQUENCE_OFFSET, sequence);
+        nextSequence = sequence + 1;
+    }
+
+    /**
+     * Get all records for a player written within the last {@code withinMillis} milliseconds, oldest first.
+     */
+    public List<TraceEntry> query(int playerId, long withinMillis) {
+        long cutoff = GameClock.currentTimeMillis() - withinMillis;
+        long newest = nextSequence - 1;
+        long oldest = Math.max(0, nextSequence - capacity);
+        List<TraceEntry> entries = new ArrayList<>();
+
+        for (long sequence = newest; sequence >= oldest; sequence--) {
+            int base = (int) (sequence % capacity) * RECORD_SIZE;
+            VarHandle.acquireFence();
+            if (buffer.getLong(base + SEQUENCE_OFFSET) != sequence) {
+                break; // Overwritten by the writer - everything older is gone too
+            }
+            long timestamp = buffer.getLong(base + TIMESTAMP_OFFSET);
+            if (timestamp < cutoff) {
+                break;
+            }
+            if (buffer.getInt(base + PLAYER_OFFSET) != playerId) {
+                continue;
+            }
+            TraceEntry entry = decode(base, timestamp);
+            VarHandle.acquireFence();
+            if (buffer.getLong(base + SEQUENCE_OFFSET) != sequence) {
+                break;
+            }
+            entries.add(entry);
+        }
+
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    private TraceEntry decode(int base, long timestamp) {
+        EventType type = EVENT_TYPES[buffer.get(base + TYPE_OFFSET)];
+        int behaviorIndex = buffer.get(base + BEHAVIOR_OFFSET);
+        int flags = buffer.getShort(base + FLAGS_OFFSET);
+        int value = buffer.getInt(base + VALUE_OFFSET);
+        int aux = buffer.getInt(base + AUX_OFFSET);
+
+        return switch (type) {
+            case BEHAVIOR_SWITCH -> new TraceEntry(timestamp, type, behaviorName(behaviorIndex), behaviorName(aux),
+                    value, 0, false, 0, 0, 0, 0, false, false, false);
+            case PRIORITY -> new TraceEntry(timestamp, type, behaviorName(behaviorIndex), null,
+                    value, 0, aux == 1, 0, 0, 0, 0, false, false, false);
+            case TARGET -> new TraceEntry(timestamp, type, null, null,
+                    value, aux, false, 0, 0, 0, 0, false, false, false);
+            case INPUT -> new TraceEntry(timestamp, type, behaviorName(behaviorIndex), null, 0, 0, false,
+                    buffer.getFloat(base + A_OFFSET), buffer.getFloat(base + B_OFFSET),
+                    buffer.getFloat(base + C_OFFSET), buffer.getFloat(base + D_OFFSET),
+                    (flags & FLAG_PRIMARY_FIRE) != 0, (flags & FLAG_ALT_FIRE) != 0, (flags & FLAG_RELOAD) != 0);
+        };
+    }
+
+    private String behaviorName(int behaviorIndex) {
+        return behaviorIndex >= 0 && behaviorIndex < behaviorNames.size() ? behaviorNames.get(behaviorIndex) : null;
+    }
+}
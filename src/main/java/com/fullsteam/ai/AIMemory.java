@@ -1,115 +1,61 @@
 package com.fullsteam.ai;
 
+import com.fullsteam.games.GameImage;
 import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import org.dyn4j.geometry.Vector2;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
 /**
  * AI memory system that tracks game state and player behavior over time.
  * This allows AI to make more informed decisions based on past observations.
+ * <p>
+ * Player observations live in a {@link TeamPerception} shared with teammates; this class is a
+ * lightweight per-AI view on top of it.
  */
 @Getter
 public class AIMemory {
-    // Track last known positions of players
-    private final Map<Integer, Vector2> lastKnownPlayerPositions = new HashMap<>();
-    private final Map<Integer, Long> lastSeenPlayerTimes = new HashMap<>();
+    // Shared team-level observations
+    private final TeamPerception perception;
 
-    // Track location control history
-    private final Map<Integer, Integer> locationControlHistory = new HashMap<>();
-    private final Map<Integer, Long> locationLastChanged = new HashMap<>();
-
-    // Track threat assessments
-    private final Map<Integer, Double> playerThreatLevels = new HashMap<>();
-
-    // Track player behavior patterns
-    private final Map<Integer, PlayerBehaviorPattern> playerBehaviors = new HashMap<>();
-
-    // Memory duration constants
-    private static final long PLAYER_MEMORY_DURATION = 10000; // 10 seconds
-    private static final long LOCATION_MEMORY_DURATION = 30000; // 30 seconds
-
-    public void update(double deltaTime) {
-        long currentTime = System.currentTimeMillis();
-
-        // Clean up old memories
-        lastSeenPlayerTimes.entrySet().removeIf(entry ->
-                currentTime - entry.getValue() > PLAYER_MEMORY_DURATION);
+    /**
+     * Create a standalone memory that is not shared with any teammates.
+     */
+    public AIMemory() {
+        this(new TeamPerception(0));
+    }
 
-        locationLastChanged.entrySet().removeIf(entry ->
-                currentTime - entry.getValue() > LOCATION_MEMORY_DURATION);
+    public AIMemory(TeamPerception perception) {
+        this.perception = perception;
     }
 
+    /**
+     * Observe a player directly, outside the shared once-per-tick observation pass.
+     */
     public void observePlayer(Player player) {
-        int playerId = player.getId();
-        long currentTime = System.currentTimeMillis();
-
-        // Update last known position
-        lastKnownPlayerPositions.put(playerId, player.getPosition().copy());
-        lastSeenPlayerTimes.put(playerId, currentTime);
-
-        // Update behavior pattern
-        PlayerBehaviorPattern pattern = playerBehaviors.computeIfAbsent(playerId,
-                k -> new PlayerBehaviorPattern());
-        pattern.updateObservation(player);
-
-        // Update threat level based on recent actions
-        updateThreatLevel(playerId, player);
+        long currentTime = GameClock.currentTimeMillis();
+        perception.record(player, currentTime);
+        perception.expire(currentTime);
     }
 
     public Vector2 getLastKnownPosition(int playerId) {
-        Vector2 pos = lastKnownPlayerPositions.get(playerId);
-        return pos != null ? pos.copy() : null;
+        TeamPerception.PlayerTrack track = perception.getTrack(playerId);
+        return track != null ? track.getLastKnownPosition().copy() : null;
     }
 
     public boolean hasSeenPlayerRecently(int playerId, long withinMilliseconds) {
-        Long lastSeen = lastSeenPlayerTimes.get(playerId);
-        if (lastSeen == null) return false;
-        return System.currentTimeMillis() - lastSeen <= withinMilliseconds;
+        TeamPerception.PlayerTrack track = perception.getTrack(playerId);
+        if (track == null) return false;
+        return GameClock.currentTimeMillis() - track.getLastSeenTime() <= withinMilliseconds;
     }
 
     public double getThreatLevel(int playerId) {
-        return playerThreatLevels.getOrDefault(playerId, 0.5);
-    }
-
-    public PlayerBehaviorPattern getBehaviorPattern(int playerId) {
-        return playerBehaviors.get(playerId);
-    }
-
-    public boolean isLocationHotlyContested(int locationId) {
-        Long lastChanged = locationLastChanged.get(locationId);
-        if (lastChanged == null) return false;
-
-        // Consider a location contested if control changed recently
-        return System.currentTimeMillis() - lastChanged < 30000; // 30 seconds
-    }
-
-    private void updateThreatLevel(int playerId, Player player) {
-        double currentThreat = playerThreatLevels.getOrDefault(playerId, 0.5);
-
-        // Factors that increase threat level
-        if (player.getKills() > player.getDeaths()) {
-            currentThreat += 0.1;
-        }
-
-        if (player.getHealth() > 80) {
-            currentThreat += 0.05;
-        }
-
-        // Factors that decrease threat level
-        if (player.getHealth() < 30) {
-            currentThreat -= 0.1;
-        }
-
-        if (!player.isActive()) {
-            currentThreat -= 0.2;
-        }
-
-        // Clamp between 0 and 1
-        currentThreat = Math.max(0.0, Math.min(1.0, currentThreat));
-        playerThreatLevels.put(playerId, currentThreat);
+        TeamPerception.PlayerTrack track = perception.getTrack(playerId);
+        return track != null ? track.getThreatLevel() : 0.5;
     }
 
     /**
@@ -128,17 +74,20 @@ public class AIMemory {
         private boolean prefersLongRange = false;
 
         public void updateObservation(Player player) {
+            updateObservation(player, GameClock.currentTimeMillis());
+        }
+
+        public void updateObservation(Player player, long currentTime) {
             observationCount++;
-            lastObservationTime = System.currentTimeMillis();
+            lastObservationTime = currentTime;
 
             // Update average position
-            Vector2 currentPos = player.getPosition();
+            Vector2 currentPos = player.getBody().getTransform().getTranslation();
             averagePosition.x = (averagePosition.x * (observationCount - 1) + currentPos.x) / observationCount;
             averagePosition.y = (averagePosition.y * (observationCount - 1) + currentPos.y) / observationCount;
 
             // Update average speed
-            Vector2 velocity = player.getVelocity();
-            double currentSpeed = velocity.getMagnitude();
+            double currentSpeed = player.getBody().getLinearVelocity().getMagnitude();
             averageSpeed = (averageSpeed * (observationCount - 1) + currentSpeed) / observationCount;
 
             // Update behavioral flags based on observations
@@ -156,8 +105,28 @@ public class AIMemory {
             // Additional behavioral analysis could be added here
         }
 
+        void writeState(DataOutputStream out, long now) throws IOException {
+            GameImage.writeVector(out, averagePosition);
+            out.writeDouble(averageSpeed);
+            out.writeInt(observationCount);
+            GameImage.writeTime(out, lastObservationTime, now);
+            out.writeBoolean(isAggressive);
+            out.writeBoolean(isDefensive);
+            out.writeBoolean(prefersLongRange);
+        }
+
+        void readState(DataInputStream in, long now) throws IOException {
+            averagePosition.set(GameImage.readVector(in));
+            averageSpeed = in.readDouble();
+            observationCount = in.readInt();
+            lastObservationTime = GameImage.readTime(in, now);
+            isAggressive = in.readBoolean();
+            isDefensive = in.readBoolean();
+            prefersLongRange = in.readBoolean();
+        }
+
         public boolean isStale(long maxAgeMillis) {
-            return System.currentTimeMillis() - lastObservationTime > maxAgeMillis;
+            return GameClock.currentTimeMillis() - lastObservationTime > maxAgeMillis;
         }
     }
 }
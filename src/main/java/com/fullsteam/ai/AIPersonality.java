@@ -1,9 +1,9 @@
 package com.fullsteam.ai;
 
+import com.fullsteam.util.GameRandom;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Defines the personality traits that influence AI decision-making and behavior.
@@ -58,7 +58,7 @@ public class AIPersonality {
             .aggressiveness(randomTrait(0.3, 0.8))
             .accuracy(randomTrait(0.4, 0.9))
             .reactionSpeed(randomTrait(0.4, 0.8))
-            .preferredCombatRange(100 + ThreadLocalRandom.current().nextDouble() * 200) // 100-300 range
+            .preferredCombatRange(100 + GameRandom.current().nextDouble() * 200) // 100-300 range
             .strategicThinking(randomTrait(0.3, 0.9))
             .teamwork(randomTrait(0.2, 0.8))
             .riskTolerance(randomTrait(0.3, 0.8))
@@ -165,7 +165,7 @@ public class AIPersonality {
     }
     
     private static double randomTrait(double min, double max) {
-        return min + ThreadLocalRandom.current().nextDouble() * (max - min);
+        return min + GameRandom.current().nextDouble() * (max - min);
     }
     
     /**
@@ -44,9 +44,6 @@ public class AIPlayer extends Player {
             // AI decision making will be handled by AIPlayerManager
             lastDecisionTime = 0;
         }
-
-        // Update memory with current game state
-        memory.update(deltaTime);
     }
 
     public void setCurrentBehavior(AIBehavior behavior) {
@@ -114,12 +111,12 @@ public class AIPlayer extends Player {
      */
     public boolean shouldSwitchWeapon(double targetDistance) {
         // Check if out of ammo
-        if (getCurrentWeapon().getCurrentAmmo() == 0 && isReloading()) {
+        if (getCurrentAmmo() == 0 && isReloading()) {
             return true; // Switch to avoid reload time
         }
 
         // Check if weapon is ineffective at current range
-        double weaponRange = getCurrentWeapon().getRange();
+        double weaponRange = getWeaponRange();
         
         // Too far for current weapon
         if (targetDistance > weaponRange * 0.9) {
@@ -127,8 +124,8 @@ public class AIPlayer extends Player {
         }
 
         // Very low ammo and enemy is close
-        int currentAmmo = getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = getCurrentWeapon().getMagazineSize();
+        int currentAmmo = getCurrentAmmo();
+        int magazineSize = getMagazineSize();
         if (currentAmmo < magazineSize * 0.15 && targetDistance < 150) {
             return true; // Switch instead of reload in close combat
         }
@@ -2,19 +2,26 @@ package com.fullsteam.ai;
 
 import com.fullsteam.RandomNames;
 import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameImage;
 import com.fullsteam.model.PlayerInput;
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import lombok.Getter;
+import lombok.Setter;
+import org.dyn4j.geometry.Vector2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Central manager for all AI players in a game.
@@ -28,6 +35,22 @@ public class AIPlayerManager {
     private final Map<Integer, List<AIBehavior>> availableBehaviors = new HashMap<>();
     private final Map<Integer, PlayerInput> generatedInputs = new HashMap<>();
 
+    // Shared perception blackboards (team number -> blackboard; FFA AIs each get their own)
+    private final Map<Integer, TeamPerception> teamPerceptions = new HashMap<>();
+    private long observationTick = 0;
+
+    // Cached behavior priorities per AI player, invalidated by world fact changes
+    private final Map<Integer, AIPriorityCache> priorityCaches = new HashMap<>();
+    @Setter
+    private boolean priorityCacheEnabled = true;
+
+    // Optional decision trace recorder, null unless tracing is enabled for this game
+    @Setter
+    private AIDecisionRecorder decisionRecorder;
+
+    // AI can "see" players within this range
+    private static final double SIGHT_RANGE = 400.0;
+
     // Available behavior types
     private final List<AIBehavior> behaviorTemplates = List.of(
             new IdleBehavior(),
@@ -51,12 +74,18 @@ public class AIPlayerManager {
     public void addAIPlayer(AIPlayer aiPlayer) {
         aiPlayers.put(aiPlayer.getId(), aiPlayer);
 
+        // Attach this AI to its team's shared perception blackboard
+        int perceptionKey = perceptionKey(aiPlayer);
+        TeamPerception perception = teamPerceptions.computeIfAbsent(perceptionKey, TeamPerception::new);
+        aiPlayer.setMemory(new AIMemory(perception));
+
         // Initialize available behaviors for this AI
         List<AIBehavior> behaviors = new ArrayList<>();
         for (AIBehavior template : behaviorTemplates) {
             behaviors.add(createBehaviorInstance(template));
         }
         availableBehaviors.put(aiPlayer.getId(), behaviors);
+        priorityCaches.put(aiPlayer.getId(), new AIPriorityCache());
 
         log.info("Added AI player {} ({}) with personality type: {}",
                 aiPlayer.getId(), aiPlayer.getPlayerName(), aiPlayer.getPersonality().getPersonalityType());
@@ -66,9 +95,22 @@ public class AIPlayerManager {
      * Remove an AI player from management.
      */
     public void removeAIPlayer(int playerId) {
-        aiPlayers.remove(playerId);
+        AIPlayer removed = aiPlayers.remove(playerId);
         availableBehaviors.remove(playerId);
         generatedInputs.remove(playerId);
+        priorityCaches.remove(playerId);
+        if (decisionRecorder != null) {
+            decisionRecorder.forgetPlayer(playerId);
+        }
+
+        // Drop the perception blackboard once no AI on that team is left to read it
+        if (removed != null) {
+            int perceptionKey = perceptionKey(removed);
+            boolean stillUsed = aiPlayers.values().stream().anyMatch(ai -> perceptionKey(ai) == perceptionKey);
+            if (!stillUsed) {
+                teamPerceptions.remove(perceptionKey);
+            }
+        }
 
         log.info("Removed AI player {}", playerId);
     }
@@ -77,15 +119,15 @@ public class AIPlayerManager {
      * Update all AI players and generate their inputs.
      */
     public void update(GameEntities gameEntities, double deltaTime) {
+        // Update shared team perception once per tick before any AI makes decisions
+        updateTeamPerceptions(gameEntities);
+
         // Update all AI players
         for (AIPlayer aiPlayer : aiPlayers.values()) {
             if (!aiPlayer.isActive()) {
                 continue;
             }
 
-            // Update AI memory with observations
-            updateAIMemory(aiPlayer, gameEntities);
-
             // Check if AI needs to make a new decision
             if (aiPlayer.needsNewDecision()) {
                 updateBehavior(aiPlayer, gameEntities);
@@ -98,6 +140,9 @@ public class AIPlayerManager {
                 // Apply movement smoothing for continuous motion
                 aiPlayer.smoothMovement(input);
                 generatedInputs.put(aiPlayer.getId(), input);
+                if (decisionRecorder != null) {
+                    recordDecisionTrace(aiPlayer, input);
+                }
             }
         }
     }
@@ -142,31 +187,62 @@ public class AIPlayerManager {
         return aiPlayer;
     }
 
-    private void updateAIMemory(AIPlayer aiPlayer, GameEntities gameEntities) {
-        // Update memory with observations of other players
+    /**
+     * Update the shared perception blackboards.
+     * Each player is observed at most once per tick per team, no matter how many teammates can see them.
+     */
+    private void updateTeamPerceptions(GameEntities gameEntities) {
+        long tick = ++observationTick;
+        long currentTime = GameClock.currentTimeMillis();
+        double sightRangeSquared = SIGHT_RANGE * SIGHT_RANGE;
+
         for (Player player : gameEntities.getAllPlayers()) {
-            if (player.getId() != aiPlayer.getId() && player.isActive()) {
-                // AI can "see" players within a certain range
-                double distance = aiPlayer.getPosition().distance(player.getPosition());
-                if (distance < 400) { // Sight range
-                    aiPlayer.getMemory().observePlayer(player);
+            if (!player.isActive()) {
+                continue;
+            }
+            Vector2 playerPos = player.getBody().getTransform().getTranslation();
+            for (AIPlayer aiPlayer : aiPlayers.values()) {
+                if (aiPlayer.getId() == player.getId() || !aiPlayer.isActive()) {
+                    continue;
+                }
+                TeamPerception perception = aiPlayer.getMemory().getPerception();
+                if (perception.isObservedThisTick(player.getId(), tick)) {
+                    continue; // A teammate already reported this player
+                }
+                Vector2 aiPos = aiPlayer.getBody().getTransform().getTranslation();
+                if (aiPos.distanceSquared(playerPos) < sightRangeSquared) {
+                    perception.observe(player, tick, currentTime);
                 }
             }
         }
+
+        for (TeamPerception perception : teamPerceptions.values()) {
+            perception.expire(currentTime);
+        }
     }
 
-    private void updateBehavior(AIPlayer aiPlayer, GameEntities gameEntities) {
+    /**
+     * Key of the perception blackboard an AI contributes to.
+     * Teammates share one blackboard; in free-for-all every AI is on its own.
+     */
+    private static int perceptionKey(AIPlayer aiPlayer) {
+        return aiPlayer.getTeam() > 0 ? aiPlayer.getTeam() : -aiPlayer.getId();
+    }
+
+    void updateBehavior(AIPlayer aiPlayer, GameEntities gameEntities) {
         List<AIBehavior> behaviors = availableBehaviors.get(aiPlayer.getId());
         if (behaviors == null || behaviors.isEmpty()) {
             return;
         }
+        AIPriorityCache priorityCache = priorityCaches.get(aiPlayer.getId());
 
         AIBehavior currentBehavior = aiPlayer.getCurrentBehavior();
 
         // Check if current behavior should continue with a bias to keep current behavior
         if (currentBehavior != null && currentBehavior.shouldContinue(aiPlayer, gameEntities)) {
             // Add some hysteresis - current behavior gets a priority bonus
-            int currentPriority = currentBehavior.getPriority(aiPlayer, gameEntities) + 15; // Bonus for staying
+            int currentPriority = scorePriority(priorityCache, currentBehavior, aiPlayer, gameEntities) + 15; // Bonus for staying
+            tracePriority(aiPlayer, behaviors, currentBehavior, currentPriority, true);
 
             // Check if any other behavior has significantly higher priority
             int bestOtherPriority = -1;
@@ -174,7 +250,8 @@ public class AIPlayerManager {
 
             for (AIBehavior behavior : behaviors) {
                 if (behavior != currentBehavior) {
-                    int priority = behavior.getPriority(aiPlayer, gameEntities);
+                    int priority = scorePriority(priorityCache, behavior, aiPlayer, gameEntities);
+                    tracePriority(aiPlayer, behaviors, behavior, priority, false);
                     if (priority > bestOtherPriority) {
                         bestOtherPriority = priority;
                         bestOtherBehavior = behavior;
@@ -184,6 +261,7 @@ public class AIPlayerManager {
 
             // Only switch if the other behavior is significantly better
             if (bestOtherPriority > currentPriority + 10) {
+                traceBehaviorSwitch(aiPlayer, behaviors, currentBehavior, bestOtherBehavior, bestOtherPriority);
                 aiPlayer.setCurrentBehavior(bestOtherBehavior);
             }
             return;
@@ -194,7 +272,8 @@ public class AIPlayerManager {
         int highestPriority = -1;
 
         for (AIBehavior behavior : behaviors) {
-            int priority = behavior.getPriority(aiPlayer, gameEntities);
+            int priority = scorePriority(priorityCache, behavior, aiPlayer, gameEntities);
+            tracePriority(aiPlayer, behaviors, behavior, priority, behavior == currentBehavior);
             if (priority > highestPriority) {
                 highestPriority = priority;
                 bestBehavior = behavior;
@@ -203,12 +282,113 @@ public class AIPlayerManager {
 
         // Switch to new behavior if it's different from current
         if (bestBehavior != null && bestBehavior != currentBehavior) {
+            traceBehaviorSwitch(aiPlayer, behaviors, currentBehavior, bestBehavior, highestPriority);
             aiPlayer.setCurrentBehavior(bestBehavior);
             log.debug("AI player {} switched to {} behavior (priority: {})",
                     aiPlayer.getId(), bestBehavior.getName(), highestPriority);
         }
     }
 
+    private void tracePriority(AIPlayer aiPlayer, List<AIBehavior> behaviors, AIBehavior behavior, int priority, boolean current) {
+        if (decisionRecorder != null) {
+            decisionRecorder.recordPriority(aiPlayer.getId(), behaviors.indexOf(behavior), priority, current);
+        }
+    }
+
+    private void traceBehaviorSwitch(AIPlayer aiPlayer, List<AIBehavior> behaviors, AIBehavior from, AIBehavior to, int priority) {
+        if (decisionRecorder != null) {
+            decisionRecorder.recordBehaviorSwitch(aiPlayer.getId(), behaviors.indexOf(from), behaviors.indexOf(to), priority);
+        }
+    }
+
+    private void recordDecisionTrace(AIPlayer aiPlayer, PlayerInput input) {
+        AIBehavior currentBehavior = aiPlayer.getCurrentBehavior();
+        List<AIBehavior> behaviors = availableBehaviors.get(aiPlayer.getId());
+        int behaviorIndex = behaviors != null ? behaviors.indexOf(currentBehavior) : -1;
+        decisionRecorder.recordTarget(aiPlayer.getId(), currentBehavior != null ? currentBehavior.getTargetId() : -1);
+        decisionRecorder.recordInput(aiPlayer.getId(), behaviorIndex, input);
+    }
+
+    /**
+     * Write what the AI players know and are doing, for a game moved to another node: each team's shared
+     * perception, and each AI's behaviors and movement.
+     */
+    public void writeState(DataOutputStream out, long now) throws IOException {
+        out.writeInt(teamPerceptions.size());
+        for (Map.Entry<Integer, TeamPerception> perception : teamPerceptions.entrySet()) {
+            out.writeInt(perception.getKey());
+            perception.getValue().writeState(out, now);
+        }
+        out.writeInt(aiPlayers.size());
+        for (AIPlayer aiPlayer : aiPlayers.values()) {
+            out.writeInt(aiPlayer.getId());
+            List<AIBehavior> behaviors = availableBehaviors.get(aiPlayer.getId());
+            out.writeInt(behaviors.indexOf(aiPlayer.getCurrentBehavior()));
+            for (AIBehavior behavior : behaviors) {
+                behavior.writeState(out);
+            }
+            out.writeDouble(aiPlayer.getLastDecisionTime());
+            out.writeInt(aiPlayer.getTargetPlayerId());
+            out.writeInt(aiPlayer.getTargetLocationId());
+            GameImage.writeVector(out, aiPlayer.getLastMoveDirection());
+            GameImage.writeVector(out, aiPlayer.getTargetMoveDirection());
+        }
+    }
+
+    /**
+     * Restore the state written by {@link #writeState}, once the AI players have been added back.
+     *
+     * @throws IOException if the state is for AI players this game doesn't have
+     */
+    public void readState(DataInputStream in, long now) throws IOException {
+        int perceptions = in.readInt();
+        for (int i = 0; i < perceptions; i++) {
+            int key = in.readInt();
+            // A team's perception exists as long as one of its AI players does
+            TeamPerception perception = teamPerceptions.get(key);
+            (perception != null ? perception : new TeamPerception(key)).readState(in, now);
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int playerId = in.readInt();
+            AIPlayer aiPlayer = aiPlayers.get(playerId);
+            if (aiPlayer == null) {
+                throw new IOException("No AI player " + playerId + " to restore");
+            }
+            List<AIBehavior> behaviors = availableBehaviors.get(playerId);
+            int current = in.readInt();
+            if (current >= behaviors.size()) {
+                throw new IOException("AI player " + playerId + " has no behavior " + current);
+            }
+            if (current >= 0) {
+                // Before reading the behaviors' state, which entering a behavior may reset
+                aiPlayer.setCurrentBehavior(behaviors.get(current));
+            }
+            for (AIBehavior behavior : behaviors) {
+                behavior.readState(in);
+            }
+            aiPlayer.setLastDecisionTime(in.readDouble());
+            aiPlayer.setTargetPlayerId(in.readInt());
+            aiPlayer.setTargetLocationId(in.readInt());
+            aiPlayer.setLastMoveDirection(GameImage.readVector(in));
+            aiPlayer.setTargetMoveDirection(GameImage.readVector(in));
+        }
+    }
+
+    /**
+     * Names of the behaviors available to each AI, in the order used for decision trace indexes.
+     */
+    public List<String> getBehaviorNames() {
+        return behaviorTemplates.stream().map(AIBehavior::getName).toList();
+    }
+
+    private int scorePriority(AIPriorityCache priorityCache, AIBehavior behavior, AIPlayer aiPlayer, GameEntities gameEntities) {
+        if (priorityCacheEnabled && priorityCache != null) {
+            return priorityCache.getPriority(behavior, aiPlayer, gameEntities);
+        }
+        return behavior.getPriority(aiPlayer, gameEntities);
+    }
+
     private PlayerInput generatePlayerInput(AIPlayer aiPlayer, GameEntities gameEntities, double deltaTime) {
         AIBehavior currentBehavior = aiPlayer.getCurrentBehavior();
         if (currentBehavior == null) {
@@ -236,13 +416,13 @@ public class AIPlayerManager {
         // Modify shooting based on patience
         if (input.isLeft() && personality.getPatience() > 0.7) {
             // Patient personalities wait for better shots
-            if (ThreadLocalRandom.current().nextDouble() < 0.3) {
+            if (GameRandom.current().nextDouble() < 0.3) {
                 input.setLeft(false);
             }
         }
 
         // Force reload if completely out of ammo - safety net
-        if (aiPlayer.getCurrentWeapon().getCurrentAmmo() == 0 && !aiPlayer.isReloading()) {
+        if (aiPlayer.getCurrentAmmo() == 0 && !aiPlayer.isReloading()) {
             input.setReload(true);
             // Don't try to shoot when out of ammo
             input.setLeft(false);
@@ -0,0 +1,153 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.physics.Flag;
+import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.Player;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.physics.WorldFactTracker;
+import lombok.Getter;
+import org.dyn4j.geometry.Vector2;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-AI cache of behavior priority scores.
+ * Each behavior declares the world facts its priority reads via {@link AIBehavior#getPriorityDependencies()};
+ * a cached score is reused until one of those facts changes.
+ * <p>
+ * World-level facts are compared by version number from the {@link WorldFactTracker}. The AI's own
+ * position and health, and the positions of flag carriers, are quantized so small movements don't
+ * invalidate scores that only change at coarse distance and health thresholds.
+ */
+public class AIPriorityCache {
+    // Size of the grid cell an AI must leave before position-dependent priorities are recomputed
+    static final double POSITION_CELL_SIZE = 25.0;
+    // Health change (in hit points) that invalidates health-dependent priorities
+    static final double HEALTH_BUCKET_SIZE = 10.0;
+
+    private static final WorldFact[] FACTS = WorldFact.values();
+
+    private final Map<AIBehavior, Entry> entries = new IdentityHashMap<>();
+    @Getter
+    private long hits = 0;
+    @Getter
+    private long misses = 0;
+
+    /**
+     * Get the priority of a behavior, recomputing it only if a fact it depends on has changed.
+     */
+    public int getPriority(AIBehavior behavior, AIPlayer aiPlayer, GameEntities gameEntities) {
+        Set<WorldFact> dependencies = behavior.getPriorityDependencies();
+        if (dependencies.contains(WorldFact.ENEMY_POSITIONS)) {
+            misses++;
+            return behavior.getPriority(aiPlayer, gameEntities);
+        }
+
+        WorldFactTracker tracker = gameEntities.getWorldFacts();
+        Vector2 position = aiPlayer.getBody().getTransform().getTranslation();
+        long cellX = (long) Math.floor(position.x / POSITION_CELL_SIZE);
+        long cellY = (long) Math.floor(position.y / POSITION_CELL_SIZE);
+        long healthBucket = (long) Math.floor(aiPlayer.getHealth() / HEALTH_BUCKET_SIZE);
+        long carrierCells = dependencies.contains(WorldFact.CARRIER_POSITIONS) ? carrierCells(gameEntities) : 0;
+
+        Entry entry = entries.get(behavior);
+        if (entry != null && entry.isValid(dependencies, tracker, cellX, cellY, healthBucket, carrierCells)) {
+            hits++;
+            return entry.priority;
+        }
+
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(behavior, entry);
+        }
+        misses++;
+        entry.priority = behavior.getPriority(aiPlayer, gameEntities);
+        entry.cellX = cellX;
+        entry.cellY = cellY;
+        entry.healthBucket = healthBucket;
+        entry.carrierCells = carrierCells;
+        for (WorldFact fact : FACTS) {
+            entry.versions[fact.ordinal()] = tracker.getVersion(fact);
+        }
+        entry.populated = true;
+        return entry.priority;
+    }
+
+    /**
+     * Combine the cells the carriers of flags are in into one value, which changes when a carrier
+     * moves to another cell.
+     */
+    private static long carrierCells(GameEntities gameEntities) {
+        long cells = 1;
+        for (Flag flag : gameEntities.getAllFlags()) {
+            if (!flag.isCarried()) {
+                continue;
+            }
+            Player carrier = gameEntities.getPlayer(flag.getCarriedByPlayerId());
+            if (carrier == null) {
+                continue;
+            }
+            Vector2 position = carrier.getBody().getTransform().getTranslation();
+            cells = 31 * cells + flag.getId();
+            cells = 31 * cells + (long) Math.floor(position.x / POSITION_CELL_SIZE);
+            cells = 31 * cells + (long) Math.floor(position.y / POSITION_CELL_SIZE);
+        }
+        return cells;
+    }
+
+    /**
+     * Drop all cached scores, e.g. after a respawn.
+     */
+    public void invalidateAll() {
+        for (Entry entry : entries.values()) {
+            entry.populated = false;
+        }
+    }
+
+    private static final class Entry {
+        private final long[] versions = new long[FACTS.length];
+        private int priority;
+        private long cellX;
+        private long cellY;
+        private long healthBucket;
+        private long carrierCells;
+        private boolean populated = false;
+
+        private boolean isValid(Set<WorldFact> dependencies, WorldFactTracker tracker,
+                                long cellX, long cellY, long healthBucket, long carrierCells) {
+            if (!populated) {
+                return false;
+            }
+            for (WorldFact fact : FACTS) {
+                if (!dependencies.contains(fact)) {
+                    continue;
+                }
+                switch (fact) {
+                    case SELF_POSITION -> {
+                        if (this.cellX != cellX || this.cellY != cellY) {
+                            return false;
+                        }
+                    }
+                    case SELF_HEALTH -> {
+                        if (this.healthBucket != healthBucket) {
+                            return false;
+                        }
+                    }
+                    case CARRIER_POSITIONS -> {
+                        if (this.carrierCells != carrierCells) {
+                            return false;
+                        }
+                    }
+                    default -> {
+                        if (versions[fact.ordinal()] != tracker.getVersion(fact)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,9 +2,10 @@ package com.fullsteam.ai;
 
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.model.WeaponConfig;
+import com.fullsteam.util.GameRandom;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
 /**
  * Utility class for randomly selecting weapon presets for AI players.
@@ -96,13 +97,18 @@ public class AIWeaponSelector {
             WeaponConfig.CORROSIVE_CANNON_PRESET
     );
 
+    // Weapon rotation picks from these for every player in the game, so the list is built once
+    private static final List<WeaponConfig> NON_HEALING_WEAPONS = ALL_WEAPONS.stream()
+            .filter(w -> w != WeaponConfig.MEDIC_BEAM_PRESET)
+            .toList();
+
     /**
      * Select a completely random weapon preset from all available presets.
      *
      * @return Random weapon preset
      */
     public static WeaponConfig selectRandomWeapon() {
-        return ALL_WEAPONS.get(ThreadLocalRandom.current().nextInt(ALL_WEAPONS.size()));
+        return ALL_WEAPONS.get(GameRandom.current().nextInt(ALL_WEAPONS.size()));
     }
     
     /**
@@ -112,10 +118,7 @@ public class AIWeaponSelector {
      * @return Random non-healing weapon preset
      */
     public static WeaponConfig selectRandomNonHealingWeapon() {
-        List<WeaponConfig> nonHealing = ALL_WEAPONS.stream()
-                .filter(w -> w != WeaponConfig.MEDIC_BEAM_PRESET)
-                .toList();
-        return nonHealing.get(ThreadLocalRandom.current().nextInt(nonHealing.size()));
+        return NON_HEALING_WEAPONS.get(GameRandom.current().nextInt(NON_HEALING_WEAPONS.size()));
     }
 
     /**
@@ -126,7 +129,7 @@ public class AIWeaponSelector {
      * @return Weapon preset suitable for the personality
      */
     public static WeaponConfig selectWeaponForPersonality(AIPersonality personality) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
 
         switch (personality.getPersonalityType()) {
             case "Berserker":
@@ -299,7 +302,7 @@ public class AIWeaponSelector {
 
         // For secondary, either pick complementary weapon or random
         WeaponConfig secondary;
-        if (ThreadLocalRandom.current().nextDouble() < 0.3) {
+        if (GameRandom.current().nextDouble() < 0.3) {
             // 30% chance to pick a complementary weapon type
             secondary = selectComplementaryWeapon(primary);
         } else {
@@ -321,7 +324,7 @@ public class AIWeaponSelector {
      * @return A complementary secondary weapon
      */
     private static WeaponConfig selectComplementaryWeapon(WeaponConfig primary) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
 
         // If primary is long-range, pick short-range secondary
         if (isLongRangeWeapon(primary)) {
@@ -397,7 +400,7 @@ public class AIWeaponSelector {
      */
     public static UtilityWeapon selectRandomUtilityWeapon() {
         UtilityWeapon[] allUtilities = UtilityWeapon.values();
-        return allUtilities[ThreadLocalRandom.current().nextInt(allUtilities.length)];
+        return allUtilities[GameRandom.current().nextInt(allUtilities.length)];
     }
 
     /**
@@ -408,7 +411,7 @@ public class AIWeaponSelector {
      * @return Utility weapon suitable for the personality
      */
     public static UtilityWeapon selectUtilityWeaponForPersonality(AIPersonality personality) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
 
         return switch (personality.getPersonalityType()) {
             case "Berserker" -> {
@@ -1,12 +1,17 @@
 package com.fullsteam.ai;
 
+import com.fullsteam.games.GameImage;
 import com.fullsteam.model.PlayerInput;
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Player;
 import com.fullsteam.physics.Turret;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -89,7 +94,7 @@ public class CombatBehavior implements AIBehavior {
         double distance = direction.getMagnitude();
 
         // Get optimal range for current weapon
-        double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+        double weaponRange = aiPlayer.getWeaponRange();
         double optimalRange = weaponRange * 0.7; // Stay at 70% of max range
         double minRange = Math.min(weaponRange * 0.3, 80); // Don't get too close
 
@@ -150,7 +155,7 @@ public class CombatBehavior implements AIBehavior {
                 moveDirection = currentMovement.copy().multiply(0.3);
             } else {
                 // Random subtle movement
-                double randomAngle = Math.random() * Math.PI * 2;
+                double randomAngle = GameRandom.current().nextDouble() * Math.PI * 2;
                 moveDirection = new Vector2(Math.cos(randomAngle), Math.sin(randomAngle)).multiply(0.2);
             }
         }
@@ -183,11 +188,11 @@ public class CombatBehavior implements AIBehavior {
             // Add slight inaccuracy based on personality
             double accuracy = aiPlayer.getPersonality().getAccuracy();
             double spread = (1.0 - accuracy) * 15;
-            aimPos.add((Math.random() - 0.5) * spread, (Math.random() - 0.5) * spread);
+            aimPos.add((GameRandom.current().nextDouble() - 0.5) * spread, (GameRandom.current().nextDouble() - 0.5) * spread);
         } else {
             // Projectile weapons - predict target movement
             Vector2 targetVelocity = target.getVelocity();
-            double projectileSpeed = aiPlayer.getCurrentWeapon().getProjectileSpeed();
+            double projectileSpeed = aiPlayer.getWeaponProjectileSpeed();
             double timeToTarget = distance / projectileSpeed;
 
             // Predict target movement with some uncertainty for realism
@@ -196,8 +201,8 @@ public class CombatBehavior implements AIBehavior {
             // Add slight inaccuracy based on distance and personality
             double accuracy = aiPlayer.getPersonality().getAccuracy();
             double distanceInaccuracy = Math.max(0, distance - 200) * 0.05 * (1.0 - accuracy);
-            double randomOffsetX = (Math.random() - 0.5) * distanceInaccuracy;
-            double randomOffsetY = (Math.random() - 0.5) * distanceInaccuracy;
+            double randomOffsetX = (GameRandom.current().nextDouble() - 0.5) * distanceInaccuracy;
+            double randomOffsetY = (GameRandom.current().nextDouble() - 0.5) * distanceInaccuracy;
 
             aimPos.add(randomOffsetX, randomOffsetY);
         }
@@ -214,8 +219,8 @@ public class CombatBehavior implements AIBehavior {
         }
 
         // Smart reloading with improved ammo management
-        int currentAmmo = aiPlayer.getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = aiPlayer.getCurrentWeapon().getMagazineSize();
+        int currentAmmo = aiPlayer.getCurrentAmmo();
+        int magazineSize = aiPlayer.getMagazineSize();
         double ammoPercent = (double) currentAmmo / magazineSize;
 
         boolean shouldReload = false;
@@ -298,11 +303,16 @@ public class CombatBehavior implements AIBehavior {
         retreatDirection = playerPos.copy().subtract(threatPos);
         if (retreatDirection.getMagnitude() < 1.0) {
             // If positions are identical, retreat in random direction
-            retreatDirection = new Vector2(Math.random() - 0.5, Math.random() - 0.5);
+            retreatDirection = new Vector2(GameRandom.current().nextDouble() - 0.5, GameRandom.current().nextDouble() - 0.5);
         }
         retreatDirection.normalize();
     }
 
+    @Override
+    public int getTargetId() {
+        return targetId;
+    }
+
     @Override
     public void onEnter(AIPlayer aiPlayer) {
         targetId = -1;
@@ -348,6 +358,36 @@ public class CombatBehavior implements AIBehavior {
         return Math.min(100, basePriority + personalityBonus);
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(targetId);
+        out.writeBoolean(targetIsPlayer);
+        out.writeDouble(lastShotTime);
+        out.writeDouble(combatTimeout);
+        out.writeDouble(timeSinceLastTarget);
+        GameImage.writeVector(out, lastTargetPosition);
+        out.writeDouble(targetPursuitTime);
+        out.writeBoolean(isRetreating);
+        out.writeDouble(retreatStartTime);
+        GameImage.writeVector(out, retreatDirection);
+        out.writeDouble(lastHealthCheck);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        targetId = in.readInt();
+        targetIsPlayer = in.readBoolean();
+        lastShotTime = in.readDouble();
+        combatTimeout = in.readDouble();
+        timeSinceLastTarget = in.readDouble();
+        lastTargetPosition = GameImage.readVector(in);
+        targetPursuitTime = in.readDouble();
+        isRetreating = in.readBoolean();
+        retreatStartTime = in.readDouble();
+        retreatDirection = GameImage.readVector(in);
+        lastHealthCheck = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "Combat";
@@ -475,7 +515,7 @@ public class CombatBehavior implements AIBehavior {
     }
 
     private double calculateWeaponEffectiveness(AIPlayer aiPlayer, double distance) {
-        double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+        double weaponRange = aiPlayer.getWeaponRange();
         if (distance > weaponRange) return 0.0;
 
         // Weapon is most effective at 60-80% of its range
@@ -493,13 +533,13 @@ public class CombatBehavior implements AIBehavior {
 
     private boolean shouldShootAtTarget(AIPlayer aiPlayer, AITargetWrapper target, double distance) {
         // Don't shoot if reloading or no ammo
-        if (aiPlayer.isReloading() || aiPlayer.getCurrentWeapon().getCurrentAmmo() <= 0) {
+        if (aiPlayer.isReloading() || aiPlayer.getCurrentAmmo() <= 0) {
             return false;
         }
 
         // Consider accuracy at distance
-        double accuracy = aiPlayer.getCurrentWeapon().getAccuracy();
-        double effectiveRange = aiPlayer.getCurrentWeapon().getRange();
+        double accuracy = aiPlayer.getWeaponAccuracy();
+        double effectiveRange = aiPlayer.getWeaponRange();
 
         // Reduce accuracy at longer ranges but be more generous
         double rangeAccuracy = Math.max(0.3, 1.0 - (distance / (effectiveRange * 1.5)));
@@ -514,7 +554,7 @@ public class CombatBehavior implements AIBehavior {
             shootChance = 0.9;
         }
 
-        return Math.random() < shootChance;
+        return GameRandom.current().nextDouble() < shootChance;
     }
     
     /**
@@ -589,7 +629,7 @@ public class CombatBehavior implements AIBehavior {
         usageChance *= personalityMultiplier;
         
         // Random factor to make behavior less predictable
-        shouldUseUtility = Math.random() < usageChance;
+        shouldUseUtility = GameRandom.current().nextDouble() < usageChance;
         
         if (shouldUseUtility) {
             input.setAltFire(true);
@@ -600,7 +640,7 @@ public class CombatBehavior implements AIBehavior {
      * Check if the AI is using a beam weapon (instant hit).
      */
     private boolean isBeamWeapon(AIPlayer aiPlayer) {
-        String weaponType = aiPlayer.getCurrentWeapon().getName();
+        String weaponType = aiPlayer.getWeapon().getName();
         return weaponType.contains("Laser") || weaponType.contains("Plasma Beam") 
                || weaponType.contains("Railgun") || weaponType.contains("Rail Cannon")
                || weaponType.contains("Medic Beam");
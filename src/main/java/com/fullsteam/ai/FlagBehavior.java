@@ -4,15 +4,25 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.Flag;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Player;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Behavior for Capture the Flag gameplay.
  * AI will capture enemy flags, defend own flags, and return dropped flags.
  */
 public class FlagBehavior implements AIBehavior {
+    private static final Set<WorldFact> PRIORITY_DEPENDENCIES = EnumSet.of(WorldFact.FLAGS, WorldFact.CARRIER_POSITIONS, WorldFact.SELF_POSITION);
+
     private enum FlagRole {
         ATTACKER,  // Capture enemy flags
         DEFENDER,  // Protect own flags
@@ -25,15 +35,15 @@ public class FlagBehavior implements AIBehavior {
     private static final double ROLE_CHANGE_INTERVAL = 10.0; // Re-evaluate role every 10 seconds
     
     // Per-AI randomization for patrol patterns to prevent clustering
-    private final double patrolSpeedVariation;
-    private final double patrolRadiusVariation;
-    private final double patrolAngleOffset;
+    private double patrolSpeedVariation;
+    private double patrolRadiusVariation;
+    private double patrolAngleOffset;
     
     public FlagBehavior() {
         // Initialize random variations per AI instance
-        this.patrolSpeedVariation = 0.75 + Math.random() * 0.5; // 0.75 to 1.25
-        this.patrolRadiusVariation = 0.8 + Math.random() * 0.4; // 0.8 to 1.2
-        this.patrolAngleOffset = Math.random() * Math.PI * 2; // 0 to 2π
+        this.patrolSpeedVariation = 0.75 + GameRandom.current().nextDouble() * 0.5; // 0.75 to 1.25
+        this.patrolRadiusVariation = 0.8 + GameRandom.current().nextDouble() * 0.4; // 0.8 to 1.2
+        this.patrolAngleOffset = GameRandom.current().nextDouble() * Math.PI * 2; // 0 to 2π
     }
 
     @Override
@@ -156,7 +166,7 @@ public class FlagBehavior implements AIBehavior {
         double moveIntensity = 0.8 + (aiPlayer.getPersonality().getMobility() * 0.2);
         
         // Add some weaving to avoid fire
-        double weaveFactor = Math.sin(System.currentTimeMillis() / 500.0) * 0.3;
+        double weaveFactor = Math.sin(GameClock.currentTimeMillis() / 500.0) * 0.3;
         Vector2 perpendicular = new Vector2(-direction.y, direction.x);
         direction.add(perpendicular.multiply(weaveFactor));
         direction.normalize();
@@ -217,7 +227,7 @@ public class FlagBehavior implements AIBehavior {
             input.setMoveY(direction.y * 0.4);
         } else {
             // Good position, patrol around flag
-            double patrolAngle = (System.currentTimeMillis() / 3000.0) * patrolSpeedVariation + patrolAngleOffset;
+            double patrolAngle = (GameClock.currentTimeMillis() / 3000.0) * patrolSpeedVariation + patrolAngleOffset;
             patrolAngle = patrolAngle % (Math.PI * 2);
             
             // Apply radius variation per AI
@@ -286,7 +296,7 @@ public class FlagBehavior implements AIBehavior {
                 input.setWorldY(predictedPos.y);
 
                 // Shoot if in range
-                if (distance < aiPlayer.getCurrentWeapon().getRange() && aiPlayer.canShoot()) {
+                if (distance < aiPlayer.getWeaponRange() && aiPlayer.canShoot()) {
                     input.setLeft(true);
                 }
 
@@ -354,7 +364,7 @@ public class FlagBehavior implements AIBehavior {
 
         // Add evasive movement when far from home
         if (distance > 200) {
-            double evasion = Math.sin(System.currentTimeMillis() / 300.0) * 0.4;
+            double evasion = Math.sin(GameClock.currentTimeMillis() / 300.0) * 0.4;
             Vector2 perpendicular = new Vector2(-direction.y, direction.x);
             direction.add(perpendicular.multiply(evasion));
             direction.normalize();
@@ -397,7 +407,7 @@ public class FlagBehavior implements AIBehavior {
             Vector2 enemyVel = nearestEnemy.getVelocity();
             
             // Lead target
-            double projectileSpeed = aiPlayer.getCurrentWeapon().getProjectileSpeed();
+            double projectileSpeed = aiPlayer.getWeaponProjectileSpeed();
             double timeToTarget = nearestDistance / projectileSpeed;
             Vector2 predictedPos = enemyPos.copy().add(enemyVel.copy().multiply(timeToTarget));
 
@@ -405,7 +415,7 @@ public class FlagBehavior implements AIBehavior {
             input.setWorldY(predictedPos.y);
 
             // Shoot if in good range
-            double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+            double weaponRange = aiPlayer.getWeaponRange();
             if (nearestDistance < weaponRange * 0.8 && aiPlayer.canShoot()) {
                 input.setLeft(true);
             }
@@ -416,8 +426,8 @@ public class FlagBehavior implements AIBehavior {
      * Smart reload - only reload when safe.
      */
     private void smartReload(AIPlayer aiPlayer, PlayerInput input, boolean isSafe) {
-        int currentAmmo = aiPlayer.getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = aiPlayer.getCurrentWeapon().getMagazineSize();
+        int currentAmmo = aiPlayer.getCurrentAmmo();
+        int magazineSize = aiPlayer.getMagazineSize();
 
         if (currentAmmo == 0) {
             input.setReload(true);
@@ -439,6 +449,11 @@ public class FlagBehavior implements AIBehavior {
         return !gameEntities.getAllFlags().isEmpty();
     }
 
+    @Override
+    public Set<WorldFact> getPriorityDependencies() {
+        return PRIORITY_DEPENDENCIES;
+    }
+
     @Override
     public int getPriority(AIPlayer aiPlayer, GameEntities gameEntities) {
         // No flags in game = no priority
@@ -479,6 +494,26 @@ public class FlagBehavior implements AIBehavior {
         return (int) (60 + (strategicThinking * 20) + (aggressiveness * 10));
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeUTF(currentRole.name());
+        out.writeInt(targetFlagId);
+        out.writeDouble(roleChangeTime);
+        out.writeDouble(patrolSpeedVariation);
+        out.writeDouble(patrolRadiusVariation);
+        out.writeDouble(patrolAngleOffset);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        currentRole = FlagRole.valueOf(in.readUTF());
+        targetFlagId = in.readInt();
+        roleChangeTime = in.readDouble();
+        patrolSpeedVariation = in.readDouble();
+        patrolRadiusVariation = in.readDouble();
+        patrolAngleOffset = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "Flag (" + currentRole + ")";
@@ -4,8 +4,14 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Headquarters;
 import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 /**
  * Behavior for Headquarters attack and defense gameplay.
  * AI will defend their own HQ and attack enemy HQs.
@@ -22,15 +28,15 @@ public class HeadquartersBehavior implements AIBehavior {
     private static final double ROLE_EVALUATION_INTERVAL = 8.0;
     
     // Per-AI randomization for patrol patterns to prevent clustering
-    private final double patrolSpeedVariation;
-    private final double patrolRadiusVariation;
-    private final double patrolAngleOffset;
+    private double patrolSpeedVariation;
+    private double patrolRadiusVariation;
+    private double patrolAngleOffset;
     
     public HeadquartersBehavior() {
         // Initialize random variations per AI instance
-        this.patrolSpeedVariation = 0.8 + Math.random() * 0.4; // 0.8 to 1.2
-        this.patrolRadiusVariation = 0.85 + Math.random() * 0.3; // 0.85 to 1.15
-        this.patrolAngleOffset = Math.random() * Math.PI * 2; // 0 to 2π
+        this.patrolSpeedVariation = 0.8 + GameRandom.current().nextDouble() * 0.4; // 0.8 to 1.2
+        this.patrolRadiusVariation = 0.85 + GameRandom.current().nextDouble() * 0.3; // 0.85 to 1.15
+        this.patrolAngleOffset = GameRandom.current().nextDouble() * Math.PI * 2; // 0 to 2π
     }
 
     @Override
@@ -154,7 +160,7 @@ public class HeadquartersBehavior implements AIBehavior {
         Vector2 myPos = aiPlayer.getPosition();
         Vector2 hqPos = targetHQ.getPosition();
         double distance = myPos.distance(hqPos);
-        double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+        double weaponRange = aiPlayer.getWeaponRange();
 
         // Move to optimal attack position
         if (distance > weaponRange * 0.7) {
@@ -163,7 +169,7 @@ public class HeadquartersBehavior implements AIBehavior {
             direction.normalize();
 
             // Add evasive movement
-            double evasion = Math.sin(System.currentTimeMillis() / 400.0) * 0.4;
+            double evasion = Math.sin(GameClock.currentTimeMillis() / 400.0) * 0.4;
             Vector2 perpendicular = new Vector2(-direction.y, direction.x);
             direction.add(perpendicular.multiply(evasion));
             direction.normalize();
@@ -182,7 +188,7 @@ public class HeadquartersBehavior implements AIBehavior {
             input.setMoveY(direction.y * 0.6);
         } else {
             // Good position, strafe around HQ
-            double strafeAngle = (System.currentTimeMillis() / 2500.0) % (Math.PI * 2);
+            double strafeAngle = (GameClock.currentTimeMillis() / 2500.0) % (Math.PI * 2);
             Vector2 strafeDir = new Vector2(
                 Math.cos(strafeAngle),
                 Math.sin(strafeAngle)
@@ -254,7 +260,7 @@ public class HeadquartersBehavior implements AIBehavior {
             input.setMoveY(direction.y * 0.5);
         } else {
             // Good position, patrol around HQ
-            double patrolAngle = (System.currentTimeMillis() / 4000.0) * patrolSpeedVariation + patrolAngleOffset;
+            double patrolAngle = (GameClock.currentTimeMillis() / 4000.0) * patrolSpeedVariation + patrolAngleOffset;
             patrolAngle = patrolAngle % (Math.PI * 2);
             
             // Add personality variation to patrol pattern
@@ -314,20 +320,20 @@ public class HeadquartersBehavior implements AIBehavior {
         double distance = myPos.distance(enemyPos);
 
         // Lead target
-        double projectileSpeed = aiPlayer.getCurrentWeapon().getProjectileSpeed();
+        double projectileSpeed = aiPlayer.getWeaponProjectileSpeed();
         double timeToTarget = distance / projectileSpeed;
         Vector2 predictedPos = enemyPos.copy().add(enemyVel.copy().multiply(timeToTarget));
 
         // Add accuracy variation
         double accuracy = aiPlayer.getPersonality().getAccuracy();
         double spread = (1.0 - accuracy) * 25;
-        predictedPos.add((Math.random() - 0.5) * spread, (Math.random() - 0.5) * spread);
+        predictedPos.add((GameRandom.current().nextDouble() - 0.5) * spread, (GameRandom.current().nextDouble() - 0.5) * spread);
 
         input.setWorldX(predictedPos.x);
         input.setWorldY(predictedPos.y);
 
         // Shoot if in range
-        double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+        double weaponRange = aiPlayer.getWeaponRange();
         if (distance < weaponRange * 0.85 && aiPlayer.canShoot()) {
             input.setLeft(true);
         }
@@ -387,8 +393,8 @@ public class HeadquartersBehavior implements AIBehavior {
      * Smart reload - only reload when safe.
      */
     private void smartReload(AIPlayer aiPlayer, PlayerInput input, boolean isSafe) {
-        int currentAmmo = aiPlayer.getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = aiPlayer.getCurrentWeapon().getMagazineSize();
+        int currentAmmo = aiPlayer.getCurrentAmmo();
+        int magazineSize = aiPlayer.getMagazineSize();
 
         if (currentAmmo == 0) {
             input.setReload(true);
@@ -450,6 +456,26 @@ public class HeadquartersBehavior implements AIBehavior {
         return Math.min(100, priority);
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeUTF(currentRole.name());
+        out.writeInt(targetHQId);
+        out.writeDouble(roleEvaluationTime);
+        out.writeDouble(patrolSpeedVariation);
+        out.writeDouble(patrolRadiusVariation);
+        out.writeDouble(patrolAngleOffset);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        currentRole = HQRole.valueOf(in.readUTF());
+        targetHQId = in.readInt();
+        roleEvaluationTime = in.readDouble();
+        patrolSpeedVariation = in.readDouble();
+        patrolRadiusVariation = in.readDouble();
+        patrolAngleOffset = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "HQ (" + currentRole + ")";
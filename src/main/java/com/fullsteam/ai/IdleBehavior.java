@@ -1,13 +1,18 @@
 package com.fullsteam.ai;
 
+import com.fullsteam.games.GameImage;
 import com.fullsteam.model.PlayerInput;
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Player;
 import com.fullsteam.physics.Turret;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 
 /**
  * Default behavior when AI has no specific objective.
@@ -92,8 +97,8 @@ public class IdleBehavior implements AIBehavior {
         }
 
         // Always check for reload when idle - this is the missing piece!
-        int currentAmmo = aiPlayer.getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = aiPlayer.getCurrentWeapon().getMagazineSize();
+        int currentAmmo = aiPlayer.getCurrentAmmo();
+        int magazineSize = aiPlayer.getMagazineSize();
 
         // Reload if out of ammo or if ammo is low and we're not in immediate danger
         boolean shouldReload = false;
@@ -131,6 +136,21 @@ public class IdleBehavior implements AIBehavior {
         return 15; // Slightly higher priority when no enemies around
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeBoolean(wanderTarget != null);
+        if (wanderTarget != null) {
+            GameImage.writeVector(out, wanderTarget);
+        }
+        out.writeDouble(wanderChangeTime);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        wanderTarget = in.readBoolean() ? GameImage.readVector(in) : null;
+        wanderChangeTime = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "Idle";
@@ -143,8 +163,8 @@ public class IdleBehavior implements AIBehavior {
         int attempts = 0;
         while (attempts < 5) {
             // Generate a random point within reasonable distance - ensure minimum distance to keep moving
-            double angle = ThreadLocalRandom.current().nextDouble() * 2 * Math.PI;
-            double distance = 150 + ThreadLocalRandom.current().nextDouble() * 250; // 150-400 units away (increased min)
+            double angle = GameRandom.current().nextDouble() * 2 * Math.PI;
+            double distance = 150 + GameRandom.current().nextDouble() * 250; // 150-400 units away (increased min)
 
             Vector2 candidateTarget = new Vector2(
                     playerPos.x + Math.cos(angle) * distance,
@@ -167,8 +187,8 @@ public class IdleBehavior implements AIBehavior {
 
         // If we couldn't find a safe target after 5 attempts, just use the last candidate
         // (better to move somewhere than stand still)
-        double angle = ThreadLocalRandom.current().nextDouble() * 2 * Math.PI;
-        double distance = 150 + ThreadLocalRandom.current().nextDouble() * 250;
+        double angle = GameRandom.current().nextDouble() * 2 * Math.PI;
+        double distance = 150 + GameRandom.current().nextDouble() * 250;
         wanderTarget = new Vector2(
                 playerPos.x + Math.cos(angle) * distance,
                 playerPos.y + Math.sin(angle) * distance
@@ -309,7 +329,7 @@ public class IdleBehavior implements AIBehavior {
         usageChance *= personalityMultiplier;
         
         // Random factor with lower base chance than combat
-        shouldUseUtility = Math.random() < usageChance;
+        shouldUseUtility = GameRandom.current().nextDouble() < usageChance;
         
         if (shouldUseUtility) {
             input.setAltFire(true);
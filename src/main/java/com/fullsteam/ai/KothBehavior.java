@@ -4,16 +4,26 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.KothZone;
 import com.fullsteam.physics.Player;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Behavior for King of the Hill (KOTH) zone control gameplay.
  * AI will capture and hold zones to earn points for their team.
  */
 public class KothBehavior implements AIBehavior {
+    private static final Set<WorldFact> PRIORITY_DEPENDENCIES = EnumSet.of(WorldFact.KOTH_ZONES, WorldFact.SELF_POSITION);
+
     private int targetZoneId = -1;
     private double zoneEvaluationTime = 0;
     private static final double ZONE_EVALUATION_INTERVAL = 5.0; // Re-evaluate target zone every 5 seconds
@@ -186,7 +196,7 @@ public class KothBehavior implements AIBehavior {
 
         // Add tactical weaving when approaching contested zones
         if (zone.getState() == KothZone.ZoneState.CONTESTED) {
-            double weave = Math.sin(System.currentTimeMillis() / 400.0) * 0.3;
+            double weave = Math.sin(GameClock.currentTimeMillis() / 400.0) * 0.3;
             Vector2 perpendicular = new Vector2(-direction.y, direction.x);
             direction.add(perpendicular.multiply(weave));
             direction.normalize();
@@ -218,7 +228,7 @@ public class KothBehavior implements AIBehavior {
             input.setMoveY(toCenter.y * 0.5);
         } else {
             // Circle strafe within zone
-            double strafeAngle = (System.currentTimeMillis() / 2000.0) % (Math.PI * 2);
+            double strafeAngle = (GameClock.currentTimeMillis() / 2000.0) % (Math.PI * 2);
             Vector2 strafeDirection = new Vector2(
                     Math.cos(strafeAngle),
                     Math.sin(strafeAngle)
@@ -295,20 +305,20 @@ public class KothBehavior implements AIBehavior {
             double distance = myPos.distance(targetPos);
 
             // Lead target
-            double projectileSpeed = aiPlayer.getCurrentWeapon().getProjectileSpeed();
+            double projectileSpeed = aiPlayer.getWeaponProjectileSpeed();
             double timeToTarget = distance / projectileSpeed;
             Vector2 predictedPos = targetPos.copy().add(targetVel.copy().multiply(timeToTarget));
 
             // Add accuracy variation
             double accuracy = aiPlayer.getPersonality().getAccuracy();
             double spread = (1.0 - accuracy) * 30;
-            predictedPos.add((Math.random() - 0.5) * spread, (Math.random() - 0.5) * spread);
+            predictedPos.add((GameRandom.current().nextDouble() - 0.5) * spread, (GameRandom.current().nextDouble() - 0.5) * spread);
 
             input.setWorldX(predictedPos.x);
             input.setWorldY(predictedPos.y);
 
             // Shoot if in range
-            double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+            double weaponRange = aiPlayer.getWeaponRange();
             if (distance < weaponRange * 0.85 && aiPlayer.canShoot()) {
                 input.setLeft(true);
             }
@@ -324,8 +334,8 @@ public class KothBehavior implements AIBehavior {
      * Smart reload - only reload when safe.
      */
     private void smartReload(AIPlayer aiPlayer, PlayerInput input, boolean isSafe) {
-        int currentAmmo = aiPlayer.getCurrentWeapon().getCurrentAmmo();
-        int magazineSize = aiPlayer.getCurrentWeapon().getMagazineSize();
+        int currentAmmo = aiPlayer.getCurrentAmmo();
+        int magazineSize = aiPlayer.getMagazineSize();
 
         if (currentAmmo == 0) {
             input.setReload(true);
@@ -347,6 +357,11 @@ public class KothBehavior implements AIBehavior {
         return !gameEntities.getAllKothZones().isEmpty();
     }
 
+    @Override
+    public Set<WorldFact> getPriorityDependencies() {
+        return PRIORITY_DEPENDENCIES;
+    }
+
     @Override
     public int getPriority(AIPlayer aiPlayer, GameEntities gameEntities) {
         // No zones in game = no priority
@@ -399,6 +414,28 @@ public class KothBehavior implements AIBehavior {
         return Math.min(100, priority);
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(targetZoneId);
+        out.writeDouble(zoneEvaluationTime);
+        out.writeInt(zoneCommitmentTime.size());
+        for (Map.Entry<Integer, Double> commitment : zoneCommitmentTime.entrySet()) {
+            out.writeInt(commitment.getKey());
+            out.writeDouble(commitment.getValue());
+        }
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        targetZoneId = in.readInt();
+        zoneEvaluationTime = in.readDouble();
+        zoneCommitmentTime.clear();
+        int commitments = in.readInt();
+        for (int i = 0; i < commitments; i++) {
+            zoneCommitmentTime.put(in.readInt(), in.readDouble());
+        }
+    }
+
     @Override
     public String getName() {
         return "KOTH";
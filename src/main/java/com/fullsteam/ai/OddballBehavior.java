@@ -4,13 +4,23 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.Flag;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.Player;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Behavior for Oddball gameplay.
  * AI will try to grab the oddball, hold it to score points, and hunt down the ball carrier.
  */
 public class OddballBehavior implements AIBehavior {
+    private static final Set<WorldFact> PRIORITY_DEPENDENCIES = EnumSet.of(WorldFact.FLAGS, WorldFact.CARRIER_POSITIONS, WorldFact.SELF_POSITION);
+
     private enum OddballRole {
         CARRIER,    // Currently holding the ball - evade and survive
         HUNTER,     // Chase the ball carrier
@@ -22,7 +32,7 @@ public class OddballBehavior implements AIBehavior {
     private static final double ROLE_CHANGE_INTERVAL = 2.0; // Re-evaluate frequently
     
     // For stable random movement when carrying ball
-    private double randomMoveAngle = Math.random() * Math.PI * 2;
+    private double randomMoveAngle = GameRandom.current().nextDouble() * Math.PI * 2;
     private double randomMoveChangeTime = 0;
     private static final double RANDOM_MOVE_CHANGE_INTERVAL = 3.0; // Change direction every 3 seconds
 
@@ -121,7 +131,7 @@ public class OddballBehavior implements AIBehavior {
                 // Near center - move in a stable random direction to avoid being stationary
                 randomMoveChangeTime += deltaTime;
                 if (randomMoveChangeTime >= RANDOM_MOVE_CHANGE_INTERVAL) {
-                    randomMoveAngle = Math.random() * Math.PI * 2;
+                    randomMoveAngle = GameRandom.current().nextDouble() * Math.PI * 2;
                     randomMoveChangeTime = 0;
                 }
                 input.setMoveX(Math.cos(randomMoveAngle) * 0.5);
@@ -167,13 +177,13 @@ public class OddballBehavior implements AIBehavior {
         input.setWorldY(carrierPos.y);
 
         // Shoot if in range and have line of sight
-        double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+        double weaponRange = aiPlayer.getWeaponRange();
         if (distanceToCarrier < weaponRange * 0.9) {
             input.setLeft(true); // Fire!
         }
 
         // Reload if needed
-        if (aiPlayer.getCurrentWeapon().getCurrentAmmo() < aiPlayer.getCurrentWeapon().getMagazineSize() * 0.3) {
+        if (aiPlayer.getCurrentAmmo() < aiPlayer.getMagazineSize() * 0.3) {
             input.setReload(true);
         }
     }
@@ -217,7 +227,7 @@ public class OddballBehavior implements AIBehavior {
                 input.setWorldX(enemyPos.x);
                 input.setWorldY(enemyPos.y);
                 
-                double weaponRange = aiPlayer.getCurrentWeapon().getRange();
+                double weaponRange = aiPlayer.getWeaponRange();
                 if (distanceToEnemy < weaponRange * 0.9) {
                     input.setLeft(true);
                 }
@@ -225,6 +235,11 @@ public class OddballBehavior implements AIBehavior {
         }
     }
 
+    @Override
+    public Set<WorldFact> getPriorityDependencies() {
+        return PRIORITY_DEPENDENCIES;
+    }
+
     @Override
     public int getPriority(AIPlayer aiPlayer, GameEntities gameEntities) {
         Flag oddball = findOddball(gameEntities);
@@ -270,6 +285,22 @@ public class OddballBehavior implements AIBehavior {
         return true;
     }
 
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeUTF(currentRole.name());
+        out.writeDouble(roleChangeTime);
+        out.writeDouble(randomMoveAngle);
+        out.writeDouble(randomMoveChangeTime);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        currentRole = OddballRole.valueOf(in.readUTF());
+        roleChangeTime = in.readDouble();
+        randomMoveAngle = in.readDouble();
+        randomMoveChangeTime = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "Oddball";
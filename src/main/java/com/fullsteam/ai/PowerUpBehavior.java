@@ -4,30 +4,40 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.PowerUp;
 import com.fullsteam.physics.Workshop;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Behavior for seeking and collecting power-ups from workshops.
  * AI will navigate to workshops, craft power-ups, and collect them strategically.
  */
 public class PowerUpBehavior implements AIBehavior {
+    private static final Set<WorldFact> PRIORITY_DEPENDENCIES = EnumSet.of(WorldFact.POWER_UPS, WorldFact.WORKSHOPS, WorldFact.SELF_POSITION, WorldFact.SELF_HEALTH);
+
     private int targetPowerUpId = -1;
     private int targetWorkshopId = -1;
     private double evaluationTime = 0;
     private static final double EVALUATION_INTERVAL = 3.0; // Re-evaluate every 3 seconds
     
     // Per-AI randomization for circling patterns to prevent clustering
-    private final double circleSpeedVariation;
-    private final double circleRadiusVariation;
-    private final double circleAngleOffset;
+    private double circleSpeedVariation;
+    private double circleRadiusVariation;
+    private double circleAngleOffset;
     
     public PowerUpBehavior() {
         // Initialize random variations per AI instance
-        this.circleSpeedVariation = 0.7 + Math.random() * 0.6; // 0.7 to 1.3
-        this.circleRadiusVariation = 0.6 + Math.random() * 0.5; // 0.6 to 1.1
-        this.circleAngleOffset = Math.random() * Math.PI * 2; // 0 to 2π
+        this.circleSpeedVariation = 0.7 + GameRandom.current().nextDouble() * 0.6; // 0.7 to 1.3
+        this.circleRadiusVariation = 0.6 + GameRandom.current().nextDouble() * 0.5; // 0.6 to 1.1
+        this.circleAngleOffset = GameRandom.current().nextDouble() * Math.PI * 2; // 0 to 2π
     }
     
     @Override
@@ -256,7 +266,7 @@ public class PowerUpBehavior implements AIBehavior {
         } else {
             // Within craft radius - stay here and let workshop craft
             // Move slowly around workshop to avoid being stationary
-            double circleAngle = (System.currentTimeMillis() / 4000.0) * circleSpeedVariation + circleAngleOffset;
+            double circleAngle = (GameClock.currentTimeMillis() / 4000.0) * circleSpeedVariation + circleAngleOffset;
             circleAngle = circleAngle % (Math.PI * 2);
             
             // Apply radius variation per AI
@@ -281,8 +291,8 @@ public class PowerUpBehavior implements AIBehavior {
         }
         
         // Look around for threats while at workshop
-        input.setWorldX(workshopPos.x + Math.cos(System.currentTimeMillis() / 1000.0) * 100);
-        input.setWorldY(workshopPos.y + Math.sin(System.currentTimeMillis() / 1000.0) * 100);
+        input.setWorldX(workshopPos.x + Math.cos(GameClock.currentTimeMillis() / 1000.0) * 100);
+        input.setWorldY(workshopPos.y + Math.sin(GameClock.currentTimeMillis() / 1000.0) * 100);
     }
     
     @Override
@@ -298,6 +308,11 @@ public class PowerUpBehavior implements AIBehavior {
         return !gameEntities.getAllPowerUps().isEmpty() || !gameEntities.getAllWorkshops().isEmpty();
     }
     
+    @Override
+    public Set<WorldFact> getPriorityDependencies() {
+        return PRIORITY_DEPENDENCIES;
+    }
+
     @Override
     public int getPriority(AIPlayer aiPlayer, GameEntities gameEntities) {
         // No power-ups or workshops = no priority
@@ -350,6 +365,26 @@ public class PowerUpBehavior implements AIBehavior {
         return basePriority;
     }
     
+    @Override
+    public void writeState(DataOutputStream out) throws IOException {
+        out.writeInt(targetPowerUpId);
+        out.writeInt(targetWorkshopId);
+        out.writeDouble(evaluationTime);
+        out.writeDouble(circleSpeedVariation);
+        out.writeDouble(circleRadiusVariation);
+        out.writeDouble(circleAngleOffset);
+    }
+
+    @Override
+    public void readState(DataInputStream in) throws IOException {
+        targetPowerUpId = in.readInt();
+        targetWorkshopId = in.readInt();
+        evaluationTime = in.readDouble();
+        circleSpeedVariation = in.readDouble();
+        circleRadiusVariation = in.readDouble();
+        circleAngleOffset = in.readDouble();
+    }
+
     @Override
     public String getName() {
         return "PowerUp";
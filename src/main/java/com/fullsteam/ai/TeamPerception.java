@@ -0,0 +1,182 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.games.GameImage;
+import com.fullsteam.physics.Player;
+import lombok.Getter;
+import org.dyn4j.geometry.Vector2;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Shared perception blackboard for all AI players on a single team.
+ * Each observed player is recorded at most once per tick regardless of how many teammates can see them,
+ * so memory and CPU scale with the number of observed players rather than with AI count squared.
+ * Individual {@link AIMemory} instances read from this blackboard and layer personal overrides on top.
+ */
+public class TeamPerception {
+    // How long a player stays "known" after last being seen
+    static final long PLAYER_MEMORY_DURATION = 10000; // 10 seconds
+
+    @Getter
+    private final int perceptionKey;
+    private final Map<Integer, PlayerTrack> tracks = new HashMap<>();
+
+    // Expiry index ordered by last-seen time, one entry per tracked player
+    private final PriorityQueue<PlayerTrack> expiryQueue = new PriorityQueue<>(
+            (a, b) -> Long.compare(a.queuedSeenTime, b.queuedSeenTime));
+
+    public TeamPerception(int perceptionKey) {
+        this.perceptionKey = perceptionKey;
+    }
+
+    /**
+     * Record an observation of a player. Repeated observations within the same tick are ignored.
+     *
+     * @return true if the observation was recorded, false if the player was already observed this tick
+     */
+    public boolean observe(Player player, long tick, long currentTime) {
+        PlayerTrack track = tracks.get(player.getId());
+        if (track != null && track.lastObservedTick == tick) {
+            return false;
+        }
+        track = record(player, currentTime);
+        track.lastObservedTick = tick;
+        return true;
+    }
+
+    /**
+     * Record an observation of a player unconditionally.
+     */
+    public PlayerTrack record(Player player, long currentTime) {
+        PlayerTrack track = tracks.get(player.getId());
+        if (track == null) {
+            track = new PlayerTrack(player.getId());
+            tracks.put(player.getId(), track);
+            track.queuedSeenTime = currentTime;
+            expiryQueue.offer(track);
+        }
+
+        track.lastSeenTime = currentTime;
+        track.lastKnownPosition.set(player.getBody().getTransform().getTranslation());
+        track.behaviorPattern.updateObservation(player, currentTime);
+        track.threatLevel = computeThreatLevel(track.threatLevel, player);
+        return track;
+    }
+
+    /**
+     * Check whether a player has already been observed by this team during the given tick.
+     */
+    public boolean isObservedThisTick(int playerId, long tick) {
+        PlayerTrack track = tracks.get(playerId);
+        return track != null && track.lastObservedTick == tick;
+    }
+
+    /**
+     * Forget players that have not been seen within the memory window.
+     * Only entries at the head of the expiry index are inspected, so the cost is proportional to
+     * the number of candidates for expiry rather than the number of tracked players.
+     */
+    public void expire(long currentTime) {
+        PlayerTrack head;
+        while ((head = expiryQueue.peek()) != null
+                && currentTime - head.queuedSeenTime > PLAYER_MEMORY_DURATION) {
+            expiryQueue.poll();
+            if (currentTime - head.lastSeenTime > PLAYER_MEMORY_DURATION) {
+                tracks.remove(head.playerId);
+            } else {
+                // Seen again since it was indexed - re-index with the newer timestamp
+                head.queuedSeenTime = head.lastSeenTime;
+                expiryQueue.offer(head);
+            }
+        }
+    }
+
+    public PlayerTrack getTrack(int playerId) {
+        return tracks.get(playerId);
+    }
+
+    public int getTrackedPlayerCount() {
+        return tracks.size();
+    }
+
+    /**
+     * Write every tracked player, for a game moved to another node.
+     */
+    void writeState(DataOutputStream out, long now) throws IOException {
+        out.writeInt(tracks.size());
+        for (PlayerTrack track : tracks.values()) {
+            out.writeInt(track.playerId);
+            GameImage.writeVector(out, track.lastKnownPosition);
+            track.behaviorPattern.writeState(out, now);
+            GameImage.writeTime(out, track.lastSeenTime, now);
+            out.writeDouble(track.threatLevel);
+        }
+    }
+
+    /**
+     * Restore the tracks written by {@link #writeState}. Tick numbers start over on the new node, so the
+     * players count as not yet observed this tick.
+     */
+    void readState(DataInputStream in, long now) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            PlayerTrack track = new PlayerTrack(in.readInt());
+            track.lastKnownPosition.set(GameImage.readVector(in));
+            track.behaviorPattern.readState(in, now);
+            track.lastSeenTime = GameImage.readTime(in, now);
+            track.threatLevel = in.readDouble();
+            track.queuedSeenTime = track.lastSeenTime;
+            PlayerTrack replaced = tracks.put(track.playerId, track);
+            if (replaced != null) {
+                expiryQueue.remove(replaced);
+            }
+            expiryQueue.offer(track);
+        }
+    }
+
+    private static double computeThreatLevel(double currentThreat, Player player) {
+        // Factors that increase threat level
+        if (player.getKills() > player.getDeaths()) {
+            currentThreat += 0.1;
+        }
+
+        if (player.getHealth() > 80) {
+            currentThreat += 0.05;
+        }
+
+        // Factors that decrease threat level
+        if (player.getHealth() < 30) {
+            currentThreat -= 0.1;
+        }
+
+        if (!player.isActive()) {
+            currentThreat -= 0.2;
+        }
+
+        // Clamp between 0 and 1
+        return Math.max(0.0, Math.min(1.0, currentThreat));
+    }
+
+    /**
+     * Everything the team knows about a single observed player.
+     */
+    @Getter
+    public static class PlayerTrack {
+        private final int playerId;
+        private final Vector2 lastKnownPosition = new Vector2(0, 0);
+        private final AIMemory.PlayerBehaviorPattern behaviorPattern = new AIMemory.PlayerBehaviorPattern();
+        private long lastSeenTime;
+        private long lastObservedTick = -1;
+        private double threatLevel = 0.5;
+        private long queuedSeenTime;
+
+        PlayerTrack(int playerId) {
+            this.playerId = playerId;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fullsteam.cluster;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.model.NodeInfo;
+import com.fullsteam.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A registry kept in a directory shared by every node, such as a local directory for several
+ * processes on one host, or a network mount for several hosts.
+ * <p>
+ * Each node owns the file holding its state, {@code nodes/<nodeId>.json}, and each game has a file
+ * {@code games/<gameId>} holding the id of its node. Files are replaced atomically, so readers
+ * never see a partial write.
+ */
+public class FileNodeRegistry implements NodeRegistry {
+    private static final Logger log = LoggerFactory.getLogger(FileNodeRegistry.class);
+
+    // Derived properties such as a game config's teamMode are written but can't be read back
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path nodesDirectory;
+    private final Path gamesDirectory;
+
+    public FileNodeRegistry(Path directory) {
+        this.nodesDirectory = directory.resolve("nodes");
+        this.gamesDirectory = directory.resolve("games");
+        try {
+            Files.createDirectories(nodesDirectory);
+            Files.createDirectories(gamesDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create node registry in " + directory, e);
+        }
+    }
+
+    @Override
+    public void heartbeat(NodeInfo node) {
+        try {
+            write(nodesDirectory.resolve(node.nodeId() + ".json"), JSON.writeValueAsBytes(node));
+        } catch (IOException e) {
+            log.error("Failed to publish heartbeat of node {}", node.nodeId(), e);
+        }
+    }
+
+    @Override
+    public List<NodeInfo> getLiveNodes() {
+        long now = System.currentTimeMillis();
+        List<NodeInfo> nodes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(nodesDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(".json")) {
+                    continue;
+                }
+                NodeInfo node = readNode(file);
+                if (node != null && NodeRegistry.isLive(node, now)) {
+                    nodes.add(node);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list nodes in {}", nodesDirectory, e);
+        }
+        return nodes;
+    }
+
+    @Override
+    public void assignGame(String gameId, String nodeId) {
+        if (!IdGenerator.isValidGameId(gameId)) {
+            log.warn("Refusing to assign game with invalid id {}", gameId);
+            return;
+        }
+        try {
+            write(gamesDirectory.resolve(gameId), nodeId.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.error("Failed to assign game {} to node {}", gameId, nodeId, e);
+        }
+    }
+
+    @Override
+    public void releaseGame(String gameId) {
+        if (!IdGenerator.isValidGameId(gameId)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(gamesDirectory.resolve(gameId));
+        } catch (IOException e) {
+            log.error("Failed to release game {}", gameId, e);
+        }
+    }
+
+    @Override
+    public String getGameNode(String gameId) {
+        if (!IdGenerator.isValidGameId(gameId)) {
+            return null; // Game ids come from clients, and must not lead out of the directory
+        }
+        String nodeId;
+        try {
+            nodeId = Files.readString(gamesDirectory.resolve(gameId), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("Failed to look up the node of game {}", gameId, e);
+            return null;
+        }
+        NodeInfo node = readNode(nodesDirectory.resolve(nodeId + ".json"));
+        return node != null && NodeRegistry.isLive(node, System.currentTimeMillis()) ? nodeId : null;
+    }
+
+    private NodeInfo readNode(Path file) {
+        try {
+            return JSON.readValue(file.toFile(), NodeInfo.class);
+        } catch (IOException e) {
+            // Removed, or written by an incompatible node
+            log.debug("Skipping unreadable node file {}", file, e);
+            return null;
+        }
+    }
+
+    private static void write(Path file, byte[] contents) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), ".", ".tmp");
+        try {
+            Files.write(temp, contents);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fullsteam.cluster;
+
+import com.fullsteam.model.NodeInfo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry that only lives in this process: enough for a single node, or for several nodes
+ * simulated within one process.
+ */
+public class InMemoryNodeRegistry implements NodeRegistry {
+
+    private final Map<String, NodeInfo> nodes = new ConcurrentHashMap<>();
+    private final Map<String, String> gameNodes = new ConcurrentHashMap<>();
+
+    @Override
+    public void heartbeat(NodeInfo node) {
+        nodes.put(node.nodeId(), node);
+    }
+
+    @Override
+    public List<NodeInfo> getLiveNodes() {
+        long now = System.currentTimeMillis();
+        return nodes.values().stream()
+                .filter(node -> NodeRegistry.isLive(node, now))
+                .toList();
+    }
+
+    @Override
+    public void assignGame(String gameId, String nodeId) {
+        gameNodes.put(gameId, nodeId);
+    }
+
+    @Override
+    public void releaseGame(String gameId) {
+        gameNodes.remove(gameId);
+    }
+
+    @Override
+    public String getGameNode(String gameId) {
+        String nodeId = gameNodes.get(gameId);
+        if (nodeId == null) {
+            return null;
+        }
+        NodeInfo node = nodes.get(nodeId);
+        return node != null && NodeRegistry.isLive(node, System.currentTimeMillis()) ? nodeId : null;
+    }
+}
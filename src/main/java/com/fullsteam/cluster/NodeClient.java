@@ -0,0 +1,105 @@
+package com.fullsteam.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.model.NodeInfo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Asks other nodes of the cluster to host games, new or moved from this node.
+ */
+public class NodeClient {
+
+    /**
+     * Marks a create request as already placed, so the receiving node hosts the game itself.
+     */
+    public static final String PLACED_HEADER = "X-Full-Steam-Placed";
+    /**
+     * Carries the cluster secret, which nodes need to use each other's node routes.
+     */
+    public static final String SECRET_HEADER = "X-Full-Steam-Secret";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final String secret;
+
+    /**
+     * @param secret the cluster secret, or null if none is configured, in which case other nodes refuse
+     *               this node's requests
+     */
+    public NodeClient(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * Create a game on another node.
+     *
+     * @return the id of the created game
+     * @throws IllegalStateException if the node couldn't create it
+     */
+    public String createGame(NodeInfo node, GameConfig gameConfig) {
+        try {
+            HttpRequest request = newRequest(node.address() + "/api/games")
+                    .header("Content-Type", "application/json")
+                    .header(PLACED_HEADER, "true")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(gameConfig)))
+                    .build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Node " + node.nodeId() + " refused the game (" + response.statusCode() + ")");
+            }
+            JsonNode body = JSON.readTree(response.body());
+            return body.path("gameId").asText();
+        } catch (IOException e) {
+            throw new IllegalStateException("Node " + node.nodeId() + " is unreachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted placing a game on node " + node.nodeId(), e);
+        }
+    }
+
+    /**
+     * Hand a captured game to another node to continue it.
+     *
+     * @param nodeAddress base URL of the node
+     * @param image       the game's {@link com.fullsteam.games.GameImage}
+     * @throws IllegalStateException if the node couldn't restore it
+     */
+    public void importGame(String nodeAddress, byte[] image) {
+        try {
+            HttpRequest request = newRequest(nodeAddress + "/api/games/import")
+                    .header("Content-Type", "application/octet-stream")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(image))
+                    .build();
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Node " + nodeAddress + " refused the game (" + response.statusCode() + ")");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Node " + nodeAddress + " is unreachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted moving a game to node " + nodeAddress, e);
+        }
+    }
+
+    private HttpRequest.Builder newRequest(String uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri))
+                .timeout(TIMEOUT);
+        if (secret != null) {
+            builder.header(SECRET_HEADER, secret);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fullsteam.cluster;
+
+import com.fullsteam.model.NodeInfo;
+
+import java.util.List;
+
+/**
+ * Where the nodes of a cluster publish their load, and which node each game lives on.
+ * Nodes that stop sending heartbeats are dropped after {@link #NODE_TIMEOUT_MS}, along with their games.
+ */
+public interface NodeRegistry {
+
+    long NODE_TIMEOUT_MS = 10_000;
+
+    /**
+     * Publish a node's current state.
+     */
+    void heartbeat(NodeInfo node);
+
+    /**
+     * Nodes that have sent a heartbeat within the timeout.
+     */
+    List<NodeInfo> getLiveNodes();
+
+    void assignGame(String gameId, String nodeId);
+
+    void releaseGame(String gameId);
+
+    /**
+     * @return the id of the node hosting the game, or null if no node is
+     */
+    String getGameNode(String gameId);
+
+    static boolean isLive(NodeInfo node, long now) {
+        return now - node.heartbeatMillis() <= NODE_TIMEOUT_MS;
+    }
+}
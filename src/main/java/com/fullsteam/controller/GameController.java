@@ -1,17 +1,26 @@
 package com.fullsteam.controller;
 
-import com.fullsteam.util.GameConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.util.ETags;
+import com.fullsteam.util.GameClock;
 import com.fullsteam.GameLobby;
+import com.fullsteam.LobbyListing;
+import com.fullsteam.ai.AIDecisionRecorder;
+import com.fullsteam.cluster.NodeClient;
 import com.fullsteam.games.GameConfig;
 import com.fullsteam.games.GameManager;
+import com.fullsteam.games.SnapshotArchive;
 import com.fullsteam.model.BulletEffect;
 import com.fullsteam.model.LobbyInfo;
 import com.fullsteam.model.Ordinance;
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.model.WeaponAttribute;
 import com.fullsteam.model.WeaponConfig;
+import com.fullsteam.model.WeaponLoadout;
 import io.micronaut.context.annotation.Context;
-import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.MediaType;
@@ -19,20 +28,20 @@ import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.exceptions.HttpStatusException;
-import io.micronaut.http.server.types.files.StreamedFile;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.validation.Valid;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
-import java.net.URL;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,23 +55,39 @@ public class GameController {
     private static final Logger log = LoggerFactory.getLogger(GameController.class);
 
     private final GameLobby gameLobby;
-    private final ResourceResolver resourceResolver;
+    private final StaticAssets staticAssets;
+    // Built from static tables and presets only, so it is encoded once and served like a static file
+    private final StaticAssets.Asset weaponCustomizationData;
 
     @Inject
-    public GameController(GameLobby gameLobby, ResourceResolver resourceResolver) {
+    public GameController(GameLobby gameLobby, StaticAssets staticAssets, ObjectMapper objectMapper) {
         this.gameLobby = gameLobby;
-        this.resourceResolver = resourceResolver;
+        this.staticAssets = staticAssets;
+        try {
+            this.weaponCustomizationData = StaticAssets.Asset.of(
+                    objectMapper.writeValueAsBytes(buildWeaponCustomizationData()), MediaType.APPLICATION_JSON_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to encode weapon customization data", e);
+        }
     }
 
+    /**
+     * The game list, as {@link LobbyInfo}. Clients polling with the ETag they were last sent are
+     * answered with a 304 until the list changes.
+     */
     @Get("/api/games")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public LobbyInfo getGames() {
-        return new LobbyInfo(
-                gameLobby.getGlobalPlayerCount(),
-                GameConstants.MAX_GLOBAL_PLAYERS,
-                gameLobby.getActiveGames()
-        );
+    public HttpResponse<byte[]> getGames(@Header(HttpHeaders.IF_NONE_MATCH) Optional<String> ifNoneMatch) {
+        LobbyListing.Encoded listing = gameLobby.getListing().get();
+        if (ETags.matches(ifNoneMatch.orElse(null), listing.etag())) {
+            return HttpResponse.<byte[]>notModified()
+                    .header(HttpHeaders.ETAG, listing.etag());
+        }
+        return HttpResponse.ok(listing.json())
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.ETAG, listing.etag())
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache");
     }
 
     @Get("/api/game-config/default")
@@ -74,27 +99,134 @@ public class GameController {
     @Post("/api/games")
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public Map<String, String> createGame(@Valid @Body GameConfig gameConfig) {
+    public Map<String, String> createGame(@Valid @Body GameConfig gameConfig,
+                                          @Header(NodeClient.PLACED_HEADER) Optional<String> placed) {
         try {
-            GameManager game;
-            if (gameConfig != null) {
-                game = gameLobby.createGameWithConfig(gameConfig);
-            } else {
-                game = gameLobby.createGame();
+            GameLobby.PlacedGame game = gameLobby.placeGame(gameConfig, placed.isPresent());
+            Map<String, String> result = new HashMap<>();
+            result.put("gameId", game.gameId());
+            result.put("status", "created");
+            if (game.nodeAddress() != null) {
+                result.put("node", game.nodeAddress());
             }
-            return Map.of(
-                    "gameId", game.getGameId(),
-                    "status", "created"
-            );
+            return result;
         } catch (IllegalStateException e) {
             throw new HttpStatusException(io.micronaut.http.HttpStatus.SERVICE_UNAVAILABLE,
                     "Failed to create game: " + e.getMessage());
         }
     }
 
+    @Post("/api/games/import")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    public Map<String, String> importGame(@Body byte[] image) {
+        try {
+            GameManager game = gameLobby.importGame(image);
+            return Map.of("gameId", game.getGameId(), "status", "restored");
+        } catch (IOException e) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.BAD_REQUEST,
+                    "Unreadable game image: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.SERVICE_UNAVAILABLE,
+                    "Failed to restore game: " + e.getMessage());
+        }
+    }
+
+    @Post("/api/games/{gameId}/migrate{?node}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, String> migrateGame(String gameId, String node) {
+        try {
+            GameLobby.PlacedGame game = gameLobby.migrateGame(gameId, node);
+            return Map.of("gameId", game.gameId(), "status", "migrated", "node", game.nodeAddress());
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.SERVICE_UNAVAILABLE,
+                    "Failed to move game: " + e.getMessage());
+        }
+    }
+
+    @Post("/api/node/drain")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> drainNode() {
+        int moved = gameLobby.drain();
+        return Map.of("status", "draining", "moved", moved);
+    }
+
+    @Post("/api/node/undrain")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> undrainNode() {
+        gameLobby.undrain();
+        return Map.of("status", "active");
+    }
+
+    @Get("/api/games/{gameId}/ai-trace/{playerId}{?seconds}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<AIDecisionRecorder.TraceEntry> getAITrace(String gameId, int playerId, Optional<Integer> seconds) {
+        GameManager game = gameLobby.getGame(gameId);
+        if (game == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND, "Game not found: " + gameId);
+        }
+        AIDecisionRecorder recorder = game.getAiPlayerManager().getDecisionRecorder();
+        if (recorder == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND,
+                    "AI tracing is not enabled for game " + gameId);
+        }
+        long withinMillis = seconds.orElse(10) * 1000L;
+        return recorder.query(playerId, withinMillis);
+    }
+
+    @Get("/api/games/{gameId}/snapshot{?at}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public JsonNode getSnapshot(String gameId, Optional<Long> at) {
+        GameManager game = getArchivedGame(gameId);
+        long latest = latestVisibleTime(game);
+        JsonNode state = game.getSnapshotArchive().stateAt(Math.min(at.orElse(latest), latest));
+        if (state == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND, "Nothing archived yet for game " + gameId);
+        }
+        return state;
+    }
+
+    @Get("/api/games/{gameId}/kill-cam/{playerId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public SnapshotArchive.KillCam getKillCam(String gameId, int playerId) {
+        GameManager game = getArchivedGame(gameId);
+        SnapshotArchive.KillCam killCam = game.getSnapshotArchive().killCam(playerId, latestVisibleTime(game));
+        if (killCam == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND,
+                    "No recent death of player " + playerId + " in game " + gameId);
+        }
+        return killCam;
+    }
+
+    private GameManager getArchivedGame(String gameId) {
+        GameManager game = gameLobby.getGame(gameId);
+        if (game == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND, "Game not found: " + gameId);
+        }
+        if (game.getSnapshotArchive() == null) {
+            throw new HttpStatusException(io.micronaut.http.HttpStatus.NOT_FOUND,
+                    "Snapshot archiving is not enabled for game " + gameId);
+        }
+        return game;
+    }
+
+    /**
+     * The latest game time the archive may show, which is held back as far as spectators are, so it
+     * can't be used to see around the spectator delay.
+     */
+    private static long latestVisibleTime(GameManager game) {
+        return GameClock.currentTimeMillis() - game.getGameConfig().getSpectatorDelaySeconds() * 1000L;
+    }
+
     @Get("/api/weapon-customization")
     @Produces(MediaType.APPLICATION_JSON)
-    public Map<String, Object> getWeaponCustomizationData() {
+    public HttpResponse<byte[]> getWeaponCustomizationData(HttpRequest<?> request) {
+        return StaticAssets.respond(request, weaponCustomizationData, StaticAssets.REVALIDATE);
+    }
+
+    private Map<String, Object> buildWeaponCustomizationData() {
         Map<String, Object> data = new HashMap<>();
 
         // Weapon attributes with min/max values
@@ -211,7 +343,7 @@ public class GameController {
                     return utilityData;
                 })
                 .collect(Collectors.toList()));
-        return data;
+        return Collections.unmodifiableMap(data);
     }
 
     private String formatDisplayName(String name) {
@@ -221,6 +353,8 @@ public class GameController {
     }
 
     private Map<String, Object> createPresetData(WeaponConfig weapon) {
+        // Validates the preset's budget and shares the loadout players are given for it
+        WeaponLoadout loadout = WeaponLoadout.of(weapon);
         Map<String, Object> preset = new HashMap<>();
         preset.put("displayName", weapon.getType());
         Map<String, Integer> attributes = Map.of(
@@ -235,16 +369,12 @@ public class GameController {
                 WeaponAttribute.LINEAR_DAMPING.name(), weapon.getLinearDamping()
         );
         preset.put("attributes", attributes);
-        preset.put("effects", weapon.getBulletEffects()
+        preset.put("effects", loadout.getBulletEffects()
                 .stream()
                 .map(Enum::name)
                 .collect(Collectors.toList()));
-        preset.put("ordinance", weapon.getOrdinance().name());
-
-        // Calculate total points
-        int effectPoints = weapon.getBulletEffects().stream().mapToInt(BulletEffect::getPointCost).sum();
-        int ordPoints = weapon.getOrdinance().getPointCost();
-        preset.put("totalPoints", weapon.getAttributePoints() + effectPoints + ordPoints);
+        preset.put("ordinance", loadout.getOrdinance().name());
+        preset.put("totalPoints", loadout.getTotalPoints());
 
         return preset;
     }
@@ -260,7 +390,7 @@ public class GameController {
             "/favicon.ico",
             "/robots.txt"
     }, produces = MediaType.ALL)
-    public HttpResponse<StreamedFile> staticFiles(@Context HttpRequest<?> request) {
+    public HttpResponse<byte[]> staticFiles(@Context HttpRequest<?> request) {
         String path = request.getPath();
         if (path.equals("/")) {
             path = "lobby.html";
@@ -268,26 +398,18 @@ public class GameController {
         while (path.startsWith("/")) {
             path = path.substring(1);
         }
-        String extension = StringUtils.substringAfter(path, '.');
-        MediaType type = MediaType.forExtension(extension)
-                .orElse(MediaType.TEXT_HTML_TYPE);
-
-        return serveStaticFile(path, type);
-    }
-
-    private HttpResponse<StreamedFile> serveStaticFile(String path, MediaType contentType) {
         try {
-            Optional<URL> resource = resourceResolver.getResource("classpath:" + path);
-            if (resource.isPresent()) {
-                InputStream inputStream = resource.get().openStream();
-                return HttpResponse.ok(new StreamedFile(inputStream, contentType));
-            } else {
+            StaticAssets.Asset asset = staticAssets.get(path);
+            if (asset == null) {
                 log.warn("Resource not found: {}", path);
                 return HttpResponse.notFound();
             }
+            // Pages refer to their scripts and styles by versioned URLs, which never change content
+            boolean versioned = asset.hash().equals(request.getParameters().get("v"));
+            return StaticAssets.respond(request, asset, versioned ? StaticAssets.IMMUTABLE : StaticAssets.REVALIDATE);
         } catch (Exception e) {
             log.error("Error serving static file: {}", path, e);
             return HttpResponse.serverError();
         }
     }
-}
\ No newline at end of file
+}
@@ -15,6 +15,9 @@ import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static com.fullsteam.controller.PlayerConnectionService.SESSION_KEY;
@@ -37,16 +40,27 @@ public class GameWebSocketEndpoint {
     public void onOpen(WebSocketSession session, String gameId) {
         // Check if this is a spectator connection by parsing the request URI
         boolean asSpectator = false;
+        String resumeToken = null;
+        boolean reconnect = false;
         try {
             String requestUri = session.getRequestURI().toString();
             asSpectator = requestUri.contains("spectate=true");
+            resumeToken = queryParameter(session.getRequestURI(), "resume");
+            reconnect = "true".equals(queryParameter(session.getRequestURI(), "reconnect"));
         } catch (Exception e) {
             log.debug("Could not parse spectate parameter from URI: {}", e.getMessage());
         }
         
         log.info("WebSocket connection opened for gameId: {} (spectator: {})", gameId, asSpectator);
         
-        if (!connectionService.connectPlayer(session, gameId, asSpectator)) {
+        // Players who dropped, or whose game moved here, pick up their player. A stale token from a
+        // moved game just joins afresh; a client reconnecting after a drop kept the old world, so it can't
+        boolean resumed = resumeToken != null && !asSpectator
+                && connectionService.resumePlayer(session, gameId, resumeToken, reconnect);
+        if (!resumed && reconnect) {
+            log.info("Player could no longer be resumed in game {}, closing session", gameId);
+            session.close();
+        } else if (!resumed && !connectionService.connectPlayer(session, gameId, asSpectator)) {
             log.warn("Failed to connect {} to game {}, closing session", 
                 asSpectator ? "spectator" : "player", gameId);
             session.close();
@@ -56,6 +70,19 @@ public class GameWebSocketEndpoint {
         }
     }
 
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return URLDecoder.decode(parameter.substring(name.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
     @OnMessage
     public void onMessage(byte[] message, WebSocketSession session) {
         PlayerSession playerSession = session.get(SESSION_KEY, PlayerSession.class).orElse(null);
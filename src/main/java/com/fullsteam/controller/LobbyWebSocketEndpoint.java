@@ -0,0 +1,80 @@
+package com.fullsteam.controller;
+
+import com.fullsteam.Config;
+import com.fullsteam.GameLobby;
+import com.fullsteam.LobbyListing;
+import io.micronaut.websocket.WebSocketSession;
+import io.micronaut.websocket.annotation.OnClose;
+import io.micronaut.websocket.annotation.OnMessage;
+import io.micronaut.websocket.annotation.OnOpen;
+import io.micronaut.websocket.annotation.ServerWebSocket;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes the game list to lobby pages whenever it changes, so they don't have to poll for it.
+ * Changes are batched: the list is sent at most every {@link #PUSH_INTERVAL_MS}, encoded once for every page.
+ */
+@ServerWebSocket("/lobby")
+public class LobbyWebSocketEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(LobbyWebSocketEndpoint.class);
+
+    static final long PUSH_INTERVAL_MS = 500;
+
+    private final GameLobby gameLobby;
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+    private long pushedVersion = -1;
+
+    @Inject
+    public LobbyWebSocketEndpoint(GameLobby gameLobby) {
+        this.gameLobby = gameLobby;
+        Config.EXECUTOR.scheduleWithFixedDelay(this::pushChanges, PUSH_INTERVAL_MS, PUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @OnOpen
+    public void onOpen(WebSocketSession session) {
+        sessions.add(session);
+        send(session, gameLobby.getListing().get());
+    }
+
+    @OnMessage
+    public void onMessage(String message, WebSocketSession session) {
+        // Lobby pages only listen
+    }
+
+    @OnClose
+    public void onClose(WebSocketSession session) {
+        sessions.remove(session);
+    }
+
+    private void pushChanges() {
+        try {
+            LobbyListing listing = gameLobby.getListing();
+            if (sessions.isEmpty() || listing.getVersion() == pushedVersion) {
+                return;
+            }
+            LobbyListing.Encoded encoded = listing.get();
+            pushedVersion = encoded.version();
+            for (WebSocketSession session : sessions) {
+                send(session, encoded);
+            }
+        } catch (Exception e) {
+            log.error("Failed to push the game list to lobby pages", e);
+        }
+    }
+
+    private void send(WebSocketSession session, LobbyListing.Encoded encoded) {
+        if (!session.isOpen()) {
+            sessions.remove(session);
+            return;
+        }
+        session.sendAsync(new String(encoded.json(), StandardCharsets.UTF_8));
+    }
+}
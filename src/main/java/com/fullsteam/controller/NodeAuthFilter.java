@@ -0,0 +1,90 @@
+package com.fullsteam.controller;
+
+import com.fullsteam.cluster.NodeClient;
+import com.fullsteam.util.GameConstants;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import jakarta.inject.Inject;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the routes nodes use to hand games to each other to the nodes of the cluster. Importing,
+ * moving and draining games, and creating a game marked as already placed, take the cluster secret;
+ * without one configured, this node refuses them all.
+ */
+@ServerFilter(ServerFilter.MATCH_ALL_PATTERN)
+public class NodeAuthFilter {
+
+    static final String IMPORT_PATH = "/api/games/import";
+    static final String NODE_PATH_PREFIX = "/api/node/";
+    private static final Pattern MIGRATE_PATH = Pattern.compile("/api/games/[^/]+/migrate");
+    private static final Pattern REPEATED_SLASHES = Pattern.compile("/{2,}");
+
+    private final String secret;
+
+    @Inject
+    public NodeAuthFilter() {
+        this(GameConstants.CLUSTER_SECRET);
+    }
+
+    /**
+     * @param secret the cluster secret, or null if none is configured
+     */
+    NodeAuthFilter(String secret) {
+        this.secret = secret;
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> authorizeNodeRoutes(HttpRequest<?> request) {
+        if (!isNodeRequest(request) || matchesSecret(request.getHeaders().get(NodeClient.SECRET_HEADER))) {
+            return null;
+        }
+        return HttpResponse.status(HttpStatus.FORBIDDEN);
+    }
+
+    static boolean isNodeRequest(HttpRequest<?> request) {
+        String path = normalize(request.getPath());
+        return path == null
+               || path.equals(IMPORT_PATH)
+               || path.equals(NODE_PATH_PREFIX.substring(0, NODE_PATH_PREFIX.length() - 1))
+               || path.startsWith(NODE_PATH_PREFIX)
+               || MIGRATE_PATH.matcher(path).matches()
+               || request.getHeaders().contains(NodeClient.PLACED_HEADER);
+    }
+
+    /**
+     * The path as the router matches it: decoded, with repeated and trailing slashes dropped.
+     *
+     * @return the path, or null if it can't be decoded, in which case it is treated as a node route
+     */
+    static String normalize(String path) {
+        try {
+            // Not a query string: a '+' is a plus, not a space
+            path = URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        path = REPEATED_SLASHES.matcher(path).replaceAll("/");
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private boolean matchesSecret(String presented) {
+        if (secret == null || presented == null) {
+            return false;
+        }
+        // Constant time, so the secret can't be guessed from how long a refusal takes
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
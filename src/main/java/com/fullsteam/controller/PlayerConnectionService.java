@@ -35,6 +35,13 @@ public class PlayerConnectionService {
             // Get or create game
             GameManager game = gameLobby.getGame(gameId);
             if (game == null) {
+                String gameAddress = gameLobby.getRemoteGameAddress(gameId);
+                if (gameAddress != null) {
+                    // The lobby sends players to the game's node; this one can't host them
+                    log.warn("{} {} attempted to join game {}, which is hosted on {}",
+                            asSpectator ? "Spectator" : "Player", playerId, gameId, gameAddress);
+                    return false;
+                }
                 if (asSpectator) {
                     // Spectators can't join non-existent games
                     log.warn("Spectator {} attempted to join non-existent game {}", playerId, gameId);
@@ -72,15 +79,43 @@ public class PlayerConnectionService {
         }
     }
 
+    /**
+     * Reconnect a client to its player, after its connection dropped or the game was moved here from
+     * another node.
+     *
+     * @param hasWorld whether the client kept the game's world, so it doesn't need to be sent again
+     * @return false if the game isn't here or the token doesn't resume a player in it
+     */
+    public boolean resumePlayer(WebSocketSession session, String gameId, String resumeToken, boolean hasWorld) {
+        GameManager game = gameLobby.getGame(gameId);
+        Integer playerId = game != null ? game.claimResumeToken(resumeToken) : null;
+        if (playerId == null) {
+            log.warn("Stale resume token for game {}", gameId);
+            return false;
+        }
+        PlayerSession playerSession = new PlayerSession(playerId, session);
+        if (!game.resumePlayer(playerSession, hasWorld)) {
+            return false;
+        }
+        playerSession.setGame(game);
+        session.put(SESSION_KEY, playerSession);
+        gameLobby.incrementPlayerCount();
+        log.info("Player {} resumed in game {}", playerId, gameId);
+        return true;
+    }
+
     public void disconnectPlayer(WebSocketSession session) {
         PlayerSession playerSession = session.get(SESSION_KEY, PlayerSession.class).orElse(null);
         if (playerSession != null) {
             GameManager game = playerSession.getGame();
             if (game != null) {
-                game.removePlayer(playerSession.getPlayerId());
+                // Players are held for a while in case they come back, which keeps the game up too
+                if (playerSession.isSpectator() || !game.suspendPlayer(playerSession.getPlayerId())) {
+                    game.removePlayer(playerSession.getPlayerId());
+                }
 
-                // Remove empty games
-                if (game.getPlayerCount() == 0) {
+                // Remove games nobody is playing or watching
+                if (!game.hasHumanPlayers()) {
                     gameLobby.removeGame(game.getGameId());
                 }
             }
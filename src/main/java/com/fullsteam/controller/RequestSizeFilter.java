@@ -0,0 +1,34 @@
+package com.fullsteam.controller;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+/**
+ * Holds requests to a small body size. The server accepts bodies large enough for a game image, which
+ * only the import route takes; every other route is refused anything larger than a game config.
+ */
+@ServerFilter(ServerFilter.MATCH_ALL_PATTERN)
+public class RequestSizeFilter {
+
+    static final long MAX_REQUEST_SIZE = 2 * 1024;
+    static final String IMPORT_PATH = "/api/games/import";
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> limitRequestSize(HttpRequest<?> request) {
+        if (request.getPath().equals(IMPORT_PATH)) {
+            return null;
+        }
+        // A body without a length could be any size
+        boolean unknownLength = request.getHeaders().contains(HttpHeaders.TRANSFER_ENCODING);
+        if (unknownLength || request.getContentLength() > MAX_REQUEST_SIZE) {
+            return HttpResponse.status(HttpStatus.REQUEST_ENTITY_TOO_LARGE);
+        }
+        return null;
+    }
+}
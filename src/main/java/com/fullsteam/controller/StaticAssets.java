@@ -0,0 +1,201 @@
+package com.fullsteam.controller;
+
+import com.fullsteam.Config;
+import com.fullsteam.util.ETags;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import jakarta.inject.Inject;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Static files, read from the classpath once and served from memory.
+ * <p>
+ * Each asset is kept with a gzipped copy, for clients that accept it, and a hash of its content, which
+ * is its ETag. Pages refer to their scripts and styles by URLs versioned with that hash, which clients
+ * may cache for good; anything else is revalidated and answered with a 304 while it hasn't changed.
+ */
+@Context
+public class StaticAssets {
+    private static final Logger log = LoggerFactory.getLogger(StaticAssets.class);
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String REVALIDATE = "no-cache";
+
+    // Loaded once the server is up, along with the scripts and styles they refer to
+    private static final List<String> PRELOADED = List.of("lobby.html", "game.html", "config.html", "favicon.ico", "robots.txt");
+    // A page's references to scripts and styles, which are versioned when the page is loaded
+    private static final Pattern ASSET_REFERENCE = Pattern.compile("((?:src|href)=\")(js/[\\w/.-]+\\.js|[\\w.-]+\\.css)(\")");
+    // Smaller content isn't worth compressing
+    private static final int MIN_GZIP_SIZE = 512;
+
+    /**
+     * An asset as it is served.
+     *
+     * @param gzipped the gzipped content, or null if compressing doesn't pay off
+     * @param hash    hash of the content, used as its ETag and version
+     */
+    public record Asset(byte[] content, byte[] gzipped, MediaType contentType, String hash) {
+
+        public static Asset of(byte[] content, MediaType contentType) {
+            return new Asset(content, gzip(content), contentType, ETags.hash(content));
+        }
+
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+    }
+
+    private final ResourceResolver resourceResolver;
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    @Inject
+    public StaticAssets(ResourceResolver resourceResolver) {
+        this.resourceResolver = resourceResolver;
+        // Off the startup path: a node can host games before anyone asks it for a page
+        Config.EXECUTOR.execute(this::preload);
+    }
+
+    private void preload() {
+        try {
+            for (String path : PRELOADED) {
+                get(path);
+            }
+            log.info("Loaded {} static assets", assets.size());
+        } catch (Exception e) {
+            log.error("Failed to load static assets", e);
+        }
+    }
+
+    /**
+     * @param path classpath path of the asset
+     * @return the asset, or null if there is none
+     */
+    public Asset get(String path) {
+        Asset asset = assets.get(path);
+        if (asset == null) {
+            // Not computeIfAbsent: loading a page loads the assets it refers to
+            asset = load(path);
+            if (asset != null) {
+                Asset loaded = assets.putIfAbsent(path, asset);
+                asset = loaded != null ? loaded : asset;
+            }
+        }
+        return asset;
+    }
+
+    private Asset load(String path) {
+        if (path.contains("..")) {
+            return null;
+        }
+        Optional<URL> resource = resourceResolver.getResource("classpath:" + path);
+        if (resource.isEmpty()) {
+            return null;
+        }
+        byte[] content;
+        try (InputStream in = resource.get().openStream()) {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read static asset " + path, e);
+        }
+        MediaType contentType = MediaType.forExtension(StringUtils.substringAfterLast(path, '.'))
+                .orElse(MediaType.TEXT_HTML_TYPE);
+        if (contentType.equals(MediaType.TEXT_HTML_TYPE)) {
+            content = versionReferences(content);
+        }
+        return Asset.of(content, contentType);
+    }
+
+    /**
+     * Point a page's scripts and styles at their current version, so they can be cached for good.
+     */
+    private byte[] versionReferences(byte[] page) {
+        Matcher matcher = ASSET_REFERENCE.matcher(new String(page, StandardCharsets.UTF_8));
+        StringBuilder versioned = new StringBuilder();
+        while (matcher.find()) {
+            Asset referenced = get(matcher.group(2));
+            String reference = referenced != null
+                    ? matcher.group(1) + matcher.group(2) + "?v=" + referenced.hash() + matcher.group(3)
+                    : matcher.group();
+            matcher.appendReplacement(versioned, Matcher.quoteReplacement(reference));
+        }
+        matcher.appendTail(versioned);
+        return versioned.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The asset as a response: a 304 if the client already has it, otherwise gzipped if the client
+     * accepts it.
+     *
+     * @param cacheControl {@link #IMMUTABLE} or {@link #REVALIDATE}
+     */
+    public static HttpResponse<byte[]> respond(HttpRequest<?> request, Asset asset, String cacheControl) {
+        MutableHttpResponse<byte[]> response;
+        if (ETags.matches(request.getHeaders().get(HttpHeaders.IF_NONE_MATCH), asset.etag())) {
+            response = HttpResponse.<byte[]>notModified()
+                    .header(HttpHeaders.ETAG, asset.etag());
+        } else if (asset.gzipped() != null && acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+            // Weak, as the gzipped bytes differ from the content the tag is the hash of
+            response = HttpResponse.ok(asset.gzipped())
+                    .contentType(asset.contentType())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.ETAG, "W/" + asset.etag());
+        } else {
+            response = HttpResponse.ok(asset.content())
+                    .contentType(asset.contentType())
+                    .header(HttpHeaders.ETAG, asset.etag());
+        }
+        return response
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        if (content.length < MIN_GZIP_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzipped = out.toByteArray();
+        // Already compressed formats don't get smaller
+        return gzipped.length < content.length * 0.9 ? gzipped : null;
+    }
+}
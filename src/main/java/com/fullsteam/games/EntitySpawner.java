@@ -2,6 +2,7 @@ package com.fullsteam.games;
 
 import com.fullsteam.physics.*;
 import com.fullsteam.util.GameConstants;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.geometry.MassType;
@@ -178,8 +179,8 @@ public class EntitySpawner {
         if (!terrainGenerator.isPositionClear(centerPosition, 30.0)) {
             // Try to find a nearby clear position
             for (int attempt = 0; attempt < 10; attempt++) {
-                double offsetX = (Math.random() - 0.5) * 200;
-                double offsetY = (Math.random() - 0.5) * 200;
+                double offsetX = (GameRandom.current().nextDouble() - 0.5) * 200;
+                double offsetY = (GameRandom.current().nextDouble() - 0.5) * 200;
                 Vector2 candidate = new Vector2(offsetX, offsetY);
 
                 if (terrainGenerator.isPositionClear(candidate, 30.0)) {
@@ -222,8 +223,8 @@ public class EntitySpawner {
             if (!terrainGenerator.isPositionClear(zonePosition, GameConstants.SPAWN_CLEARANCE_RADIUS)) {
                 // Try to find a nearby clear position
                 for (int attempt = 0; attempt < 10; attempt++) {
-                    double offsetX = (Math.random() - 0.5) * 200;
-                    double offsetY = (Math.random() - 0.5) * 200;
+                    double offsetX = (GameRandom.current().nextDouble() - 0.5) * 200;
+                    double offsetY = (GameRandom.current().nextDouble() - 0.5) * 200;
                     Vector2 candidate = new Vector2(zonePosition.x + offsetX, zonePosition.y + offsetY);
 
                     if (terrainGenerator.isPositionClear(candidate, GameConstants.SPAWN_CLEARANCE_RADIUS)) {
@@ -297,17 +298,17 @@ public class EntitySpawner {
                 continue;
             }
             Vector2 workshopPosition = teamArea.getCenter().copy();
-            double offsetX = (Math.random() - 0.5) * 50; // ±25 units
-            double offsetY = (Math.random() - 0.5) * 50; // ±25 units
+            double offsetX = (GameRandom.current().nextDouble() - 0.5) * 50; // ±25 units
+            double offsetY = (GameRandom.current().nextDouble() - 0.5) * 50; // ±25 units
             workshopPosition.add(offsetX, offsetY);
 
             // Ensure workshop position is clear of obstacles
             if (!terrainGenerator.isPositionClear(workshopPosition, 100.0)) {
                 // Try to find a nearby clear position within the team area
                 for (int attempt = 0; attempt < 10; attempt++) {
-                    double randomX = teamArea.getMinBounds().x + Math.random() *
+                    double randomX = teamArea.getMinBounds().x + GameRandom.current().nextDouble() *
                             (teamArea.getMaxBounds().x - teamArea.getMinBounds().x);
-                    double randomY = teamArea.getMinBounds().y + Math.random() *
+                    double randomY = teamArea.getMinBounds().y + GameRandom.current().nextDouble() *
                             (teamArea.getMaxBounds().y - teamArea.getMinBounds().y);
                     Vector2 candidate = new Vector2(randomX, randomY);
 
@@ -365,8 +366,8 @@ public class EntitySpawner {
                 // Try to find a nearby clear position within the team area
                 boolean foundClearPosition = false;
                 for (int attempt = 0; attempt < 20; attempt++) {
-                    double offsetX = (Math.random() - 0.5) * 300;
-                    double offsetY = (Math.random() - 0.5) * 300;
+                    double offsetX = (GameRandom.current().nextDouble() - 0.5) * 300;
+                    double offsetY = (GameRandom.current().nextDouble() - 0.5) * 300;
                     Vector2 candidate = new Vector2(hqPosition.x + offsetX, hqPosition.y + offsetY);
 
                     if (terrainGenerator.isPositionClear(candidate, hqClearanceRadius)) {
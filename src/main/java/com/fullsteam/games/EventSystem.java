@@ -1,6 +1,7 @@
 package com.fullsteam.games;
 
-import com.fullsteam.Config;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.ActiveGameEvent;
 import com.fullsteam.model.EnvironmentalEvent;
@@ -17,8 +18,6 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
 /**
@@ -63,7 +62,7 @@ public class EventSystem {
             return;
         }
 
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
 
         // Check if we should start a new event
         if (currentEvent == null && now >= nextEventTime) {
@@ -103,10 +102,10 @@ public class EventSystem {
 
         // Calculate interval with variance
         double varianceAmount = baseInterval * variance;
-        double randomVariance = ThreadLocalRandom.current().nextDouble(-varianceAmount, varianceAmount);
+        double randomVariance = GameRandom.current().nextDouble(-varianceAmount, varianceAmount);
         double actualInterval = Math.max(30.0, baseInterval + randomVariance); // Minimum 30 seconds
 
-        nextEventTime = (long) (System.currentTimeMillis() + (actualInterval * 1000));
+        nextEventTime = (long) (GameClock.currentTimeMillis() + (actualInterval * 1000));
     }
 
     /**
@@ -135,7 +134,7 @@ public class EventSystem {
             enabledEvents = Arrays.asList(EnvironmentalEvent.values());
         }
 
-        int index = ThreadLocalRandom.current().nextInt(enabledEvents.size());
+        int index = GameRandom.current().nextInt(enabledEvents.size());
         return enabledEvents.get(index);
     }
 
@@ -207,8 +206,8 @@ public class EventSystem {
     private Vector2 generateRandomLocation() {
         // Try to find a clear position, but don't be too strict
         for (int attempt = 0; attempt < 10; attempt++) {
-            double x = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldWidth * 0.9;
-            double y = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldHeight * 0.9;
+            double x = (GameRandom.current().nextDouble() - 0.5) * worldWidth * 0.9;
+            double y = (GameRandom.current().nextDouble() - 0.5) * worldHeight * 0.9;
             Vector2 candidate = new Vector2(x, y);
 
             // Events can happen anywhere, but prefer clear areas
@@ -220,8 +219,8 @@ public class EventSystem {
         }
 
         // Fallback: just use a random position
-        double x = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldWidth * 0.9;
-        double y = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldHeight * 0.9;
+        double x = (GameRandom.current().nextDouble() - 0.5) * worldWidth * 0.9;
+        double y = (GameRandom.current().nextDouble() - 0.5) * worldHeight * 0.9;
         return new Vector2(x, y);
     }
 
@@ -244,7 +243,6 @@ public class EventSystem {
             );
 
             gameEntities.addFieldEffect(warningZone);
-            gameEntities.getWorld().addBody(warningZone.getBody());
             event.addWarningZoneId(warningZone.getId());
         }
 
@@ -336,17 +334,14 @@ public class EventSystem {
 
     private void triggerStaggeredEventFieldEffect(ActiveGameEvent event, BiFunction<ActiveGameEvent, Vector2, FieldEffect> effectBuilder) {
         List<Vector2> locations = event.getTargetLocations();
-        double totalDuration = event.getEventType().getStaggerTime() + ThreadLocalRandom.current().nextDouble() * event.getEventType().getStaggerTime();
+        double totalDuration = event.getEventType().getStaggerTime() + GameRandom.current().nextDouble() * event.getEventType().getStaggerTime();
         for (Vector2 location : locations) {
             // Random delay within the total duration
-            long delay = (long) (ThreadLocalRandom.current().nextDouble() * totalDuration);
-            Config.EXECUTOR.schedule(() -> {
-                gameEntities.addPostUpdateHook(() -> {
-                    FieldEffect explosion = effectBuilder.apply(event, location);
-                    gameEntities.addFieldEffect(explosion);
-                    gameEntities.getWorld().addBody(explosion.getBody());
-                });
-            }, delay, TimeUnit.MILLISECONDS);
+            long delay = (long) (GameRandom.current().nextDouble() * totalDuration);
+            gameEntities.addDelayedPostUpdateHook(delay, () -> {
+                FieldEffect explosion = effectBuilder.apply(event, location);
+                gameEntities.addFieldEffect(explosion);
+            });
         }
     }
 
@@ -356,39 +351,36 @@ public class EventSystem {
      */
     private void triggerSupplyDropStaggered(ActiveGameEvent event) {
         List<Vector2> locations = event.getTargetLocations();
-        double totalDuration = event.getEventType().getStaggerTime() + ThreadLocalRandom.current().nextDouble() * event.getEventType().getStaggerTime();
+        double totalDuration = event.getEventType().getStaggerTime() + GameRandom.current().nextDouble() * event.getEventType().getStaggerTime();
         for (Vector2 location : locations) {
             // Random delay within the total duration
-            long delay = (long) (ThreadLocalRandom.current().nextDouble() * totalDuration);
-            Config.EXECUTOR.schedule(() -> {
-                gameEntities.addPostUpdateHook(() -> {
-                    FieldEffect explosion = new FieldEffect(
-                            IdGenerator.nextEntityId(),
-                            -1,
-                            FieldEffectType.EXPLOSION,
-                            location,
-                            50.0,
-                            0.0, // No damage
-                            FieldEffectType.EXPLOSION.getDefaultDuration(),
-                            0
-                    );
-                    gameEntities.addFieldEffect(explosion);
-                    gameEntities.getWorld().addBody(explosion.getBody());
-
-                    // Spawn random power-up
-                    PowerUp.PowerUpType powerUpType = getRandomPowerUpType();
-                    PowerUp powerUp = new PowerUp(
-                            IdGenerator.nextEntityId(),
-                            location,
-                            powerUpType,
-                            -1, // Not from a workshop
-                            30.0, // Duration
-                            1.5 // Strength
-                    );
-                    gameEntities.addPowerUp(powerUp);
-                    gameEntities.getWorld().addBody(powerUp.getBody());
-                });
-            }, delay, TimeUnit.MILLISECONDS);
+            long delay = (long) (GameRandom.current().nextDouble() * totalDuration);
+            gameEntities.addDelayedPostUpdateHook(delay, () -> {
+                FieldEffect explosion = new FieldEffect(
+                        IdGenerator.nextEntityId(),
+                        -1,
+                        FieldEffectType.EXPLOSION,
+                        location,
+                        50.0,
+                        0.0, // No damage
+                        FieldEffectType.EXPLOSION.getDefaultDuration(),
+                        0
+                );
+                gameEntities.addFieldEffect(explosion);
+
+                // Spawn random power-up
+                PowerUp.PowerUpType powerUpType = getRandomPowerUpType();
+                PowerUp powerUp = new PowerUp(
+                        IdGenerator.nextEntityId(),
+                        location,
+                        powerUpType,
+                        -1, // Not from a workshop
+                        30.0, // Duration
+                        1.5 // Strength
+                );
+                gameEntities.addPowerUp(powerUp);
+                gameEntities.getWorld().addBody(powerUp.getBody());
+            });
         }
     }
 
@@ -397,7 +389,30 @@ public class EventSystem {
      */
     private PowerUp.PowerUpType getRandomPowerUpType() {
         PowerUp.PowerUpType[] types = PowerUp.PowerUpType.values();
-        return types[ThreadLocalRandom.current().nextInt(types.length)];
+        return types[GameRandom.current().nextInt(types.length)];
+    }
+
+    long getNextEventTime() {
+        return nextEventTime;
+    }
+
+    /**
+     * Push the next event back, for a game that starts later than it was built.
+     */
+    void delaySchedule(long delayMillis) {
+        if (nextEventTime > 0) {
+            nextEventTime += delayMillis;
+        }
+    }
+
+    /**
+     * Pick up a schedule carried over from another process. An event in progress there is dropped;
+     * the next one starts as scheduled.
+     */
+    void resumeSchedule(long nextEventTime) {
+        this.nextEventTime = nextEventTime;
+        this.currentEvent = null;
+        this.warningZonesSpawned = false;
     }
 
     /**
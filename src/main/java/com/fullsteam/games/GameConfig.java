@@ -47,6 +47,35 @@ public class GameConfig {
     @Builder.Default
     private boolean enableAIFilling = true;
     
+    @Builder.Default
+    private boolean enableAITrace = false; // Record AI decisions for debugging and tuning
+
+    @Builder.Default
+    private boolean enableReplayRecording = false; // Record an input log the game can be replayed from
+
+    @Builder.Default
+    private boolean enableSnapshotArchive = false; // Archive game state for seeking back and kill-cams
+
+    @Min(1)
+    @Max(60)
+    @Builder.Default
+    private int snapshotKeyframeSeconds = 5;
+
+    @Min(1)
+    @Max(1024)
+    @Builder.Default
+    private int snapshotSegmentMegabytes = 16;
+
+    @Min(10)
+    @Max(86400)
+    @Builder.Default
+    private int snapshotRetentionSeconds = 600;
+
+    @Min(0)
+    @Max(300)
+    @Builder.Default
+    private int spectatorDelaySeconds = 0; // Hold spectators back so they can't relay what they see to players
+
     @NotNull
     @Valid
     @Builder.Default
@@ -0,0 +1,72 @@
+package com.fullsteam.games;
+
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
+import com.fullsteam.util.IdGenerator;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A game's own sources of randomness, entity ids and, for recorded and replayed games, time.
+ * Game code reads these through {@link GameRandom}, {@link IdGenerator} and {@link GameClock}; entering
+ * the context installs them on the current thread for the length of a tick or other game update, so the
+ * game plays out the same from the same seed and inputs no matter which executor thread runs it.
+ */
+final class GameContext {
+    private final Random random;
+    private final AtomicInteger entityIds = new AtomicInteger(IdGenerator.GAME_ENTITY_ID_BASE);
+    // Held still while the game runs, so every read within a tick sees the tick's start time; null to
+    // read whatever clock the thread already has
+    private final GameClock.SimulatedClock clock;
+
+    /**
+     * @param seed        seed for all of the game's randomness
+     * @param frozenClock whether time should stand still within each tick
+     */
+    GameContext(long seed, boolean frozenClock) {
+        this.random = new Random(seed);
+        this.clock = frozenClock ? new GameClock.SimulatedClock(GameClock.currentTimeMillis()) : null;
+    }
+
+    /**
+     * The game's entity id sequence, holding the last id handed out.
+     */
+    AtomicInteger getEntityIds() {
+        return entityIds;
+    }
+
+    /**
+     * Install this game's sources on the current thread until the returned scope is closed.
+     * A frozen clock is first moved to the thread's current time.
+     */
+    Scope enter() {
+        return new Scope();
+    }
+
+    final class Scope implements AutoCloseable {
+        private final Random previousRandom;
+        private final AtomicInteger previousEntityIds;
+        private final GameClock.SimulatedClock previousClock;
+
+        private Scope() {
+            if (clock != null) {
+                clock.set(GameClock.currentTimeMillis());
+                previousClock = GameClock.install(clock);
+            } else {
+                previousClock = null;
+            }
+            previousRandom = GameRandom.install(random);
+            previousEntityIds = IdGenerator.install(entityIds);
+        }
+
+        @Override
+        public void close() {
+            IdGenerator.restore(previousEntityIds);
+            GameRandom.restore(previousRandom);
+            if (clock != null) {
+                GameClock.restore(previousClock);
+            }
+        }
+    }
+}
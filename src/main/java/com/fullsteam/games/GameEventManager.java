@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Manages the broadcasting of game events to appropriate players.
@@ -23,11 +24,17 @@ public class GameEventManager {
     
     private final GameEntities gameEntities;
     private final BiConsumer<WebSocketSession, Object> messageSender;
+    // Receives the events spectators should see; they aren't sent to spectators one session at a time
+    private Consumer<GameEvent> spectatorSink;
     
     public GameEventManager(GameEntities gameEntities, BiConsumer<WebSocketSession, Object> messageSender) {
         this.gameEntities = gameEntities;
         this.messageSender = messageSender;
     }
+
+    public void setSpectatorSink(Consumer<GameEvent> spectatorSink) {
+        this.spectatorSink = spectatorSink;
+    }
     
     /**
      * Broadcast a game event to the appropriate recipients based on its targeting
@@ -51,6 +58,12 @@ public class GameEventManager {
                 }
             }
         }
+
+        GameEvent.EventTarget.TargetType type = event.getTarget().getType();
+        if (spectatorSink != null
+                && (type == GameEvent.EventTarget.TargetType.ALL || type == GameEvent.EventTarget.TargetType.SPECTATORS)) {
+            spectatorSink.accept(event);
+        }
     }
 
     /**
@@ -0,0 +1,462 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.ai.AIPersonality;
+import com.fullsteam.ai.AIPlayer;
+import com.fullsteam.model.UtilityWeapon;
+import com.fullsteam.model.Weapon;
+import com.fullsteam.model.WeaponConfig;
+import com.fullsteam.physics.Flag;
+import com.fullsteam.physics.KothZone;
+import com.fullsteam.physics.Player;
+import com.fullsteam.physics.Turret;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.IdGenerator;
+import org.dyn4j.geometry.Vector2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A self-contained binary image of a running game, used to move it to another process.
+ * <p>
+ * The game's static world (boundaries, obstacles, flags, zones, workshops, headquarters) isn't written:
+ * it is rebuilt from the game's seed, and so gets the same entity ids. The image holds what changes as the
+ * game is played: the players, with their physics state, scores, lives, weapons and status effects, the
+ * KOTH zone scores, where each flag is and who carries it, deployed turrets, what the AI players know and
+ * are doing, and the {@link RuleSystem}'s round, score and timer state. Times are written relative to the
+ * moment of capture, so the game picks up where it left off on a host whose clock differs.
+ * <p>
+ * Short-lived state is dropped rather than carried over: projectiles, beams, field effects, power-ups,
+ * other deployed utilities and an event in progress.
+ * <p>
+ * Layout: magic, version, game id, seed, config JSON, start time, entity id sequence, players, resume
+ * tokens, KOTH zone scores, flags, turrets, AI state, rule state.
+ */
+public final class GameImage {
+
+    static final int MAGIC = 0x46534749; // "FSGI"
+    static final int VERSION = 3;
+
+    /**
+     * A captured game.
+     *
+     * @param image        the image to restore the game from
+     * @param resumeTokens the token each human player reconnects to the restored game with, by player id
+     */
+    public record Captured(byte[] image, Map<Integer, String> resumeTokens) {
+    }
+
+    private GameImage() {
+    }
+
+    /**
+     * Capture a game. Must run on the game's tick, inside its context, so nothing moves while it's written.
+     */
+    static Captured capture(GameManager game) throws IOException {
+        long now = GameClock.currentTimeMillis();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        Map<Integer, String> resumeTokens = new HashMap<>();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(game.getGameId());
+            out.writeLong(game.getSeed());
+            writeBytes(out, ReplayRecorder.JSON.writeValueAsBytes(game.getGameConfig()));
+            writeTime(out, game.getGameStartTime(), now);
+            out.writeInt(game.getContext().getEntityIds().get());
+
+            out.writeInt(game.getGameEntities().getAllPlayers().size());
+            for (Player player : game.getGameEntities().getAllPlayers()) {
+                writePlayer(out, player, now);
+                if (!(player instanceof AIPlayer)) {
+                    resumeTokens.put(player.getId(), UUID.randomUUID().toString());
+                }
+            }
+            out.writeInt(resumeTokens.size());
+            for (Map.Entry<Integer, String> token : resumeTokens.entrySet()) {
+                out.writeUTF(token.getValue());
+                out.writeInt(token.getKey());
+            }
+
+            out.writeInt(game.getGameEntities().getAllKothZones().size());
+            for (KothZone zone : game.getGameEntities().getAllKothZones()) {
+                out.writeInt(zone.getId());
+                Map<Integer, Double> scores = zone.getAllTeamScores();
+                out.writeInt(scores.size());
+                for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                    out.writeInt(score.getKey());
+                    out.writeDouble(score.getValue());
+                }
+            }
+
+            out.writeInt(game.getGameEntities().getAllFlags().size());
+            for (Flag flag : game.getGameEntities().getAllFlags()) {
+                writeFlag(out, flag, now);
+            }
+
+            List<Turret> turrets = game.getGameEntities().getAllTurrets().stream()
+                    .filter(Turret::isActive)
+                    .toList();
+            out.writeInt(turrets.size());
+            for (Turret turret : turrets) {
+                writeTurret(out, turret, now);
+            }
+
+            game.getAiPlayerManager().writeState(out, now);
+            game.getRuleSystem().writeState(out, now);
+        }
+        return new Captured(bytes.toByteArray(), resumeTokens);
+    }
+
+    /**
+     * Restore a game, driven by {@link com.fullsteam.Config#EXECUTOR}. The game starts out frozen; it is
+     * ready to run once the caller has registered it and {@link GameManager#thaw() thawed} it.
+     */
+    public static GameManager restore(byte[] image, ObjectMapper objectMapper, Consumer<GameConfig> serverLimits) throws IOException {
+        return restore(image, objectMapper, true, serverLimits);
+    }
+
+    static GameManager restore(byte[] image, ObjectMapper objectMapper, boolean scheduled) throws IOException {
+        return restore(image, objectMapper, scheduled, gameConfig -> {});
+    }
+
+    /**
+     * @param serverLimits turns off what the image's config asks for that this server doesn't allow,
+     *                     before the game is built with it
+     */
+    static GameManager restore(byte[] image, ObjectMapper objectMapper, boolean scheduled, Consumer<GameConfig> serverLimits) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(image));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game image");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported game image version " + version);
+        }
+        String gameId = in.readUTF();
+        if (!IdGenerator.isValidGameId(gameId)) {
+            throw new IOException("Corrupt game image: invalid game id");
+        }
+        long seed = in.readLong();
+        GameConfig gameConfig = ReplayRecorder.JSON.readValue(readBytes(in), GameConfig.class);
+        // An input log can't pick up in the middle of a game
+        gameConfig.setEnableReplayRecording(false);
+        serverLimits.accept(gameConfig);
+
+        GameManager game = new GameManager(gameId, gameConfig, objectMapper, scheduled, seed, false, true);
+        try (GameContext.Scope ignored = game.getContext().enter()) {
+            long now = GameClock.currentTimeMillis();
+            game.gameStartTime = readTime(in, now);
+            game.getContext().getEntityIds().set(in.readInt());
+
+            int players = in.readInt();
+            int maxPlayerId = 0;
+            for (int i = 0; i < players; i++) {
+                Player player = readPlayer(in, game, now);
+                game.addRestoredPlayer(player);
+                if (!(player instanceof AIPlayer)) {
+                    maxPlayerId = Math.max(maxPlayerId, player.getId());
+                }
+            }
+            // Player ids handed out here from now on mustn't collide with the restored players
+            IdGenerator.reservePlayerIds(maxPlayerId);
+            int tokens = in.readInt();
+            for (int i = 0; i < tokens; i++) {
+                game.expectResume(in.readUTF(), in.readInt());
+            }
+
+            int zones = in.readInt();
+            for (int i = 0; i < zones; i++) {
+                KothZone zone = game.getGameEntities().getKothZone(in.readInt());
+                int scores = in.readInt();
+                for (int j = 0; j < scores; j++) {
+                    int team = in.readInt();
+                    double points = in.readDouble();
+                    if (zone != null) {
+                        zone.awardPointsToTeam(team, points);
+                    }
+                }
+            }
+
+            int flags = in.readInt();
+            for (int i = 0; i < flags; i++) {
+                readFlag(in, game, now);
+            }
+
+            int turrets = in.readInt();
+            for (int i = 0; i < turrets; i++) {
+                game.addRestoredTurret(readTurret(in, now));
+            }
+
+            game.getAiPlayerManager().readState(in, now);
+            game.getRuleSystem().readState(in, now);
+        } catch (IOException e) {
+            game.shutdown();
+            throw e;
+        } catch (RuntimeException e) {
+            // Values the image can't hold, e.g. an unknown enum name
+            game.shutdown();
+            throw new IOException("Corrupt game image", e);
+        }
+        return game;
+    }
+
+    private static void writePlayer(DataOutputStream out, Player player, long now) throws IOException {
+        out.writeInt(player.getId());
+        out.writeUTF(player.getPlayerName());
+        out.writeInt(player.getTeam());
+        out.writeDouble(player.getMaxHealth());
+        Vector2 position = player.getPosition();
+        out.writeDouble(position.x);
+        out.writeDouble(position.y);
+        if (player instanceof AIPlayer aiPlayer) {
+            out.writeBoolean(true);
+            writePersonality(out, aiPlayer.getPersonality());
+        } else {
+            out.writeBoolean(false);
+        }
+
+        Vector2 velocity = player.getVelocity();
+        out.writeDouble(velocity.x);
+        out.writeDouble(velocity.y);
+        out.writeDouble(player.getRotation());
+        out.writeDouble(player.getAimDirection().x);
+        out.writeDouble(player.getAimDirection().y);
+        out.writeDouble(player.getRespawnPoint().x);
+        out.writeDouble(player.getRespawnPoint().y);
+
+        out.writeDouble(player.getHealth());
+        out.writeBoolean(player.isActive());
+        out.writeInt(player.getKills());
+        out.writeInt(player.getDeaths());
+        out.writeInt(player.getCaptures());
+        out.writeInt(player.getLivesRemaining());
+        out.writeBoolean(player.isEliminated());
+        writeTime(out, player.getEliminationTime(), now);
+        out.writeInt(player.getPlacement());
+        writeTime(out, player.getRespawnTime(), now);
+
+        writeBytes(out, ReplayRecorder.JSON.writeValueAsBytes(player.getWeapon().getLoadout().toConfig()));
+        out.writeInt(player.getWeapon().getCurrentAmmo());
+        out.writeUTF(player.getUtilityWeapon().name());
+        out.writeBoolean(player.isReloading());
+        out.writeDouble(player.getReloadTimeRemaining());
+        writeTime(out, player.getLastShotTime(), now);
+        writeTime(out, player.getLastUtilityUseTime(), now);
+        StatusEffectManager.writeEffects(out, player, now);
+    }
+
+    private static Player readPlayer(DataInputStream in, GameManager game, long now) throws IOException {
+        int id = in.readInt();
+        String name = in.readUTF();
+        int team = in.readInt();
+        double maxHealth = in.readDouble();
+        double x = in.readDouble();
+        double y = in.readDouble();
+        Player player;
+        if (in.readBoolean()) {
+            AIPersonality personality = readPersonality(in);
+            player = new AIPlayer(id, name, x, y, personality, team, maxHealth);
+        } else {
+            player = new Player(id, name, x, y, team, maxHealth);
+        }
+
+        player.setVelocity(in.readDouble(), in.readDouble());
+        player.setRotation(in.readDouble());
+        player.setAimDirection(new Vector2(in.readDouble(), in.readDouble()));
+        player.setRespawnPoint(new Vector2(in.readDouble(), in.readDouble()));
+
+        player.setHealth(in.readDouble());
+        player.setActive(in.readBoolean());
+        player.setKills(in.readInt());
+        player.setDeaths(in.readInt());
+        player.setCaptures(in.readInt());
+        player.setLivesRemaining(in.readInt());
+        player.setEliminated(in.readBoolean());
+        player.setEliminationTime(readTime(in, now));
+        player.setPlacement(in.readInt());
+        player.setRespawnTime(readTime(in, now));
+
+        WeaponConfig weaponConfig = ReplayRecorder.JSON.readValue(readBytes(in), WeaponConfig.class);
+        Weapon weapon = weaponConfig.buildWeapon();
+        weapon.setCurrentAmmo(in.readInt());
+        player.setWeapon(weapon);
+        player.setUtilityWeapon(UtilityWeapon.valueOf(in.readUTF()));
+        player.setReloading(in.readBoolean());
+        player.setReloadTimeRemaining(in.readDouble());
+        player.setLastShotTime(readTime(in, now));
+        player.setLastUtilityUseTime(readTime(in, now));
+        StatusEffectManager.readEffects(in, game, player, now);
+        return player;
+    }
+
+    private static void writeFlag(DataOutputStream out, Flag flag, long now) throws IOException {
+        out.writeInt(flag.getId());
+        out.writeUTF(flag.getState().name());
+        out.writeInt(flag.getCarriedByPlayerId());
+        writeVector(out, flag.getPosition());
+        writeTime(out, flag.getLastCaptureTime(), now);
+        out.writeInt(flag.getCaptureCount());
+    }
+
+    private static void readFlag(DataInputStream in, GameManager game, long now) throws IOException {
+        Flag flag = game.getGameEntities().getFlag(in.readInt());
+        Flag.FlagState state = Flag.FlagState.valueOf(in.readUTF());
+        int carriedBy = in.readInt();
+        Vector2 position = readVector(in);
+        long lastCaptureTime = readTime(in, now);
+        int captureCount = in.readInt();
+        if (flag == null) {
+            return; // The world is rebuilt from the seed, so this only happens if the map generator changed
+        }
+        flag.setState(state);
+        flag.setCarriedByPlayerId(carriedBy);
+        flag.getBody().getTransform().setTranslation(position.x, position.y);
+        flag.setLastCaptureTime(lastCaptureTime);
+        flag.setCaptureCount(captureCount);
+    }
+
+    private static void writeTurret(DataOutputStream out, Turret turret, long now) throws IOException {
+        out.writeInt(turret.getId());
+        out.writeInt(turret.getOwnerId());
+        out.writeInt(turret.getOwnerTeam());
+        writeVector(out, turret.getPosition());
+        out.writeDouble(turret.getRotation());
+        out.writeDouble(turret.getHealth());
+        writeTime(out, turret.getExpires(), now);
+        writeTime(out, turret.getLastShotTime(), now);
+        writeVector(out, turret.getAimDirection());
+    }
+
+    private static Turret readTurret(DataInputStream in, long now) throws IOException {
+        int id = in.readInt();
+        int ownerId = in.readInt();
+        int ownerTeam = in.readInt();
+        Turret turret = new Turret(id, ownerId, ownerTeam, readVector(in), 0);
+        turret.setRotation(in.readDouble());
+        turret.setHealth(in.readDouble());
+        turret.setExpires(readTime(in, now));
+        turret.setLastShotTime(readTime(in, now));
+        turret.setAimDirection(readVector(in));
+        return turret;
+    }
+
+    private static void writePersonality(DataOutputStream out, AIPersonality personality) throws IOException {
+        out.writeDouble(personality.getAggressiveness());
+        out.writeDouble(personality.getAccuracy());
+        out.writeDouble(personality.getReactionSpeed());
+        out.writeDouble(personality.getPreferredCombatRange());
+        out.writeDouble(personality.getStrategicThinking());
+        out.writeDouble(personality.getTeamwork());
+        out.writeDouble(personality.getRiskTolerance());
+        out.writeDouble(personality.getMobility());
+        out.writeDouble(personality.getCoverUsage());
+        out.writeDouble(personality.getAdaptability());
+        out.writeDouble(personality.getPatience());
+    }
+
+    private static AIPersonality readPersonality(DataInputStream in) throws IOException {
+        return AIPersonality.builder()
+                .aggressiveness(in.readDouble())
+                .accuracy(in.readDouble())
+                .reactionSpeed(in.readDouble())
+                .preferredCombatRange(in.readDouble())
+                .strategicThinking(in.readDouble())
+                .teamwork(in.readDouble())
+                .riskTolerance(in.readDouble())
+                .mobility(in.readDouble())
+                .coverUsage(in.readDouble())
+                .adaptability(in.readDouble())
+                .patience(in.readDouble())
+                .build();
+    }
+
+    /**
+     * Write a timestamp relative to {@code now}. Unset (0) and never ({@link Long#MAX_VALUE}) times are
+     * written as they are.
+     */
+    public static void writeTime(DataOutputStream out, long time, long now) throws IOException {
+        boolean relative = time > 0 && time != Long.MAX_VALUE;
+        out.writeBoolean(relative);
+        out.writeLong(relative ? time - now : time);
+    }
+
+    public static long readTime(DataInputStream in, long now) throws IOException {
+        boolean relative = in.readBoolean();
+        long time = in.readLong();
+        return relative ? now + time : time;
+    }
+
+    public static void writeVector(DataOutputStream out, Vector2 vector) throws IOException {
+        out.writeDouble(vector.x);
+        out.writeDouble(vector.y);
+    }
+
+    public static Vector2 readVector(DataInputStream in) throws IOException {
+        return new Vector2(in.readDouble(), in.readDouble());
+    }
+
+    static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    static Integer readNullableInt(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    static void writeIntMap(DataOutputStream out, Map<Integer, Integer> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    static Map<Integer, Integer> readIntMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readInt(), in.readInt());
+        }
+        return map;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        // The image is read from memory, so what is left of it is known exactly
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Corrupt game image: " + length + " bytes declared, " + in.available() + " left");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
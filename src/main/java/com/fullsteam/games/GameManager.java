@@ -3,6 +3,7 @@ package com.fullsteam.games;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fullsteam.Config;
+import com.fullsteam.ai.AIDecisionRecorder;
 import com.fullsteam.ai.AIGameHelper;
 import com.fullsteam.ai.AIPlayer;
 import com.fullsteam.ai.AIPlayerManager;
@@ -32,36 +33,50 @@ import com.fullsteam.physics.TeamSpawnArea;
 import com.fullsteam.physics.TeamSpawnManager;
 import com.fullsteam.physics.TeleportPad;
 import com.fullsteam.physics.Turret;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameConstants;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.util.WeaponFormatter;
 import io.micronaut.websocket.WebSocketSession;
 import io.micronaut.websocket.exceptions.WebSocketSessionException;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import org.dyn4j.collision.AxisAlignedBounds;
 import org.dyn4j.dynamics.Body;
-import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.dynamics.ContinuousDetectionMode;
 import org.dyn4j.dynamics.Settings;
-import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Vector2;
-import org.dyn4j.world.DetectFilter;
 import org.dyn4j.world.World;
-import org.dyn4j.world.result.RaycastResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class GameManager {
     protected static final Logger log = LoggerFactory.getLogger(GameManager.class);
 
+    // How long players of a restored game, or players who dropped, have to reconnect before they're removed
+    static final long RESUME_TIMEOUT_MS = 30_000;
+
     @Getter
     protected final String gameId;
     @Getter
@@ -99,148 +114,304 @@ public class GameManager {
     private final long aiCheckIntervalMs;
     private long lastAICheckTime = 0;
     private final World<Body> world;
-    private final ScheduledFuture<?> shutdownHook;
+    private volatile ScheduledFuture<?> shutdownHook;
     private double lastUpdateTime = System.nanoTime() / 1e9;
 
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
 
+    // Optional per-phase tick timing, used by headless simulations
+    @Setter
+    private TickProfiler tickProfiler;
+    // Wall-clock cost of a scheduled tick, used to place new games on the least loaded node
+    @Getter
+    private volatile long averageTickNanos = 0;
+    // Optional observer of kills (victim, killer), used by headless simulations
+    @Setter
+    private BiConsumer<Player, Player> killListener;
+
+    // Seed of all of this game's randomness
+    @Getter
+    private final long seed;
+    private final GameContext context;
+    // Input log of the game, if recording is enabled
+    @Getter
+    private final ReplayRecorder replayRecorder;
+    // Archive of past game states, if enabled
+    @Getter
+    private final SnapshotArchive snapshotArchive;
+    // Spectators, who are sent the game's broadcasts off the game loop
+    @Getter
+    private final SpectatorFanout spectatorFanout;
+    // Joins, leaves and config changes waiting for the next tick, so a recorded game applies them at
+    // the same point in the tick as its replay does
+    private final Queue<Runnable> pendingCommands = new ConcurrentLinkedQueue<>();
+    // Optional hook to inspect or replace the tick's inputs once AI inputs are in, used by replays
+    @Setter(AccessLevel.PACKAGE)
+    private Consumer<Map<Integer, PlayerInput>> inputHook;
+    // Held still while the game is captured for, or restored from, a move to another process
+    private volatile boolean frozen;
+    // Players who haven't reconnected yet, after a drop or a move from another process, by resume token
+    private final Map<String, Integer> resumeTokens = new ConcurrentHashMap<>();
+    // Held while checking for and taking a player slot, so concurrent joins can't overfill the game
+    private final Object admissions = new Object();
+    // The game's lobby listing entry, rebuilt when what it shows changes rather than on every listing
+    private volatile GameInfo gameInfo;
+    // Told when the lobby listing entry changes
+    @Setter
+    private Runnable lobbyListener;
+
     public GameManager(String gameId, GameConfig gameConfig, ObjectMapper objectMapper) {
+        this(gameId, gameConfig, objectMapper, true);
+    }
+
+    /**
+     * @param scheduled whether to drive the game loop from {@link Config#EXECUTOR}; headless games
+     *                  are advanced manually with {@link #step(double)} instead
+     */
+    public GameManager(String gameId, GameConfig gameConfig, ObjectMapper objectMapper, boolean scheduled) {
+        this(gameId, gameConfig, objectMapper, scheduled, GameRandom.current().nextLong(), gameConfig.isEnableReplayRecording());
+    }
+
+    /**
+     * @param seed        seed of all of the game's randomness
+     * @param frozenClock whether to hold time still within each tick, which recorded and replayed
+     *                    games need so both see the same time throughout a tick
+     */
+    GameManager(String gameId, GameConfig gameConfig, ObjectMapper objectMapper, boolean scheduled, long seed, boolean frozenClock) {
+        this(gameId, gameConfig, objectMapper, scheduled, seed, frozenClock, false);
+    }
+
+    /**
+     * @param restoring whether the game is being restored from a {@link GameImage}, in which case it starts
+     *                  out frozen and without AI players, which come from the image
+     */
+    GameManager(String gameId, GameConfig gameConfig, ObjectMapper objectMapper, boolean scheduled, long seed, boolean frozenClock, boolean restoring) {
         this.gameId = gameId;
         this.gameConfig = gameConfig;
         this.objectMapper = objectMapper;
-        this.gameStartTime = System.currentTimeMillis();
-        this.aiPlayerManager = new AIPlayerManager(gameConfig);
-
-        // Initialize AI management settings from config
-        this.aiCheckIntervalMs = gameConfig.getAiCheckIntervalMs();
-        this.teamSpawnManager = new TeamSpawnManager(gameConfig.getWorldWidth(), gameConfig.getWorldHeight(), gameConfig.getTeamCount());
-
-        // Pass oddball info and obstacle density to terrain generator
-        boolean hasOddball = gameConfig.getRules().hasOddball();
-        EntityWorldDensity obstacleDensity = gameConfig.getRules().getObstacleDensity();
-        this.terrainGenerator = new TerrainGenerator(
-                gameConfig.getWorldWidth(),
-                gameConfig.getWorldHeight(),
-                hasOddball,
-                obstacleDensity
-        );
-
-        this.world = new World<>();
-
-        Settings settings = new Settings();
-        settings.setMaximumTranslation(300.0);
-        this.world.setSettings(settings);
-        this.world.setGravity(new Vector2(0, 0));
-        this.world.setBounds(new AxisAlignedBounds(gameConfig.getWorldWidth(), gameConfig.getWorldHeight()));
+        this.seed = seed;
+        this.context = new GameContext(seed, frozenClock);
+        try (GameContext.Scope ignored = context.enter()) {
+            this.gameStartTime = GameClock.currentTimeMillis();
+            this.replayRecorder = gameConfig.isEnableReplayRecording()
+                    ? new ReplayRecorder(Path.of(GameConstants.REPLAY_DIR, "replay-" + gameId + "-" + gameStartTime + ".fsr"),
+                    seed, gameStartTime, gameConfig)
+                    : null;
+            this.snapshotArchive = gameConfig.isEnableSnapshotArchive()
+                    ? new SnapshotArchive(Path.of(GameConstants.REPLAY_DIR, "snapshots-" + gameId + "-" + gameStartTime),
+                    gameConfig.getSnapshotKeyframeSeconds() * 1000L,
+                    gameConfig.getSnapshotSegmentMegabytes() * (1L << 20),
+                    gameConfig.getSnapshotRetentionSeconds() * 1000L)
+                    : null;
+            this.aiPlayerManager = new AIPlayerManager(gameConfig);
+            if (gameConfig.isEnableAITrace()) {
+                aiPlayerManager.setDecisionRecorder(new AIDecisionRecorder(
+                        AIDecisionRecorder.DEFAULT_CAPACITY, aiPlayerManager.getBehaviorNames()));
+            }
 
-        this.gameEntities = new GameEntities(gameConfig, world);
-        this.collisionProcessor = new CollisionProcessor(this, this.gameEntities);
-        this.world.addCollisionListener(collisionProcessor);
+            // Initialize AI management settings from config
+            this.aiCheckIntervalMs = gameConfig.getAiCheckIntervalMs();
+            this.teamSpawnManager = new TeamSpawnManager(gameConfig.getWorldWidth(), gameConfig.getWorldHeight(), gameConfig.getTeamCount());
+
+            // Pass oddball info and obstacle density to terrain generator
+            boolean hasOddball = gameConfig.getRules().hasOddball();
+            EntityWorldDensity obstacleDensity = gameConfig.getRules().getObstacleDensity();
+            this.terrainGenerator = new TerrainGenerator(
+                    gameConfig.getWorldWidth(),
+                    gameConfig.getWorldHeight(),
+                    hasOddball,
+                    obstacleDensity
+            );
 
-        // Initialize game event manager
-        this.gameEventManager = new GameEventManager(gameEntities, this::send);
+            this.world = new World<>();
+
+            Settings settings = new Settings();
+            settings.setMaximumTranslation(300.0);
+            // Fast straight-flying projectiles are swept by the collision processor; dyn4j's CCD is only
+            // needed for the fast projectiles it can't sweep, which are flagged as bullets
+            settings.setContinuousDetectionMode(ContinuousDetectionMode.BULLETS_ONLY);
+            this.world.setSettings(settings);
+            this.world.setGravity(new Vector2(0, 0));
+            this.world.setBounds(new AxisAlignedBounds(gameConfig.getWorldWidth(), gameConfig.getWorldHeight()));
+
+            this.gameEntities = new GameEntities(gameConfig, world);
+            this.collisionProcessor = new CollisionProcessor(this, this.gameEntities);
+            this.world.addCollisionListener(collisionProcessor);
+
+            // Initialize game event manager
+            this.gameEventManager = new GameEventManager(gameEntities, this::send);
+            this.spectatorFanout = new SpectatorFanout(gameConfig.getSpectatorDelaySeconds() * 1000L, scheduled);
+            this.gameEventManager.setSpectatorSink(event -> {
+                if (spectatorFanout.hasViewers()) {
+                    String json = encode(event);
+                    if (json != null) {
+                        spectatorFanout.publishMessage(json);
+                    }
+                }
+            });
 
-        // Initialize rule system
-        this.ruleSystem = new RuleSystem(
-                gameId,
-                gameConfig.getRules(),
-                gameEntities,
-                gameEventManager,
-                this::broadcast,
-                gameConfig.getTeamCount()
-        );
+            // Initialize rule system
+            this.ruleSystem = new RuleSystem(
+                    gameId,
+                    gameConfig.getRules(),
+                    gameEntities,
+                    gameEventManager,
+                    this::broadcast,
+                    gameConfig.getTeamCount()
+            );
 
-        // Initialize weapon system
-        this.weaponSystem = new WeaponSystem(gameEntities, world);
-        // Set kill callback for beam weapons
-        this.weaponSystem.setKillCallback(this::killPlayer);
+            // Initialize weapon system
+            this.weaponSystem = new WeaponSystem(gameEntities, world);
+            // Set kill callback for beam weapons
+            this.weaponSystem.setKillCallback(this::killPlayer);
 
-        // Initialize utility system
-        this.utilitySystem = new UtilitySystem(
-                gameEntities,
-                world,
-                pos -> isPositionClearOfObstacles(pos, 15.0)
-        );
+            // Initialize utility system
+            this.utilitySystem = new UtilitySystem(
+                    gameEntities,
+                    world,
+                    pos -> isPositionClearOfObstacles(pos, 15.0)
+            );
 
-        // Initialize entity spawner
-        this.entitySpawner = new EntitySpawner(
-                gameId,
-                gameConfig,
-                gameEntities,
-                world,
-                teamSpawnManager,
-                terrainGenerator
-        );
+            // Initialize entity spawner
+            this.entitySpawner = new EntitySpawner(
+                    gameId,
+                    gameConfig,
+                    gameEntities,
+                    world,
+                    teamSpawnManager,
+                    terrainGenerator
+            );
 
-        // Initialize spawn point manager
-        this.spawnPointManager = new SpawnPointManager(
-                gameConfig,
-                gameEntities,
-                teamSpawnManager,
-                terrainGenerator
-        );
+            // Initialize spawn point manager
+            this.spawnPointManager = new SpawnPointManager(
+                    gameConfig,
+                    gameEntities,
+                    teamSpawnManager,
+                    terrainGenerator
+            );
 
-        // Initialize game state serializer
-        this.gameStateSerializer = new GameStateSerializer(
-                gameConfig,
-                gameEntities,
-                ruleSystem,
-                teamSpawnManager,
-                terrainGenerator
-        );
+            // Initialize game state serializer
+            this.gameStateSerializer = new GameStateSerializer(
+                    gameConfig,
+                    gameEntities,
+                    ruleSystem,
+                    teamSpawnManager,
+                    terrainGenerator
+            );
 
-        entitySpawner.createWorldBoundaries();
-        entitySpawner.createObstacles();
-        entitySpawner.createFlags();
-        entitySpawner.createOddball();
-        entitySpawner.createKothZones();
-        entitySpawner.createWorkshops();
-        entitySpawner.createHeadquarters();
-
-        // Initialize event system if enabled (must be after terrain generation)
-        ruleSystem.initializeEventSystem(
-                terrainGenerator,
-                this::addFieldEffectToWorld,
-                this::addPowerUpToWorld,
-                gameConfig.getWorldWidth(),
-                gameConfig.getWorldHeight()
-        );
+            entitySpawner.createWorldBoundaries();
+            entitySpawner.createObstacles();
+            entitySpawner.createFlags();
+            entitySpawner.createOddball();
+            entitySpawner.createKothZones();
+            entitySpawner.createWorkshops();
+            entitySpawner.createHeadquarters();
+
+            // Initialize event system if enabled (must be after terrain generation)
+            ruleSystem.initializeEventSystem(
+                    terrainGenerator,
+                    this::addFieldEffectToWorld,
+                    this::addPowerUpToWorld,
+                    gameConfig.getWorldWidth(),
+                    gameConfig.getWorldHeight()
+            );
 
-        // Add initial AI players to make the game more interesting from the start (if enabled)
-        if (gameConfig.isEnableAIFilling()) {
-            int initialAICount = getMaxPlayers();
-            int added = AIGameHelper.addMixedAIPlayers(this, initialAICount);
-            if (added > 0) {
-                log.info("Added {} initial AI players to game {} for better gameplay", added, gameId);
+            // Add initial AI players to make the game more interesting from the start (if enabled)
+            if (restoring) {
+                this.frozen = true;
+            } else if (gameConfig.isEnableAIFilling()) {
+                int initialAICount = getMaxPlayers();
+                int added = AIGameHelper.addMixedAIPlayers(this, initialAICount);
+                if (added > 0) {
+                    log.info("Added {} initial AI players to game {} for better gameplay", added, gameId);
+                }
+            } else {
+                log.info("AI filling disabled for game {} - no initial AI players added", gameId);
             }
-        } else {
-            log.info("AI filling disabled for game {} - no initial AI players added", gameId);
         }
 
-        this.shutdownHook = Config.EXECUTOR.scheduleAtFixedRate(this::update, 0, 16, TimeUnit.MILLISECONDS);
+        this.shutdownHook = scheduled
+                ? Config.EXECUTOR.scheduleAtFixedRate(this::update, 0, Config.TICK_INTERVAL_MS, TimeUnit.MILLISECONDS)
+                : null;
     }
 
-    public boolean addPlayer(PlayerSession playerSession) {
-        if (gameEntities.getPlayerSessions().size() >= getMaxPlayers()) {
-            return false;
+    /**
+     * Start a game that was built unscheduled ahead of time, as if it had just been created: its clock
+     * and timers start now and its loop is driven from {@link Config#EXECUTOR}.
+     */
+    public synchronized void start() {
+        if (shutdownHook != null || shutdown.get()) {
+            throw new IllegalStateException("Game " + gameId + " was already started");
+        }
+        try (GameContext.Scope ignored = context.enter()) {
+            long now = GameClock.currentTimeMillis();
+            ruleSystem.delayTimers(now - gameStartTime);
+            gameStartTime = now;
         }
+        lastUpdateTime = System.nanoTime() / 1e9;
+        shutdownHook = Config.EXECUTOR.scheduleAtFixedRate(this::update, 0, Config.TICK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        spectatorFanout.start();
+        refreshGameInfo();
+    }
 
-        // Check if game is locked to new players
-        if (isGameLocked()) {
-            log.info("Player {} attempted to join locked game {}", playerSession.getPlayerId(), gameId);
-            return false;
+    public boolean addPlayer(PlayerSession playerSession) {
+        if (playerSession.isSpectator()) {
+            addSpectator(playerSession);
+            return true;
         }
 
-        gameEntities.addPlayerSession(playerSession);
-        onPlayerJoined(playerSession);
+        synchronized (admissions) {
+            if (getOccupiedSlots() >= getMaxPlayers()) {
+                return false;
+            }
+
+            // Check if game is locked to new players
+            if (isGameLocked()) {
+                log.info("Player {} attempted to join locked game {}", playerSession.getPlayerId(), gameId);
+                return false;
+            }
+
+            playerSession.setResumeToken(UUID.randomUUID().toString());
+            gameEntities.addPlayerSession(playerSession);
+        }
+        refreshGameInfo();
+        runCommand(() -> applyJoin(playerSession));
         return true;
     }
 
     public void removePlayer(int playerId) {
+        if (spectatorFanout.removeViewer(playerId) != null) {
+            return;
+        }
         PlayerSession removed = gameEntities.removePlayerSession(playerId);
         if (removed != null) {
-            onPlayerLeft(removed);
+            refreshGameInfo();
+            runCommand(() -> applyLeave(removed));
+        }
+    }
+
+    /**
+     * Hold a player whose connection dropped for {@link #RESUME_TIMEOUT_MS}: their player stays in the
+     * game, standing idle, until their client reconnects with its resume token or the time is up.
+     *
+     * @return false if the player can't be held, in which case nothing was changed
+     */
+    public boolean suspendPlayer(int playerId) {
+        // Recorded games only know joins and leaves
+        if (shutdown.get() || replayRecorder != null) {
+            return false;
         }
+        PlayerSession playerSession = gameEntities.getPlayerSession(playerId);
+        if (playerSession == null || playerSession.getResumeToken() == null
+                || gameEntities.removePlayerSession(playerId) == null) {
+            return false;
+        }
+        refreshGameInfo();
+        String resumeToken = playerSession.getResumeToken();
+        resumeTokens.put(resumeToken, playerId);
+        runCommand(() -> gameEntities.getPlayerInputs().remove(playerId));
+        Config.EXECUTOR.schedule(() -> expireResumeToken(resumeToken), RESUME_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        return true;
     }
 
     public void acceptPlayerInput(int playerId, PlayerInput input) {
@@ -250,20 +421,107 @@ public class GameManager {
     }
 
     public void handlePlayerConfigChange(int playerId, PlayerConfigRequest request) {
+        runCommand(() -> applyConfigChange(playerId, request));
+    }
+
+    /**
+     * Run a change to the game from outside the game loop: at the start of the next tick if the game
+     * is being recorded, otherwise right away.
+     */
+    private void runCommand(Runnable command) {
+        if (replayRecorder != null) {
+            pendingCommands.add(command);
+        } else {
+            try (GameContext.Scope ignored = context.enter()) {
+                command.run();
+            }
+        }
+    }
+
+    /**
+     * Queue a change to be applied at the start of the next tick.
+     */
+    void enqueueCommand(Runnable command) {
+        pendingCommands.add(command);
+    }
+
+    void applyJoin(PlayerSession playerSession) {
+        if (replayRecorder != null) {
+            replayRecorder.recordJoin(playerSession.getPlayerId(), playerSession.isSpectator(), playerSession.getPlayerName());
+        }
+        onPlayerJoined(playerSession);
+    }
+
+    void applyLeave(PlayerSession playerSession) {
+        if (replayRecorder != null) {
+            replayRecorder.recordLeave(playerSession.getPlayerId());
+        }
+        onPlayerLeft(playerSession);
+    }
+
+    void applyConfigChange(int playerId, PlayerConfigRequest request) {
         PlayerSession playerSession = gameEntities.getPlayerSession(playerId);
         if (playerSession != null) {
+            if (replayRecorder != null) {
+                replayRecorder.recordConfigChange(playerId, request);
+            }
             processPlayerConfigChange(playerSession, request);
         }
     }
 
     public void send(WebSocketSession session, Object message) {
-        try {
+        if (session.isWritable() && session.isOpen()) {
+            String json = encode(message);
+            if (json != null) {
+                sendEncoded(session, json);
+            }
+        }
+    }
+
+    public void broadcast(Object message) {
+        if (gameEntities.getPlayerSessions().isEmpty() && !spectatorFanout.hasViewers()) {
+            return;
+        }
+        String json = encode(message);
+        if (json != null) {
+            sendToPlayers(json);
+            spectatorFanout.publishMessage(json);
+        }
+    }
+
+    /**
+     * Broadcast a game state frame. It is encoded once for everyone; spectators that fall behind skip
+     * frames rather than holding up the game.
+     */
+    protected void broadcastState(Map<String, Object> gameState) {
+        String json = encode(gameState);
+        if (json != null) {
+            sendToPlayers(json);
+            spectatorFanout.publishFrame(json);
+        }
+    }
+
+    private void sendToPlayers(String json) {
+        gameEntities.getPlayerSessions().values().forEach(player -> {
+            WebSocketSession session = player.getSession();
             if (session.isWritable() && session.isOpen()) {
-                String json = objectMapper.writeValueAsString(message);
-                session.sendSync(json);
+                sendEncoded(session, json);
             }
+        });
+    }
+
+    private String encode(Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
         } catch (JsonProcessingException e) {
             log.error("Error serializing message", e);
+            return null;
+        }
+    }
+
+    private void sendEncoded(WebSocketSession session, String json) {
+        try {
+            session.sendSync(json);
         } catch (WebSocketSessionException e) {
             if (!(e.getCause() instanceof InterruptedException)) {
                 log.error("Error sending message", e);
@@ -273,45 +531,64 @@ public class GameManager {
         }
     }
 
-    public void broadcast(Object message) {
-        gameEntities.getPlayerSessions().values().forEach(player -> {
-            if (player.getSession().isOpen()) {
-                send(player.getSession(), message);
-            }
-        });
+    public GameInfo getGameInfo() {
+        GameInfo info = gameInfo;
+        return info != null ? info : refreshGameInfo();
     }
 
-    public GameInfo getGameInfo() {
-        return new GameInfo(
+    /**
+     * Rebuild the lobby listing entry, telling the lobby listener if it changed.
+     */
+    private synchronized GameInfo refreshGameInfo() {
+        GameInfo previous = gameInfo;
+        GameInfo info = new GameInfo(
                 gameId,
                 gameEntities.getPlayerSessions().size(),
                 getMaxPlayers(),
                 gameStartTime,
                 gameRunning ? "running" : "waiting",
-                gameConfig
+                gameConfig,
+                null
         );
+        gameInfo = info;
+        Runnable listener = lobbyListener;
+        if (listener != null && !info.equals(previous)) {
+            listener.run();
+        }
+        return info;
     }
 
     public int getPlayerCount() {
         return gameEntities.getPlayerSessions().size();
     }
 
+    /**
+     * Player slots taken: connected players, and players held for a client to resume them, whether
+     * their connection dropped, their game was moved here, or they are reconnecting right now.
+     */
+    int getOccupiedSlots() {
+        Map<Integer, PlayerSession> playerSessions = gameEntities.getPlayerSessions();
+        int occupied = playerSessions.size();
+        for (Player player : gameEntities.getAllPlayers()) {
+            if (!(player instanceof AIPlayer) && !playerSessions.containsKey(player.getId())) {
+                occupied++;
+            }
+        }
+        return occupied;
+    }
+
     /**
      * Get the number of spectators in the game.
      */
     public int getSpectatorCount() {
-        return (int) gameEntities.getPlayerSessions().values().stream()
-                .filter(PlayerSession::isSpectator)
-                .count();
+        return spectatorFanout.getViewerCount();
     }
 
     /**
      * Get list of all spectators.
      */
     public List<PlayerSession> getSpectators() {
-        return gameEntities.getPlayerSessions().values().stream()
-                .filter(PlayerSession::isSpectator)
-                .collect(Collectors.toList());
+        return spectatorFanout.getViewers();
     }
 
     /**
@@ -322,13 +599,31 @@ public class GameManager {
             return false; // Game never locks
         }
 
-        double elapsedSeconds = (System.currentTimeMillis() - gameStartTime) / 1000.0;
+        double elapsedSeconds = (GameClock.currentTimeMillis() - gameStartTime) / 1000.0;
         return elapsedSeconds >= gameConfig.getRules().getLockGameAfterSeconds();
     }
 
     public void shutdown() {
         shutdown.set(true);
-        shutdownHook.cancel(true);
+        if (shutdownHook != null) {
+            shutdownHook.cancel(true);
+        }
+        if (replayRecorder != null) {
+            replayRecorder.close();
+        }
+        if (snapshotArchive != null) {
+            snapshotArchive.close();
+        }
+        spectatorFanout.close();
+    }
+
+    /**
+     * Delete the game's replay log, if it records one. Only once the game is shut down.
+     */
+    public void deleteReplay() {
+        if (replayRecorder != null) {
+            replayRecorder.delete();
+        }
     }
 
     /**
@@ -412,10 +707,11 @@ public class GameManager {
     }
 
     /**
-     * Check if the game has any human players currently.
+     * Check if the game has any human players or spectators currently, counting players of a moved game
+     * who are still expected to reconnect.
      */
     public boolean hasHumanPlayers() {
-        return getPlayerCount() > 0;
+        return getPlayerCount() > 0 || spectatorFanout.hasViewers() || !resumeTokens.isEmpty();
     }
 
     /**
@@ -519,7 +815,7 @@ public class GameManager {
      * Periodically check and adjust AI player count based on current game state.
      */
     private void checkAndAdjustAIPlayers() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         if (currentTime - lastAICheckTime >= aiCheckIntervalMs) {
             adjustAIPlayers();
             lastAICheckTime = currentTime;
@@ -530,13 +826,37 @@ public class GameManager {
         if (shutdown.get()) {
             return;
         }
-        try {
-            double currentTime = System.nanoTime() / 1e9;
-            double deltaTime = currentTime - lastUpdateTime;
-            lastUpdateTime = currentTime;
+        long start = System.nanoTime();
+        double currentTime = start / 1e9;
+        double deltaTime = currentTime - lastUpdateTime;
+        lastUpdateTime = currentTime;
+        step(deltaTime);
+        // Moving average over roughly the last half second of ticks
+        averageTickNanos += (System.nanoTime() - start - averageTickNanos) / 32;
+    }
 
-            // Skip updates if game is over
-            if (ruleSystem.isGameOver()) {
+    /**
+     * Advance the game by a single tick.
+     */
+    public void step(double deltaTime) {
+        if (shutdownHook == null) {
+            // Nothing else pumps an unscheduled game's spectators
+            spectatorFanout.pump();
+        }
+        try (GameContext.Scope ignored = context.enter()) {
+            // A finished game doesn't update, but still takes joins, leaves and a capture for a move
+            boolean gameOver = ruleSystem.isGameOver();
+            if (gameOver && pendingCommands.isEmpty()) {
+                return;
+            }
+            if (tickProfiler != null && !gameOver) {
+                tickProfiler.beginTick();
+            }
+            if (replayRecorder != null) {
+                replayRecorder.beginTick(GameClock.currentTimeMillis(), deltaTime);
+            }
+            runPendingCommands();
+            if (gameOver || frozen) {
                 return;
             }
 
@@ -545,17 +865,28 @@ public class GameManager {
 
             // Process individual player respawns based on rules
             processPlayerRespawns();
+            lap(TickProfiler.Phase.RULES);
 
             aiPlayerManager.update(gameEntities, deltaTime);
             gameEntities.getPlayerInputs().putAll(aiPlayerManager.getAllPlayerInputs());
+            if (inputHook != null) {
+                inputHook.accept(gameEntities.getPlayerInputs());
+            }
             checkAndAdjustAIPlayers();
+            lap(TickProfiler.Phase.AI);
+
+            gameEntities.getPlayerInputs().forEach(this::recordAndProcessPlayerInput);
+            lap(TickProfiler.Phase.INPUT);
 
-            gameEntities.getPlayerInputs().forEach(this::processPlayerInput);
             gameEntities.updateAll(deltaTime);
             updateCarriedFlags(); // Update flag positions for carried flags
+            lap(TickProfiler.Phase.ENTITIES);
+
             collisionProcessor.updateKothZones(deltaTime); // Update KOTH zone control and award points (using proper deltaTime)
             collisionProcessor.updateOddball(deltaTime); // Update oddball scoring (using proper deltaTime)
             collisionProcessor.updateWorkshops(deltaTime); // Update workshop crafting mechanics (using proper deltaTime)
+            lap(TickProfiler.Phase.OBJECTIVES);
+
             gameEntities.getProjectiles().entrySet().removeIf(entry -> {
                 Projectile projectile = entry.getValue();
                 if (!projectile.isActive()) {
@@ -564,22 +895,245 @@ public class GameManager {
                         getCollisionProcessor().getBulletEffectProcessor().processEffectHit(projectile, projectile.getPosition());
                     }
                     world.removeBody(projectile.getBody());
+                    gameEntities.getProjectilePool().release(projectile);
                     return true;
                 }
                 collisionProcessor.getBulletEffectProcessor().applyHomingBehavior(projectile);
                 return false;
             });
+            collisionProcessor.sweepProjectiles(deltaTime, weaponSystem.getRaycastService());
+            lap(TickProfiler.Phase.PROJECTILES);
 
             updateUtilityEntities(deltaTime);
             updateDefenseLaserBeamEndpoints();
+            lap(TickProfiler.Phase.UTILITY);
 
             world.updatev(deltaTime);
+            lap(TickProfiler.Phase.PHYSICS);
+
+            collisionProcessor.updateFieldEffects();
+            lap(TickProfiler.Phase.FIELD_EFFECTS);
 
             gameEntities.runPostUpdateHooks();
             gameEntities.removeInactiveEntities();
+            lap(TickProfiler.Phase.CLEANUP);
+
             sendGameState();
+            lap(TickProfiler.Phase.NETWORK);
         } catch (Throwable t) {
             log.error("Error in update loop", t);
+        } finally {
+            if (replayRecorder != null && replayRecorder.isTickOpen()) {
+                replayRecorder.endTick(computeStateDigest());
+            }
+        }
+    }
+
+    /**
+     * Freeze the game at the start of its next tick and capture it, to move it to another process.
+     * The game stays frozen until {@link #thaw()} is called, should the move fail.
+     */
+    public CompletableFuture<GameImage.Captured> freezeForMigration() {
+        CompletableFuture<GameImage.Captured> captured = new CompletableFuture<>();
+        pendingCommands.add(() -> {
+            if (captured.isDone()) {
+                return; // Given up on while waiting for the tick
+            }
+            frozen = true;
+            try {
+                captured.complete(GameImage.capture(this));
+            } catch (Exception e) {
+                captured.completeExceptionally(e);
+            }
+        });
+        return captured;
+    }
+
+    /**
+     * Let a frozen game run again. Players of a restored game who don't reconnect in time are removed.
+     */
+    public void thaw() {
+        frozen = false;
+        if (!resumeTokens.isEmpty()) {
+            Config.EXECUTOR.schedule(this::expireResumeTokens, RESUME_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Tell every player and spectator where the game moved to and disconnect them. Players are sent the
+     * token to resume their player with.
+     *
+     * @param resumeTokens resume tokens by player id
+     */
+    public void redirectPlayers(String nodeAddress, Map<Integer, String> resumeTokens) {
+        List<PlayerSession> sessions = new ArrayList<>(gameEntities.getPlayerSessions().values());
+        sessions.addAll(spectatorFanout.getViewers());
+        for (PlayerSession playerSession : sessions) {
+            Map<String, Object> redirect = new HashMap<>();
+            redirect.put("type", "migrate");
+            redirect.put("node", nodeAddress);
+            redirect.put("gameId", gameId);
+            String resumeToken = resumeTokens.get(playerSession.getPlayerId());
+            if (resumeToken != null && !playerSession.isSpectator()) {
+                redirect.put("resumeToken", resumeToken);
+            }
+            send(playerSession.getSession(), redirect);
+            playerSession.getSession().close();
+        }
+    }
+
+    /**
+     * Hold a restored player for the client that reconnects with the given token.
+     */
+    void expectResume(String resumeToken, int playerId) {
+        resumeTokens.put(resumeToken, playerId);
+    }
+
+    /**
+     * @return the id of the player the token resumes, or null if the token is unknown or was already used
+     */
+    public Integer claimResumeToken(String resumeToken) {
+        return resumeToken != null ? resumeTokens.remove(resumeToken) : null;
+    }
+
+    /**
+     * Reattach a reconnecting client to the player it claimed with {@link #claimResumeToken}.
+     *
+     * @param hasWorld whether the client still has the game's world from before it dropped, in which
+     *                 case it is only sent its new resume token and picks up the rest from the next
+     *                 game state
+     */
+    public boolean resumePlayer(PlayerSession playerSession, boolean hasWorld) {
+        Player player = gameEntities.getPlayer(playerSession.getPlayerId());
+        if (player == null) {
+            return false;
+        }
+        synchronized (admissions) {
+            // The held player already counts towards the slots, so only a game that was overfilled
+            // (e.g. its player limit lowered) turns it away. Its token is used up, so let it go.
+            if (getOccupiedSlots() > getMaxPlayers()) {
+                log.info("Player {} couldn't resume in full game {}", player.getId(), gameId);
+                PlayerSession absent = new PlayerSession(player.getId(), null);
+                absent.setPlayerName(player.getPlayerName());
+                runCommand(() -> applyLeave(absent));
+                return false;
+            }
+            playerSession.setPlayerName(player.getPlayerName());
+            playerSession.setResumeToken(UUID.randomUUID().toString());
+            gameEntities.addPlayerSession(playerSession);
+        }
+        refreshGameInfo();
+        runCommand(() -> {
+            Player resumed = gameEntities.getPlayer(playerSession.getPlayerId());
+            if (resumed == null) {
+                return;
+            }
+            Map<String, Object> state;
+            if (hasWorld) {
+                state = new HashMap<>();
+                state.put("type", "resumed");
+                state.put("playerId", resumed.getId());
+            } else {
+                state = createInitialGameState(resumed);
+            }
+            state.put("resumeToken", playerSession.getResumeToken());
+            send(playerSession.getSession(), state);
+        });
+        return true;
+    }
+
+    private void expireResumeTokens() {
+        for (String resumeToken : resumeTokens.keySet()) {
+            expireResumeToken(resumeToken);
+        }
+    }
+
+    /**
+     * Remove the player held for a resume token that wasn't claimed in time.
+     */
+    void expireResumeToken(String resumeToken) {
+        Integer playerId = resumeTokens.remove(resumeToken);
+        if (playerId == null) {
+            return; // Claimed meanwhile
+        }
+        Player player = gameEntities.getPlayer(playerId);
+        if (player != null) {
+            PlayerSession absent = new PlayerSession(player.getId(), null);
+            absent.setPlayerName(player.getPlayerName());
+            runCommand(() -> applyLeave(absent));
+        }
+    }
+
+    GameContext getContext() {
+        return context;
+    }
+
+    SpectatorFanout getSpectatorFanout() {
+        return spectatorFanout;
+    }
+
+    /**
+     * Add a player read from a {@link GameImage}.
+     */
+    void addRestoredPlayer(Player player) {
+        gameEntities.addPlayer(player);
+        world.addBody(player.getBody());
+        if (player instanceof AIPlayer aiPlayer) {
+            aiPlayerManager.addAIPlayer(aiPlayer);
+        }
+    }
+
+    /**
+     * Put a turret from a {@link GameImage} back into the game.
+     */
+    void addRestoredTurret(Turret turret) {
+        gameEntities.addTurret(turret);
+        world.addBody(turret.getBody());
+    }
+
+    private void runPendingCommands() {
+        Runnable command;
+        while ((command = pendingCommands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    private void recordAndProcessPlayerInput(Integer playerId, PlayerInput input) {
+        if (replayRecorder != null && input != null) {
+            replayRecorder.recordInput(playerId, input);
+        }
+        processPlayerInput(playerId, input);
+    }
+
+    /**
+     * Digest of the scores and every player's state, to check a replay ended up where the game did.
+     */
+    long computeStateDigest() {
+        long digest = 17;
+        for (Map.Entry<Integer, Integer> score : new TreeMap<>(ruleSystem.getTeamScores()).entrySet()) {
+            digest = 31 * digest + score.getKey();
+            digest = 31 * digest + score.getValue();
+        }
+        for (Player player : gameEntities.getAllPlayers()) {
+            Vector2 position = player.getPosition();
+            digest = 31 * digest + player.getId();
+            digest = 31 * digest + player.getTeam();
+            digest = 31 * digest + Double.doubleToLongBits(player.getHealth());
+            digest = 31 * digest + player.getKills();
+            digest = 31 * digest + player.getDeaths();
+            digest = 31 * digest + Double.doubleToLongBits(position.x);
+            digest = 31 * digest + Double.doubleToLongBits(position.y);
+        }
+        return digest;
+    }
+
+    private void lap(TickProfiler.Phase phase) {
+        if (tickProfiler != null) {
+            tickProfiler.lap(phase);
         }
     }
 
@@ -588,16 +1142,24 @@ public class GameManager {
      * This ensures beams stop at obstacles instead of piercing through them.
      */
     private void updateDefenseLaserBeamEndpoints() {
+        RaycastService raycastService = weaponSystem.getRaycastService();
+        raycastService.retainStaticEmitters(gameEntities.getDefenseLasers().keySet());
+
         for (DefenseLaser defenseLaser : gameEntities.getAllDefenseLasers()) {
             if (!defenseLaser.isActive()) {
                 continue;
             }
 
-            // Calculate effective endpoints for all beams
+            // Calculate effective endpoints for all beams; the laser is stationary so its
+            // nearby obstacles are cached until an obstacle is added or removed
+            Vector2 center = defenseLaser.getPosition();
             Vector2[] effectiveEndpoints = new Vector2[defenseLaser.getBeams().size()];
             for (int i = 0; i < defenseLaser.getBeams().size(); i++) {
                 Beam beam = defenseLaser.getBeams().get(i);
-                Vector2 effectiveEnd = weaponSystem.findBeamObstacleIntersection(
+                Vector2 effectiveEnd = raycastService.findStaticObstacleIntersection(
+                        defenseLaser.getId(),
+                        center,
+                        defenseLaser.getBeamLength(),
                         beam.getStartPoint(),
                         beam.getEndPoint()
                 );
@@ -621,7 +1183,7 @@ public class GameManager {
 
             // Turret AI: acquire targets and fire
             turret.acquireTarget(gameEntities.getAllPlayers().stream().toList());
-            Projectile turretShot = turret.tryFire();
+            Projectile turretShot = turret.tryFire(gameEntities.getProjectilePool());
             if (turretShot != null) {
                 gameEntities.addProjectile(turretShot);
                 world.addBody(turretShot.getBody());
@@ -648,7 +1210,9 @@ public class GameManager {
             }
         }
 
-        // Process beam damage for DOT beams
+        // Process beam damage for DOT beams, sharing one broadphase query across all beams
+        RaycastService raycastService = weaponSystem.getRaycastService();
+        raycastService.beginBatch(gameEntities.getAllBeams());
         for (Beam beam : gameEntities.getAllBeams()) {
             if (!beam.isActive()) {
                 continue;
@@ -680,29 +1244,38 @@ public class GameManager {
                 }
             }
         }
+        raycastService.endBatch();
+    }
+
+    /**
+     * Spectators don't get a Player entity, don't count against max players and are never locked out;
+     * they are handed to the spectator fan-out, which sends them the game's broadcasts.
+     */
+    private void addSpectator(PlayerSession playerSession) {
+        // Send spectator-specific initial game state
+        send(playerSession.getSession(), gameStateSerializer.createSpectatorInitialState());
+        spectatorFanout.addViewer(playerSession);
+
+        log.info("Spectator {} joined game {} successfully. Total spectators: {}",
+                playerSession.getPlayerId(), gameId, getSpectatorCount());
+
+        // Notify players that a spectator joined (subtle notification)
+        gameEventManager.broadcastEvent(
+            GameEvent.builder()
+                .message("👁️ A spectator joined")
+                .category(GameEvent.EventCategory.INFO)
+                .color(GameEvent.EventCategory.INFO.getDefaultColor())
+                .target(GameEvent.EventTarget.builder()
+                    .type(GameEvent.EventTarget.TargetType.ALL)
+                    .build())
+                .displayDuration(2000L)
+                .build()
+        );
     }
 
     protected void onPlayerJoined(PlayerSession playerSession) {
-        // Handle spectators differently - they don't get a Player entity
+        // Spectators join through addSpectator; only replayed logs can still hold spectator joins
         if (playerSession.isSpectator()) {
-            // Send spectator-specific initial game state
-            send(playerSession.getSession(), gameStateSerializer.createSpectatorInitialState());
-            
-            log.info("Spectator {} joined game {} successfully. Total spectators: {}",
-                    playerSession.getPlayerId(), gameId, getSpectatorCount());
-            
-            // Notify players that a spectator joined (subtle notification)
-            gameEventManager.broadcastEvent(
-                GameEvent.builder()
-                    .message("👁️ A spectator joined")
-                    .category(GameEvent.EventCategory.INFO)
-                    .color(GameEvent.EventCategory.INFO.getDefaultColor())
-                    .target(GameEvent.EventTarget.builder()
-                        .type(GameEvent.EventTarget.TargetType.ALL)
-                        .build())
-                    .displayDuration(2000L)
-                    .build()
-            );
             return;
         }
         
@@ -727,7 +1300,9 @@ public class GameManager {
         gameEntities.addPlayer(player);
         world.addBody(player.getBody());
 
-        send(playerSession.getSession(), createInitialGameState(player));
+        Map<String, Object> initialState = createInitialGameState(player);
+        initialState.put("resumeToken", playerSession.getResumeToken());
+        send(playerSession.getSession(), initialState);
         log.info("Player {} ({}) joined game {} successfully. Total players: {}, Total sessions: {}",
                 playerSession.getPlayerId(), playerSession.getPlayerName(), gameId, gameEntities.getPlayers().size(), gameEntities.getPlayerSessions().size());
 
@@ -798,43 +1373,23 @@ public class GameManager {
      * This method is used for continuous beam damage updates and handles different piercing behaviors.
      */
     private List<Player> getPlayersInBeamPath(Beam beam) {
-        List<Player> playersInPath = new ArrayList<>();
-        Vector2 beamStart = beam.getStartPoint();
-        Vector2 effectiveBeamEnd = beam.getEffectiveEndPoint();
-
-        // Create ray from beam start to effective end
-        Vector2 direction = effectiveBeamEnd.copy();
-        direction.subtract(beamStart);
-        double maxDistance = direction.getMagnitude();
-        direction.normalize();
-
-        Ray ray = new Ray(beamStart, direction);
+        // Hits come back ordered by distance from the beam start for proper piercing order
+        RaycastService.RayHits hits = weaponSystem.getRaycastService()
+                .castAll(beam.getStartPoint(), beam.getEffectiveEndPoint());
 
-        // Use dyn4j's ray casting to find all players in the beam path
-        List<RaycastResult<Body, BodyFixture>> results = world.raycast(ray, maxDistance, new DetectFilter<>(true, true, null));
-
-        // Convert results to players and sort by distance
-        for (RaycastResult<Body, BodyFixture> result : results) {
-            Body body = result.getBody();
-            if (body.getUserData() instanceof Player player) {
+        List<Player> playersInPath = new ArrayList<>();
+        for (int i = 0; i < hits.size(); i++) {
+            if (hits.getUserData(i) instanceof Player player) {
                 if (player.isActive() && player.getHealth() > 0) {
                     playersInPath.add(player);
+
+                    // For beams that don't pierce players, only return the first player
+                    if (!beam.canPiercePlayers()) {
+                        break;
+                    }
                 }
             }
         }
-
-        // Sort by distance from beam start for proper piercing order
-        playersInPath.sort((p1, p2) -> {
-            double dist1 = beamStart.distanceSquared(p1.getPosition());
-            double dist2 = beamStart.distanceSquared(p2.getPosition());
-            return Double.compare(dist1, dist2);
-        });
-
-        // For beams that don't pierce players, only return the first player
-        if (!beam.canPiercePlayers() && !playersInPath.isEmpty()) {
-            return List.of(playersInPath.get(0));
-        }
-
         return playersInPath;
     }
 
@@ -955,6 +1510,7 @@ public class GameManager {
                 } else {
                     // Carrier is no longer active, drop the flag
                     flag.drop();
+                    gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
 
                     // Remove ball carrier status effect if this was the oddball
                     if (flag.isOddball() && carrier != null) {
@@ -1022,8 +1578,19 @@ public class GameManager {
     }
 
     private void sendGameState() {
+        long now = GameClock.currentTimeMillis();
+        boolean archiving = snapshotArchive != null && snapshotArchive.isFrameDue(now);
+        boolean sending = !gameEntities.getPlayerSessions().isEmpty() || spectatorFanout.hasViewers();
+        if (!archiving && !sending) {
+            return; // Nobody to send to (AI-only or headless game)
+        }
         Map<String, Object> gameState = gameStateSerializer.createGameState();
-        broadcast(gameState);
+        if (archiving) {
+            snapshotArchive.record(now, gameState);
+        }
+        if (sending) {
+            broadcastState(gameState);
+        }
     }
 
     private Map<String, Object> createInitialGameState(Player player) {
@@ -1061,6 +1628,12 @@ public class GameManager {
     public void killPlayer(Player victim, Player shooter) {
         // Check if this was a VIP kill BEFORE calling die() (which clears status effects)
         boolean wasVip = gameConfig.getRules().hasVip() && StatusEffectManager.isVip(victim);
+        if (killListener != null) {
+            killListener.accept(victim, shooter);
+        }
+        if (snapshotArchive != null) {
+            snapshotArchive.recordKill(GameClock.currentTimeMillis(), victim.getId(), shooter != null ? shooter.getId() : null);
+        }
         
         if (shooter != null) {
             shooter.addKill();
@@ -1069,7 +1642,7 @@ public class GameManager {
 
         if (gameConfig.getRules().getVictoryCondition() == VictoryCondition.ELIMINATION) {
             victim.setEliminated(true);
-            victim.setEliminationTime(System.currentTimeMillis());
+            victim.setEliminationTime(GameClock.currentTimeMillis());
             
             // Calculate placement based on how many players are still alive
             int remainingPlayers = (int) gameEntities.getAllPlayers().stream()
@@ -1106,6 +1679,7 @@ public class GameManager {
         for (Flag flag : gameEntities.getAllFlags()) {
             if (flag.isCarried() && flag.getCarriedByPlayerId() == victim.getId()) {
                 flag.drop();
+                gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
 
                 // Remove ball carrier status effect if they were carrying the oddball
                 if (flag.isOddball()) {
@@ -1142,6 +1716,7 @@ public class GameManager {
      */
     public void handleHeadquartersDamage(Headquarters hq, Player attacker, double damage, boolean destroyed) {
         Rules rules = gameConfig.getRules();
+        gameEntities.getWorldFacts().touch(WorldFact.HEADQUARTERS);
 
         // Award points for damage dealt
         double pointsPerDamage = rules.getHeadquartersPointsPerDamage();
@@ -1199,7 +1774,6 @@ public class GameManager {
                 0      // No team
         );
         gameEntities.addFieldEffect(explosion);
-        world.addBody(explosion.getBody());
     }
 
     /**
@@ -1207,7 +1781,6 @@ public class GameManager {
      */
     private void addFieldEffectToWorld(FieldEffect fieldEffect) {
         gameEntities.addFieldEffect(fieldEffect);
-        world.addBody(fieldEffect.getBody());
     }
 
     /**
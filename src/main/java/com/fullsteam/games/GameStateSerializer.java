@@ -18,6 +18,7 @@ import com.fullsteam.physics.TeamSpawnManager;
 import com.fullsteam.physics.TeleportPad;
 import com.fullsteam.physics.Turret;
 import com.fullsteam.physics.Workshop;
+import com.fullsteam.util.GameClock;
 import org.dyn4j.geometry.Rectangle;
 import org.dyn4j.geometry.Vector2;
 
@@ -57,7 +58,7 @@ public class GameStateSerializer {
     public Map<String, Object> createGameState() {
         Map<String, Object> gameState = new HashMap<>();
         gameState.put("type", "gameState");
-        gameState.put("timestamp", System.currentTimeMillis());
+        gameState.put("timestamp", GameClock.currentTimeMillis());
 
         // Include rule system state (rounds, victory, respawns)
         gameState.putAll(ruleSystem.getStateData());
@@ -224,14 +225,14 @@ public class GameStateSerializer {
             playerState.put("rotation", player.getRotation());
             playerState.put("health", player.healthPercent());
             playerState.put("active", player.isActive());
-            playerState.put("ammo", player.getCurrentWeapon().getCurrentAmmo());
-            playerState.put("maxAmmo", player.getCurrentWeapon().getMagazineSize());
+            playerState.put("ammo", player.getCurrentAmmo());
+            playerState.put("maxAmmo", player.getMagazineSize());
             playerState.put("reloading", player.isReloading());
-            playerState.put("weaponRange", player.getCurrentWeapon().getRange());
+            playerState.put("weaponRange", player.getWeaponRange());
             playerState.put("kills", player.getKills());
             playerState.put("deaths", player.getDeaths());
             playerState.put("captures", player.getCaptures());
-            playerState.put("respawnTime", Math.max(0, ((double) player.getRespawnTime() - System.currentTimeMillis()) / 1000));
+            playerState.put("respawnTime", Math.max(0, ((double) player.getRespawnTime() - GameClock.currentTimeMillis()) / 1000));
             playerState.put("livesRemaining", player.getLivesRemaining());
             playerState.put("eliminated", player.isEliminated());
 
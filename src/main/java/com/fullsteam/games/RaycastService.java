@@ -0,0 +1,314 @@
+package com.fullsteam.games;
+
+import com.fullsteam.physics.Beam;
+import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.Obstacle;
+import com.fullsteam.physics.WorldFact;
+import org.dyn4j.collision.narrowphase.Raycast;
+import org.dyn4j.collision.narrowphase.RaycastDetector;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.geometry.AABB;
+import org.dyn4j.geometry.Ray;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.world.DetectFilter;
+import org.dyn4j.world.World;
+import org.dyn4j.world.result.DetectResult;
+import org.dyn4j.world.result.RaycastResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared raycasting for beams, defense lasers and line-of-sight checks.
+ * <p>
+ * Rays cast during a tick can be batched: {@link #beginBatch(Collection)} runs a single broadphase
+ * query covering every beam, and subsequent casts only run the narrowphase against those candidates.
+ * Obstacle-only queries from static emitters (defense lasers) keep their candidate obstacles until
+ * an obstacle or barrier is added or removed. Results are returned in a reusable {@link RayHits}
+ * buffer that is already ordered by distance.
+ */
+public class RaycastService {
+    private final GameEntities gameEntities;
+    private final World<Body> world;
+    private final DetectFilter<Body, BodyFixture> filter = new DetectFilter<>(true, true, null);
+
+    // Scratch state reused by every cast
+    private final Ray ray = new Ray(new Vector2(), new Vector2(1, 0));
+    private final Vector2 direction = new Vector2();
+    private final Raycast raycast = new Raycast();
+    private final RayHits hits = new RayHits();
+
+    // Candidates from the current batch's broadphase query
+    private final List<Candidate> batchCandidates = new ArrayList<>();
+    private AABB batchBounds = null;
+
+    // Obstacle candidates for static emitters, keyed by emitter id
+    private final Map<Integer, StaticEmitter> staticEmitters = new HashMap<>();
+
+    public RaycastService(GameEntities gameEntities, World<Body> world) {
+        this.gameEntities = gameEntities;
+        this.world = world;
+    }
+
+    /**
+     * Run one broadphase query covering the paths of all the given beams.
+     * Casts that fall within the batch bounds reuse its candidates until {@link #endBatch()}.
+     */
+    public void beginBatch(Collection<Beam> beams) {
+        endBatch();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Beam beam : beams) {
+            if (!beam.isActive()) {
+                continue;
+            }
+            Vector2 start = beam.getStartPoint();
+            Vector2 end = beam.getEffectiveEndPoint();
+            minX = Math.min(minX, Math.min(start.x, end.x));
+            minY = Math.min(minY, Math.min(start.y, end.y));
+            maxX = Math.max(maxX, Math.max(start.x, end.x));
+            maxY = Math.max(maxY, Math.max(start.y, end.y));
+        }
+        if (minX > maxX) {
+            return;
+        }
+
+        batchBounds = new AABB(minX, minY, maxX, maxY);
+        for (DetectResult<Body, BodyFixture> result : world.detect(batchBounds, filter)) {
+            batchCandidates.add(new Candidate(result.getBody(), result.getFixture()));
+        }
+    }
+
+    /**
+     * Discard the current batch. Casts made outside a batch query the world directly.
+     */
+    public void endBatch() {
+        batchCandidates.clear();
+        batchBounds = null;
+    }
+
+    /**
+     * Cast a ray from start to end and collect every body it hits, nearest first.
+     * The returned buffer is reused by the next cast.
+     */
+    public RayHits castAll(Vector2 start, Vector2 end) {
+        hits.clear();
+        double length = prepareRay(start, end);
+        if (length <= 0) {
+            return hits;
+        }
+
+        if (batchBounds != null && contains(batchBounds, start) && contains(batchBounds, end)) {
+            double minX = Math.min(start.x, end.x);
+            double minY = Math.min(start.y, end.y);
+            double maxX = Math.max(start.x, end.x);
+            double maxY = Math.max(start.y, end.y);
+            for (Candidate candidate : batchCandidates) {
+                if (candidate.overlaps(minX, minY, maxX, maxY)) {
+                    castAgainst(candidate, length);
+                }
+            }
+        } else {
+            for (RaycastResult<Body, BodyFixture> result : world.raycast(ray, length, filter)) {
+                hits.insert(result.getBody(), result.getRaycast().getDistance());
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Find where a ray from a static emitter is first blocked by an obstacle.
+     * The emitter's nearby obstacles are cached until an obstacle or barrier is added or removed.
+     *
+     * @param emitterId id of the static emitter casting the ray
+     * @param origin    the emitter's position
+     * @param reach     maximum length of any ray the emitter casts
+     * @return the effective end point of the ray
+     */
+    public Vector2 findStaticObstacleIntersection(int emitterId, Vector2 origin, double reach,
+                                                  Vector2 start, Vector2 end) {
+        long obstacleVersion = gameEntities.getWorldFacts().getVersion(WorldFact.OBSTACLES);
+        StaticEmitter emitter = staticEmitters.get(emitterId);
+        if (emitter == null || !emitter.isValid(obstacleVersion, origin, reach)) {
+            emitter = buildStaticEmitter(obstacleVersion, origin, reach);
+            staticEmitters.put(emitterId, emitter);
+        }
+
+        double length = prepareRay(start, end);
+        if (length <= 0 || emitter.candidates.isEmpty()) {
+            return end;
+        }
+
+        double closest = length;
+        for (Candidate candidate : emitter.candidates) {
+            if (castFixture(candidate, closest)) {
+                closest = raycast.getDistance();
+            }
+        }
+        if (closest >= length) {
+            return end;
+        }
+        return new Vector2(start.x + direction.x * closest, start.y + direction.y * closest);
+    }
+
+    /**
+     * Drop cached static emitters that are no longer in play.
+     */
+    public void retainStaticEmitters(Collection<Integer> emitterIds) {
+        staticEmitters.keySet().retainAll(emitterIds);
+    }
+
+    private StaticEmitter buildStaticEmitter(long obstacleVersion, Vector2 origin, double reach) {
+        StaticEmitter emitter = new StaticEmitter(obstacleVersion, origin.copy(), reach);
+        AABB bounds = new AABB(origin.x - reach, origin.y - reach, origin.x + reach, origin.y + reach);
+        for (DetectResult<Body, BodyFixture> result : world.detect(bounds, filter)) {
+            if (result.getBody().getUserData() instanceof Obstacle) {
+                emitter.candidates.add(new Candidate(result.getBody(), result.getFixture()));
+            }
+        }
+        return emitter;
+    }
+
+    private double prepareRay(Vector2 start, Vector2 end) {
+        direction.set(end).subtract(start);
+        double length = direction.getMagnitude();
+        if (length <= 0) {
+            return 0;
+        }
+        direction.multiply(1.0 / length);
+        ray.setStart(start);
+        ray.setDirection(direction);
+        return length;
+    }
+
+    private void castAgainst(Candidate candidate, double length) {
+        if (castFixture(candidate, length)) {
+            hits.insert(candidate.body, raycast.getDistance());
+        }
+    }
+
+    private boolean castFixture(Candidate candidate, double length) {
+        if (!candidate.body.isEnabled()) {
+            return false;
+        }
+        RaycastDetector detector = world.getRaycastDetector();
+        return detector.raycast(ray, length, candidate.fixture.getShape(), candidate.body.getTransform(), raycast);
+    }
+
+    private static boolean contains(AABB bounds, Vector2 point) {
+        return point.x >= bounds.getMinX() && point.x <= bounds.getMaxX()
+               && point.y >= bounds.getMinY() && point.y <= bounds.getMaxY();
+    }
+
+    /**
+     * A body fixture found by a broadphase query, with its bounds captured at query time.
+     */
+    private static final class Candidate {
+        private final Body body;
+        private final BodyFixture fixture;
+        private final AABB bounds;
+
+        private Candidate(Body body, BodyFixture fixture) {
+            this.body = body;
+            this.fixture = fixture;
+            this.bounds = fixture.getShape().createAABB(body.getTransform());
+        }
+
+        private boolean overlaps(double minX, double minY, double maxX, double maxY) {
+            return bounds.getMinX() <= maxX && bounds.getMaxX() >= minX
+                   && bounds.getMinY() <= maxY && bounds.getMaxY() >= minY;
+        }
+    }
+
+    /**
+     * Cached obstacle candidates around a stationary emitter.
+     */
+    private static final class StaticEmitter {
+        private final long obstacleVersion;
+        private final Vector2 origin;
+        private final double reach;
+        private final List<Candidate> candidates = new ArrayList<>();
+
+        private StaticEmitter(long obstacleVersion, Vector2 origin, double reach) {
+            this.obstacleVersion = obstacleVersion;
+            this.origin = origin;
+            this.reach = reach;
+        }
+
+        private boolean isValid(long obstacleVersion, Vector2 origin, double reach) {
+            return this.obstacleVersion == obstacleVersion
+                   && this.origin.equals(origin)
+                   && this.reach >= reach;
+        }
+    }
+
+    /**
+     * Reusable, distance-ordered list of ray hits. Each body appears once, at its nearest hit.
+     * Contents are only valid until the next cast.
+     */
+    public static final class RayHits {
+        private Body[] bodies = new Body[16];
+        private double[] distances = new double[16];
+        private int size = 0;
+
+        void clear() {
+            Arrays.fill(bodies, 0, size, null);
+            size = 0;
+        }
+
+        void insert(Body body, double distance) {
+            // A body with several fixtures can be hit more than once - keep its nearest hit
+            for (int i = 0; i < size; i++) {
+                if (bodies[i] == body) {
+                    if (distance >= distances[i]) {
+                        return;
+                    }
+                    System.arraycopy(bodies, i + 1, bodies, i, size - i - 1);
+                    System.arraycopy(distances, i + 1, distances, i, size - i - 1);
+                    size--;
+                    break;
+                }
+            }
+            if (size == bodies.length) {
+                bodies = Arrays.copyOf(bodies, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            int index = size;
+            while (index > 0 && distances[index - 1] > distance) {
+                bodies[index] = bodies[index - 1];
+                distances[index] = distances[index - 1];
+                index--;
+            }
+            bodies[index] = body;
+            distances[index] = distance;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public Body getBody(int index) {
+            return bodies[index];
+        }
+
+        public Object getUserData(int index) {
+            return bodies[index].getUserData();
+        }
+
+        public double getDistance(int index) {
+            return distances[index];
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.Config;
+import com.fullsteam.model.PlayerConfigRequest;
+import com.fullsteam.model.PlayerInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in input log for a game: its seed, config, joins, leaves, config changes and every player input
+ * (human and AI) it processed, tick by tick. A game's randomness, entity ids and per-tick time all come
+ * from its {@link GameContext}, so {@link ReplayRunner} can re-simulate the game from this log alone.
+ * <p>
+ * The game loop encodes each tick into a heap buffer and hands the bytes off; appending them to the
+ * memory-mapped file happens on {@link Config#EXECUTOR}. Inputs are only logged when they differ from the
+ * player's previous input.
+ * <p>
+ * File layout: a header (magic, version, seed, start time, config JSON) followed by tagged records. Each
+ * {@link #TICK} record is followed by the joins, leaves, config changes and inputs of that tick, and an
+ * {@link #END} record holding the tick count and final state digest is written on close.
+ */
+public class ReplayRecorder implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplayRecorder.class);
+
+    static final int MAGIC = 0x46535250; // "FSRP"
+    static final short VERSION = 1;
+
+    // Record tags
+    static final byte TICK = 1;          // clock millis (long), delta time (double)
+    static final byte JOIN = 2;          // player id (int), spectator (byte), name (string)
+    static final byte LEAVE = 3;         // player id (int)
+    static final byte CONFIG_CHANGE = 4; // player id (int), request JSON (string)
+    static final byte INPUT = 5;         // player id (int), input (INPUT_SIZE bytes)
+    static final byte END = 6;           // ticks (long), state digest (long)
+
+    // Six doubles and a byte of buttons
+    static final int INPUT_SIZE = 6 * Double.BYTES + 1;
+
+    // Input button flags
+    private static final int FLAG_PRIMARY_FIRE = 1;
+    private static final int FLAG_ALT_FIRE = 1 << 1;
+    private static final int FLAG_RIGHT = 1 << 2;
+    private static final int FLAG_SHIFT = 1 << 3;
+    private static final int FLAG_SPACE = 1 << 4;
+    private static final int FLAG_RELOAD_SET = 1 << 5;
+    private static final int FLAG_RELOAD = 1 << 6;
+
+    // The file is mapped this much at a time as it grows
+    private static final long SEGMENT_SIZE = 4L << 20;
+    private static final long FLUSH_INTERVAL_MS = 100;
+
+    static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ScheduledFuture<?> flusher;
+    // Encoded ticks waiting to be appended to the file
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+
+    // Writer state, guarded by this
+    private MappedByteBuffer segment;
+    private long written = 0;
+    private boolean closed = false;
+    private long ticks = 0;
+    private long lastDigest = 0;
+
+    // Game loop state
+    private ByteBuffer tickBuffer = ByteBuffer.allocate(16 * 1024);
+    private boolean tickOpen = false;
+    private final byte[] inputScratch = new byte[INPUT_SIZE];
+    private final Map<Integer, byte[]> lastInputs = new HashMap<>();
+
+    /**
+     * Create the log file and write its header.
+     *
+     * @param startMillis game time at which the game was created
+     */
+    public ReplayRecorder(Path file, long seed, long startMillis, GameConfig gameConfig) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            byte[] config = JSON.writeValueAsBytes(gameConfig);
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + 2 * Long.BYTES + Integer.BYTES + config.length);
+            header.putInt(MAGIC).putShort(VERSION).putLong(seed).putLong(startMillis).putInt(config.length).put(config);
+            synchronized (this) {
+                append(header.array());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create replay log " + file, e);
+        }
+        this.flusher = Config.EXECUTOR.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        log.info("Recording replay log {}", file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Whether a tick has begun and not yet ended.
+     */
+    public boolean isTickOpen() {
+        return tickOpen;
+    }
+
+    /**
+     * Start a tick. Everything recorded until {@link #endTick(long)} belongs to it.
+     *
+     * @param clockMillis the game time for the whole tick
+     * @param deltaTime   the tick's length in seconds
+     */
+    public void beginTick(long clockMillis, double deltaTime) {
+        tickOpen = true;
+        tickBuffer.clear();
+        ensure(1 + Long.BYTES + Double.BYTES);
+        tickBuffer.put(TICK).putLong(clockMillis).putDouble(deltaTime);
+    }
+
+    public void recordJoin(int playerId, boolean spectator, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        ensure(1 + Integer.BYTES + 1 + Integer.BYTES + bytes.length);
+        tickBuffer.put(JOIN).putInt(playerId).put((byte) (spectator ? 1 : 0)).putInt(bytes.length).put(bytes);
+    }
+
+    public void recordLeave(int playerId) {
+        lastInputs.remove(playerId);
+        ensure(1 + Integer.BYTES);
+        tickBuffer.put(LEAVE).putInt(playerId);
+    }
+
+    public void recordConfigChange(int playerId, PlayerConfigRequest request) {
+        byte[] bytes;
+        try {
+            bytes = JSON.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode config change for player " + playerId, e);
+        }
+        ensure(1 + Integer.BYTES + Integer.BYTES + bytes.length);
+        tickBuffer.put(CONFIG_CHANGE).putInt(playerId).putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * Record an input the game is about to process, unless it is the same as the player's previous one.
+     */
+    public void recordInput(int playerId, PlayerInput input) {
+        encodeInput(ByteBuffer.wrap(inputScratch), input);
+        byte[] last = lastInputs.get(playerId);
+        if (last != null && Arrays.equals(last, inputScratch)) {
+            return;
+        }
+        lastInputs.put(playerId, inputScratch.clone());
+        ensure(1 + Integer.BYTES + INPUT_SIZE);
+        tickBuffer.put(INPUT).putInt(playerId).put(inputScratch);
+    }
+
+    /**
+     * Finish the tick and queue it for writing.
+     *
+     * @param stateDigest digest of the game state after the tick, for replays to compare against
+     */
+    public void endTick(long stateDigest) {
+        tickOpen = false;
+        byte[] bytes = Arrays.copyOf(tickBuffer.array(), tickBuffer.position());
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            pending.add(bytes);
+            ticks++;
+            lastDigest = stateDigest;
+        }
+    }
+
+    /**
+     * Write out everything recorded, finish the file with an {@link #END} record and close it.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flusher.cancel(false);
+        try {
+            drain();
+            append(ByteBuffer.allocate(1 + 2 * Long.BYTES).put(END).putLong(ticks).putLong(lastDigest).array());
+            if (segment != null) {
+                segment.force();
+                segment = null;
+            }
+            // Drop the unused tail of the last mapped segment
+            channel.truncate(written);
+            channel.close();
+            log.info("Closed replay log {} after {} ticks ({} bytes)", file, ticks, written);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to close replay log {}", file, e);
+        }
+    }
+
+    /**
+     * Close the log and delete its file.
+     */
+    public synchronized void delete() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete replay log {}", file, e);
+        }
+    }
+
+    private synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            drain();
+        } catch (UncheckedIOException e) {
+            log.error("Failed to write replay log {}, recording stopped", file, e);
+            closed = true;
+            flusher.cancel(false);
+        }
+    }
+
+    private void drain() {
+        byte[] bytes;
+        while ((bytes = pending.poll()) != null) {
+            append(bytes);
+        }
+    }
+
+    private void append(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (segment == null || !segment.hasRemaining()) {
+                try {
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, written, SEGMENT_SIZE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int length = Math.min(bytes.length - offset, segment.remaining());
+            segment.put(bytes, offset, length);
+            offset += length;
+            written += length;
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (tickBuffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(tickBuffer.capacity() * 2, tickBuffer.position() + bytes));
+            tickBuffer.flip();
+            larger.put(tickBuffer);
+            tickBuffer = larger;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    static void encodeInput(ByteBuffer buffer, PlayerInput input) {
+        int flags = 0;
+        if (input.isLeft()) {
+            flags |= FLAG_PRIMARY_FIRE;
+        }
+        if (input.isAltFire()) {
+            flags |= FLAG_ALT_FIRE;
+        }
+        if (input.isRight()) {
+            flags |= FLAG_RIGHT;
+        }
+        if (input.isShift()) {
+            flags |= FLAG_SHIFT;
+        }
+        if (input.isSpace()) {
+            flags |= FLAG_SPACE;
+        }
+        if (input.getReload() != null) {
+            flags |= FLAG_RELOAD_SET;
+            if (input.getReload()) {
+                flags |= FLAG_RELOAD;
+            }
+        }
+        buffer.putDouble(input.getMoveX())
+                .putDouble(input.getMoveY())
+                .putDouble(input.getMouseX())
+                .putDouble(input.getMouseY())
+                .putDouble(input.getWorldX())
+                .putDouble(input.getWorldY())
+                .put((byte) flags);
+    }
+
+    @SuppressWarnings("deprecation")
+    static PlayerInput decodeInput(ByteBuffer buffer) {
+        PlayerInput input = new PlayerInput();
+        input.setMoveX(buffer.getDouble());
+        input.setMoveY(buffer.getDouble());
+        input.setMouseX(buffer.getDouble());
+        input.setMouseY(buffer.getDouble());
+        input.setWorldX(buffer.getDouble());
+        input.setWorldY(buffer.getDouble());
+        int flags = buffer.get();
+        input.setLeft((flags & FLAG_PRIMARY_FIRE) != 0);
+        input.setAltFire((flags & FLAG_ALT_FIRE) != 0);
+        input.setRight((flags & FLAG_RIGHT) != 0);
+        input.setShift((flags & FLAG_SHIFT) != 0);
+        input.setSpace((flags & FLAG_SPACE) != 0);
+        input.setReload((flags & FLAG_RELOAD_SET) != 0 ? (flags & FLAG_RELOAD) != 0 : null);
+        return input;
+    }
+}
@@ -0,0 +1,248 @@
+package com.fullsteam.games;
+
+import com.fullsteam.model.PlayerConfigRequest;
+import com.fullsteam.model.PlayerInput;
+import com.fullsteam.model.PlayerSession;
+import com.fullsteam.util.GameClock;
+import io.micronaut.websocket.WebSocketSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Re-simulates a game from its {@link ReplayRecorder} log, headlessly and as fast as the CPU allows.
+ * The game is rebuilt from the recorded seed and config, and every tick is replayed with the recorded
+ * time, joins, leaves, config changes and inputs. AI players still think for themselves, but their
+ * recorded inputs are the ones that get processed; any tick where they would have acted differently
+ * is counted as a mismatch.
+ */
+public class ReplayRunner {
+    private static final Logger log = LoggerFactory.getLogger(ReplayRunner.class);
+
+    /**
+     * The outcome of a replay, and whether it ended where the recorded game did.
+     */
+    public record Result(
+            long seed,
+            long ticks,
+            double wallSeconds,
+            double ticksPerSecond,
+            boolean gameOver,
+            Integer winningTeam,
+            Map<Integer, Integer> teamScores,
+            long aiInputMismatches,
+            long recordedDigest,
+            long replayedDigest
+    ) {
+        public boolean reproduced() {
+            return recordedDigest == replayedDigest;
+        }
+    }
+
+    /**
+     * Replay a recorded game on the calling thread.
+     */
+    public static Result replay(Path file) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read replay log " + file, e);
+        }
+
+        if (buffer.getInt() != ReplayRecorder.MAGIC) {
+            throw new IllegalArgumentException(file + " is not a replay log");
+        }
+        short version = buffer.getShort();
+        if (version != ReplayRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay log version " + version);
+        }
+        long seed = buffer.getLong();
+        long startMillis = buffer.getLong();
+        GameConfig gameConfig;
+        try {
+            gameConfig = ReplayRecorder.JSON.readValue(readBytes(buffer), GameConfig.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable game config in " + file, e);
+        }
+        gameConfig.setEnableReplayRecording(false);
+        gameConfig.setEnableAITrace(false);
+        gameConfig.setEnableSnapshotArchive(false);
+
+        GameClock.SimulatedClock clock = new GameClock.SimulatedClock(startMillis);
+        GameClock.SimulatedClock previousClock = GameClock.install(clock);
+        GameManager game = null;
+        try {
+            game = new GameManager("replay-" + seed, gameConfig, null, false, seed, true) {
+                @Override
+                public void send(WebSocketSession session, Object message) {
+                    // Nobody to send to
+                }
+
+                @Override
+                public void broadcast(Object message) {
+                    // Nobody to send to
+                }
+
+                @Override
+                protected void broadcastState(Map<String, Object> gameState) {
+                    // Nobody to send to
+                }
+            };
+
+            // Inputs stay in effect until a player's next recorded input
+            Map<Integer, PlayerInput> inputs = new HashMap<>();
+            long[] aiInputMismatches = {0};
+            GameManager replayed = game;
+            game.setInputHook(tickInputs -> {
+                for (Map.Entry<Integer, PlayerInput> entry : tickInputs.entrySet()) {
+                    PlayerInput recorded = inputs.get(entry.getKey());
+                    if (replayed.getAiPlayerManager().isAIPlayer(entry.getKey())
+                            && recorded != null && !Objects.equals(recorded, entry.getValue())) {
+                        aiInputMismatches[0]++;
+                    }
+                }
+                tickInputs.putAll(inputs);
+            });
+
+            long ticks = 0;
+            long recordedDigest = 0;
+            long wallStart = System.nanoTime();
+            while (buffer.hasRemaining()) {
+                byte tag = buffer.get();
+                switch (tag) {
+                    case ReplayRecorder.TICK -> {
+                        long millis = buffer.getLong();
+                        double deltaTime = buffer.getDouble();
+                        readTickEvents(buffer, game, inputs);
+                        clock.set(millis);
+                        game.step(deltaTime);
+                        ticks++;
+                    }
+                    case ReplayRecorder.END -> {
+                        buffer.getLong();
+                        recordedDigest = buffer.getLong();
+                    }
+                    default -> throw new IllegalArgumentException("Unexpected record " + tag + " in " + file);
+                }
+            }
+            double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+
+            RuleSystem ruleSystem = game.getRuleSystem();
+            return new Result(
+                    seed,
+                    ticks,
+                    wallSeconds,
+                    wallSeconds > 0 ? ticks / wallSeconds : 0,
+                    ruleSystem.isGameOver(),
+                    ruleSystem.getWinningTeam(),
+                    Map.copyOf(ruleSystem.getTeamScores()),
+                    aiInputMismatches[0],
+                    recordedDigest,
+                    game.computeStateDigest()
+            );
+        } finally {
+            if (game != null) {
+                game.shutdown();
+            }
+            GameClock.restore(previousClock);
+        }
+    }
+
+    /**
+     * Read the events recorded for a tick, queueing joins, leaves and config changes to run at the
+     * start of the tick and updating the inputs in effect.
+     */
+    private static void readTickEvents(ByteBuffer buffer, GameManager game, Map<Integer, PlayerInput> inputs) {
+        while (buffer.hasRemaining()) {
+            byte tag = buffer.get(buffer.position());
+            switch (tag) {
+                case ReplayRecorder.JOIN -> {
+                    buffer.get();
+                    int playerId = buffer.getInt();
+                    boolean spectator = buffer.get() != 0;
+                    String name = new String(readBytes(buffer), StandardCharsets.UTF_8);
+                    PlayerSession playerSession = new PlayerSession(playerId, CLOSED_SESSION);
+                    playerSession.setPlayerName(name);
+                    playerSession.setSpectator(spectator);
+                    playerSession.setGame(game);
+                    game.enqueueCommand(() -> {
+                        game.getGameEntities().addPlayerSession(playerSession);
+                        game.applyJoin(playerSession);
+                    });
+                }
+                case ReplayRecorder.LEAVE -> {
+                    buffer.get();
+                    int playerId = buffer.getInt();
+                    inputs.remove(playerId);
+                    game.enqueueCommand(() -> {
+                        PlayerSession removed = game.getGameEntities().removePlayerSession(playerId);
+                        if (removed != null) {
+                            game.applyLeave(removed);
+                        }
+                    });
+                }
+                case ReplayRecorder.CONFIG_CHANGE -> {
+                    buffer.get();
+                    int playerId = buffer.getInt();
+                    PlayerConfigRequest request;
+                    try {
+                        request = ReplayRecorder.JSON.readValue(readBytes(buffer), PlayerConfigRequest.class);
+                    } catch (IOException e) {
+                        throw new IllegalArgumentException("Unreadable config change for player " + playerId, e);
+                    }
+                    game.enqueueCommand(() -> game.applyConfigChange(playerId, request));
+                }
+                case ReplayRecorder.INPUT -> {
+                    buffer.get();
+                    int playerId = buffer.getInt();
+                    inputs.put(playerId, ReplayRecorder.decodeInput(buffer));
+                }
+                default -> {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    // Stands in for the websocket of replayed players; it is always closed, so nothing is sent to it
+    private static final WebSocketSession CLOSED_SESSION = (WebSocketSession) Proxy.newProxyInstance(
+            ReplayRunner.class.getClassLoader(),
+            new Class<?>[]{WebSocketSession.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "isOpen", "isWritable", "isSecure" -> false;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "ClosedReplaySession";
+                default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+            });
+
+    /**
+     * Usage: ReplayRunner replayFile
+     */
+    public static void main(String[] args) {
+        Result result = replay(Path.of(args[0]));
+        log.info("seed={} ticks={} wall={}s ticks/s={} winner={} scores={} aiInputMismatches={} reproduced={}",
+                result.seed(), result.ticks(), String.format("%.2f", result.wallSeconds()),
+                String.format("%.0f", result.ticksPerSecond()), result.winningTeam(), result.teamScores(),
+                result.aiInputMismatches(), result.reproduced());
+        System.exit(result.reproduced() ? 0 : 1);
+    }
+}
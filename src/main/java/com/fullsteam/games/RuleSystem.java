@@ -16,10 +16,16 @@ import com.fullsteam.physics.GameEntities;
 import com.fullsteam.physics.KothZone;
 import com.fullsteam.physics.Player;
 import com.fullsteam.physics.PowerUp;
+import com.fullsteam.physics.ScoreListener;
+import com.fullsteam.physics.WorldFact;
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -34,7 +40,7 @@ public class RuleSystem {
     private static final Logger log = LoggerFactory.getLogger(RuleSystem.class);
 
     private final String gameId;
-    private final long start = System.currentTimeMillis();
+    private long start = GameClock.currentTimeMillis();
     private final Rules rules;
     private final GameEntities gameEntities;
     private final GameEventManager gameEventManager;
@@ -67,6 +73,10 @@ public class RuleSystem {
     @Getter
     private long waveRespawnTime = 0;
 
+    // Team totals and leaderboards, kept up to date as points are scored
+    @Getter
+    private final Scoreboard scoreboard = new Scoreboard();
+
     // Bonus points tracking (for HQ damage, objectives, etc.)
     private final Map<Integer, Integer> bonusTeamPoints = new HashMap<>();
 
@@ -95,7 +105,7 @@ public class RuleSystem {
 
         // Initialize round timer if rounds are enabled
         if (rules.getRoundDuration() > 0) {
-            this.roundEndTime = (long) (System.currentTimeMillis() + (rules.getRoundDuration() * 1000));
+            this.roundEndTime = (long) (GameClock.currentTimeMillis() + (rules.getRoundDuration() * 1000));
         }
 
         // Initialize VIP mode if enabled
@@ -107,6 +117,17 @@ public class RuleSystem {
         if (rules.hasRandomWeapons()) {
             scheduleNextWeaponRotation();
         }
+
+        // Follow player and zone scores from here on, starting with the entities already in the game
+        gameEntities.addScoreListener(new ScoreTracker());
+        for (Player player : gameEntities.getAllPlayers()) {
+            updatePlayerScore(player);
+        }
+        for (KothZone zone : gameEntities.getAllKothZones()) {
+            for (Integer team : zone.getTeamScores().keySet()) {
+                updateZoneScore(zone, team);
+            }
+        }
     }
 
     // ===== UPDATE METHODS =====
@@ -133,6 +154,103 @@ public class RuleSystem {
         }
     }
 
+    /**
+     * Move the round and rule timers forward, for a game built ahead of time that starts now.
+     */
+    void delayTimers(long delayMillis) {
+        start += delayMillis;
+        roundEndTime = delay(roundEndTime, delayMillis);
+        restTimeEnd = delay(restTimeEnd, delayMillis);
+        waveRespawnTime = delay(waveRespawnTime, delayMillis);
+        nextWeaponRotationTime = delay(nextWeaponRotationTime, delayMillis);
+        if (eventSystem != null) {
+            eventSystem.delaySchedule(delayMillis);
+        }
+    }
+
+    private static long delay(long time, long delayMillis) {
+        return time > 0 ? time + delayMillis : time;
+    }
+
+    /**
+     * Write the round, victory and scoring state that isn't derived from the game's entities.
+     * Times are written relative to {@code now}.
+     */
+    void writeState(DataOutputStream out, long now) throws IOException {
+        GameImage.writeTime(out, start, now);
+        out.writeUTF(gameState.name());
+        out.writeInt(currentRound);
+        GameImage.writeTime(out, roundEndTime, now);
+        GameImage.writeTime(out, restTimeEnd, now);
+        out.writeBoolean(gameOver);
+        GameImage.writeNullableString(out, victoryMessage);
+        GameImage.writeNullableInt(out, winningTeam);
+        GameImage.writeNullableInt(out, winningPlayerId);
+        GameImage.writeTime(out, waveRespawnTime, now);
+        GameImage.writeTime(out, nextWeaponRotationTime, now);
+        GameImage.writeTime(out, eventSystem != null ? eventSystem.getNextEventTime() : 0L, now);
+        GameImage.writeIntMap(out, bonusTeamPoints);
+        GameImage.writeIntMap(out, vipKillScores);
+        out.writeInt(oddballPlayerScores.size());
+        for (Map.Entry<Integer, Double> entry : oddballPlayerScores.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeDouble(entry.getValue());
+        }
+        Map<Integer, Integer> teamVips = new HashMap<>();
+        for (int team = 1; team <= teamCount; team++) {
+            Integer vipId = gameEntities.getTeamVip(team);
+            if (vipId != null) {
+                teamVips.put(team, vipId);
+            }
+        }
+        GameImage.writeIntMap(out, teamVips);
+    }
+
+    /**
+     * Restore the state written by {@link #writeState}, once the game's players are back in place.
+     */
+    void readState(DataInputStream in, long now) throws IOException {
+        start = GameImage.readTime(in, now);
+        gameState = GameState.valueOf(in.readUTF());
+        currentRound = in.readInt();
+        roundEndTime = GameImage.readTime(in, now);
+        restTimeEnd = GameImage.readTime(in, now);
+        gameOver = in.readBoolean();
+        victoryMessage = GameImage.readNullableString(in);
+        winningTeam = GameImage.readNullableInt(in);
+        winningPlayerId = GameImage.readNullableInt(in);
+        waveRespawnTime = GameImage.readTime(in, now);
+        nextWeaponRotationTime = GameImage.readTime(in, now);
+        long nextEventTime = GameImage.readTime(in, now);
+        if (eventSystem != null) {
+            eventSystem.resumeSchedule(nextEventTime);
+        }
+
+        bonusTeamPoints.putAll(GameImage.readIntMap(in));
+        bonusTeamPoints.forEach((team, points) ->
+                scoreboard.setContribution(Scoreboard.Source.BONUS, team, 0, team, points));
+        vipKillScores.putAll(GameImage.readIntMap(in));
+        if (countsObjectives()) {
+            vipKillScores.forEach((team, kills) ->
+                    scoreboard.setContribution(Scoreboard.Source.VIP_KILLS, team, 0, team, kills));
+        }
+        int oddballScores = in.readInt();
+        for (int i = 0; i < oddballScores; i++) {
+            oddballPlayerScores.put(in.readInt(), in.readDouble());
+        }
+        for (Player player : gameEntities.getAllPlayers()) {
+            updatePlayerScore(player);
+        }
+        GameImage.readIntMap(in).forEach((team, vipId) -> {
+            Player vip = gameEntities.getPlayer(vipId);
+            if (vip != null) {
+                setPlayerAsVip(vip);
+            } else {
+                ensureVipForTeam(team);
+            }
+        });
+    }
+
     /**
      * Initialize VIP mode - select one VIP per team.
      */
@@ -203,7 +321,7 @@ public class RuleSystem {
      * This runs in the game loop to catch any edge cases where VIP status might be lost.
      */
     private void validateVipAssignments() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
 
         // Only check every VIP_CHECK_INTERVAL_MS to avoid excessive checking
         if (currentTime - lastVipCheckTime < VIP_CHECK_INTERVAL_MS) {
@@ -250,6 +368,9 @@ public class RuleSystem {
         }
 
         vipKillScores.merge(killerTeam, 1, Integer::sum);
+        if (countsObjectives()) {
+            scoreboard.addToContribution(Scoreboard.Source.VIP_KILLS, killerTeam, 0, killerTeam, 1);
+        }
         log.info("Team {} scored VIP kill. Total VIP kills: {} (Score Style: {})",
                 killerTeam, vipKillScores.get(killerTeam), rules.getScoreStyle());
 
@@ -309,7 +430,7 @@ public class RuleSystem {
     }
 
     private void updatePlayingState() {
-        if (System.currentTimeMillis() > roundEndTime) {
+        if (GameClock.currentTimeMillis() > roundEndTime) {
             endRound();
         }
     }
@@ -317,7 +438,7 @@ public class RuleSystem {
     private void endRound() {
         gameState = GameState.ROUND_END;
         roundEndTime = 0;
-        restTimeEnd = (long) (System.currentTimeMillis() + (rules.getRestDuration() * 1000));
+        restTimeEnd = (long) (GameClock.currentTimeMillis() + (rules.getRestDuration() * 1000));
 
         // Capture current scores
         roundScores.clear();
@@ -353,7 +474,7 @@ public class RuleSystem {
     }
 
     private void updateRestPeriodState() {
-        if (System.currentTimeMillis() > restTimeEnd) {
+        if (GameClock.currentTimeMillis() > restTimeEnd) {
             startNextRound();
         }
     }
@@ -365,7 +486,7 @@ public class RuleSystem {
     public void startNextRound() {
         currentRound++;
         gameState = GameState.PLAYING;
-        roundEndTime = (long) (System.currentTimeMillis() + (rules.getRoundDuration() * 1000));
+        roundEndTime = (long) (GameClock.currentTimeMillis() + (rules.getRoundDuration() * 1000));
         restTimeEnd = 0;
 
         // Reset player lives for stock mode (LIMITED respawn mode)
@@ -380,10 +501,17 @@ public class RuleSystem {
             p.setDeaths(0);
         });
 
+        for (Integer team : bonusTeamPoints.keySet()) {
+            scoreboard.removeContribution(Scoreboard.Source.BONUS, team, 0);
+        }
+        for (Integer team : vipKillScores.keySet()) {
+            scoreboard.removeContribution(Scoreboard.Source.VIP_KILLS, team, 0);
+        }
         bonusTeamPoints.clear();
         vipKillScores.clear();
 
         gameEntities.getFlags().values().forEach(Flag::returnToHome);
+        gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
         gameEntities.getDefenseLasers().clear();
         gameEntities.getFieldEffects().clear();
         gameEntities.getBeams().clear();
@@ -405,10 +533,10 @@ public class RuleSystem {
     }
 
     private void updateWaveRespawn() {
-        if (System.currentTimeMillis() >= waveRespawnTime) {
+        if (GameClock.currentTimeMillis() >= waveRespawnTime) {
             // Broadcast wave respawn event
             gameEventManager.broadcastSystemMessage("⚡ Wave Respawn!");
-            waveRespawnTime = (long) (System.currentTimeMillis() + (rules.getWaveRespawnInterval() * 1000));
+            waveRespawnTime = (long) (GameClock.currentTimeMillis() + (rules.getWaveRespawnInterval() * 1000));
         }
     }
 
@@ -422,7 +550,7 @@ public class RuleSystem {
         }
         return player.hasLivesRemaining()
                 && player.getRespawnTime() > 0
-                && System.currentTimeMillis() > player.getRespawnTime();
+                && GameClock.currentTimeMillis() > player.getRespawnTime();
     }
 
     public void setRespawnTime(Player player) {
@@ -433,7 +561,7 @@ public class RuleSystem {
         }
         switch (rules.getRespawnMode()) {
             case INSTANT:
-                player.setRespawnTime((long) (System.currentTimeMillis() + (rules.getRespawnDelay() * 1000)));
+                player.setRespawnTime((long) (GameClock.currentTimeMillis() + (rules.getRespawnDelay() * 1000)));
                 break;
             case WAVE:
                 player.setRespawnTime(waveRespawnTime);
@@ -446,7 +574,7 @@ public class RuleSystem {
                 if (player.isEliminated()) {
                     player.setRespawnTime(0);
                 } else {
-                    player.setRespawnTime((long) (System.currentTimeMillis() + (rules.getRespawnDelay() * 1000)));
+                    player.setRespawnTime((long) (GameClock.currentTimeMillis() + (rules.getRespawnDelay() * 1000)));
                 }
                 break;
             default:
@@ -484,38 +612,39 @@ public class RuleSystem {
         int scoreLimit = rules.getScoreLimit();
 
         if (teamCount > 0) {
-            // Team mode - check team scores
-            Map<Integer, Integer> teamScores = calculateTeamScores();
-            for (Map.Entry<Integer, Integer> entry : teamScores.entrySet()) {
-                if (entry.getValue() >= scoreLimit) {
-                    declareTeamVictory(entry.getKey(),
+            // Team mode - only the leading team can have reached the limit
+            Integer team = scoreboard.getLeadingTeam();
+            if (team != null) {
+                int score = scoreboard.getTeamScore(team);
+                if (score >= scoreLimit) {
+                    declareTeamVictory(team,
                             String.format("Team %d wins with %d %s!",
-                                    entry.getKey(), entry.getValue(), getScoreTypeName()));
-                    return;
+                                    team, score, getScoreTypeName()));
                 }
             }
         } else {
-            // FFA mode - check individual scores
-            for (Player player : gameEntities.getAllPlayers()) {
-                int score = getPlayerScore(player);
-                if (score >= scoreLimit) {
+            // FFA mode - only the leading player can have reached the limit
+            Integer playerId = scoreboard.getLeadingPlayer();
+            if (playerId != null) {
+                Player player = gameEntities.getPlayer(playerId);
+                int score = scoreboard.getPlayerScore(playerId);
+                if (player != null && score >= scoreLimit) {
                     declarePlayerVictory(player.getId(), player.getPlayerName(),
                             String.format("%s wins with %d %s!",
                                     player.getPlayerName(), score, getScoreTypeName()));
-                    return;
                 }
             }
         }
     }
 
     private void checkTimeLimitVictory() {
-        if (System.currentTimeMillis() < start + (rules.getTimeLimit() * 1000)) {
+        if (GameClock.currentTimeMillis() < start + (rules.getTimeLimit() * 1000)) {
             return;
         }
 
         if (teamCount > 0) {
             // Team mode
-            Map<Integer, Integer> teamScores = calculateTeamScores();
+            Map<Integer, Integer> teamScores = scoreboard.getTeamScores();
             int winningTeamNum = -1;
             int highestScore = -1;
             int teamsWithHighScore = 0;
@@ -676,67 +805,79 @@ public class RuleSystem {
         gameEventManager.broadcastSystemMessage("🏆 " + message);
     }
 
+    /**
+     * Get the current score of each team, as shown on the scoreboard.
+     * This is a live read-only view; copy it to keep the scores of a moment.
+     */
+    public Map<Integer, Integer> getTeamScores() {
+        return scoreboard.getTeamScores();
+    }
+
     // ===== SCORING HELPERS =====
 
-    private Map<Integer, Integer> calculateTeamScores() {
-        Map<Integer, Integer> teamScores = new HashMap<>();
+    private boolean countsKills() {
+        return rules.getScoreStyle() == ScoreStyle.TOTAL_KILLS || rules.getScoreStyle() == ScoreStyle.TOTAL;
+    }
 
-        // Add player-based scores based on ScoreStyle
-        if (rules.getScoreStyle() == ScoreStyle.TOTAL_KILLS ||
-                rules.getScoreStyle() == ScoreStyle.TOTAL) {
+    private boolean countsObjectives() {
+        return rules.getScoreStyle() == ScoreStyle.OBJECTIVE || rules.getScoreStyle() == ScoreStyle.TOTAL;
+    }
 
-            for (Player player : gameEntities.getAllPlayers()) {
-                int score = getPlayerScore(player);
-                teamScores.merge(player.getTeam(), score, Integer::sum);
-            }
+    /**
+     * Recompute a single player's individual score and their contribution to their team's score.
+     * Player scores count towards the team based on ScoreStyle, and objective scores (captures,
+     * oddball) are added on top for the objective styles.
+     */
+    private void updatePlayerScore(Player player) {
+        int playerScore = getPlayerScore(player);
+        int teamPoints = 0;
+        if (countsKills()) {
+            teamPoints += playerScore;
         }
-
-        // Add objective scores (KOTH zones, captures, oddball, VIP kills) based on ScoreStyle
-        if (rules.getScoreStyle() == ScoreStyle.OBJECTIVE ||
-                rules.getScoreStyle() == ScoreStyle.TOTAL) {
-
-            // Add player captures
-            for (Player player : gameEntities.getAllPlayers()) {
-                teamScores.merge(player.getTeam(), player.getCaptures(), Integer::sum);
+        if (countsObjectives()) {
+            teamPoints += player.getCaptures();
+            if (rules.hasOddball()) {
+                teamPoints += (int) Math.round(getOddballScore(player.getId()));
             }
+        }
+        scoreboard.setPlayerScore(player.getId(), playerScore);
+        scoreboard.setContribution(Scoreboard.Source.PLAYER, player.getId(), 0, player.getTeam(), teamPoints);
+    }
 
-            // Add KOTH zone scores
-            for (KothZone zone : gameEntities.getAllKothZones()) {
-                Map<Integer, Double> zoneTeamScores = zone.getAllTeamScores();
-                for (Map.Entry<Integer, Double> entry : zoneTeamScores.entrySet()) {
-                    int team = entry.getKey();
-                    double kothPoints = entry.getValue();
-                    // Convert KOTH points to integer for scoring
-                    int kothScore = (int) Math.round(kothPoints);
-                    teamScores.merge(team, kothScore, Integer::sum);
-                }
-            }
+    private void updateZoneScore(KothZone zone, int team) {
+        if (countsObjectives()) {
+            // Convert KOTH points to integer for scoring
+            int kothScore = (int) Math.round(zone.getTeamScore(team));
+            scoreboard.setContribution(Scoreboard.Source.KOTH_ZONE, zone.getId(), team, team, kothScore);
+        }
+    }
 
-            // Add oddball scores (per player, then summed to team)
-            if (rules.hasOddball()) {
-                for (Map.Entry<Integer, Double> entry : oddballPlayerScores.entrySet()) {
-                    Player player = gameEntities.getPlayer(entry.getKey());
-                    if (player != null) {
-                        int oddballScore = (int) Math.round(entry.getValue());
-                        teamScores.merge(player.getTeam(), oddballScore, Integer::sum);
-                    }
-                }
-            }
+    /**
+     * Feeds score changes on players and zones into the scoreboard.
+     */
+    private class ScoreTracker implements ScoreListener {
+        @Override
+        public void playerScoreChanged(Player player) {
+            updatePlayerScore(player);
+        }
 
-            // Add VIP kill scores
-            if (rules.hasVip()) {
-                for (Map.Entry<Integer, Integer> entry : vipKillScores.entrySet()) {
-                    teamScores.merge(entry.getKey(), entry.getValue(), Integer::sum);
-                }
-            }
+        @Override
+        public void playerRemoved(Player player) {
+            scoreboard.removePlayer(player.getId());
+            scoreboard.removeContribution(Scoreboard.Source.PLAYER, player.getId(), 0);
         }
 
-        // Add bonus points (HQ damage, objectives, etc.) - always included
-        for (Map.Entry<Integer, Integer> entry : bonusTeamPoints.entrySet()) {
-            teamScores.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        @Override
+        public void zoneScoreChanged(KothZone zone, int team) {
+            updateZoneScore(zone, team);
         }
 
-        return teamScores;
+        @Override
+        public void zoneRemoved(KothZone zone) {
+            for (Integer team : zone.getTeamScores().keySet()) {
+                scoreboard.removeContribution(Scoreboard.Source.KOTH_ZONE, zone.getId(), team);
+            }
+        }
     }
 
     /**
@@ -746,6 +887,7 @@ public class RuleSystem {
     public void addTeamPoints(int team, int points) {
         if (team > 0 && points > 0) {
             bonusTeamPoints.merge(team, points, Integer::sum);
+            scoreboard.addToContribution(Scoreboard.Source.BONUS, team, 0, team, points);
             log.debug("Added {} bonus points to team {}. Total bonus: {}",
                     points, team, bonusTeamPoints.get(team));
 
@@ -764,6 +906,10 @@ public class RuleSystem {
     public void awardOddballPoints(int playerId, double points) {
         if (playerId >= 0 && points > 0) {
             oddballPlayerScores.merge(playerId, points, Double::sum);
+            Player player = gameEntities.getPlayer(playerId);
+            if (player != null) {
+                updatePlayerScore(player);
+            }
             log.debug("Awarded {} oddball points to player {}. Total: {}",
                     points, playerId, oddballPlayerScores.get(playerId));
 
@@ -808,12 +954,9 @@ public class RuleSystem {
 
     private int getCurrentHighestScore() {
         if (teamCount > 0) {
-            return calculateTeamScores().values().stream()
-                    .max(Integer::compare).orElse(0);
+            return scoreboard.getHighestTeamScore();
         } else {
-            return gameEntities.getAllPlayers().stream()
-                    .mapToInt(this::getPlayerScore)
-                    .max().orElse(0);
+            return scoreboard.getHighestPlayerScore();
         }
     }
 
@@ -821,7 +964,7 @@ public class RuleSystem {
         List<Map<String, Object>> scores = new ArrayList<>();
 
         if (teamCount > 0) {
-            Map<Integer, Integer> teamScores = calculateTeamScores();
+            Map<Integer, Integer> teamScores = scoreboard.getTeamScores();
             Map<Integer, Integer> teamKills = new HashMap<>();
             Map<Integer, Integer> teamDeaths = new HashMap<>();
             Map<Integer, Integer> teamCaptures = new HashMap<>();
@@ -893,8 +1036,8 @@ public class RuleSystem {
             data.put("roundEnabled", true);
             data.put("currentRound", currentRound);
             data.put("gameState", gameState.name());
-            data.put("roundTimeRemaining", Math.max(0, (roundEndTime - System.currentTimeMillis()) / 1000));
-            data.put("restTimeRemaining", Math.max(0, (restTimeEnd - System.currentTimeMillis()) / 1000));
+            data.put("roundTimeRemaining", Math.max(0, (roundEndTime - GameClock.currentTimeMillis()) / 1000));
+            data.put("restTimeRemaining", Math.max(0, (restTimeEnd - GameClock.currentTimeMillis()) / 1000));
         } else {
             data.put("roundEnabled", false);
         }
@@ -908,7 +1051,7 @@ public class RuleSystem {
         }
 
         // Team scores
-        data.put("teamScores", calculateTeamScores());
+        data.put("teamScores", scoreboard.getTeamScores());
 
         // Scoring style info
         data.put("scoreStyle", rules.getScoreStyle().name());
@@ -956,7 +1099,7 @@ public class RuleSystem {
      * Schedule the next weapon rotation.
      */
     private void scheduleNextWeaponRotation() {
-        nextWeaponRotationTime = (long) (System.currentTimeMillis() +
+        nextWeaponRotationTime = (long) (GameClock.currentTimeMillis() +
                 (rules.getRandomWeaponInterval() * 1000));
         log.debug("Next weapon rotation scheduled for game {} in {} seconds",
                 gameId, rules.getRandomWeaponInterval());
@@ -966,7 +1109,7 @@ public class RuleSystem {
      * Update weapon rotation timer and rotate weapons when time is up.
      */
     private void updateWeaponRotation() {
-        if (System.currentTimeMillis() >= nextWeaponRotationTime) {
+        if (GameClock.currentTimeMillis() >= nextWeaponRotationTime) {
             rotateAllPlayerWeapons();
             scheduleNextWeaponRotation();
         }
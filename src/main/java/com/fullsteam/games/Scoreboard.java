@@ -0,0 +1,214 @@
+package com.fullsteam.games;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Incrementally maintained team totals and leaderboards.
+ * <p>
+ * Every scoring source (a player, a KOTH zone's points for one team, a team's VIP kills or bonus points)
+ * reports its current contribution whenever it changes. The difference is applied to the owning team's
+ * total and the team is moved to its new place in the ranking, so reads never recompute anything and
+ * the returned views are never copied.
+ * <p>
+ * Players join and leave from connection threads, so updates are synchronized and the views are backed
+ * by concurrent collections that can be read (and serialized) while an update is in progress.
+ */
+public class Scoreboard {
+
+    /**
+     * Kinds of score sources, used to keep source ids of different kinds apart.
+     */
+    public enum Source {
+        PLAYER,
+        KOTH_ZONE,
+        VIP_KILLS,
+        BONUS
+    }
+
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+    private final Map<Integer, Integer> teamScores = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> teamSourceCounts = new HashMap<>();
+    private final Map<Integer, Integer> playerScores = new ConcurrentHashMap<>();
+    private final Ranking teamRanking = new Ranking(teamScores);
+    private final Ranking playerRanking = new Ranking(playerScores);
+
+    private final Map<Integer, Integer> teamScoresView = Collections.unmodifiableMap(teamScores);
+
+    /**
+     * Set the points a source currently contributes to a team, replacing its previous contribution.
+     *
+     * @param source the kind of source
+     * @param id     the source id (player id, zone id, or team number for team-wide sources)
+     * @param subId  distinguishes several contributions of one source, e.g. the team a zone awarded
+     * @param team   the team that receives the points
+     * @param points the source's current total contribution
+     */
+    public synchronized void setContribution(Source source, int id, int subId, int team, int points) {
+        long key = key(source, id, subId);
+        Contribution previous = contributions.get(key);
+        if (previous == null) {
+            contributions.put(key, new Contribution(team, points));
+            teamSourceCounts.merge(team, 1, Integer::sum);
+            updateTeam(team, points);
+        } else if (previous.team != team) {
+            removeContribution(source, id, subId);
+            setContribution(source, id, subId, team, points);
+        } else if (previous.points != points) {
+            int delta = points - previous.points;
+            previous.points = points;
+            updateTeam(team, delta);
+        }
+    }
+
+    /**
+     * Add points to a source's contribution.
+     */
+    public synchronized void addToContribution(Source source, int id, int subId, int team, int points) {
+        Contribution previous = contributions.get(key(source, id, subId));
+        setContribution(source, id, subId, team, (previous != null ? previous.points : 0) + points);
+    }
+
+    /**
+     * Remove a source's contribution. Teams without any remaining sources are dropped from the scoreboard.
+     */
+    public synchronized void removeContribution(Source source, int id, int subId) {
+        Contribution previous = contributions.remove(key(source, id, subId));
+        if (previous == null) {
+            return;
+        }
+        int team = previous.team;
+        if (teamSourceCounts.merge(team, -1, Integer::sum) <= 0) {
+            teamSourceCounts.remove(team);
+            teamScores.remove(team);
+            teamRanking.remove(team);
+        } else {
+            updateTeam(team, -previous.points);
+        }
+    }
+
+    /**
+     * Set a player's individual score, as used for free-for-all rankings.
+     */
+    public synchronized void setPlayerScore(int playerId, int score) {
+        Integer previous = playerScores.put(playerId, score);
+        if (previous == null || previous != score) {
+            playerRanking.update(playerId);
+        }
+    }
+
+    public synchronized void removePlayer(int playerId) {
+        if (playerScores.remove(playerId) != null) {
+            playerRanking.remove(playerId);
+        }
+    }
+
+    /**
+     * Live read-only view of team totals.
+     */
+    public Map<Integer, Integer> getTeamScores() {
+        return teamScoresView;
+    }
+
+    public int getTeamScore(int team) {
+        return teamScores.getOrDefault(team, 0);
+    }
+
+    public int getPlayerScore(int playerId) {
+        return playerScores.getOrDefault(playerId, 0);
+    }
+
+    /**
+     * Live read-only view of team numbers, highest score first. Ties are ordered by team number.
+     */
+    public List<Integer> getTeamRanking() {
+        return teamRanking.view;
+    }
+
+    /**
+     * Live read-only view of player ids, highest individual score first. Ties are ordered by player id.
+     */
+    public List<Integer> getPlayerRanking() {
+        return playerRanking.view;
+    }
+
+    /**
+     * The team with the highest score, or null if no team has scored or has players.
+     */
+    public synchronized Integer getLeadingTeam() {
+        return teamRanking.ids.isEmpty() ? null : teamRanking.ids.get(0);
+    }
+
+    /**
+     * The player with the highest individual score, or null if there are no players.
+     */
+    public synchronized Integer getLeadingPlayer() {
+        return playerRanking.ids.isEmpty() ? null : playerRanking.ids.get(0);
+    }
+
+    public synchronized int getHighestTeamScore() {
+        Integer team = getLeadingTeam();
+        return team != null ? getTeamScore(team) : 0;
+    }
+
+    public synchronized int getHighestPlayerScore() {
+        Integer playerId = getLeadingPlayer();
+        return playerId != null ? getPlayerScore(playerId) : 0;
+    }
+
+    private void updateTeam(int team, int delta) {
+        teamScores.merge(team, delta, Integer::sum);
+        teamRanking.update(team);
+    }
+
+    private static long key(Source source, int id, int subId) {
+        return ((long) source.ordinal() << 56) ^ ((id & 0xFFFFFFFFL) << 16) ^ (subId & 0xFFFFL);
+    }
+
+    private static final class Contribution {
+        private final int team;
+        private int points;
+
+        private Contribution(int team, int points) {
+            this.team = team;
+            this.points = points;
+        }
+    }
+
+    /**
+     * Ids ordered by descending score. Only the id whose score changed is moved, so an update costs
+     * one pass over the (small) list and never a full sort.
+     */
+    private static final class Ranking {
+        private final Map<Integer, Integer> scores;
+        private final List<Integer> ids = new CopyOnWriteArrayList<>();
+        private final List<Integer> view = Collections.unmodifiableList(ids);
+
+        private Ranking(Map<Integer, Integer> scores) {
+            this.scores = scores;
+        }
+
+        private void update(int id) {
+            ids.remove(Integer.valueOf(id));
+            int index = 0;
+            while (index < ids.size() && before(ids.get(index), id)) {
+                index++;
+            }
+            ids.add(index, id);
+        }
+
+        private void remove(int id) {
+            ids.remove(Integer.valueOf(id));
+        }
+
+        private boolean before(int a, int b) {
+            int scoreA = scores.getOrDefault(a, 0);
+            int scoreB = scores.getOrDefault(b, 0);
+            return scoreA != scoreB ? scoreA > scoreB : a < b;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.fullsteam.games;
+
+import com.fullsteam.model.Rules;
+import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs AI-only games headlessly, with no network and a simulated clock, as fast as the CPU allows.
+ * Each run gets its own seeded random generator and simulated clock. Both are installed on the
+ * thread running the game, so many games can run in parallel without affecting each other or any
+ * live games.
+ */
+public class SimulationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SimulationRunner.class);
+
+    // Same tick length as the live game loop
+    static final long TICK_MILLIS = 16;
+    // Arbitrary fixed epoch so simulated timestamps do not depend on when the run started
+    private static final long SIMULATION_EPOCH = 1_000_000_000_000L;
+    // How often team scores are sampled for objective timings
+    private static final int SCORE_SAMPLE_TICKS = 60;
+
+    /**
+     * Kill and death tallies for players holding a given weapon.
+     */
+    public record WeaponRecord(String weapon, int kills, int deaths) {
+        public double winRate() {
+            return kills + deaths > 0 ? (double) kills / (kills + deaths) : 0;
+        }
+    }
+
+    /**
+     * The outcome and cost of a single simulated game.
+     */
+    public record Result(
+            long seed,
+            long ticks,
+            double simulatedSeconds,
+            double wallSeconds,
+            double ticksPerSecond,
+            Map<TickProfiler.Phase, Double> phaseMicrosPerTick,
+            boolean gameOver,
+            Integer winningTeam,
+            Map<Integer, Integer> teamScores,
+            Map<Integer, Double> firstScoreSeconds,
+            int totalKills,
+            List<WeaponRecord> weapons,
+            double projectilePoolHitRate
+    ) {
+    }
+
+    /**
+     * Run a single game on the calling thread.
+     *
+     * @param gameConfig game configuration; AI filling should be enabled or the game will be empty
+     * @param seed       seed for all randomness in the game
+     * @param maxTicks   maximum number of ticks to run if the game does not end on its own
+     */
+    public static Result run(GameConfig gameConfig, long seed, long maxTicks) {
+        GameClock.SimulatedClock clock = GameClock.installSimulated(SIMULATION_EPOCH);
+        GameRandom.installSeeded(seed);
+        GameManager game = null;
+        try {
+            game = new GameManager("sim-" + seed, gameConfig, null, false);
+            TickProfiler profiler = new TickProfiler();
+            game.setTickProfiler(profiler);
+
+            Map<String, int[]> weaponTallies = new TreeMap<>();
+            int[] totalKills = {0};
+            game.setKillListener((victim, killer) -> {
+                weaponTallies.computeIfAbsent(weaponName(victim), w -> new int[2])[1]++;
+                if (killer != null && killer != victim) {
+                    weaponTallies.computeIfAbsent(weaponName(killer), w -> new int[2])[0]++;
+                    totalKills[0]++;
+                }
+            });
+
+            RuleSystem ruleSystem = game.getRuleSystem();
+            Map<Integer, Double> firstScoreSeconds = new TreeMap<>();
+            long ticks = 0;
+            long wallStart = System.nanoTime();
+            while (ticks < maxTicks && !ruleSystem.isGameOver()) {
+                clock.advance(TICK_MILLIS);
+                game.step(TICK_MILLIS / 1000.0);
+                ticks++;
+
+                if (ticks % SCORE_SAMPLE_TICKS == 0) {
+                    double elapsedSeconds = (clock.millis() - SIMULATION_EPOCH) / 1000.0;
+                    ruleSystem.getTeamScores().forEach((team, score) -> {
+                        if (score > 0) {
+                            firstScoreSeconds.putIfAbsent(team, elapsedSeconds);
+                        }
+                    });
+                }
+            }
+            double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+
+            Map<TickProfiler.Phase, Double> phaseMicros = new EnumMap<>(TickProfiler.Phase.class);
+            for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+                phaseMicros.put(phase, profiler.getAverageMicros(phase));
+            }
+            List<WeaponRecord> weapons = new ArrayList<>();
+            weaponTallies.forEach((weapon, tally) -> weapons.add(new WeaponRecord(weapon, tally[0], tally[1])));
+
+            return new Result(
+                    seed,
+                    ticks,
+                    ticks * TICK_MILLIS / 1000.0,
+                    wallSeconds,
+                    wallSeconds > 0 ? ticks / wallSeconds : 0,
+                    phaseMicros,
+                    ruleSystem.isGameOver(),
+                    ruleSystem.getWinningTeam(),
+                    Map.copyOf(ruleSystem.getTeamScores()),
+                    firstScoreSeconds,
+                    totalKills[0],
+                    weapons,
+                    game.getGameEntities().getProjectilePool().getHitRate()
+            );
+        } finally {
+            if (game != null) {
+                game.shutdown();
+            }
+            GameRandom.uninstallSeeded();
+            GameClock.uninstallSimulated();
+        }
+    }
+
+    /**
+     * Run several games in parallel, seeded {@code baseSeed}, {@code baseSeed + 1}, ...
+     *
+     * @param threads number of games to run at once
+     */
+    public static List<Result> runAll(GameConfig gameConfig, long baseSeed, int runs, long maxTicks, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                long seed = baseSeed + i;
+                futures.add(executor.submit(() -> run(gameConfig, seed, maxTicks)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String weaponName(Player player) {
+        return player.getCurrentWeapon() != null ? player.getCurrentWeapon().getName() : "unknown";
+    }
+
+    /**
+     * Usage: SimulationRunner [runs] [maxTicks] [baseSeed] [threads]
+     */
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        long maxTicks = args.length > 1 ? Long.parseLong(args[1]) : 60L * 60 * 5; // 5 minutes of game time
+        long baseSeed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(true)
+                .rules(Rules.builder().build())
+                .build();
+
+        List<Result> results = runAll(gameConfig, baseSeed, runs, maxTicks, threads);
+        for (Result result : results) {
+            log.info("seed={} ticks={} sim={}s wall={}s ticks/s={} winner={} scores={} firstScore={} kills={}",
+                    result.seed(), result.ticks(), result.simulatedSeconds(),
+                    String.format("%.2f", result.wallSeconds()), String.format("%.0f", result.ticksPerSecond()),
+                    result.winningTeam(), result.teamScores(), result.firstScoreSeconds(), result.totalKills());
+            log.info("  phase us/tick: {}", result.phaseMicrosPerTick());
+            log.info("  projectile pool hit rate: {}", String.format("%.2f", result.projectilePoolHitRate()));
+            for (WeaponRecord weapon : result.weapons()) {
+                log.info("  {}: {} kills, {} deaths, win rate {}", weapon.weapon(), weapon.kills(), weapon.deaths(),
+                        String.format("%.2f", weapon.winRate()));
+            }
+        }
+        System.exit(0);
+    }
+}
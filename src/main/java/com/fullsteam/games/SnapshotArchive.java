@@ -0,0 +1,659 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fullsteam.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opt-in on-disk archive of a game's state, as sent to clients, for seeking back in time and kill-cams.
+ * <p>
+ * A frame is archived every {@link #FRAME_INTERVAL_MS}. Every keyframe interval the full state is
+ * written; the frames in between only hold what changed since the previous frame, down to the changed
+ * fields of each entity. Reconstructing the state at any time therefore reads at most one keyframe
+ * interval of frames.
+ * <p>
+ * Frames are appended to segment files, and a new segment is started at the first keyframe after the
+ * current one reaches the segment size. Finished segments are gzipped in the background, and segments
+ * older than the retention period are deleted along with their keyframes. The archive lives only as
+ * long as its game; closing it deletes it.
+ * <p>
+ * The game loop only converts the state to a tree and queues it. Diffing, encoding and writing happen
+ * on {@link Config#EXECUTOR}. Reads for seeking and kill-cams open the segments under the writer's lock
+ * but read and decompress them outside it.
+ */
+public class SnapshotArchive implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotArchive.class);
+
+    // Clients get state every tick, but 20 frames a second is plenty to watch back
+    static final long FRAME_INTERVAL_MS = 50;
+    // Kill-cams show the lead-up to a kill and a moment after it
+    static final long KILL_CAM_BEFORE_MS = 5000;
+    static final long KILL_CAM_AFTER_MS = 1000;
+    private static final long MAINTENANCE_INTERVAL_MS = 250;
+
+    // Frame layout: type (byte), timestamp (long), length (int), JSON
+    private static final int FRAME_HEADER_SIZE = 1 + Long.BYTES + Integer.BYTES;
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * The lead-up to a player's death, as a sequence of game states.
+     */
+    public record KillCam(long timestamp, int victimId, Integer killerId, List<JsonNode> frames) {
+    }
+
+    private record Frame(long timestamp, ObjectNode state) {
+    }
+
+    private record Kill(long timestamp, int victimId, Integer killerId) {
+    }
+
+    private record Keyframe(long timestamp, Segment segment, long offset) {
+    }
+
+    private static final class Segment {
+        private Path file;
+        private boolean compressed = false;
+        private long length = 0;
+        private long lastTimestamp;
+
+        private Segment(Path file) {
+            this.file = file;
+        }
+    }
+
+    private final Path directory;
+    private final long keyframeMillis;
+    private final long segmentBytes;
+    private final long retentionMillis;
+    private final ScheduledFuture<?> maintenance;
+    // Frames waiting to be written
+    private final Queue<Frame> pending = new ConcurrentLinkedQueue<>();
+    // Recent kills, oldest first
+    private final ConcurrentLinkedDeque<Kill> kills = new ConcurrentLinkedDeque<>();
+
+    // Writer state, guarded by this
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<Keyframe> keyframes = new ArrayList<>();
+    private Segment current;
+    private OutputStream out;
+    private ObjectNode previous;
+    private long lastKeyframe;
+    private int segmentCount = 0;
+    private boolean closed = false;
+
+    // Game loop state
+    private long lastFrame;
+    private boolean started = false;
+
+    /**
+     * @param directory       directory to keep the archive in, created if needed
+     * @param keyframeMillis  time between full snapshots
+     * @param segmentBytes    size at which a new segment is started
+     * @param retentionMillis how long frames are kept
+     */
+    public SnapshotArchive(Path directory, long keyframeMillis, long segmentBytes, long retentionMillis) {
+        this.directory = directory;
+        this.keyframeMillis = keyframeMillis;
+        this.segmentBytes = segmentBytes;
+        this.retentionMillis = retentionMillis;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create snapshot archive " + directory, e);
+        }
+        this.maintenance = Config.EXECUTOR.scheduleWithFixedDelay(this::maintain,
+                MAINTENANCE_INTERVAL_MS, MAINTENANCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether a frame should be archived at the given time.
+     */
+    public boolean isFrameDue(long timestamp) {
+        return !started || timestamp - lastFrame >= FRAME_INTERVAL_MS;
+    }
+
+    /**
+     * Queue a frame for archiving.
+     *
+     * @param state the game state, as sent to clients
+     */
+    public void record(long timestamp, Map<String, Object> state) {
+        started = true;
+        lastFrame = timestamp;
+        pending.add(new Frame(timestamp, JSON.valueToTree(state)));
+    }
+
+    /**
+     * Note a kill, so a kill-cam can be cut around it.
+     */
+    public void recordKill(long timestamp, int victimId, Integer killerId) {
+        kills.add(new Kill(timestamp, victimId, killerId));
+    }
+
+    /**
+     * Reconstruct the game state at the given time.
+     *
+     * @return the last archived state at or before the time, the oldest retained state if the time is
+     * before it, or null if nothing has been archived
+     */
+    public JsonNode stateAt(long timestamp) {
+        ObjectNode[] state = {null};
+        scan(timestamp, timestamp, (frameTimestamp, frameState) -> {
+            if (frameTimestamp <= timestamp || state[0] == null) {
+                state[0] = frameState;
+            }
+        });
+        return state[0];
+    }
+
+    /**
+     * Reconstruct every archived state between two times.
+     */
+    public List<JsonNode> clip(long from, long to) {
+        List<JsonNode> frames = new ArrayList<>();
+        scan(from, to, (frameTimestamp, frameState) -> {
+            if (frameTimestamp >= from) {
+                frames.add(frameState.deepCopy());
+            }
+        });
+        return frames;
+    }
+
+    /**
+     * Cut a kill-cam of the player's most recent death.
+     *
+     * @return the kill-cam, or null if the player hasn't died within the retention period
+     */
+    public KillCam killCam(int victimId) {
+        return killCam(victimId, Long.MAX_VALUE);
+    }
+
+    /**
+     * Cut a kill-cam of the player's most recent death whose clip ends by the given time, so it shows
+     * nothing more recent than spectators may see.
+     *
+     * @param latest the latest time the clip may show
+     * @return the kill-cam, or null if the player hasn't died within the retention period or their
+     * death can't be shown yet
+     */
+    public KillCam killCam(int victimId, long latest) {
+        Iterator<Kill> iterator = kills.descendingIterator();
+        while (iterator.hasNext()) {
+            Kill kill = iterator.next();
+            if (kill.victimId() == victimId && kill.timestamp() + KILL_CAM_AFTER_MS <= latest) {
+                List<JsonNode> frames = clip(kill.timestamp() - KILL_CAM_BEFORE_MS, kill.timestamp() + KILL_CAM_AFTER_MS);
+                return new KillCam(kill.timestamp(), victimId, kill.killerId(), frames);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stop archiving and delete the archive.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        maintenance.cancel(false);
+        try {
+            if (out != null) {
+                out.close();
+            }
+            for (Segment segment : segments) {
+                Files.deleteIfExists(segment.file);
+            }
+            segments.clear();
+            keyframes.clear();
+            try (var leftovers = Files.list(directory)) {
+                for (Path file : leftovers.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warn("Failed to delete snapshot archive {}", directory, e);
+        }
+    }
+
+    private void maintain() {
+        try {
+            drain();
+            enforceRetention();
+        } catch (UncheckedIOException e) {
+            log.error("Failed to write snapshot archive {}, archiving stopped", directory, e);
+            close();
+        }
+    }
+
+    /**
+     * Write out all queued frames.
+     */
+    synchronized void drain() {
+        if (closed) {
+            return;
+        }
+        Frame frame;
+        while ((frame = pending.poll()) != null) {
+            write(frame);
+        }
+    }
+
+    /**
+     * Delete segments and kills older than the retention period, measured back from the newest frame.
+     */
+    synchronized void enforceRetention() {
+        if (current == null) {
+            return;
+        }
+        long cutoff = current.lastTimestamp - retentionMillis;
+        while (segments.size() > 1 && segments.get(0).lastTimestamp < cutoff) {
+            Segment oldest = segments.remove(0);
+            keyframes.removeIf(keyframe -> keyframe.segment() == oldest);
+            try {
+                Files.deleteIfExists(oldest.file);
+            } catch (IOException e) {
+                log.warn("Failed to delete snapshot segment {}", oldest.file, e);
+            }
+        }
+        Kill kill;
+        while ((kill = kills.peekFirst()) != null && kill.timestamp() < cutoff) {
+            kills.pollFirst();
+        }
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    synchronized int getCompressedSegmentCount() {
+        return (int) segments.stream().filter(segment -> segment.compressed).count();
+    }
+
+    private void write(Frame frame) {
+        boolean keyframe = previous == null || frame.timestamp() - lastKeyframe >= keyframeMillis;
+        if (keyframe) {
+            if (current == null || current.length >= segmentBytes) {
+                startSegment();
+            }
+            keyframes.add(new Keyframe(frame.timestamp(), current, current.length));
+            lastKeyframe = frame.timestamp();
+            append(KEYFRAME, frame.timestamp(), frame.state());
+        } else {
+            append(DELTA, frame.timestamp(), diff(previous, frame.state()));
+        }
+        previous = frame.state();
+        current.lastTimestamp = frame.timestamp();
+    }
+
+    private void append(byte type, long timestamp, JsonNode node) {
+        try {
+            byte[] json = JSON.writeValueAsBytes(node);
+            out.write(ByteBuffer.allocate(FRAME_HEADER_SIZE).put(type).putLong(timestamp).putInt(json.length).array());
+            out.write(json);
+            current.length += FRAME_HEADER_SIZE + json.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void startSegment() {
+        try {
+            if (current != null) {
+                out.close();
+                Segment finished = current;
+                Config.EXECUTOR.execute(() -> compress(finished));
+            }
+            current = new Segment(directory.resolve(String.format("segment-%06d.fss", segmentCount++)));
+            out = new BufferedOutputStream(Files.newOutputStream(current.file,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+            segments.add(current);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gzip a finished segment. The compression runs unlocked; only swapping the files takes the lock.
+     */
+    private void compress(Segment segment) {
+        Path raw;
+        synchronized (this) {
+            if (closed || segment.compressed || !segments.contains(segment)) {
+                return;
+            }
+            raw = segment.file;
+        }
+        Path compressed = raw.resolveSibling(raw.getFileName() + ".gz");
+        try {
+            try (InputStream in = Files.newInputStream(raw);
+                 OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                in.transferTo(gzip);
+            }
+            synchronized (this) {
+                if (closed || !segments.contains(segment)) {
+                    Files.deleteIfExists(compressed);
+                    return;
+                }
+                segment.file = compressed;
+                segment.compressed = true;
+                Files.deleteIfExists(raw);
+            }
+        } catch (IOException e) {
+            // Most likely deleted by retention while compressing; the raw segment is still usable otherwise
+            log.debug("Failed to compress snapshot segment {}", raw, e);
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException ignored) {
+                // Nothing more to do
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface FrameVisitor {
+        void visit(long timestamp, ObjectNode state);
+    }
+
+    /**
+     * Segments opened for a read, from the one holding the starting keyframe on.
+     *
+     * @param offset where the keyframe starts in the first segment
+     */
+    private record ReadPlan(long offset, List<OpenSegment> segments) {
+    }
+
+    /**
+     * A segment opened for a read, with its length as of opening; frames written later are not read.
+     */
+    private record OpenSegment(Path file, InputStream in, boolean compressed, long length) {
+    }
+
+    /**
+     * Reconstruct frames from the last keyframe at or before {@code from} up to {@code to}, passing
+     * each to the visitor. The state passed is updated in place by later frames.
+     * <p>
+     * Only opening the segments takes the lock. Open files stay readable after retention or
+     * compression deletes them, so reading and decompressing them doesn't hold up the writer.
+     */
+    private void scan(long from, long to, FrameVisitor visitor) {
+        ReadPlan plan = openForRead(from);
+        if (plan == null) {
+            return;
+        }
+        ObjectNode state = null;
+        long position = plan.offset();
+        try {
+            for (OpenSegment segment : plan.segments()) {
+                try (DataInputStream in = decode(segment)) {
+                    in.skipNBytes(position);
+                    while (position < segment.length()) {
+                        byte type = in.readByte();
+                        long timestamp = in.readLong();
+                        byte[] json = new byte[in.readInt()];
+                        in.readFully(json);
+                        position += FRAME_HEADER_SIZE + json.length;
+                        if (timestamp > to && state != null) {
+                            return;
+                        }
+                        ObjectNode node = (ObjectNode) JSON.readTree(json);
+                        state = type == KEYFRAME ? node : apply(state, node);
+                        visitor.visit(timestamp, state);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read snapshot segment " + segment.file(), e);
+                }
+                position = 0;
+            }
+        } finally {
+            for (OpenSegment segment : plan.segments()) {
+                try {
+                    segment.in().close();
+                } catch (IOException ignored) {
+                    // Only read from
+                }
+            }
+        }
+    }
+
+    /**
+     * Write out queued frames and open the segments to read from the last keyframe at or before
+     * {@code from}, or the oldest one.
+     *
+     * @return the segments to read, or null if nothing has been archived
+     */
+    private synchronized ReadPlan openForRead(long from) {
+        drain();
+        if (keyframes.isEmpty()) {
+            return null;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int start = 0;
+        int low = 0;
+        int high = keyframes.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyframes.get(mid).timestamp() <= from) {
+                start = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Keyframe keyframe = keyframes.get(start);
+
+        List<OpenSegment> opened = new ArrayList<>();
+        try {
+            for (int i = segments.indexOf(keyframe.segment()); i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                opened.add(new OpenSegment(segment.file, Files.newInputStream(segment.file), segment.compressed, segment.length));
+            }
+        } catch (IOException e) {
+            for (OpenSegment segment : opened) {
+                try {
+                    segment.in().close();
+                } catch (IOException ignored) {
+                    // Only read from
+                }
+            }
+            throw new UncheckedIOException("Failed to open snapshot archive " + directory, e);
+        }
+        return new ReadPlan(keyframe.offset(), opened);
+    }
+
+    private static DataInputStream decode(OpenSegment segment) throws IOException {
+        InputStream in = segment.in();
+        if (segment.compressed()) {
+            in = new GZIPInputStream(in);
+        }
+        return new DataInputStream(new BufferedInputStream(in));
+    }
+
+    /**
+     * Compute what changed between two states. Lists of entities (objects with an "id") are diffed
+     * per entity and per field; anything else that changed is replaced whole.
+     */
+    static ObjectNode diff(ObjectNode previous, ObjectNode current) {
+        ObjectNode delta = JSON.createObjectNode();
+        ObjectNode set = JSON.createObjectNode();
+        ObjectNode entities = JSON.createObjectNode();
+        ArrayNode unset = JSON.createArrayNode();
+
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode old = previous.get(field.getKey());
+            if (field.getValue().equals(old)) {
+                continue;
+            }
+            if (isEntityList(old) && isEntityList(field.getValue())) {
+                entities.set(field.getKey(), diffEntities(old, field.getValue()));
+            } else {
+                set.set(field.getKey(), field.getValue());
+            }
+        }
+        Iterator<String> names = previous.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!current.has(name)) {
+                unset.add(name);
+            }
+        }
+
+        if (!set.isEmpty()) {
+            delta.set("set", set);
+        }
+        if (!unset.isEmpty()) {
+            delta.set("unset", unset);
+        }
+        if (!entities.isEmpty()) {
+            delta.set("entities", entities);
+        }
+        return delta;
+    }
+
+    private static ObjectNode diffEntities(JsonNode previous, JsonNode current) {
+        Map<JsonNode, JsonNode> previousById = new LinkedHashMap<>();
+        for (JsonNode entity : previous) {
+            previousById.put(entity.get("id"), entity);
+        }
+
+        ArrayNode upsert = JSON.createArrayNode();
+        ArrayNode patch = JSON.createArrayNode();
+        for (JsonNode entity : current) {
+            JsonNode old = previousById.remove(entity.get("id"));
+            if (entity.equals(old)) {
+                continue;
+            }
+            if (old == null || hasRemovedFields(old, entity)) {
+                upsert.add(entity);
+                continue;
+            }
+            ObjectNode changes = JSON.createObjectNode();
+            changes.set("id", entity.get("id"));
+            Iterator<Map.Entry<String, JsonNode>> fields = entity.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().equals(old.get(field.getKey()))) {
+                    changes.set(field.getKey(), field.getValue());
+                }
+            }
+            patch.add(changes);
+        }
+        ArrayNode remove = JSON.createArrayNode();
+        previousById.keySet().forEach(remove::add);
+
+        ObjectNode delta = JSON.createObjectNode();
+        if (!upsert.isEmpty()) {
+            delta.set("upsert", upsert);
+        }
+        if (!patch.isEmpty()) {
+            delta.set("patch", patch);
+        }
+        if (!remove.isEmpty()) {
+            delta.set("remove", remove);
+        }
+        return delta;
+    }
+
+    /**
+     * Apply a delta from {@link #diff(ObjectNode, ObjectNode)} to a state, in place.
+     */
+    static ObjectNode apply(ObjectNode state, ObjectNode delta) {
+        delta.path("set").fields().forEachRemaining(field -> state.set(field.getKey(), field.getValue()));
+        delta.path("unset").forEach(name -> state.remove(name.asText()));
+        delta.path("entities").fields().forEachRemaining(field -> {
+            ArrayNode list = (ArrayNode) state.get(field.getKey());
+            JsonNode changes = field.getValue();
+
+            Set<JsonNode> removed = new HashSet<>();
+            changes.path("remove").forEach(removed::add);
+            for (int i = list.size() - 1; i >= 0 && !removed.isEmpty(); i--) {
+                if (removed.contains(list.get(i).get("id"))) {
+                    list.remove(i);
+                }
+            }
+
+            Map<JsonNode, Integer> positions = new HashMap<>();
+            for (int i = 0; i < list.size(); i++) {
+                positions.put(list.get(i).get("id"), i);
+            }
+            for (JsonNode entity : changes.path("patch")) {
+                ((ObjectNode) list.get(positions.get(entity.get("id")))).setAll((ObjectNode) entity);
+            }
+            for (JsonNode entity : changes.path("upsert")) {
+                Integer position = positions.get(entity.get("id"));
+                if (position != null) {
+                    list.set(position, entity);
+                } else {
+                    positions.put(entity.get("id"), list.size());
+                    list.add(entity);
+                }
+            }
+        });
+        return state;
+    }
+
+    private static boolean isEntityList(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return false;
+        }
+        for (JsonNode element : node) {
+            if (!element.isObject() || !element.has("id")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasRemovedFields(JsonNode previous, JsonNode current) {
+        Iterator<String> names = previous.fieldNames();
+        while (names.hasNext()) {
+            if (!current.has(names.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,9 +5,9 @@ import com.fullsteam.physics.Obstacle;
 import com.fullsteam.physics.Player;
 import com.fullsteam.physics.TeamSpawnArea;
 import com.fullsteam.physics.TeamSpawnManager;
+import com.fullsteam.util.GameRandom;
 import org.dyn4j.geometry.Vector2;
 
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Manages spawn point selection for players.
@@ -134,8 +134,8 @@ public class SpawnPointManager {
      */
     public Vector2 findLegacySpawnPoint() {
         for (int attempts = 0; attempts < 10; attempts++) {
-            double x = (ThreadLocalRandom.current().nextDouble() - 0.5) * (gameConfig.getWorldWidth() - 100);
-            double y = (ThreadLocalRandom.current().nextDouble() - 0.5) * (gameConfig.getWorldHeight() - 100);
+            double x = (GameRandom.current().nextDouble() - 0.5) * (gameConfig.getWorldWidth() - 100);
+            double y = (GameRandom.current().nextDouble() - 0.5) * (gameConfig.getWorldHeight() - 100);
             Vector2 candidate = new Vector2(x, y);
 
             boolean tooClose = false;
@@ -152,8 +152,8 @@ public class SpawnPointManager {
         }
 
         return new Vector2(
-                (ThreadLocalRandom.current().nextDouble() - 0.5) * gameConfig.getWorldWidth() * 0.8,
-                (ThreadLocalRandom.current().nextDouble() - 0.5) * gameConfig.getWorldHeight() * 0.8);
+                (GameRandom.current().nextDouble() - 0.5) * gameConfig.getWorldWidth() * 0.8,
+                (GameRandom.current().nextDouble() - 0.5) * gameConfig.getWorldHeight() * 0.8);
     }
 
     /**
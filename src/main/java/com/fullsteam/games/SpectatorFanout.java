@@ -0,0 +1,305 @@
+package com.fullsteam.games;
+
+import com.fullsteam.Config;
+import com.fullsteam.model.PlayerSession;
+import io.micronaut.websocket.WebSocketSession;
+import io.micronaut.websocket.exceptions.WebSocketSessionException;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Delivers a game's broadcasts to its spectators, off the game loop.
+ * <p>
+ * The game loop hands over each message once, already encoded; a pump on {@link Config#EXECUTOR} writes
+ * it to every viewer without waiting for the writes, so the number of spectators has no effect on the
+ * tick. Messages can be held back by a broadcast delay, so spectators can't be used to see what the
+ * other team is doing as it happens. While held back, frames are kept at most
+ * {@link #MAX_DELAYED_FRAMES} per delay, and no more than {@link #MAX_DELAYED_MESSAGES} messages are
+ * held at all.
+ * <p>
+ * Game state frames are latest-wins: a viewer whose previous writes haven't completed, or whose
+ * connection isn't taking more, skips ahead, and a viewer that keeps falling behind is sent frames less
+ * and less often, down to one every {@link #MAX_FRAME_INTERVAL_MS}. Other messages (events, round
+ * changes) are delivered in order, though a viewer with {@link #MAX_PENDING_MESSAGES} of them waiting
+ * loses the oldest.
+ */
+public class SpectatorFanout implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SpectatorFanout.class);
+
+    // How often released messages are handed to viewers
+    static final long PUMP_INTERVAL_MS = 16;
+    // The slowest viewers still get a frame this often
+    static final long MAX_FRAME_INTERVAL_MS = 500;
+    // Frames held back over the whole delay; longer delays keep frames further apart
+    static final int MAX_DELAYED_FRAMES = 600;
+    // Messages held back at once; anything published beyond it is dropped
+    static final int MAX_DELAYED_MESSAGES = 2048;
+    // Messages waiting for a busy viewer
+    static final int MAX_PENDING_MESSAGES = 256;
+
+    private record Message(long publishedAt, String json, boolean frame, long sequence) {
+    }
+
+    /**
+     * A spectator and their delivery state.
+     */
+    static final class Viewer {
+        @Getter
+        private final PlayerSession playerSession;
+        // Whether writes handed to the connection haven't completed yet
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        // Delivery state, only touched by the pump
+        private final Queue<String> messages = new ArrayDeque<>();
+        private long lastSequence = -1;
+        private long lastFrameSent;
+        @Getter
+        private long frameInterval = 0;
+        @Getter
+        private long skippedFrames = 0;
+        @Getter
+        private long droppedMessages = 0;
+
+        private Viewer(PlayerSession playerSession) {
+            this.playerSession = playerSession;
+        }
+    }
+
+    private final long delayMillis;
+    // Least time between frames held back for the delay
+    private final long delayedFrameInterval;
+    private final LongSupplier clock;
+    // Guarded by this
+    private ScheduledFuture<?> pump;
+    private boolean closed;
+    private final Map<Integer, Viewer> viewers = new ConcurrentSkipListMap<>();
+    // Published messages waiting out the broadcast delay, oldest first
+    private final Queue<Message> delayed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger delayedCount = new AtomicInteger();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private volatile long lastDelayedFrame = Long.MIN_VALUE;
+    // Newest released frame, only touched by the pump
+    private Message latestFrame;
+
+    /**
+     * @param delayMillis how long broadcasts are held back from spectators
+     * @param scheduled   whether to pump messages from {@link Config#EXECUTOR} right away; otherwise
+     *                    {@link #pump()} is called manually until {@link #start()}
+     */
+    public SpectatorFanout(long delayMillis, boolean scheduled) {
+        this(delayMillis, System::currentTimeMillis, scheduled);
+    }
+
+    /**
+     * @param clock wall clock the delay is measured with
+     */
+    SpectatorFanout(long delayMillis, LongSupplier clock, boolean scheduled) {
+        this.delayMillis = delayMillis;
+        this.delayedFrameInterval = delayMillis / MAX_DELAYED_FRAMES;
+        this.clock = clock;
+        if (scheduled) {
+            start();
+        }
+    }
+
+    /**
+     * Start pumping messages from {@link Config#EXECUTOR}, e.g. once a game built ahead of time is started.
+     */
+    public synchronized void start() {
+        if (pump == null && !closed) {
+            pump = Config.EXECUTOR.scheduleAtFixedRate(this::pump, PUMP_INTERVAL_MS, PUMP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void addViewer(PlayerSession playerSession) {
+        viewers.put(playerSession.getPlayerId(), new Viewer(playerSession));
+    }
+
+    /**
+     * @return the viewer's session, or null if they weren't watching
+     */
+    public PlayerSession removeViewer(int playerId) {
+        Viewer viewer = viewers.remove(playerId);
+        return viewer != null ? viewer.getPlayerSession() : null;
+    }
+
+    public boolean hasViewers() {
+        return !viewers.isEmpty();
+    }
+
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    public List<PlayerSession> getViewers() {
+        List<PlayerSession> sessions = new ArrayList<>(viewers.size());
+        viewers.values().forEach(viewer -> sessions.add(viewer.getPlayerSession()));
+        return sessions;
+    }
+
+    /**
+     * @return how many messages were published while too many were already held back
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * @return how many messages are held back for the delay
+     */
+    int getHeldBackCount() {
+        return delayedCount.get();
+    }
+
+    Viewer getViewer(int playerId) {
+        return viewers.get(playerId);
+    }
+
+    /**
+     * Publish a game state frame. Viewers that fall behind skip frames.
+     */
+    public void publishFrame(String json) {
+        publish(json, true);
+    }
+
+    /**
+     * Publish a message every viewer should get.
+     */
+    public void publishMessage(String json) {
+        publish(json, false);
+    }
+
+    private void publish(String json, boolean frame) {
+        if (viewers.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (frame && delayedFrameInterval > 0) {
+            if (now < lastDelayedFrame + delayedFrameInterval) {
+                return; // Too close to the last frame held back; spectators get it at a lower rate
+            }
+            lastDelayedFrame = now;
+        }
+        if (delayedCount.incrementAndGet() > MAX_DELAYED_MESSAGES) {
+            delayedCount.decrementAndGet();
+            droppedMessages.incrementAndGet();
+            return;
+        }
+        delayed.add(new Message(now, json, frame, nextSequence.getAndIncrement()));
+    }
+
+    /**
+     * Release messages whose delay has passed and start sending them to every viewer not already busy.
+     */
+    synchronized void pump() {
+        long now = clock.getAsLong();
+        Message message;
+        while ((message = delayed.peek()) != null && message.publishedAt() + delayMillis <= now) {
+            delayed.poll();
+            delayedCount.decrementAndGet();
+            if (message.frame()) {
+                latestFrame = message;
+            } else {
+                for (Viewer viewer : viewers.values()) {
+                    if (viewer.messages.size() >= MAX_PENDING_MESSAGES) {
+                        viewer.messages.poll();
+                        viewer.droppedMessages++;
+                    }
+                    viewer.messages.add(message.json());
+                }
+            }
+        }
+
+        for (Viewer viewer : viewers.values()) {
+            WebSocketSession session = viewer.playerSession.getSession();
+            if (!session.isOpen()) {
+                viewers.remove(viewer.playerSession.getPlayerId());
+                continue;
+            }
+            boolean frameDue = latestFrame != null
+                    && latestFrame.sequence() > viewer.lastSequence
+                    && now - viewer.lastFrameSent >= viewer.frameInterval;
+            if (!frameDue && viewer.messages.isEmpty()) {
+                continue;
+            }
+            if (viewer.sending.get() || !session.isWritable()) {
+                if (frameDue) {
+                    // Still busy with the last writes: send this viewer frames less often
+                    viewer.skippedFrames++;
+                    viewer.frameInterval = Math.min(MAX_FRAME_INTERVAL_MS, Math.max(PUMP_INTERVAL_MS, viewer.frameInterval * 2));
+                }
+                continue;
+            }
+            String frame = null;
+            if (frameDue) {
+                frame = latestFrame.json();
+                viewer.lastSequence = latestFrame.sequence();
+                viewer.lastFrameSent = now;
+                // Keeping up again: ease back towards every frame
+                viewer.frameInterval = viewer.frameInterval > PUMP_INTERVAL_MS ? viewer.frameInterval / 2 : 0;
+            }
+            deliver(viewer, session, frame);
+        }
+    }
+
+    /**
+     * Write the viewer's waiting messages and the frame, if any, marking the viewer busy until the last
+     * write completes. Writes on a connection complete in order.
+     */
+    private void deliver(Viewer viewer, WebSocketSession session, String frame) {
+        viewer.sending.set(true);
+        CompletableFuture<String> last = null;
+        try {
+            String message;
+            while ((message = viewer.messages.poll()) != null) {
+                last = session.sendAsync(message);
+            }
+            if (frame != null) {
+                last = session.sendAsync(frame);
+            }
+        } catch (WebSocketSessionException e) {
+            log.debug("Failed to send to spectator {}", viewer.playerSession.getPlayerId(), e);
+        }
+        if (last == null) {
+            viewer.sending.set(false);
+            return;
+        }
+        last.whenComplete((sent, error) -> {
+            if (error != null) {
+                log.debug("Failed to send to spectator {}", viewer.playerSession.getPlayerId(), error);
+            }
+            viewer.sending.set(false);
+        });
+    }
+
+    synchronized boolean isScheduled() {
+        return pump != null && !pump.isCancelled();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (pump != null) {
+            pump.cancel(false);
+        }
+        viewers.clear();
+        delayed.clear();
+        delayedCount.set(0);
+    }
+}
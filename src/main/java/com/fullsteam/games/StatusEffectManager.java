@@ -5,8 +5,15 @@ import com.fullsteam.model.AttributeModification;
 import com.fullsteam.model.BaseAttributeModification;
 import com.fullsteam.model.Weapon;
 import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
 import com.fullsteam.util.GameConstants;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Manages status effects that can be applied to players during gameplay.
  * This class provides pre-configured attribute modifications for common game scenarios.
@@ -65,12 +72,80 @@ public final class StatusEffectManager {
         // Prevent instantiation
     }
 
+    private static final int NO_OWNER = -1;
+    private static final String RESTORED = "restored";
+
+    /**
+     * An effect along with what it was applied with, so it can be applied again to a restored player.
+     */
+    private abstract static class Effect extends BaseAttributeModification {
+        // Which apply method created it
+        private final String kind;
+        // The effect's strength, in the units of the apply method's parameter
+        private final double value;
+        private final int owner;
+
+        Effect(String kind, double value, int owner, long expiration) {
+            super(expiration);
+            this.kind = kind;
+            this.value = value;
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Write a player's status effects, for a game moved to another node.
+     */
+    static void writeEffects(DataOutputStream out, Player player, long now) throws IOException {
+        List<Effect> effects = new ArrayList<>();
+        for (AttributeModification modification : player.getAttributeModifications()) {
+            if (modification instanceof Effect effect) {
+                effects.add(effect);
+            }
+        }
+        out.writeInt(effects.size());
+        for (Effect effect : effects) {
+            out.writeUTF(effect.kind);
+            out.writeDouble(effect.value);
+            out.writeInt(effect.owner);
+            GameImage.writeTime(out, effect.getExpiration(), now);
+        }
+    }
+
+    /**
+     * Apply the status effects written by {@link #writeEffects} to the restored player, for the time
+     * they had left.
+     */
+    static void readEffects(DataInputStream in, GameManager gameManager, Player player, long now) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String kind = in.readUTF();
+            double value = in.readDouble();
+            int owner = in.readInt();
+            double seconds = (GameImage.readTime(in, now) - now) / 1000.0;
+            switch (kind) {
+                case "speedBoost" -> applySpeedBoost(player, value, seconds, RESTORED);
+                case "healthRegen" -> applyHealthRegeneration(player, value, seconds, RESTORED);
+                case "damageResist" -> applyDamageResistance(player, value, seconds, RESTORED);
+                case "invincible" -> applyInvincibility(player, seconds, RESTORED);
+                case "damageBoost" -> applyDamageBoost(player, value, seconds, RESTORED);
+                case "berserk" -> applyBerserkerMode(player, seconds, RESTORED);
+                case "burning" -> applyBurning(gameManager, player, value, seconds, owner);
+                case "poison" -> applyPoison(gameManager, player, value, seconds, owner);
+                case "slow" -> applySlowEffect(player, value, seconds, RESTORED);
+                case "ballCarrier" -> applyBallCarrier(player);
+                case "vipStatus" -> applyVipStatus(player);
+                default -> throw new IOException("Unknown status effect " + kind);
+            }
+        }
+    }
+
     /**
      * Apply an effect to a player, replacing any existing effect with the same unique key.
      */
     private static void applyEffect(Player player, AttributeModification attributeModification) {
-        player.getAttributeModifications().removeIf(am -> am.uniqueKey().equals(attributeModification.uniqueKey()));
-        player.getAttributeModifications().add(attributeModification);
+        player.removeAttributeModifications(am -> am.uniqueKey().equals(attributeModification.uniqueKey()));
+        player.addAttributeModification(attributeModification);
     }
 
     // ========== BUFF EFFECTS ==========
@@ -79,7 +154,7 @@ public final class StatusEffectManager {
      * Apply a speed boost effect to a player.
      */
     public static void applySpeedBoost(Player player, double speedMultiplier, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("speedBoost", speedMultiplier, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "speedBoost";
@@ -107,7 +182,7 @@ public final class StatusEffectManager {
      * Apply health regeneration effect to a player.
      */
     public static void applyHealthRegeneration(Player player, double healthPerSecond, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("healthRegen", healthPerSecond, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "healthRegen";
@@ -130,7 +205,7 @@ public final class StatusEffectManager {
      * Apply damage resistance effect to a player.
      */
     public static void applyDamageResistance(Player player, double resistancePercentage, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("damageResist", resistancePercentage, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "damageResist";
@@ -154,7 +229,7 @@ public final class StatusEffectManager {
      * Invincible players take no damage from any source.
      */
     public static void applyInvincibility(Player player, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("invincible", 0, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "invincible";
@@ -192,7 +267,7 @@ public final class StatusEffectManager {
      * Apply weapon damage boost effect.
      */
     public static void applyDamageBoost(Player player, double damageMultiplier, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("damageBoost", damageMultiplier, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "damageBoost";
@@ -219,7 +294,7 @@ public final class StatusEffectManager {
      * Apply berserker mode - increased damage and speed, reduced defense.
      */
     public static void applyBerserkerMode(Player player, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification((long) (System.currentTimeMillis() + (durationSeconds * 1000))) {
+        applyEffect(player, new Effect("berserk", 0, NO_OWNER, (long) (GameClock.currentTimeMillis() + (durationSeconds * 1000))) {
             @Override
             public String uniqueKey() {
                 return "berserk";
@@ -264,21 +339,21 @@ public final class StatusEffectManager {
      */
     public static void applyBurning(GameManager gameManager, Player player, double damagePerSecond, double durationSeconds, int effectOwner) {
         // Enhanced format: customizable flame parameters
-        applyHealthDegeneration(gameManager, "fire:#FF4500:flame:true:Burning:{\"count\":12,\"radius\":22,\"height\":10}", player, damagePerSecond, durationSeconds, effectOwner);
+        applyHealthDegeneration(gameManager, "burning", "fire:#FF4500:flame:true:Burning:{\"count\":12,\"radius\":22,\"height\":10}", player, damagePerSecond, durationSeconds, effectOwner);
     }
 
     /**
      * Apply poison effect to a player.
      */
     public static void applyPoison(GameManager gameManager, Player player, double damagePerSecond, double durationSeconds, int effectOwner) {
-        applyHealthDegeneration(gameManager, "poison:#8BC34A:cloud:true:Poison", player, damagePerSecond, durationSeconds, effectOwner);
+        applyHealthDegeneration(gameManager, "poison", "poison:#8BC34A:cloud:true:Poison", player, damagePerSecond, durationSeconds, effectOwner);
     }
 
     /**
      * Apply health degeneration (poison/bleed) effect to a player.
      */
-    private static void applyHealthDegeneration(GameManager gameManager, String renderHint, Player player, double damagePerSecond, double durationSeconds, int effectOwner) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+    private static void applyHealthDegeneration(GameManager gameManager, String kind, String renderHint, Player player, double damagePerSecond, double durationSeconds, int effectOwner) {
+        applyEffect(player, new Effect(kind, damagePerSecond, effectOwner, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "healthDegen";
@@ -303,7 +378,7 @@ public final class StatusEffectManager {
      * Apply slowing effect to a player.
      */
     public static void applySlowEffect(Player player, double linearDamping, double durationSeconds, String source) {
-        applyEffect(player, new BaseAttributeModification(System.currentTimeMillis() + (long) (durationSeconds * 1000)) {
+        applyEffect(player, new Effect("slow", linearDamping, NO_OWNER, GameClock.currentTimeMillis() + (long) (durationSeconds * 1000)) {
             @Override
             public String uniqueKey() {
                 return "slow";
@@ -333,7 +408,7 @@ public final class StatusEffectManager {
      * Ball carriers cannot fire weapons but score points over time.
      */
     public static void applyBallCarrier(Player player) {
-        applyEffect(player, new BaseAttributeModification(Long.MAX_VALUE) { // No expiration - removed when ball is dropped
+        applyEffect(player, new Effect("ballCarrier", 0, NO_OWNER, Long.MAX_VALUE) { // No expiration - removed when ball is dropped
             @Override
             public String uniqueKey() {
                 return "ballCarrier";
@@ -384,7 +459,7 @@ public final class StatusEffectManager {
      * Remove ball carrier effect from a player.
      */
     public static void removeBallCarrier(Player player) {
-        player.getAttributeModifications().removeIf(am -> "ballCarrier".equals(am.uniqueKey()));
+        player.removeAttributeModifications(am -> "ballCarrier".equals(am.uniqueKey()));
     }
 
     /**
@@ -400,7 +475,7 @@ public final class StatusEffectManager {
      * VIP players are high-value targets - only their kills count towards objective scoring.
      */
     public static void applyVipStatus(Player player) {
-        applyEffect(player, new BaseAttributeModification(Long.MAX_VALUE) { // No expiration - removed when VIP status changes
+        applyEffect(player, new Effect("vipStatus", 0, NO_OWNER, Long.MAX_VALUE) { // No expiration - removed when VIP status changes
             @Override
             public String uniqueKey() {
                 return "vipStatus";
@@ -417,7 +492,7 @@ public final class StatusEffectManager {
      * Remove VIP status from a player.
      */
     public static void removeVipStatus(Player player) {
-        player.getAttributeModifications().removeIf(am -> "vipStatus".equals(am.uniqueKey()));
+        player.removeAttributeModifications(am -> "vipStatus".equals(am.uniqueKey()));
     }
 
     /**
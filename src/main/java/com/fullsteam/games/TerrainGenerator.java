@@ -2,6 +2,7 @@ package com.fullsteam.games;
 
 import com.fullsteam.model.EntityWorldDensity;
 import com.fullsteam.physics.Obstacle;
+import com.fullsteam.util.GameRandom;
 import lombok.Getter;
 import org.dyn4j.geometry.Vector2;
 
@@ -9,7 +10,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Procedural terrain and obstacle generation system.
@@ -72,7 +72,7 @@ public class TerrainGenerator {
 
         // Add some randomness (±20%)
         int variation = (int) (baseCount * 0.2);
-        int finalCount = baseCount + ThreadLocalRandom.current().nextInt(variation * 2 + 1) - variation;
+        int finalCount = baseCount + GameRandom.current().nextInt(variation * 2 + 1) - variation;
 
         // Ensure minimum and maximum bounds
         return Math.max(3, Math.min(finalCount, (int) (worldArea * 0.0001))); // Max 1 obstacle per 10,000 square units
@@ -84,8 +84,8 @@ public class TerrainGenerator {
     private Obstacle generateObstacleWithCollisionCheck(int maxAttempts) {
         for (int attempt = 0; attempt < maxAttempts; attempt++) {
             // Allow obstacles to spawn closer to edges for more dramatic placement
-            double x = (ThreadLocalRandom.current().nextDouble() - 0.5) * (worldWidth - 100);
-            double y = (ThreadLocalRandom.current().nextDouble() - 0.5) * (worldHeight - 100);
+            double x = (GameRandom.current().nextDouble() - 0.5) * (worldWidth - 100);
+            double y = (GameRandom.current().nextDouble() - 0.5) * (worldHeight - 100);
 
             // Create obstacle at this position
             Obstacle candidate = Obstacle.createChaoticObstacle(x, y);
@@ -157,8 +157,8 @@ public class TerrainGenerator {
      */
     public Vector2 getSafeSpawnPosition(double radius) {
         for (int attempt = 0; attempt < 50; attempt++) {
-            double x = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldWidth * 0.8;
-            double y = (ThreadLocalRandom.current().nextDouble() - 0.5) * worldHeight * 0.8;
+            double x = (GameRandom.current().nextDouble() - 0.5) * worldWidth * 0.8;
+            double y = (GameRandom.current().nextDouble() - 0.5) * worldHeight * 0.8;
             Vector2 candidate = new Vector2(x, y);
 
             if (isPositionClear(candidate, radius)) {
@@ -0,0 +1,57 @@
+package com.fullsteam.games;
+
+/**
+ * Accumulates the wall-clock cost of each phase of the game loop.
+ * Used by headless simulations to report where tick time goes.
+ */
+public class TickProfiler {
+
+    /**
+     * Phases of {@link GameManager#step(double)}, in execution order.
+     */
+    public enum Phase {
+        RULES,
+        AI,
+        INPUT,
+        ENTITIES,
+        OBJECTIVES,
+        PROJECTILES,
+        UTILITY,
+        PHYSICS,
+        FIELD_EFFECTS,
+        CLEANUP,
+        NETWORK
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] phaseNanos = new long[PHASES.length];
+    private long ticks = 0;
+    private long lapStart;
+
+    public void beginTick() {
+        ticks++;
+        lapStart = System.nanoTime();
+    }
+
+    public void lap(Phase phase) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lapStart;
+        lapStart = now;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getTotalNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Average cost of a phase per profiled tick, in microseconds.
+     */
+    public double getAverageMicros(Phase phase) {
+        return ticks > 0 ? phaseNanos[phase.ordinal()] / 1000.0 / ticks : 0;
+    }
+}
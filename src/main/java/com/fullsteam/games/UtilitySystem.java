@@ -1,5 +1,6 @@
 package com.fullsteam.games;
 
+import com.fullsteam.util.GameClock;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.FieldEffect;
 import com.fullsteam.model.FieldEffectType;
@@ -74,7 +75,6 @@ public class UtilitySystem {
                 activation.team
         );
         gameEntities.addFieldEffect(fieldEffect);
-        world.addBody(fieldEffect.getBody());
     }
 
     /**
@@ -190,7 +190,7 @@ public class UtilitySystem {
                 45.0,
                 1.0,
                 15.0,
-                System.currentTimeMillis() + 1000,
+                GameClock.currentTimeMillis() + 1000,
                 activation.team
         );
         gameEntities.addFieldEffect(mine);
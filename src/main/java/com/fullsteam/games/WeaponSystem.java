@@ -11,14 +11,11 @@ import com.fullsteam.physics.NetProjectile;
 import com.fullsteam.physics.Obstacle;
 import com.fullsteam.physics.Player;
 import com.fullsteam.physics.Projectile;
+import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
-import org.dyn4j.dynamics.BodyFixture;
-import org.dyn4j.geometry.Ray;
 import org.dyn4j.geometry.Vector2;
-import org.dyn4j.world.DetectFilter;
 import org.dyn4j.world.World;
-import org.dyn4j.world.result.RaycastResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +32,8 @@ public class WeaponSystem {
     private final GameEntities gameEntities;
     private final World<Body> world;
     private final BulletEffectProcessor bulletEffectProcessor;
+    @Getter
+    private final RaycastService raycastService;
     @Setter
     private BiConsumer<Player, Player> killCallback;
 
@@ -42,6 +41,7 @@ public class WeaponSystem {
         this.gameEntities = gameEntities;
         this.world = world;
         this.bulletEffectProcessor = new BulletEffectProcessor(gameEntities);
+        this.raycastService = new RaycastService(gameEntities, world);
     }
 
     /**
@@ -54,7 +54,7 @@ public class WeaponSystem {
         }
 
         // Check if weapon fires beams or projectiles
-        if (player.getCurrentWeapon().getOrdinance().isBeamType()) {
+        if (player.getWeapon().getOrdinance().isBeamType()) {
             handleBeamFire(player);
         } else {
             handleProjectileFire(player);
@@ -83,14 +83,14 @@ public class WeaponSystem {
         }
 
         log.debug("Player {} fired beam weapon: {}", player.getId(),
-                player.getCurrentWeapon().getName());
+                player.getWeapon().getName());
     }
 
     /**
      * Handle firing of projectile weapons.
      */
     private void handleProjectileFire(Player player) {
-        List<Projectile> projectiles = player.shoot();
+        List<Projectile> projectiles = player.shoot(gameEntities.getProjectilePool());
 
         for (Projectile projectile : projectiles) {
             if (projectile != null) {
@@ -101,7 +101,7 @@ public class WeaponSystem {
 
         if (!projectiles.isEmpty()) {
             log.debug("Player {} fired {} projectile(s): {}",
-                    player.getId(), projectiles.size(), player.getCurrentWeapon().getName());
+                    player.getId(), projectiles.size(), player.getWeapon().getName());
         }
     }
 
@@ -110,44 +110,16 @@ public class WeaponSystem {
      * Returns the effective end point of the beam (either full range or obstacle intersection).
      */
     public Vector2 findBeamObstacleIntersection(Vector2 startPoint, Vector2 endPoint) {
-        Vector2 direction = endPoint.copy().subtract(startPoint);
-        double maxDistance = direction.getMagnitude();
-        direction.normalize();
-
-        Ray ray = new Ray(startPoint, direction);
-
-        // Raycast to find obstacles
-        List<RaycastResult<Body, BodyFixture>> results = world.raycast(
-                ray,
-                maxDistance,
-                new DetectFilter<>(true, true, null)
-        );
-
-        boolean hit = !results.isEmpty();
-
-        if (!hit) {
-            return endPoint; // No obstacles, beam reaches full range
-        }
-
-        // Find the closest obstacle intersection
-        double closestDistance = maxDistance;
-        for (RaycastResult<Body, ?> result : results) {
-            Body body = result.getBody();
-            Object userData = body.getUserData();
+        RaycastService.RayHits hits = raycastService.castAll(startPoint, endPoint);
 
+        // Hits are ordered by distance, so the first obstacle is the closest one
+        for (int i = 0; i < hits.size(); i++) {
             // Only obstacles block beams (not players or other entities)
-            if (userData instanceof Obstacle) {
-                double distance = result.getRaycast().getDistance();
-                if (distance < closestDistance) {
-                    closestDistance = distance;
-                }
+            if (hits.getUserData(i) instanceof Obstacle) {
+                return pointAlong(startPoint, endPoint, hits.getDistance(i));
             }
         }
-
-        // Calculate effective end point
-        Vector2 effectiveEnd = startPoint.copy();
-        effectiveEnd.add(direction.copy().multiply(closestDistance));
-        return effectiveEnd;
+        return endPoint; // No obstacles, beam reaches full range
     }
 
     /**
@@ -157,42 +129,21 @@ public class WeaponSystem {
     private Vector2 findBeamObstacleIntersection(Beam beam) {
         Vector2 startPoint = beam.getStartPoint();
         Vector2 endPoint = beam.getEndPoint();
-        Vector2 direction = endPoint.copy().subtract(startPoint);
-        double maxDistance = direction.getMagnitude();
-        direction.normalize();
-
-        Ray ray = new Ray(startPoint, direction);
-
-        // Raycast to find all entities
-        List<RaycastResult<Body, BodyFixture>> results = world.raycast(
-                ray,
-                maxDistance,
-                new DetectFilter<>(true, true, null)
-        );
-
-        if (results.isEmpty()) {
-            return endPoint; // No entities, beam reaches full range
-        }
+        RaycastService.RayHits hits = raycastService.castAll(startPoint, endPoint);
 
         // Find the closest blocking entity based on beam type
-        double closestDistance = maxDistance;
-        for (RaycastResult<Body, ?> result : results) {
-            Body body = result.getBody();
-            Object userData = body.getUserData();
-            double distance = result.getRaycast().getDistance();
-
-            // Check if this entity blocks the beam based on beam type
-            if (shouldEntityBlockBeam(beam, userData)) {
-                if (distance < closestDistance) {
-                    closestDistance = distance;
-                }
+        for (int i = 0; i < hits.size(); i++) {
+            if (shouldEntityBlockBeam(beam, hits.getUserData(i))) {
+                return pointAlong(startPoint, endPoint, hits.getDistance(i));
             }
         }
+        return endPoint; // No blocking entities, beam reaches full range
+    }
 
-        // Calculate effective end point
-        Vector2 effectiveEnd = startPoint.copy();
-        effectiveEnd.add(direction.copy().multiply(closestDistance));
-        return effectiveEnd;
+    private static Vector2 pointAlong(Vector2 startPoint, Vector2 endPoint, double distance) {
+        Vector2 direction = endPoint.copy().subtract(startPoint);
+        direction.normalize();
+        return startPoint.copy().add(direction.multiply(distance));
     }
 
     /**
@@ -229,32 +180,12 @@ public class WeaponSystem {
      * Process standard beam hits (laser, railgun, etc.)
      */
     public void processStandardBeamHit(Beam beam) {
-        Vector2 startPoint = beam.getStartPoint();
-        Vector2 endPoint = beam.getEffectiveEndPoint();
-        Vector2 direction = endPoint.copy().subtract(startPoint);
-        double distance = direction.getMagnitude();
-        direction.normalize();
-
-        Ray ray = new Ray(startPoint, direction);
-
-        // Raycast to find all entities in beam path
-        List<RaycastResult<Body, BodyFixture>> results = world.raycast(
-                ray,
-                distance,
-                new DetectFilter<>(true, true, null)
-        );
-
-        if (results.isEmpty()) {
-            return;
-        }
-
-        // Sort results by distance for proper piercing order
-        results.sort((r1, r2) -> Double.compare(r1.getRaycast().getDistance(), r2.getRaycast().getDistance()));
+        // Hits come back ordered by distance for proper piercing order
+        RaycastService.RayHits hits = raycastService.castAll(beam.getStartPoint(), beam.getEffectiveEndPoint());
 
         // Process each hit based on beam piercing behavior
-        for (RaycastResult<Body, ?> result : results) {
-            Body body = result.getBody();
-            Object userData = body.getUserData();
+        for (int i = 0; i < hits.size(); i++) {
+            Object userData = hits.getUserData(i);
 
             if (userData instanceof Player player) {
                 if (beam.canAffectPlayer(player)) {
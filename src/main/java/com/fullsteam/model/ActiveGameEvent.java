@@ -1,5 +1,6 @@
 package com.fullsteam.model;
 
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import org.dyn4j.geometry.Vector2;
 
@@ -26,7 +27,7 @@ public class ActiveGameEvent {
         this.targetLocations = new ArrayList<>(targetLocations);
         this.warningZoneIds = new ArrayList<>();
         
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         this.warningStartTime = now;
         this.eventStartTime = (long) (now + (warningDuration * 1000));
         this.eventEndTime = (long) (eventStartTime + (eventType.getBaseDuration() * 1000));
@@ -37,7 +38,7 @@ public class ActiveGameEvent {
     }
 
     public void update() {
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         
         if (completed) {
             return;
@@ -70,14 +71,14 @@ public class ActiveGameEvent {
         if (!warningPhase) {
             return 0.0;
         }
-        return Math.max(0.0, (eventStartTime - System.currentTimeMillis()) / 1000.0);
+        return Math.max(0.0, (eventStartTime - GameClock.currentTimeMillis()) / 1000.0);
     }
 
     public double getEventTimeRemaining() {
         if (!active) {
             return 0.0;
         }
-        return Math.max(0.0, (eventEndTime - System.currentTimeMillis()) / 1000.0);
+        return Math.max(0.0, (eventEndTime - GameClock.currentTimeMillis()) / 1000.0);
     }
 
     public void addWarningZoneId(int fieldEffectId) {
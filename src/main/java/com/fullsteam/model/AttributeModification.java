@@ -32,4 +32,12 @@ public interface AttributeModification {
     }
 
     boolean isExpired();
+
+    /**
+     * Game time in milliseconds after which this modification expires, or 0 if it never expires.
+     * Modifications are only checked for expiry once the earliest expiration has passed.
+     */
+    default long getExpiration() {
+        return 0;
+    }
 }
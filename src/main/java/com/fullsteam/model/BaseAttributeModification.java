@@ -1,5 +1,7 @@
 package com.fullsteam.model;
 
+import com.fullsteam.util.GameClock;
+
 public abstract class BaseAttributeModification implements AttributeModification {
 
     private final long expiration;
@@ -8,13 +10,18 @@ public abstract class BaseAttributeModification implements AttributeModification
         this.expiration = expiration;
     }
 
+    @Override
+    public long getExpiration() {
+        return expiration;
+    }
+
     @Override
     public boolean isExpired() {
         // zero is magic, never expire
         if (expiration == 0) {
             return false;
         } else {
-            return System.currentTimeMillis() > expiration;
+            return GameClock.currentTimeMillis() > expiration;
         }
     }
 }
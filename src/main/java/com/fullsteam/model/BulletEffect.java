@@ -1,5 +1,12 @@
 package com.fullsteam.model;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 public enum BulletEffect {
     // AOE
     EXPLOSIVE(25, "Projectiles explode on impact, dealing area damage", 50.0, 1.5, 1.0),
@@ -14,6 +21,9 @@ public enum BulletEffect {
     FRAGMENTING(22, "Projectiles split into multiple smaller projectiles on impact", 20, 0.0, 0.0),
     HOMING(30, "Projectiles slightly track towards nearby enemies", 0, 1.0, 1.0);
 
+    // Every combination of effects, indexed by a bit per effect's ordinal
+    private static final List<Set<BulletEffect>> COMBINATIONS = combinations();
+
     private final int pointCost;
     private final String description;
 
@@ -56,4 +66,32 @@ public enum BulletEffect {
     public double calculateDamage(double damage) {
         return damage * damageModification;
     }
+
+    /**
+     * The shared, unmodifiable set of the given effects. It iterates in declaration order, so effects
+     * are applied in the same order (and draw from the game's random generator in the same order) in
+     * every process, which a replayed or migrated game relies on.
+     */
+    public static Set<BulletEffect> setOf(Collection<BulletEffect> effects) {
+        int mask = 0;
+        for (BulletEffect effect : effects) {
+            mask |= 1 << effect.ordinal();
+        }
+        return COMBINATIONS.get(mask);
+    }
+
+    private static List<Set<BulletEffect>> combinations() {
+        BulletEffect[] effects = values();
+        List<Set<BulletEffect>> combinations = new ArrayList<>(1 << effects.length);
+        for (int mask = 0; mask < 1 << effects.length; mask++) {
+            EnumSet<BulletEffect> combination = EnumSet.noneOf(BulletEffect.class);
+            for (BulletEffect effect : effects) {
+                if ((mask & 1 << effect.ordinal()) != 0) {
+                    combination.add(effect);
+                }
+            }
+            combinations.add(Collections.unmodifiableSet(combination));
+        }
+        return List.copyOf(combinations);
+    }
 }
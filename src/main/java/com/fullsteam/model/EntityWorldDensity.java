@@ -1,5 +1,7 @@
 package com.fullsteam.model;
 
+import com.fullsteam.util.GameRandom;
+
 public enum EntityWorldDensity {
     /**
      * Fewer event instances, more breathing room.
@@ -40,6 +42,6 @@ public enum EntityWorldDensity {
      */
     public double getMultiplier() {
         double maxMult = max - min;
-        return min + (Math.random() * maxMult);
+        return min + (GameRandom.current().nextDouble() * maxMult);
     }
 }
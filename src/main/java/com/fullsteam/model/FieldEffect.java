@@ -2,6 +2,7 @@ package com.fullsteam.model;
 
 import com.fullsteam.physics.GameEntity;
 import com.fullsteam.physics.Player;
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.dynamics.BodyFixture;
@@ -16,7 +17,8 @@ import java.util.Set;
 
 /**
  * Represents a temporary field effect in the game world (explosions, fire, electric fields, etc.)
- * Now uses physics bodies with sensor fixtures for optimized collision detection.
+ * Field effects are not added to the physics world. Their body only carries the position;
+ * overlaps are resolved analytically against {@link #getRadius()} by {@link com.fullsteam.physics.FieldEffectGrid}.
  */
 @Getter
 public class FieldEffect extends GameEntity {
@@ -43,7 +45,7 @@ public class FieldEffect extends GameEntity {
         this.radius = radius;
         this.maxRadius = maxRadius;
         this.damage = damage;
-        this.expires = (long) (System.currentTimeMillis() + (duration * 1000)); // duration in seconds
+        this.expires = (long) (GameClock.currentTimeMillis() + (duration * 1000)); // duration in seconds
         this.armingTime = armingTime;
         this.ownerTeam = ownerTeam;
         this.affectedEntities = new HashSet<>();
@@ -67,9 +69,9 @@ public class FieldEffect extends GameEntity {
             return;
         }
 
+        long now = GameClock.currentTimeMillis();
         if (radius < maxRadius) {
-            double oldRadius = radius;
-            long elapsed = System.currentTimeMillis() - created;
+            long elapsed = now - created;
             long duration = expires - created;
             double progress = elapsed / (double) duration;
 
@@ -79,35 +81,13 @@ public class FieldEffect extends GameEntity {
             } else {
                 radius = maxRadius;
             }
-
-            // Update physics body if radius changed (more frequent updates for smoother growth)
-            if (Math.abs(radius - oldRadius) > 0.1) {
-                updateBodyRadius(radius);
-            }
         }
 
-        if (System.currentTimeMillis() > expires) {
-            active = false;
+        if (now > expires) {
+            setActive(false);
         }
     }
 
-    /**
-     * Update the physics body's sensor radius (for growing effects)
-     */
-    private void updateBodyRadius(double newRadius) {
-        Body body = getBody();
-
-        // Remove old fixture
-        if (body.getFixtureCount() > 0) {
-            body.removeFixture(0);
-        }
-
-        // Add new fixture with updated radius
-        Circle circle = new Circle(newRadius);
-        BodyFixture fixture = body.addFixture(circle);
-        fixture.setSensor(true);
-    }
-
     public boolean isInRange(Vector2 targetPosition) {
         return getPosition().distance(targetPosition) <= radius;
     }
@@ -181,12 +161,12 @@ public class FieldEffect extends GameEntity {
     }
 
     public long getTimeRemaining() {
-        return Math.max(expires - System.currentTimeMillis(), 0);
+        return Math.max(expires - GameClock.currentTimeMillis(), 0);
     }
 
     public double getProgress() {
         long duration = expires - created;
-        long timeRemaining = expires - System.currentTimeMillis();
+        long timeRemaining = expires - GameClock.currentTimeMillis();
         return (duration > 0 && timeRemaining > 0)
                 ? (double) (duration - timeRemaining) / duration
                 : 1.0;
@@ -220,6 +200,6 @@ public class FieldEffect extends GameEntity {
      * Check if the mine is armed (for proximity mines)
      */
     public boolean isArmed() {
-        return System.currentTimeMillis() > armingTime;
+        return GameClock.currentTimeMillis() > armingTime;
     }
 }
@@ -1,5 +1,6 @@
 package com.fullsteam.model;
 
+import com.fullsteam.util.GameClock;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -47,7 +48,7 @@ public class GameEvent {
      * Timestamp when the event occurred
      */
     @Builder.Default
-    private long timestamp = System.currentTimeMillis();
+    private long timestamp = GameClock.currentTimeMillis();
 
     /**
      * Optional duration in milliseconds for how long to display the event
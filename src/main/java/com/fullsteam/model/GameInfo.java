@@ -8,7 +8,10 @@ public record GameInfo(
     int maxPlayers,
     long createdTime,
     String status,
-    GameConfig gameConfig
-) {}
-
-
+    GameConfig gameConfig,
+    String nodeAddress // Base URL of the node hosting the game; null when running as a single node
+) {
+    public GameInfo withNodeAddress(String nodeAddress) {
+        return new GameInfo(gameId, playerCount, maxPlayers, createdTime, status, gameConfig, nodeAddress);
+    }
+}
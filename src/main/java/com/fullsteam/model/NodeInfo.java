@@ -0,0 +1,16 @@
+package com.fullsteam.model;
+
+import java.util.List;
+
+/**
+ * A server node's load and games, as last published to the node registry.
+ */
+public record NodeInfo(
+    String nodeId,
+    String address,
+    double tickHeadroom, // Share of the node's tick budget still free, 0 (saturated) to 1 (idle)
+    int gameCount,
+    long playerCount,
+    long heartbeatMillis,
+    List<GameInfo> games
+) {}
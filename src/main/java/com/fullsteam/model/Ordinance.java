@@ -83,6 +83,14 @@ public enum Ordinance {
         return beamDuration;
     }
 
+    /**
+     * Whether projectiles of this ordinance fly straight and are small enough to be hit-tested as a
+     * swept segment each tick, rather than needing the physics engine's continuous collision detection.
+     */
+    public boolean isSweptHitTest() {
+        return this == BULLET || this == DART || this == PLASMA;
+    }
+
     /**
      * Check if this ordinance type creates beams instead of projectiles
      */
@@ -12,6 +12,8 @@ public class PlayerSession {
     private GameManager game;
     private String playerName;
     private boolean isSpectator;
+    // Lets the client pick its player back up if its connection drops
+    private String resumeToken;
 
     public PlayerSession(int playerId, WebSocketSession session) {
         this.playerId = playerId;
@@ -2,25 +2,15 @@ package com.fullsteam.model;
 
 import lombok.Data;
 
-import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * A player's instance of a {@link WeaponLoadout}. The loadout holds the shared, immutable stats;
+ * the weapon only tracks its own ammo.
+ */
 @Data
 public class Weapon {
-    private final String name;
-    private final double damage;
-    private final double fireRate;
-    private final double range;
-    private final double accuracy;
-    private final int magazineSize;
-    private final double reloadTime;
-    private final double projectileSpeed;
-    private final int bulletsPerShot;
-    private final double linearDamping;
-    private final Set<BulletEffect> bulletEffects;
-    private final Ordinance ordinance;
-
-    private final int attributePoints;
+    private final WeaponLoadout loadout;
     private int currentAmmo;
 
     public Weapon(String name,
@@ -36,63 +26,81 @@ public class Weapon {
                   Set<BulletEffect> bulletEffects,
                   Ordinance ordinance
     ) {
-        // Calculate total points including bullet effects and ordinance
-        this.attributePoints = damage + fireRate + range + accuracy + magazineSize + reloadTime + projectileSpeed + bulletsPerShot + linearDamping;
-        int effectPoints = bulletEffects.stream().mapToInt(BulletEffect::getPointCost).sum();
-        int ordinancePoints = ordinance.getPointCost();
-        int totalPoints = attributePoints + effectPoints + ordinancePoints;
-
-        if (totalPoints > 100) {
-            throw new IllegalArgumentException("Total points cannot exceed 100. Current total: " + totalPoints +
-                                               " (Attributes: " + attributePoints + ", Effects: " + effectPoints + ", Ordinance: " + ordinancePoints + ")");
-        }
-
-        this.name = name;
-        this.bulletEffects = new HashSet<>(bulletEffects);
-        this.ordinance = ordinance;
-
-        // Calculate weapon stats based on point allocation
-        // Each attribute has a base value + scaling based on points allocated
-        this.damage = WeaponAttribute.DAMAGE.compute(damage);
-        this.fireRate = WeaponAttribute.FIRE_RATE.compute(fireRate);
-        this.range = WeaponAttribute.RANGE.compute(range);
-        this.accuracy = WeaponAttribute.ACCURACY.compute(accuracy);
-        this.magazineSize = (int) WeaponAttribute.MAGAZINE_SIZE.compute(magazineSize);
-        this.reloadTime = WeaponAttribute.RELOAD_TIME.compute(reloadTime);
-        // Apply ordinance speed multiplier to projectile speed
-        this.projectileSpeed = WeaponAttribute.PROJECTILE_SPEED.compute(projectileSpeed) * ordinance.getSpeedMultiplier();
-        this.bulletsPerShot = (int) WeaponAttribute.BULLETS_PER_SHOT.compute(bulletsPerShot);
-        this.linearDamping = WeaponAttribute.LINEAR_DAMPING.compute(linearDamping);
-        this.currentAmmo = magazineSize;
+        this(new WeaponLoadout(name, damage, fireRate, range, accuracy, magazineSize, reloadTime,
+                projectileSpeed, bulletsPerShot, linearDamping, bulletEffects, ordinance));
+    }
+
+    public Weapon(WeaponLoadout loadout) {
+        this.loadout = loadout;
+        this.currentAmmo = loadout.getInitialAmmo();
     }
 
     // clone constructor
     public Weapon(Weapon other) {
-        this.name = other.name;
-        this.damage = other.damage;
-        this.fireRate = other.fireRate;
-        this.range = other.range;
-        this.accuracy = other.accuracy;
-        this.magazineSize = other.magazineSize;
-        this.reloadTime = other.reloadTime;
-        this.projectileSpeed = other.projectileSpeed;
-        this.bulletsPerShot = other.bulletsPerShot;
-        this.linearDamping = other.linearDamping;
+        this.loadout = other.loadout;
         this.currentAmmo = other.currentAmmo; // Preserve actual current ammo, not magazine size
-        this.bulletEffects = new HashSet<>(other.bulletEffects);
-        this.ordinance = other.ordinance;
-        this.attributePoints = other.attributePoints;
     }
 
-    public void reload() {
-        currentAmmo = magazineSize;
+    public String getName() {
+        return loadout.getName();
     }
 
-    public boolean needsReload() {
-        return currentAmmo < magazineSize;
+    public double getDamage() {
+        return loadout.getDamage();
+    }
+
+    public double getFireRate() {
+        return loadout.getFireRate();
+    }
+
+    public double getRange() {
+        return loadout.getRange();
+    }
+
+    public double getAccuracy() {
+        return loadout.getAccuracy();
+    }
+
+    public int getMagazineSize() {
+        return loadout.getMagazineSize();
+    }
+
+    public double getReloadTime() {
+        return loadout.getReloadTime();
+    }
+
+    public double getProjectileSpeed() {
+        return loadout.getProjectileSpeed();
+    }
+
+    public int getBulletsPerShot() {
+        return loadout.getBulletsPerShot();
+    }
+
+    public double getLinearDamping() {
+        return loadout.getLinearDamping();
     }
 
+    /**
+     * Read-only; shared with every other weapon built from the same loadout.
+     */
     public Set<BulletEffect> getBulletEffects() {
-        return new HashSet<>(bulletEffects);
+        return loadout.getBulletEffects();
+    }
+
+    public Ordinance getOrdinance() {
+        return loadout.getOrdinance();
+    }
+
+    public int getAttributePoints() {
+        return loadout.getAttributePoints();
+    }
+
+    public void reload() {
+        currentAmmo = getMagazineSize();
+    }
+
+    public boolean needsReload() {
+        return currentAmmo < getMagazineSize();
     }
-}
\ No newline at end of file
+}
@@ -78,6 +78,21 @@ public enum WeaponAttribute {
     private final int min;
     private final int max;
 
+    /**
+     * compute() for every legal point allocation, indexed by points - min.
+     */
+    private static final double[][] TABLES = new double[values().length][];
+
+    static {
+        for (WeaponAttribute attribute : values()) {
+            double[] table = new double[attribute.max - attribute.min + 1];
+            for (int points = attribute.min; points <= attribute.max; points++) {
+                table[points - attribute.min] = attribute.compute(points);
+            }
+            TABLES[attribute.ordinal()] = table;
+        }
+    }
+
     WeaponAttribute(int min, int max) {
         this.min = min;
         this.max = max;
@@ -98,4 +113,12 @@ public enum WeaponAttribute {
     }
 
     public abstract double compute(int points);
+
+    /**
+     * Same as {@link #compute(int)}, read from the precomputed table.
+     */
+    public double value(int points) {
+        validate(points);
+        return TABLES[ordinal()][points - min];
+    }
 }
@@ -24,19 +24,11 @@ public class WeaponConfig {
     public Set<BulletEffect> bulletEffects = new HashSet<>();
     public Ordinance ordinance = Ordinance.BULLET;
 
+    /**
+     * Build a new weapon on the shared, pre-validated loadout for this config.
+     */
     public Weapon buildWeapon() {
-        return new Weapon(type,
-                damage,
-                fireRate,
-                range,
-                accuracy,
-                magazineSize,
-                reloadTime,
-                projectileSpeed,
-                bulletsPerShot,
-                linearDamping,
-                bulletEffects,
-                ordinance);
+        return new Weapon(WeaponLoadout.of(this));
     }
 
     public static final WeaponConfig ASSAULT_RIFLE_PRESET = new WeaponConfig(
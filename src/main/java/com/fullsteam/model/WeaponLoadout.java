@@ -0,0 +1,167 @@
+package com.fullsteam.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable, validated stats derived from a {@link WeaponConfig}.
+ * <p>
+ * Loadouts are interned: identical configs share one instance, so the point budget is checked and the
+ * stats are computed once per distinct config rather than every time a player is given a weapon.
+ * Per-player state (ammo) lives on {@link Weapon}, which references its loadout.
+ */
+@Getter
+@ToString
+public final class WeaponLoadout {
+
+    /**
+     * Bound on interned custom configs. Presets and popular builds fit easily; past this, loadouts are
+     * still validated and built but not kept.
+     */
+    static final int MAX_INTERNED = 1024;
+
+    private static final Map<Key, WeaponLoadout> INTERNED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final double damage;
+    private final double fireRate;
+    private final double range;
+    private final double accuracy;
+    private final int magazineSize;
+    private final double reloadTime;
+    private final double projectileSpeed;
+    private final int bulletsPerShot;
+    private final double linearDamping;
+    private final Set<BulletEffect> bulletEffects;
+    private final Ordinance ordinance;
+
+    private final int attributePoints;
+    private final int totalPoints;
+    // The points the loadout was built from
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Key key;
+    // A freshly built weapon has always started with as many rounds as points spent on magazine size
+    private final int initialAmmo;
+
+    WeaponLoadout(String name,
+                  int damage,
+                  int fireRate,
+                  int range,
+                  int accuracy,
+                  int magazineSize,
+                  int reloadTime,
+                  int projectileSpeed,
+                  int bulletsPerShot,
+                  int linearDamping,
+                  Set<BulletEffect> bulletEffects,
+                  Ordinance ordinance
+    ) {
+        // Calculate total points including bullet effects and ordinance
+        this.attributePoints = damage + fireRate + range + accuracy + magazineSize + reloadTime + projectileSpeed + bulletsPerShot + linearDamping;
+        int effectPoints = bulletEffects.stream().mapToInt(BulletEffect::getPointCost).sum();
+        int ordinancePoints = ordinance.getPointCost();
+        this.totalPoints = attributePoints + effectPoints + ordinancePoints;
+
+        if (totalPoints > 100) {
+            throw new IllegalArgumentException("Total points cannot exceed 100. Current total: " + totalPoints +
+                                               " (Attributes: " + attributePoints + ", Effects: " + effectPoints + ", Ordinance: " + ordinancePoints + ")");
+        }
+
+        this.key = new Key(name, damage, fireRate, range, accuracy, magazineSize, reloadTime,
+                projectileSpeed, bulletsPerShot, linearDamping, BulletEffect.setOf(bulletEffects), ordinance);
+        this.name = name;
+        this.bulletEffects = BulletEffect.setOf(bulletEffects);
+        this.ordinance = ordinance;
+
+        // Each attribute has a base value + scaling based on points allocated
+        this.damage = WeaponAttribute.DAMAGE.value(damage);
+        this.fireRate = WeaponAttribute.FIRE_RATE.value(fireRate);
+        this.range = WeaponAttribute.RANGE.value(range);
+        this.accuracy = WeaponAttribute.ACCURACY.value(accuracy);
+        this.magazineSize = (int) WeaponAttribute.MAGAZINE_SIZE.value(magazineSize);
+        this.reloadTime = WeaponAttribute.RELOAD_TIME.value(reloadTime);
+        // Apply ordinance speed multiplier to projectile speed
+        this.projectileSpeed = WeaponAttribute.PROJECTILE_SPEED.value(projectileSpeed) * ordinance.getSpeedMultiplier();
+        this.bulletsPerShot = (int) WeaponAttribute.BULLETS_PER_SHOT.value(bulletsPerShot);
+        this.linearDamping = WeaponAttribute.LINEAR_DAMPING.value(linearDamping);
+        this.initialAmmo = magazineSize;
+    }
+
+    /**
+     * The shared loadout for a config, validating and building it on first use.
+     *
+     * @throws IllegalArgumentException if the config is over budget or an attribute is out of range
+     */
+    public static WeaponLoadout of(WeaponConfig config) {
+        Key key = new Key(config);
+        WeaponLoadout loadout = INTERNED.get(key);
+        if (loadout != null) {
+            return loadout;
+        }
+        loadout = key.build();
+        if (INTERNED.size() < MAX_INTERNED) {
+            WeaponLoadout existing = INTERNED.putIfAbsent(key, loadout);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return loadout;
+    }
+
+    /**
+     * A config that builds this loadout.
+     */
+    public WeaponConfig toConfig() {
+        return new WeaponConfig(key.name(), key.damage(), key.fireRate(), key.range(), key.accuracy(),
+                key.magazineSize(), key.reloadTime(), key.projectileSpeed(), key.bulletsPerShot(),
+                key.linearDamping(), new HashSet<>(key.bulletEffects()), key.ordinance());
+    }
+
+    static int internedCount() {
+        return INTERNED.size();
+    }
+
+    /**
+     * Snapshot of a config's values; configs are mutable, so the map can't key on them directly.
+     */
+    private record Key(String name,
+                       int damage,
+                       int fireRate,
+                       int range,
+                       int accuracy,
+                       int magazineSize,
+                       int reloadTime,
+                       int projectileSpeed,
+                       int bulletsPerShot,
+                       int linearDamping,
+                       Set<BulletEffect> bulletEffects,
+                       Ordinance ordinance) {
+
+        private Key(WeaponConfig config) {
+            this(config.type,
+                    config.damage,
+                    config.fireRate,
+                    config.range,
+                    config.accuracy,
+                    config.magazineSize,
+                    config.reloadTime,
+                    config.projectileSpeed,
+                    config.bulletsPerShot,
+                    config.linearDamping,
+                    BulletEffect.setOf(config.bulletEffects),
+                    config.ordinance);
+        }
+
+        private WeaponLoadout build() {
+            return new WeaponLoadout(name, damage, fireRate, range, accuracy, magazineSize, reloadTime,
+                    projectileSpeed, bulletsPerShot, linearDamping, bulletEffects, ordinance);
+        }
+    }
+}
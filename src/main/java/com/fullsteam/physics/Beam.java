@@ -3,6 +3,7 @@ package com.fullsteam.physics;
 import com.fullsteam.model.BulletEffect;
 import com.fullsteam.model.DamageApplicationType;
 import com.fullsteam.model.Ordinance;
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -53,10 +54,10 @@ public class Beam extends GameEntity {
         this.ownerId = ownerId;
         this.ownerTeam = ownerTeam;
         this.ordinance = ordinance;
-        this.bulletEffects = new HashSet<>(bulletEffects);
+        this.bulletEffects = BulletEffect.setOf(bulletEffects);
         this.damageApplicationType = ordinance.getDamageApplicationType();
         this.damageInterval = ordinance.getDamageInterval();
-        this.expires = (long) (System.currentTimeMillis() + (1000 * ordinance.getBeamDuration()));
+        this.expires = (long) (GameClock.currentTimeMillis() + (1000 * ordinance.getBeamDuration()));
 
         // Calculate end point
         Vector2 offset = this.direction.copy();
@@ -96,7 +97,7 @@ public class Beam extends GameEntity {
         }
 
         if (isExpired()) {
-            active = false;
+            setActive(false);
             return;
         }
 
@@ -187,6 +188,6 @@ public class Beam extends GameEntity {
      * Get all bullet effects for this beam
      */
     public Set<BulletEffect> getBulletEffects() {
-        return new HashSet<>(bulletEffects);
+        return bulletEffects;
     }
 }
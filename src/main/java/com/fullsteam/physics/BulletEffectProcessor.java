@@ -1,5 +1,6 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.BulletEffect;
 import com.fullsteam.model.FieldEffect;
@@ -11,9 +12,7 @@ import org.dyn4j.world.World;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 import static com.fullsteam.Config.HOMING_DISTANCE;
 
@@ -80,7 +79,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.EXPLOSION.getDefaultDuration(),
                 projectile.getOwnerTeam()
         );
-        world.addBody(explosion.getBody());
         gameEntities.addFieldEffect(explosion);
     }
 
@@ -95,7 +93,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.FIRE.getDefaultDuration(),
                 projectile.getOwnerTeam()
         );
-        world.addBody(fire.getBody());
         gameEntities.addFieldEffect(fire);
     }
 
@@ -110,7 +107,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.ELECTRIC.getDefaultDuration(),
                 projectile.getOwnerTeam()
         );
-        world.addBody(electric.getBody());
         gameEntities.addFieldEffect(electric);
     }
 
@@ -125,7 +121,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.FREEZE.getDefaultDuration(),
                 projectile.getOwnerTeam()
         );
-        world.addBody(freeze.getBody());
         gameEntities.addFieldEffect(freeze);
     }
 
@@ -140,7 +135,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.POISON.getDefaultDuration(),
                 projectile.getOwnerTeam()
         );
-        world.addBody(poison.getBody());
         gameEntities.addFieldEffect(poison);
         log.debug("Created poison field effect at ({}, {}) with radius {} and damage {}",
                 position.x, position.y, poison.getRadius(), poison.getDamage());
@@ -164,16 +158,18 @@ public class BulletEffectProcessor {
         int fragmentCount = 3 + (int) (projectile.getDamage() / 15); // More fragments for higher damage
         double fragmentDamage = projectile.getDamage() * 0.4; // Each fragment does less damage
         double fragmentSpeed = projectile.getBody().getLinearVelocity().getMagnitude() * 0.6;
-        double randomStartAngle = ThreadLocalRandom.current().nextDouble(0, 2 * Math.PI);
+        double randomStartAngle = GameRandom.current().nextDouble(0, 2 * Math.PI);
+
+        // Shared by every fragment of this burst
+        Set<BulletEffect> childEffects = BulletEffect.setOf(projectile.getBulletEffects().stream()
+                .filter(effect -> effect != BulletEffect.FRAGMENTING)
+                .toList());
 
         for (int i = 0; i < fragmentCount; i++) {
             double angle = randomStartAngle + ((2 * Math.PI * i) / fragmentCount);
             double vx = Math.cos(angle) * fragmentSpeed;
             double vy = Math.sin(angle) * fragmentSpeed;
 
-            Set<BulletEffect> childEffects = new HashSet<>(projectile.getBulletEffects());
-            childEffects.remove(BulletEffect.FRAGMENTING);
-
             // Create fragment projectile (smaller, shorter range)
             Projectile fragment = new Projectile(
                     projectile.getOwnerId(),
@@ -186,7 +182,8 @@ public class BulletEffectProcessor {
                     projectile.getOwnerTeam(),
                     projectile.getLinearDamping(),
                     childEffects,
-                    Ordinance.DART // Small, fast fragments
+                    Ordinance.DART, // Small, fast fragments
+                    gameEntities.getProjectilePool()
             );
 
             world.addBody(fragment.getBody());
@@ -326,7 +323,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.EXPLOSION.getDefaultDuration(),
                 beam.getOwnerTeam()
         );
-        world.addBody(explosion.getBody());
         gameEntities.addFieldEffect(explosion);
     }
 
@@ -344,7 +340,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.FIRE.getDefaultDuration(),
                 beam.getOwnerTeam()
         );
-        world.addBody(fire.getBody());
         gameEntities.addFieldEffect(fire);
     }
 
@@ -362,7 +357,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.ELECTRIC.getDefaultDuration(),
                 beam.getOwnerTeam()
         );
-        world.addBody(electric.getBody());
         gameEntities.addFieldEffect(electric);
     }
 
@@ -380,7 +374,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.FREEZE.getDefaultDuration(),
                 beam.getOwnerTeam()
         );
-        world.addBody(freeze.getBody());
         gameEntities.addFieldEffect(freeze);
     }
 
@@ -398,7 +391,6 @@ public class BulletEffectProcessor {
                 FieldEffectType.POISON.getDefaultDuration(),
                 beam.getOwnerTeam()
         );
-        world.addBody(poison.getBody());
         gameEntities.addFieldEffect(poison);
     }
 }
@@ -0,0 +1,105 @@
+package com.fullsteam.physics;
+
+import org.dyn4j.collision.CategoryFilter;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+
+/**
+ * The entity interaction matrix, and the dyn4j collision filters derived from it.
+ * <p>
+ * Each entity kind gets its own category bit. Its mask contains every kind it can interact with, so
+ * dyn4j drops impossible pairs (e.g. a projectile inside a KOTH zone) before the narrowphase runs.
+ * Bodies without a filter, such as the world boundaries, still collide with everything.
+ */
+public final class CollisionCategories {
+
+    private static final boolean[][] IGNORED_PAIRS = buildIgnoredPairs();
+    private static final CategoryFilter[] FILTERS = buildFilters();
+
+    private CollisionCategories() {
+    }
+
+    /**
+     * Entity kind pairs that never interact: either one side is a sensor with no collision handler for
+     * the other, or the handler unconditionally ignores the collision.
+     */
+    private static boolean[][] buildIgnoredPairs() {
+        boolean[][] ignored = new boolean[EntityKind.COUNT][EntityKind.COUNT];
+
+        // Sensors that only interact with players (and nets, below)
+        for (EntityKind sensor : new EntityKind[]{EntityKind.FLAG, EntityKind.KOTH_ZONE, EntityKind.POWER_UP, EntityKind.TELEPORT_PAD}) {
+            for (EntityKind other : EntityKind.values()) {
+                if (other != EntityKind.PLAYER) {
+                    ignore(ignored, sensor, other);
+                }
+            }
+        }
+
+        // Field effects only interact with players, projectiles and nets
+        for (EntityKind other : EntityKind.values()) {
+            if (other != EntityKind.PLAYER && other != EntityKind.PROJECTILE && other != EntityKind.NET_PROJECTILE) {
+                ignore(ignored, EntityKind.FIELD_EFFECT, other);
+            }
+        }
+
+        // Beams only interact with structures they can damage
+        for (EntityKind other : EntityKind.values()) {
+            if (other != EntityKind.TURRET && other != EntityKind.HEADQUARTERS) {
+                ignore(ignored, EntityKind.BEAM, other);
+            }
+        }
+
+        // Projectiles pass through workshops
+        ignore(ignored, EntityKind.PROJECTILE, EntityKind.WORKSHOP);
+
+        // Nets interact with everything, sensors included, and decide in their handler
+        for (EntityKind other : EntityKind.values()) {
+            ignored[EntityKind.NET_PROJECTILE.ordinal()][other.ordinal()] = false;
+            ignored[other.ordinal()][EntityKind.NET_PROJECTILE.ordinal()] = false;
+        }
+        return ignored;
+    }
+
+    private static void ignore(boolean[][] ignored, EntityKind a, EntityKind b) {
+        ignored[a.ordinal()][b.ordinal()] = true;
+        ignored[b.ordinal()][a.ordinal()] = true;
+    }
+
+    private static CategoryFilter[] buildFilters() {
+        CategoryFilter[] filters = new CategoryFilter[EntityKind.COUNT];
+        for (EntityKind kind : EntityKind.values()) {
+            long mask = 0;
+            for (EntityKind other : EntityKind.values()) {
+                if (canInteract(kind, other)) {
+                    mask |= category(other);
+                }
+            }
+            filters[kind.ordinal()] = new CategoryFilter(category(kind), mask);
+        }
+        return filters;
+    }
+
+    public static long category(EntityKind kind) {
+        return 1L << kind.ordinal();
+    }
+
+    public static boolean canInteract(EntityKind a, EntityKind b) {
+        return !IGNORED_PAIRS[a.ordinal()][b.ordinal()];
+    }
+
+    public static CategoryFilter filterFor(EntityKind kind) {
+        return FILTERS[kind.ordinal()];
+    }
+
+    /**
+     * Apply the entity's collision filter to every fixture on its body.
+     * Must be called again whenever fixtures are replaced.
+     */
+    public static void apply(GameEntity entity) {
+        CategoryFilter filter = filterFor(entity.getKind());
+        Body body = entity.getBody();
+        for (BodyFixture fixture : body.getFixtures()) {
+            fixture.setFilter(filter);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.Config;
 import com.fullsteam.games.GameManager;
+import com.fullsteam.games.RaycastService;
 import com.fullsteam.games.StatusEffectManager;
 import com.fullsteam.model.BulletEffect;
 import com.fullsteam.model.FieldEffect;
 import com.fullsteam.model.FieldEffectType;
+import com.fullsteam.model.Ordinance;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import lombok.Getter;
 import org.dyn4j.dynamics.Body;
@@ -19,27 +23,40 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.function.BiPredicate;
 
 
 public class CollisionProcessor implements CollisionListener<Body, BodyFixture> {
 
     private static final Logger log = LoggerFactory.getLogger(CollisionProcessor.class);
 
+    private static final double FIELD_EFFECT_CELL_SIZE = 128.0;
+
     private final GameManager gameManager;
     private final GameEntities gameEntities;
     @Getter
     private final BulletEffectProcessor bulletEffectProcessor;
 
+    // Field effects are not physics bodies; their overlaps are found through this grid once per tick
+    private final FieldEffectGrid fieldEffectGrid = new FieldEffectGrid(FIELD_EFFECT_CELL_SIZE, maxQueriedRadius());
+
+    // Collision handlers indexed by [kind of first entity][kind of second entity]; null means let physics resolve
+    private final PairHandler[][] handlers = new PairHandler[EntityKind.COUNT][EntityKind.COUNT];
+
     public CollisionProcessor(GameManager gameManager, GameEntities gameEntities) {
         this.gameManager = gameManager;
         this.gameEntities = gameEntities;
         this.bulletEffectProcessor = new BulletEffectProcessor(gameEntities);
+        registerHandlers();
     }
 
     @Override
     public boolean collision(BroadphaseCollisionData<Body, BodyFixture> collision) {
+        // Collision filters normally prune these already; this catches fixtures added without one
+        if (collision.getBody1().getUserData() instanceof GameEntity entity1
+            && collision.getBody2().getUserData() instanceof GameEntity entity2) {
+            return CollisionCategories.canInteract(entity1.getKind(), entity2.getKind());
+        }
         return true;
     }
 
@@ -75,97 +92,90 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
         return true;
     }
 
-    private boolean handleEntityCollision(GameEntity entity1, GameEntity entity2) {
+    boolean handleEntityCollision(GameEntity entity1, GameEntity entity2) {
         // Early exit: ignore collisions involving inactive/dead players
-        if (entity1 instanceof Player player1 && !player1.isActive()) {
+        if (entity1.getKind() == EntityKind.PLAYER && !entity1.isActive()) {
             return false; // Don't process collisions for dead players
         }
-        if (entity2 instanceof Player player2 && !player2.isActive()) {
+        if (entity2.getKind() == EntityKind.PLAYER && !entity2.isActive()) {
             return false; // Don't process collisions for dead players
         }
 
-        // let the bouncy bullets interact with bullets
-        if (entity1 instanceof Projectile p1 && entity2 instanceof Projectile p2) {
-            return p1.getBulletEffects().contains(BulletEffect.BOUNCY) || p2.getBulletEffects().contains(BulletEffect.BOUNCY);// Disable collision resolution between projectiles
+        PairHandler handler = handlers[entity1.getKind().ordinal()][entity2.getKind().ordinal()];
+        return handler == null || handler.handle(entity1, entity2);
+    }
+
+    /**
+     * Handles a collision between two entities of specific kinds.
+     * Returns whether the physics engine should resolve the collision.
+     */
+    @FunctionalInterface
+    private interface PairHandler {
+        boolean handle(GameEntity first, GameEntity second);
+    }
+
+    /**
+     * Register a handler for a pair of entity kinds. The handler always receives its arguments in
+     * the registered order; the reverse ordering is registered automatically.
+     */
+    @SuppressWarnings("unchecked")
+    private <A extends GameEntity, B extends GameEntity> void register(EntityKind kindA, EntityKind kindB,
+                                                                       BiPredicate<A, B> handler) {
+        handlers[kindA.ordinal()][kindB.ordinal()] = (first, second) -> handler.test((A) first, (B) second);
+        if (kindA != kindB) {
+            handlers[kindB.ordinal()][kindA.ordinal()] = (first, second) -> handler.test((A) second, (B) first);
         }
+    }
 
-        if (entity1 instanceof Player player && entity2 instanceof Projectile projectile) {
-            handlePlayerProjectileCollision(player, projectile);
-            return false; // Prevent physics resolution for projectile hits
-        } else if (entity1 instanceof Projectile projectile && entity2 instanceof Player player) {
+    private void registerHandlers() {
+        // let the bouncy bullets interact with bullets
+        this.<Projectile, Projectile>register(EntityKind.PROJECTILE, EntityKind.PROJECTILE, (p1, p2) ->
+                p1.getBulletEffects().contains(BulletEffect.BOUNCY) || p2.getBulletEffects().contains(BulletEffect.BOUNCY));
+
+        this.<Player, Projectile>register(EntityKind.PLAYER, EntityKind.PROJECTILE, (player, projectile) -> {
             handlePlayerProjectileCollision(player, projectile);
             return false; // Prevent physics resolution for projectile hits
+        });
 
-        } else if ((entity1 instanceof Projectile || entity1 instanceof Beam) && entity2 instanceof Workshop) {
-            return false; // Projectiles and beams pass through workshops (they're sensors)
-        } else if (entity1 instanceof Workshop && (entity2 instanceof Projectile || entity2 instanceof Beam)) {
-            return false; // Projectiles and beams pass through workshops (they're sensors)
-
-        } else if (entity1 instanceof Projectile projectile && entity2 instanceof Obstacle obstacle) {
-            return handleProjectileObstacleCollision(projectile, obstacle);
-        } else if (entity1 instanceof Obstacle obstacle && entity2 instanceof Projectile projectile) {
-            return handleProjectileObstacleCollision(projectile, obstacle);
-
-        } else if (entity1 instanceof Player player && entity2 instanceof FieldEffect fieldEffect) {
-            handlePlayerFieldEffectCollision(player, fieldEffect);
-            return true; // Allow physics to handle overlaps (sensors should not resolve anyway)
-        } else if (entity1 instanceof FieldEffect fieldEffect && entity2 instanceof Player player) {
-            handlePlayerFieldEffectCollision(player, fieldEffect);
-            return true; // Allow physics to handle overlaps (sensors should not resolve anyway)
-        } else if (entity1 instanceof FieldEffect fieldEffect && entity2 instanceof Projectile projectile) {
-            return handleProjectileFieldEffectCollision(projectile, fieldEffect);
-        } else if (entity2 instanceof FieldEffect fieldEffect && entity1 instanceof Projectile projectile) {
-            return handleProjectileFieldEffectCollision(projectile, fieldEffect);
-        } else if (entity1 instanceof Projectile projectile && entity2 instanceof Turret turret) {
-            return handleProjectileTurretCollision(projectile, turret);
-        } else if (entity1 instanceof Turret turret && entity2 instanceof Projectile projectile) {
-            return handleProjectileTurretCollision(projectile, turret);
-        } else if (entity1 instanceof Beam beam && entity2 instanceof Turret turret) {
-            handleBeamTurretCollision(beam, turret);
-            return true;
-        } else if (entity1 instanceof Turret turret && entity2 instanceof Beam beam) {
+        // Projectiles and beams pass through workshops (they're sensors)
+        register(EntityKind.PROJECTILE, EntityKind.WORKSHOP, (a, b) -> false);
+        register(EntityKind.BEAM, EntityKind.WORKSHOP, (a, b) -> false);
+
+        this.<Projectile, Obstacle>register(EntityKind.PROJECTILE, EntityKind.OBSTACLE, this::handleProjectileObstacleCollision);
+
+        this.<Projectile, Turret>register(EntityKind.PROJECTILE, EntityKind.TURRET, this::handleProjectileTurretCollision);
+        this.<Beam, Turret>register(EntityKind.BEAM, EntityKind.TURRET, (beam, turret) -> {
             handleBeamTurretCollision(beam, turret);
             return true;
-        } else if (entity1 instanceof NetProjectile net) {
-            return handleNetCollision(net, entity2);
-        } else if (entity2 instanceof NetProjectile net) {
-            return handleNetCollision(net, entity1);
-        } else if (entity1 instanceof Player player && entity2 instanceof Flag flag) {
-            handlePlayerFlagCollision(player, flag);
-            return true; // Flags are sensors, no physics resolution
-        } else if (entity1 instanceof Flag flag && entity2 instanceof Player player) {
+        });
+
+        // Nets interact with everything
+        for (EntityKind kind : EntityKind.values()) {
+            this.<NetProjectile, GameEntity>register(EntityKind.NET_PROJECTILE, kind, this::handleNetCollision);
+        }
+
+        this.<Player, Flag>register(EntityKind.PLAYER, EntityKind.FLAG, (player, flag) -> {
             handlePlayerFlagCollision(player, flag);
             return true; // Flags are sensors, no physics resolution
-        } else if (entity1 instanceof Player player && entity2 instanceof KothZone zone) {
-            handlePlayerKothZoneCollision(player, zone);
-            return true; // KOTH zones are sensors, no physics resolution
-        } else if (entity1 instanceof KothZone zone && entity2 instanceof Player player) {
+        });
+        this.<Player, KothZone>register(EntityKind.PLAYER, EntityKind.KOTH_ZONE, (player, zone) -> {
             handlePlayerKothZoneCollision(player, zone);
             return true; // KOTH zones are sensors, no physics resolution
-        } else if (entity1 instanceof Player player && entity2 instanceof Workshop workshop) {
-            handlePlayerWorkshopCollision(player, workshop);
-            return true; // Workshops are sensors, no physics resolution
-        } else if (entity1 instanceof Workshop workshop && entity2 instanceof Player player) {
+        });
+        this.<Player, Workshop>register(EntityKind.PLAYER, EntityKind.WORKSHOP, (player, workshop) -> {
             handlePlayerWorkshopCollision(player, workshop);
             return true; // Workshops are sensors, no physics resolution
-        } else if (entity1 instanceof Player player && entity2 instanceof PowerUp powerUp) {
-            handlePlayerPowerUpCollision(player, powerUp);
-            return true; // Power-ups are sensors, no physics resolution
-        } else if (entity1 instanceof PowerUp powerUp && entity2 instanceof Player player) {
+        });
+        this.<Player, PowerUp>register(EntityKind.PLAYER, EntityKind.POWER_UP, (player, powerUp) -> {
             handlePlayerPowerUpCollision(player, powerUp);
             return true; // Power-ups are sensors, no physics resolution
-        } else if (entity1 instanceof Projectile projectile && entity2 instanceof Headquarters hq) {
-            return handleProjectileHeadquartersCollision(projectile, hq);
-        } else if (entity1 instanceof Headquarters hq && entity2 instanceof Projectile projectile) {
-            return handleProjectileHeadquartersCollision(projectile, hq);
-        } else if (entity1 instanceof Beam beam && entity2 instanceof Headquarters hq) {
-            handleBeamHeadquartersCollision(beam, hq);
-            return true; // Beams continue through structures
-        } else if (entity1 instanceof Headquarters hq && entity2 instanceof Beam beam) {
+        });
+
+        this.<Projectile, Headquarters>register(EntityKind.PROJECTILE, EntityKind.HEADQUARTERS, this::handleProjectileHeadquartersCollision);
+        this.<Beam, Headquarters>register(EntityKind.BEAM, EntityKind.HEADQUARTERS, (beam, hq) -> {
             handleBeamHeadquartersCollision(beam, hq);
             return true; // Beams continue through structures
-        }
-        return true;
+        });
     }
 
     private void handlePlayerProjectileCollision(Player player, Projectile projectile) {
@@ -175,7 +185,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
 
         // if the player has already been hit with this projectile, skip them
         // particularly important for piercing projectiles
-        if (!projectile.getAffectedPlayers().add(player.getId())) {
+        if (!projectile.markPlayerHit(player.getId())) {
             return;
         }
 
@@ -258,7 +268,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
 
         // Check if this projectile has already hit this obstacle
         // This prevents piercing bullets from triggering effects multiple times on the same obstacle
-        if (!projectile.getAffectedObstacles().add(obstacle.getId())) {
+        if (!projectile.markObstacleHit(obstacle.getId())) {
             // Already hit this obstacle, skip effect processing
             boolean shouldPierce = bulletEffectProcessor.shouldPierceTarget(projectile, obstacle);
             return !shouldPierce; // Don't resolve collision if piercing
@@ -423,9 +433,6 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
                         fieldEffect.getOwnerTeam()
                 );
                 gameEntities.addFieldEffect(explosion);
-                gameEntities.addPostUpdateHook(() -> {
-                    gameEntities.getWorld().addBody(explosion.getBody());
-                });
             }
         }
     }
@@ -476,7 +483,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
 
         // Check if this projectile has already hit this turret
         // This prevents piercing bullets from triggering effects multiple times on the same turret
-        if (!projectile.getAffectedObstacles().add(turret.getId())) {
+        if (!projectile.markObstacleHit(turret.getId())) {
             // Already hit this turret, skip effect processing
             boolean shouldPierce = bulletEffectProcessor.shouldPierceTarget(projectile, turret);
             return !shouldPierce; // Don't resolve collision if piercing
@@ -510,9 +517,6 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
                     turret.getOwnerTeam()
             );
             gameEntities.addFieldEffect(explosion);
-            gameEntities.addPostUpdateHook(() -> {
-                gameEntities.getWorld().addBody(explosion.getBody());
-            });
         }
 
         // Check if projectile should pierce through the turret
@@ -571,9 +575,6 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
                     turret.getOwnerTeam()
             );
             gameEntities.addFieldEffect(explosion);
-            gameEntities.addPostUpdateHook(() -> {
-                gameEntities.getWorld().addBody(explosion.getBody());
-            });
         }
     }
 
@@ -660,6 +661,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
      */
     private void pickUpFlag(Player player, Flag flag) {
         flag.pickUp(player.getId());
+        gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
 
         log.info("Player {} (team {}) picked up flag {} (team {})",
                 player.getId(), player.getTeam(), flag.getId(), flag.getOwnerTeam());
@@ -701,6 +703,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
 
         Flag carriedFlag = carriedFlagOpt.get();
         carriedFlag.capture();
+        gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
 
         // Award points to player
         gameManager.awardCapture(player, carriedFlag.getOwnerTeam());
@@ -723,6 +726,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
      */
     private void returnFlag(Flag flag) {
         flag.returnToHome();
+        gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
 
         log.info("Flag {} (team {}) returned to home", flag.getId(), flag.getOwnerTeam());
 
@@ -783,6 +787,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
             PowerUp.PowerUpEffect effect = powerUp.getEffect();
             applyPowerUpEffect(player, effect);
             powerUp.setActive(false);
+            gameEntities.getWorldFacts().touch(WorldFact.POWER_UPS);
             log.debug("Player {} collected power-up {} (type: {})",
                     player.getId(), powerUp.getId(), powerUp.getType());
         }
@@ -797,7 +802,7 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
         }
 
         // Check if this projectile has already hit this HQ
-        if (!projectile.getAffectedObstacles().add(hq.getId())) {
+        if (!projectile.markObstacleHit(hq.getId())) {
             boolean shouldPierce = bulletEffectProcessor.shouldPierceTarget(projectile, hq);
             return !shouldPierce;
         }
@@ -874,19 +879,149 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
         return beam.getOwnerTeam() != hq.getTeamNumber();
     }
 
+    /**
+     * Apply field effects to every player, projectile and net overlapping them.
+     * Runs once per tick after the physics step, in place of sensor contacts.
+     */
+    public void updateFieldEffects() {
+        fieldEffectGrid.clear();
+        for (FieldEffect fieldEffect : gameEntities.getAllFieldEffects()) {
+            if (fieldEffect.isActive()) {
+                fieldEffectGrid.insert(fieldEffect);
+            }
+        }
+        if (fieldEffectGrid.isEmpty()) {
+            return;
+        }
+
+        for (Player player : gameEntities.getAllPlayers()) {
+            if (!player.isActive()) {
+                continue;
+            }
+            double x = player.getBody().getTransform().getTranslationX();
+            double y = player.getBody().getTransform().getTranslationY();
+            for (FieldEffect fieldEffect : fieldEffectGrid.candidates(x, y)) {
+                if (FieldEffectGrid.overlaps(fieldEffect, x, y, Config.PLAYER_RADIUS)) {
+                    handlePlayerFieldEffectCollision(player, fieldEffect);
+                }
+            }
+        }
+
+        for (Projectile projectile : gameEntities.getAllProjectiles()) {
+            if (!projectile.isActive()) {
+                continue;
+            }
+            double x = projectile.getBody().getTransform().getTranslationX();
+            double y = projectile.getBody().getTransform().getTranslationY();
+            for (FieldEffect fieldEffect : fieldEffectGrid.candidates(x, y)) {
+                if (FieldEffectGrid.overlaps(fieldEffect, x, y, projectile.getOrdinance().getSize())) {
+                    handleProjectileFieldEffectCollision(projectile, fieldEffect);
+                }
+            }
+        }
+
+        for (NetProjectile net : gameEntities.getAllNetProjectiles()) {
+            if (!net.isActive()) {
+                continue;
+            }
+            double x = net.getBody().getTransform().getTranslationX();
+            double y = net.getBody().getTransform().getTranslationY();
+            for (FieldEffect fieldEffect : fieldEffectGrid.candidates(x, y)) {
+                if (FieldEffectGrid.overlaps(fieldEffect, x, y, NetProjectile.RADIUS)) {
+                    handleNetCollision(net, fieldEffect);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hit-test fast, straight-flying projectiles along the path they will cover in the coming physics step,
+     * so they can't pass through thin barriers or players between two discrete collision checks.
+     * Hits go through the same handlers as physics contacts, which ignore repeat hits, so a target that
+     * physics also reports later in the step is only hit once.
+     * <p>
+     * Projectiles that can't be swept get dyn4j's continuous collision detection for the step instead,
+     * if they are fast enough to need it over the step's length.
+     *
+     * @param deltaTime     length of the coming physics step
+     * @param raycastService the game's raycasting
+     */
+    public void sweepProjectiles(double deltaTime, RaycastService raycastService) {
+        for (Projectile projectile : gameEntities.getAllProjectiles()) {
+            if (!projectile.isActive()) {
+                continue;
+            }
+            Body body = projectile.getBody();
+            Vector2 velocity = body.getLinearVelocity();
+            boolean fast = Projectile.isFasterThanOwnSize(velocity.getMagnitude(), deltaTime, projectile.getOrdinance());
+            if (!projectile.isSweptHitTest()) {
+                // Only fast projectiles that can't be swept pay for dyn4j's continuous collision detection
+                body.setBullet(fast);
+                continue;
+            }
+            if (!fast) {
+                continue; // Discrete collision checks can't miss anything at this speed
+            }
+
+            Vector2 start = body.getTransform().getTranslation().copy();
+            Vector2 end = start.copy().add(velocity.x * deltaTime, velocity.y * deltaTime);
+            RaycastService.RayHits hits = raycastService.castAll(start, end);
+            for (int i = 0; i < hits.size() && projectile.isActive(); i++) {
+                Object userData = hits.getUserData(i);
+                if ("boundary".equals(userData)) {
+                    projectile.setActive(false);
+                } else if (userData instanceof GameEntity target && isSweepTarget(target)) {
+                    // Effects are placed at the projectile's position, so move it to the point of impact
+                    double distance = hits.getDistance(i);
+                    double fraction = distance / start.distance(end);
+                    body.getTransform().setTranslation(
+                            start.x + (end.x - start.x) * fraction,
+                            start.y + (end.y - start.y) * fraction);
+                    boolean resolve = handleEntityCollision(projectile, target);
+                    if (projectile.isActive()) {
+                        body.getTransform().setTranslation(start.x, start.y);
+                    }
+                    if (resolve) {
+                        break; // Physics has to resolve this contact; leave the rest of the path to it
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isSweepTarget(GameEntity target) {
+        return switch (target.getKind()) {
+            case PLAYER, OBSTACLE, TURRET, HEADQUARTERS -> true;
+            default -> false;
+        };
+    }
+
+    private static double maxQueriedRadius() {
+        double max = Math.max(Config.PLAYER_RADIUS, NetProjectile.RADIUS);
+        for (Ordinance ordinance : Ordinance.values()) {
+            max = Math.max(max, ordinance.getSize());
+        }
+        return max;
+    }
+
     /**
      * Update all KOTH zones - called once per physics step with proper deltaTime.
      * This ensures scoring is frame-rate independent.
+     * Players enter a zone through its sensor contacts; here the players already in a zone are checked
+     * for having left it, and control is recomputed only if anyone entered or left.
      */
     public void updateKothZones(double deltaTime) {
         for (KothZone zone : gameEntities.getAllKothZones()) {
+            zone.removePlayersIf(player -> hasLeft(player, zone, KothZone.OCCUPANCY_REACH));
+            if (zone.refreshControl()) {
+                gameEntities.getWorldFacts().touch(WorldFact.KOTH_ZONES);
+            }
             if (zone.shouldAwardPoints()) {
                 double points = zone.getPointsPerSecond() * deltaTime;
                 if (points > 0) {
                     zone.awardPointsToTeam(zone.getControllingTeam(), points);
                 }
             }
-            zone.clearPlayers();
         }
     }
 
@@ -895,8 +1030,8 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
      * Awards points to the player currently carrying the oddball.
      */
     public void updateOddball(double deltaTime) {
-        for (Flag flag : gameEntities.getAllFlags()) {
-            if (flag.isOddball() && flag.isCarried()) {
+        for (Flag flag : gameEntities.getAllOddballs()) {
+            if (flag.isCarried()) {
                 int carrierId = flag.getCarriedByPlayerId();
                 Player carrier = gameEntities.getPlayer(carrierId);
 
@@ -911,20 +1046,38 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
         }
     }
 
+    /**
+     * Check the players at each workshop for having left it; their crafting progress is dropped on the
+     * following update unless they come back in the meantime.
+     */
     public void updateWorkshops(double deltaTime) {
         for (Workshop workshop : gameEntities.getAllWorkshops()) {
             if (!workshop.isActive()) {
                 continue;
             }
-            // all present players should have been resolved
-            // remove progress for players who are not preset
-            Set<Integer> presentIds = workshop.getPresentPlayers().stream().map(GameEntity::getId).collect(Collectors.toSet());
-            workshop.getPlayerProgress().keySet().removeIf(id -> !presentIds.contains(id));
-            // then clear the present players so the set can be re-calculated next world step
-            workshop.getPresentPlayers().clear();
+            workshop.updateOccupancy(player -> isGone(player) || !workshop.isInReach(player.getPosition()));
         }
     }
 
+    /**
+     * Whether a player counted on an objective has left it: moved out of reach, died, or left the game.
+     */
+    private boolean hasLeft(Player player, GameEntity objective, double reach) {
+        if (isGone(player)) {
+            return true;
+        }
+        double dx = player.getBody().getTransform().getTranslationX() - objective.getBody().getTransform().getTranslationX();
+        double dy = player.getBody().getTransform().getTranslationY() - objective.getBody().getTransform().getTranslationY();
+        return dx * dx + dy * dy > reach * reach;
+    }
+
+    /**
+     * Whether a player can no longer be counted on any objective: died or left the game.
+     */
+    private boolean isGone(Player player) {
+        return !player.isActive() || player.getHealth() <= 0 || gameEntities.getPlayer(player.getId()) != player;
+    }
+
     /**
      * Check if a projectile can damage an obstacle based on team rules.
      * Projectiles cannot damage obstacles created by teammates.
@@ -955,12 +1108,12 @@ public class CollisionProcessor implements CollisionListener<Body, BodyFixture>
 
         // Randomly select a power-up type
         PowerUp.PowerUpType[] powerUpTypes = PowerUp.PowerUpType.values();
-        PowerUp.PowerUpType selectedType = powerUpTypes[ThreadLocalRandom.current().nextInt(powerUpTypes.length)];
+        PowerUp.PowerUpType selectedType = powerUpTypes[GameRandom.current().nextInt(powerUpTypes.length)];
 
         // Calculate spawn position around the workshop
         Vector2 workshopPos = workshop.getPosition();
-        double spawnRadius = 40.0 + ThreadLocalRandom.current().nextDouble(20.0); // 40-60 units from workshop
-        double spawnAngle = ThreadLocalRandom.current().nextDouble(Math.PI * 2);
+        double spawnRadius = 40.0 + GameRandom.current().nextDouble(20.0); // 40-60 units from workshop
+        double spawnAngle = GameRandom.current().nextDouble(Math.PI * 2);
 
         Vector2 spawnPos = new Vector2(
                 workshopPos.x + Math.cos(spawnAngle) * spawnRadius,
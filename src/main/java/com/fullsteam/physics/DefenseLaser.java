@@ -1,5 +1,6 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.Ordinance;
 import lombok.Getter;
@@ -27,7 +28,6 @@ public class DefenseLaser extends GameEntity {
     private final double beamLength;
     private final double rotationSpeed; // radians per second
     private final double damage;
-    private final long expires;
     
     // Three rotating beams
     private final List<Beam> beams = new ArrayList<>();
@@ -42,7 +42,7 @@ public class DefenseLaser extends GameEntity {
         this.beamLength = 200.0;
         this.rotationSpeed = Math.PI / 2.0; // 90 degrees per second
         this.damage = 40.0; // Moderate DOT damage
-        this.expires = (long) (System.currentTimeMillis() + (lifespan * 1000));
+        this.expires = (long) (GameClock.currentTimeMillis() + (lifespan * 1000));
         this.world = world;
         
         // Create initial beams at 120-degree intervals
@@ -92,8 +92,8 @@ public class DefenseLaser extends GameEntity {
         }
 
         // Check expiration
-        if (System.currentTimeMillis() > expires) {
-            active = false;
+        if (GameClock.currentTimeMillis() > expires) {
+            setActive(false);
             return;
         }
 
@@ -101,7 +101,7 @@ public class DefenseLaser extends GameEntity {
         currentRotation += rotationSpeed * deltaTime;
         updateBeamPositions();
         
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.model.FieldEffect;
+
+/**
+ * Compact classification of game entities, used to index per-pair lookup tables
+ * (e.g. collision handlers) instead of walking instanceof chains.
+ */
+public enum EntityKind {
+    PLAYER,
+    PROJECTILE,
+    NET_PROJECTILE,
+    BEAM,
+    OBSTACLE,
+    WORKSHOP,
+    FIELD_EFFECT,
+    TURRET,
+    FLAG,
+    KOTH_ZONE,
+    POWER_UP,
+    HEADQUARTERS,
+    DEFENSE_LASER,
+    TELEPORT_PAD,
+    OTHER;
+
+    public static final int COUNT = values().length;
+
+    /**
+     * Classify an entity. Called once per entity at construction time.
+     */
+    static EntityKind of(GameEntity entity) {
+        if (entity instanceof Player) {
+            return PLAYER;
+        } else if (entity instanceof Projectile) {
+            return PROJECTILE;
+        } else if (entity instanceof NetProjectile) {
+            return NET_PROJECTILE;
+        } else if (entity instanceof Beam) {
+            return BEAM;
+        } else if (entity instanceof Workshop) {
+            return WORKSHOP; // Must be checked before Obstacle, which it extends
+        } else if (entity instanceof Obstacle) {
+            return OBSTACLE;
+        } else if (entity instanceof FieldEffect) {
+            return FIELD_EFFECT;
+        } else if (entity instanceof Turret) {
+            return TURRET;
+        } else if (entity instanceof Flag) {
+            return FLAG;
+        } else if (entity instanceof KothZone) {
+            return KOTH_ZONE;
+        } else if (entity instanceof PowerUp) {
+            return POWER_UP;
+        } else if (entity instanceof Headquarters) {
+            return HEADQUARTERS;
+        } else if (entity instanceof DefenseLaser) {
+            return DEFENSE_LASER;
+        } else if (entity instanceof TeleportPad) {
+            return TELEPORT_PAD;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,89 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.model.FieldEffect;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform spatial grid of active field effects, rebuilt once per tick.
+ * <p>
+ * Each field effect is inserted into every cell its circle touches, padded by the largest radius of
+ * any entity that will be queried. A query therefore only needs the single cell containing the
+ * entity's center, and never sees the same field effect twice. Cell lists are reused between ticks.
+ */
+public class FieldEffectGrid {
+    private final double cellSize;
+    private final double padding;
+    private final Map<Long, List<FieldEffect>> cells = new HashMap<>();
+    private int size = 0;
+
+    /**
+     * @param cellSize width and height of each grid cell
+     * @param padding  largest radius of any entity that will be queried
+     */
+    public FieldEffectGrid(double cellSize, double padding) {
+        this.cellSize = cellSize;
+        this.padding = padding;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        for (List<FieldEffect> cell : cells.values()) {
+            cell.clear();
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void insert(FieldEffect fieldEffect) {
+        double x = fieldEffect.getBody().getTransform().getTranslationX();
+        double y = fieldEffect.getBody().getTransform().getTranslationY();
+        double reach = fieldEffect.getRadius() + padding;
+        int minX = cell(x - reach);
+        int maxX = cell(x + reach);
+        int minY = cell(y - reach);
+        int maxY = cell(y + reach);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>()).add(fieldEffect);
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Field effects that may overlap an entity centered at the given point.
+     * The returned list is owned by the grid and only valid until the next rebuild.
+     */
+    public List<FieldEffect> candidates(double x, double y) {
+        List<FieldEffect> cell = cells.get(key(cell(x), cell(y)));
+        return cell != null ? cell : Collections.emptyList();
+    }
+
+    /**
+     * Whether a circular entity overlaps the field effect's current radius.
+     */
+    public static boolean overlaps(FieldEffect fieldEffect, double x, double y, double entityRadius) {
+        double dx = fieldEffect.getBody().getTransform().getTranslationX() - x;
+        double dy = fieldEffect.getBody().getTransform().getTranslationY() - y;
+        double reach = fieldEffect.getRadius() + entityRadius;
+        return dx * dx + dy * dy <= reach * reach;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -93,7 +94,7 @@ public class Flag extends GameEntity {
      */
     public void capture() {
         this.captureCount++;
-        this.lastCaptureTime = System.currentTimeMillis();
+        this.lastCaptureTime = GameClock.currentTimeMillis();
         returnToHome();
     }
     
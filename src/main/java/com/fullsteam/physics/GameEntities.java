@@ -4,6 +4,9 @@ import com.fullsteam.games.GameConfig;
 import com.fullsteam.model.FieldEffect;
 import com.fullsteam.model.PlayerInput;
 import com.fullsteam.model.PlayerSession;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.TimingWheel;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.world.World;
@@ -15,8 +18,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +39,7 @@ public class GameEntities {
     protected final Map<Integer, PlayerInput> playerInputs = new ConcurrentSkipListMap<>();
     private final Map<Integer, Player> players = new ConcurrentSkipListMap<>();
     private final Map<Integer, Projectile> projectiles = new ConcurrentSkipListMap<>();
+    private final ProjectilePool projectilePool = new ProjectilePool();
     private final Map<Integer, Obstacle> obstacles = new ConcurrentSkipListMap<>();
     private final Map<Integer, FieldEffect> fieldEffects = new ConcurrentSkipListMap<>();
 
@@ -46,6 +52,8 @@ public class GameEntities {
 
     // Capture the Flag entities
     private final Map<Integer, Flag> flags = new ConcurrentSkipListMap<>();
+    // The subset of flags that are oddballs, so oddball scoring doesn't scan capture the flag flags
+    private final Map<Integer, Flag> oddballs = new ConcurrentSkipListMap<>();
 
     // King of the Hill entities
     private final Map<Integer, KothZone> kothZones = new ConcurrentSkipListMap<>();
@@ -61,6 +69,23 @@ public class GameEntities {
     private final Map<Integer, Integer> teamVips = new ConcurrentSkipListMap<>();
 
     private final Deque<Runnable> postWorldUpdateHooks = new ConcurrentLinkedDeque<>();
+    // Hooks waiting for their game time to come, ordered by due time
+    private final PriorityQueue<DelayedHook> delayedHooks = new PriorityQueue<>(Comparator.comparingLong(DelayedHook::dueTime));
+
+    // Version counters for world facts read by AI priority scoring
+    private final WorldFactTracker worldFacts = new WorldFactTracker();
+
+    // Lifetime expiries of tracked entities, one wheel slot per game loop tick
+    private static final long EXPIRY_TICK_MILLIS = 16;
+    @Getter(AccessLevel.NONE)
+    private final TimingWheel<GameEntity> expiries = new TimingWheel<>(GameClock.currentTimeMillis() / EXPIRY_TICK_MILLIS);
+    // Tracked entities that went inactive since the last cleanup
+    @Getter(AccessLevel.NONE)
+    private final Deque<GameEntity> deactivated = new ConcurrentLinkedDeque<>();
+
+    // Scoreboards following player and KOTH zone scores
+    @Getter(AccessLevel.NONE)
+    private final List<ScoreListener> scoreListeners = new CopyOnWriteArrayList<>();
 
     public GameEntities(GameConfig config, World<Body> world) {
         this.config = config;
@@ -81,10 +106,37 @@ public class GameEntities {
 
     public void addPlayer(Player player) {
         players.put(player.getId(), player);
+        player.setScoreListener(this::playerScoreChanged);
+        playerScoreChanged(player);
     }
 
     public void removePlayer(int playerId) {
-        players.remove(playerId);
+        Player player = players.remove(playerId);
+        if (player != null) {
+            player.setScoreListener(null);
+            for (ScoreListener listener : scoreListeners) {
+                listener.playerRemoved(player);
+            }
+        }
+    }
+
+    /**
+     * Follow the scores of all current and future players and KOTH zones.
+     */
+    public void addScoreListener(ScoreListener listener) {
+        scoreListeners.add(listener);
+    }
+
+    private void playerScoreChanged(Player player) {
+        for (ScoreListener listener : scoreListeners) {
+            listener.playerScoreChanged(player);
+        }
+    }
+
+    private void zoneScoreChanged(KothZone zone, int team) {
+        for (ScoreListener listener : scoreListeners) {
+            listener.zoneScoreChanged(zone, team);
+        }
     }
 
     public Player getPlayer(int playerId) {
@@ -111,6 +163,8 @@ public class GameEntities {
 
     public void addObstacle(Obstacle obstacle) {
         obstacles.put(obstacle.getId(), obstacle);
+        track(obstacle);
+        worldFacts.touch(WorldFact.OBSTACLES);
 
         if (obstacle.getOwnerId() > 0) {
             List<Obstacle> forOwner = obstacles.values()
@@ -130,8 +184,7 @@ public class GameEntities {
     }
 
     /**
-     * Remove inactive entities across all collections.
-     * This is useful for cleanup operations.
+     * Remove expired and inactive obstacles, field effects, utility entities and power-ups.
      * <p>
      * Note: Players and Projectiles are handled separately in GameManager.update()
      * for more fine-grained control over their lifecycle and effects.
@@ -159,84 +212,80 @@ public class GameEntities {
 //            return false;
 //        });
 
-        // Remove expired obstacles
-        obstacles.entrySet().removeIf(entry -> {
-            Obstacle o = entry.getValue();
-            if (o.isExpired()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+        // Lifetimes are kept on the timing wheel and deactivations are queued as they happen,
+        // so only the entities that actually expired or went inactive are visited
+        expiries.advance(GameClock.currentTimeMillis() / EXPIRY_TICK_MILLIS, this::expire);
 
-        // Remove expired field effects
-        fieldEffects.entrySet().removeIf(entry -> {
-            FieldEffect o = entry.getValue();
-            if (o.isExpired() || !o.isActive()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
-
-        // Remove expired utility entities
-        turrets.entrySet().removeIf(entry -> {
-            Turret o = entry.getValue();
-            if (o.isExpired()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+        GameEntity entity;
+        while ((entity = deactivated.poll()) != null) {
+            remove(entity);
+        }
 
-        netProjectiles.entrySet().removeIf(entry -> {
-            NetProjectile o = entry.getValue();
-            if (o.isExpired()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+        // Note: Flags are intentionally NOT cleaned up here as they persist for the entire game
+        // Flags are only removed when a game ends or when explicitly removed via removeFlag()
+    }
 
-        teleportPads.entrySet().removeIf(entry -> {
-            TeleportPad o = entry.getValue();
-            if (o.isExpired()) {
-                o.destroy();
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+    /**
+     * Start tracking an entity that was added to one of the cleaned up collections:
+     * queue it for removal when it goes inactive and schedule its expiry, if it has one.
+     */
+    private void track(GameEntity entity) {
+        entity.setDeactivationListener(deactivated::offer);
+        if (!entity.isActive()) {
+            deactivated.offer(entity);
+        }
+        scheduleExpiry(entity);
+    }
 
-        defenseLasers.entrySet().removeIf(entry -> {
-            DefenseLaser o = entry.getValue();
-            if (!o.isActive()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+    private void scheduleExpiry(GameEntity entity) {
+        if (entity.getExpires() > 0) {
+            // First tick that starts after the expiry time, when isExpired() is guaranteed to hold
+            expiries.schedule(entity.getExpires() / EXPIRY_TICK_MILLIS + 1, entity);
+        }
+    }
 
-        beams.entrySet().removeIf(entry -> {
-            Beam o = entry.getValue();
-            if (o.isExpired()) {
-                world.removeBody(o.getBody());
-                return true;
-            }
-            return false;
-        });
+    private void expire(GameEntity entity) {
+        Map<Integer, ? extends GameEntity> collection = trackedCollection(entity.getKind());
+        if (collection == null || collection.get(entity.getId()) != entity) {
+            return; // Already removed
+        }
+        if (entity.isExpired()) {
+            remove(entity);
+        } else {
+            scheduleExpiry(entity); // Lifetime was extended
+        }
+    }
 
-        powerUps.entrySet().removeIf(entry -> {
-            PowerUp o = entry.getValue();
-            if (o.isExpired()) {
-                world.removeBody(o.getBody());
-                return true;
+    private void remove(GameEntity entity) {
+        Map<Integer, ? extends GameEntity> collection = trackedCollection(entity.getKind());
+        if (collection == null || !collection.remove(entity.getId(), entity)) {
+            return;
+        }
+        switch (entity.getKind()) {
+            case OBSTACLE -> worldFacts.touch(WorldFact.OBSTACLES);
+            case POWER_UP -> worldFacts.touch(WorldFact.POWER_UPS);
+            case TELEPORT_PAD -> ((TeleportPad) entity).destroy();
+            default -> {
             }
-            return false;
-        });
+        }
+        // Field effects are not part of the physics world
+        if (entity.getKind() != EntityKind.FIELD_EFFECT) {
+            world.removeBody(entity.getBody());
+        }
+    }
 
-        // Note: Flags are intentionally NOT cleaned up here as they persist for the entire game
-        // Flags are only removed when a game ends or when explicitly removed via removeFlag()
+    private Map<Integer, ? extends GameEntity> trackedCollection(EntityKind kind) {
+        return switch (kind) {
+            case OBSTACLE -> obstacles;
+            case FIELD_EFFECT -> fieldEffects;
+            case TURRET -> turrets;
+            case DEFENSE_LASER -> defenseLasers;
+            case NET_PROJECTILE -> netProjectiles;
+            case TELEPORT_PAD -> teleportPads;
+            case BEAM -> beams;
+            case POWER_UP -> powerUps;
+            default -> null;
+        };
     }
 
     /**
@@ -253,7 +302,14 @@ public class GameEntities {
         netProjectiles.values().forEach(net -> net.update(deltaTime));
         teleportPads.values().forEach(pad -> pad.update(deltaTime));
         beams.values().forEach(beam -> beam.update(deltaTime));
-        kothZones.values().forEach(zone -> zone.update(deltaTime));
+        kothZones.values().forEach(zone -> {
+            KothZone.ZoneState previousState = zone.getState();
+            int previousController = zone.getControllingTeam();
+            zone.update(deltaTime);
+            if (zone.getState() != previousState || zone.getControllingTeam() != previousController) {
+                worldFacts.touch(WorldFact.KOTH_ZONES);
+            }
+        });
         workshops.values().forEach(workshop -> workshop.update(deltaTime));
         powerUps.values().forEach(powerUp -> powerUp.update(deltaTime));
         headquarters.values().forEach(hq -> hq.update(deltaTime));
@@ -265,6 +321,7 @@ public class GameEntities {
 
     public void addFieldEffect(FieldEffect fieldEffect) {
         fieldEffects.put(fieldEffect.getId(), fieldEffect);
+        track(fieldEffect);
     }
 
     public FieldEffect removeFieldEffect(int id) {
@@ -280,6 +337,7 @@ public class GameEntities {
     // Turret management
     public void addTurret(Turret turret) {
         turrets.put(turret.getId(), turret);
+        track(turret);
 
         List<Turret> forOwner = turrets.values()
                 .stream()
@@ -299,6 +357,7 @@ public class GameEntities {
     // Defense laser management
     public void addDefenseLaser(DefenseLaser defenseLaser) {
         defenseLasers.put(defenseLaser.getId(), defenseLaser);
+        track(defenseLaser);
     }
 
     public Collection<DefenseLaser> getAllDefenseLasers() {
@@ -308,6 +367,7 @@ public class GameEntities {
     // Net projectile management
     public void addNetProjectile(NetProjectile netProjectile) {
         netProjectiles.put(netProjectile.getId(), netProjectile);
+        track(netProjectile);
     }
 
     public NetProjectile getNetProjectile(int netId) {
@@ -322,6 +382,7 @@ public class GameEntities {
     // TeleportPad management
     public void addTeleportPad(TeleportPad teleportPad) {
         teleportPads.put(teleportPad.getId(), teleportPad);
+        track(teleportPad);
 
         List<TeleportPad> padsForOwner = teleportPads.values()
                 .stream()
@@ -344,6 +405,7 @@ public class GameEntities {
 
     public void addBeam(Beam beam) {
         beams.put(beam.getId(), beam);
+        track(beam);
     }
 
     public Beam getBeam(int beamId) {
@@ -358,13 +420,19 @@ public class GameEntities {
 
     public void addFlag(Flag flag) {
         flags.put(flag.getId(), flag);
+        if (flag.isOddball()) {
+            oddballs.put(flag.getId(), flag);
+        }
+        worldFacts.touch(WorldFact.FLAGS);
     }
 
     public void removeFlag(int flagId) {
         Flag flag = flags.remove(flagId);
+        oddballs.remove(flagId);
         if (flag != null && flag.getBody() != null) {
             world.removeBody(flag.getBody());
         }
+        worldFacts.touch(WorldFact.FLAGS);
     }
 
     public Flag getFlag(int flagId) {
@@ -379,17 +447,33 @@ public class GameEntities {
         return flags;
     }
 
+    public Collection<Flag> getAllOddballs() {
+        return oddballs.values();
+    }
+
     // ===== KOTH Zone Management =====
 
     public void addKothZone(KothZone zone) {
         kothZones.put(zone.getId(), zone);
+        zone.setScoreListener(team -> zoneScoreChanged(zone, team));
+        for (Integer team : zone.getTeamScores().keySet()) {
+            zoneScoreChanged(zone, team);
+        }
+        worldFacts.touch(WorldFact.KOTH_ZONES);
     }
 
     public void removeKothZone(int zoneId) {
         KothZone zone = kothZones.remove(zoneId);
+        if (zone != null) {
+            zone.setScoreListener(null);
+            for (ScoreListener listener : scoreListeners) {
+                listener.zoneRemoved(zone);
+            }
+        }
         if (zone != null && zone.getBody() != null) {
             world.removeBody(zone.getBody());
         }
+        worldFacts.touch(WorldFact.KOTH_ZONES);
     }
 
     public KothZone getKothZone(int zoneId) {
@@ -408,17 +492,35 @@ public class GameEntities {
         postWorldUpdateHooks.offer(Objects.requireNonNull(runnable));
     }
 
+    /**
+     * Run a hook after the world update once the given delay of game time has passed.
+     * Must be called from the game loop.
+     */
+    public void addDelayedPostUpdateHook(long delayMillis, Runnable runnable) {
+        delayedHooks.offer(new DelayedHook(GameClock.currentTimeMillis() + delayMillis, Objects.requireNonNull(runnable)));
+    }
+
     public void runPostUpdateHooks() {
+        long now = GameClock.currentTimeMillis();
+        DelayedHook delayed;
+        while ((delayed = delayedHooks.peek()) != null && delayed.dueTime() <= now) {
+            postWorldUpdateHooks.offer(delayedHooks.poll().hook());
+        }
+
         Runnable hook;
         while ((hook = postWorldUpdateHooks.poll()) != null) {
             hook.run();
         }
     }
 
+    private record DelayedHook(long dueTime, Runnable hook) {
+    }
+
     // ===== Workshop Management =====
 
     public void addWorkshop(Workshop workshop) {
         workshops.put(workshop.getId(), workshop);
+        worldFacts.touch(WorldFact.WORKSHOPS);
     }
 
     public Workshop getWorkshop(int workshopId) {
@@ -431,12 +533,15 @@ public class GameEntities {
 
     public void removeWorkshop(int workshopId) {
         workshops.remove(workshopId);
+        worldFacts.touch(WorldFact.WORKSHOPS);
     }
 
     // ===== Power-Up Management =====
 
     public void addPowerUp(PowerUp powerUp) {
         powerUps.put(powerUp.getId(), powerUp);
+        track(powerUp);
+        worldFacts.touch(WorldFact.POWER_UPS);
     }
 
     public PowerUp getPowerUp(int powerUpId) {
@@ -449,6 +554,7 @@ public class GameEntities {
 
     public void removePowerUp(int powerUpId) {
         powerUps.remove(powerUpId);
+        worldFacts.touch(WorldFact.POWER_UPS);
     }
 
     /**
@@ -464,6 +570,7 @@ public class GameEntities {
 
     public void addHeadquarters(Headquarters hq) {
         headquarters.put(hq.getId(), hq);
+        worldFacts.touch(WorldFact.HEADQUARTERS);
     }
 
     public Headquarters getHeadquarters(int hqId) {
@@ -476,6 +583,7 @@ public class GameEntities {
 
     public void removeHeadquarters(int hqId) {
         headquarters.remove(hqId);
+        worldFacts.touch(WorldFact.HEADQUARTERS);
     }
 
     /**
@@ -1,10 +1,16 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.geometry.Vector2;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Data
 public abstract class GameEntity {
@@ -14,19 +20,27 @@ public abstract class GameEntity {
     protected double maxHealth;
     protected boolean active = true;
     protected long lastUpdateTime;
-    protected final long created = System.currentTimeMillis();
+    protected final long created = GameClock.currentTimeMillis();
     protected long expires = -1L;
+    protected final EntityKind kind = EntityKind.of(this);
+
+    // Notified when the entity goes inactive, so its container can remove it without sweeping
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private Consumer<GameEntity> deactivationListener;
 
     public GameEntity(int id, Body body, double health) {
         this.id = id;
         this.body = body;
         this.health = health;
         this.maxHealth = health;
-        this.lastUpdateTime = System.currentTimeMillis();
+        this.lastUpdateTime = GameClock.currentTimeMillis();
         body.setAtRest(false);
         body.setAtRestDetectionEnabled(false);
         body.setEnabled(true);
         body.setUserData(this);
+        CollisionCategories.apply(this);
     }
 
     public double healthPercent() {
@@ -34,7 +48,7 @@ public abstract class GameEntity {
     }
 
     public void update(double deltaTime) {
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
 
     public Vector2 getPosition() {
@@ -69,11 +83,19 @@ public abstract class GameEntity {
         boolean wasActive = active;
         health -= damage;
         if (health <= 0) {
-            active = false;
+            setActive(false);
         }
         return wasActive && !active; // Return true if entity became inactive
     }
 
+    public void setActive(boolean active) {
+        boolean deactivated = this.active && !active;
+        this.active = active;
+        if (deactivated && deactivationListener != null) {
+            deactivationListener.accept(this);
+        }
+    }
+
     public void heal(double amount) {
         health = Math.min(maxHealth, health + amount);
     }
@@ -86,7 +108,7 @@ public abstract class GameEntity {
         if (!active) {
             return true;
         } else if (expires > 0) {
-            return System.currentTimeMillis() > expires;
+            return GameClock.currentTimeMillis() > expires;
         } else {
             return false;
         }
@@ -100,7 +122,7 @@ public abstract class GameEntity {
             return 0; // No duration set
         }
         long totalDuration = expires - created;
-        long remainingTime = expires - System.currentTimeMillis();
+        long remainingTime = expires - GameClock.currentTimeMillis();
         return Math.max(0, Math.min(1, (double) remainingTime / totalDuration));
     }
 
@@ -1,5 +1,6 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -48,7 +49,7 @@ public class Headquarters extends GameEntity {
         if (!active) {
             return;
         }
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
     
     /**
@@ -1,5 +1,7 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.Config;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -7,19 +9,27 @@ import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.MassType;
 import org.dyn4j.geometry.Vector2;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
 
 /**
  * King of the Hill zone - a circular area that awards points to the team with the most players inside.
  * Zones are sensor entities that detect player presence without physical collision.
+ * <p>
+ * Occupancy is tracked through enter and exit events with a running player count per team, so control
+ * is only recomputed when someone enters or leaves.
  */
 @Getter
 @Setter
 public class KothZone extends GameEntity {
     private static final double ZONE_RADIUS = 80.0; // Large enough for multiple players
+    // Farthest a player's center can be from the zone's center while still touching it
+    static final double OCCUPANCY_REACH = ZONE_RADIUS + Config.PLAYER_RADIUS;
 
     private final int zoneNumber; // 0-3 for up to 4 zones
     private final Vector2 homePosition; // Fixed position
@@ -29,13 +39,20 @@ public class KothZone extends GameEntity {
     private int controllingTeam = -1; // -1 = contested/neutral, 0+ = team number
     private ZoneState state = ZoneState.NEUTRAL;
 
-    /**
-     * -- GETTER --
-     * Get the players currently in the zone.
-     */
-    // Player tracking
-    private Set<Player> playersInZone = new HashSet<>();
+    // Player tracking: each player in the zone, with the team they entered for
+    @Getter(AccessLevel.NONE)
+    private final Map<Player, Integer> playersInZone = new HashMap<>();
+    // Players in the zone per team; teams without players have no entry
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, Integer> teamPlayerCounts = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean occupancyChanged = false;
     private final Map<Integer, Double> teamScores = new HashMap<>(); // teamNumber -> total points earned
+    // Notified with the team number whenever points are awarded; set while the zone is part of a game
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private IntConsumer scoreListener;
 
     public KothZone(int id, int zoneNumber, double x, double y, double pointsPerSecond) {
         super(id, createZoneBody(x, y), Double.POSITIVE_INFINITY); // Zones are indestructible
@@ -56,36 +73,94 @@ public class KothZone extends GameEntity {
 
     @Override
     public void update(double deltaTime) {
-        if (playersInZone.isEmpty()) {
+        refreshControl();
+    }
+
+    /**
+     * Recompute zone control if anyone entered or left since the last refresh.
+     *
+     * @return whether the zone's state or controlling team changed
+     */
+    boolean refreshControl() {
+        if (!occupancyChanged) {
+            return false;
+        }
+        occupancyChanged = false;
+        ZoneState previousState = state;
+        int previousController = controllingTeam;
+        if (teamPlayerCounts.isEmpty()) {
             state = ZoneState.NEUTRAL;
             controllingTeam = -1;
-            return;
-        }
-        long teamCount = playersInZone.stream().map(Player::getTeam).distinct().count();
-        boolean contested = teamCount > 1;
-        if (contested) {
+        } else if (teamPlayerCounts.size() > 1) {
             // Zone is contested - no team gets points
             state = ZoneState.CONTESTED;
             controllingTeam = -1;
         } else {
             // One team has majority - they control the zone immediately
             state = ZoneState.CONTROLLED;
-            controllingTeam = playersInZone.iterator().next().getTeam();
+            controllingTeam = teamPlayerCounts.keySet().iterator().next();
         }
+        return state != previousState || controllingTeam != previousController;
     }
 
     /**
-     * Add a player to the zone.
+     * Add a player to the zone. Adding a player who is already in the zone changes nothing.
      */
     public void addPlayer(Player player) {
-        playersInZone.add(player);
+        if (playersInZone.putIfAbsent(player, player.getTeam()) == null) {
+            teamPlayerCounts.merge(player.getTeam(), 1, Integer::sum);
+            occupancyChanged = true;
+        }
+    }
+
+    /**
+     * Remove a player from the zone.
+     */
+    public void removePlayer(Player player) {
+        Integer team = playersInZone.remove(player);
+        if (team != null) {
+            playerLeft(team);
+        }
+    }
+
+    /**
+     * Remove every player in the zone that matches the predicate. Nothing is checked while the zone is empty.
+     */
+    void removePlayersIf(Predicate<Player> departed) {
+        if (playersInZone.isEmpty()) {
+            return;
+        }
+        Iterator<Map.Entry<Player, Integer>> iterator = playersInZone.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Player, Integer> entry = iterator.next();
+            if (departed.test(entry.getKey())) {
+                iterator.remove();
+                playerLeft(entry.getValue());
+            }
+        }
+    }
+
+    private void playerLeft(int team) {
+        teamPlayerCounts.computeIfPresent(team, (t, count) -> count > 1 ? count - 1 : null);
+        occupancyChanged = true;
     }
 
     /**
      * Clear all players from the zone (e.g., at round end).
      */
     public void clearPlayers() {
-        playersInZone.clear();
+        if (!playersInZone.isEmpty()) {
+            playersInZone.clear();
+            teamPlayerCounts.clear();
+            occupancyChanged = true;
+        }
+    }
+
+    /**
+     * Get the players currently in the zone.
+     */
+    public Set<Player> getPlayersInZone() {
+        return Collections.unmodifiableSet(playersInZone.keySet());
     }
 
     /**
@@ -100,9 +175,7 @@ public class KothZone extends GameEntity {
      * Get the number of players from a specific team in the zone.
      */
     public int getTeamPlayerCount(int team) {
-        return (int) playersInZone.stream()
-                .filter(t -> t.getTeam() == team)
-                .count();
+        return teamPlayerCounts.getOrDefault(team, 0);
     }
 
     /**
@@ -128,6 +201,9 @@ public class KothZone extends GameEntity {
      */
     public void awardPointsToTeam(int team, double points) {
         teamScores.put(team, teamScores.getOrDefault(team, 0.0) + points);
+        if (scoreListener != null) {
+            scoreListener.accept(team);
+        }
     }
 
     /**
@@ -2,6 +2,7 @@ package com.fullsteam.physics;
 
 import com.fullsteam.Config;
 import com.fullsteam.games.StatusEffectManager;
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -15,6 +16,8 @@ import org.dyn4j.geometry.Vector2;
 @Getter
 @Setter
 public class NetProjectile extends GameEntity {
+    public static final double RADIUS = 8.0; // Slightly larger than normal projectiles
+
     private final int ownerId;
     private final int ownerTeam;
     private final double damage;
@@ -33,12 +36,12 @@ public class NetProjectile extends GameEntity {
         this.slowEffect = 10.0;
         this.slowDuration = 2.0;
         this.pushbackForce = Config.NET_PUSHBACK_FORCE;
-        this.expires = (long) (System.currentTimeMillis() + (timeToLive * 1000));
+        this.expires = (long) (GameClock.currentTimeMillis() + (timeToLive * 1000));
     }
 
     private static Body createNetProjectileBody(Vector2 position) {
         Body body = new Body();
-        Circle circle = new Circle(8.0); // Slightly larger than normal projectiles
+        Circle circle = new Circle(RADIUS);
         body.addFixture(circle);
         body.setMass(MassType.NORMAL);
         body.getTransform().setTranslation(position.x, position.y);
@@ -66,7 +69,7 @@ public class NetProjectile extends GameEntity {
             return;
         }
         hasHit = true;
-        active = false; // Net is consumed on hit
+        setActive(false); // Net is consumed on hit
 
         // Apply immobilization effect after pushback
         String ownerName = "Net"; // Default name if owner not found
@@ -1,5 +1,7 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import lombok.Getter;
 import org.dyn4j.dynamics.Body;
@@ -15,7 +17,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
 
 /**
  * Represents obstacles in the game world that support various geometric shapes.
@@ -71,7 +73,7 @@ public class Obstacle extends GameEntity {
         this.shapeCategory = determineShapeCategory(type);
         this.boundingRadius = calculateBoundingRadius();
         this.shapeData = generateShapeData();
-        this.expires = lifespan > 0 ? (long) (System.currentTimeMillis() + (lifespan * 1000)) : 0;
+        this.expires = lifespan > 0 ? (long) (GameClock.currentTimeMillis() + (lifespan * 1000)) : 0;
         getBody().setMass(MassType.INFINITE);
         getBody().setUserData(this);
     }
@@ -102,7 +104,7 @@ public class Obstacle extends GameEntity {
         body.getTransform().setTranslation(x, y);
 
         // Add completely chaotic rotation - any angle possible
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
         double rotation = random.nextDouble(0, Math.PI * 2);
 
         // 30% chance for "tilted" angles that look more chaotic
@@ -119,14 +121,14 @@ public class Obstacle extends GameEntity {
      * Create the appropriate shape based on obstacle type.
      */
     private static Convex createShapeForType(ObstacleType type) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
         return switch (type) {
             case BOULDER -> createCircularShape(random);
             case HOUSE -> createRectangularShape(random);
             case WALL_SEGMENT -> createWallShape(random);
             case TRIANGLE_ROCK -> createTriangularShape(random);
             case POLYGON_DEBRIS -> createIrregularPolygon(random);
-            case HEXAGON_CRYSTAL -> createRegularPolygon(ThreadLocalRandom.current().nextInt(4, 9), random);
+            case HEXAGON_CRYSTAL -> createRegularPolygon(GameRandom.current().nextInt(4, 9), random);
             case DIAMOND_STONE -> createDiamondShape(random);
             case L_SHAPED_WALL -> createLShape(random);
             case CROSS_BARRIER -> createCrossShape(random);
@@ -266,18 +268,18 @@ public class Obstacle extends GameEntity {
         return cleanList.toArray(new Vector2[0]);
     }
 
-    private static Convex createCircularShape(ThreadLocalRandom random) {
+    private static Convex createCircularShape(Random random) {
         double radius = random.nextDouble(120, 200);
         return new Circle(radius);
     }
 
-    private static Convex createRectangularShape(ThreadLocalRandom random) {
+    private static Convex createRectangularShape(Random random) {
         double width = random.nextDouble(80, 340);
         double height = random.nextDouble(60, 300);
         return new Rectangle(width, height);
     }
 
-    private static Convex createWallShape(ThreadLocalRandom random) {
+    private static Convex createWallShape(Random random) {
         // More dramatic wall variations
         double length, thickness;
 
@@ -298,7 +300,7 @@ public class Obstacle extends GameEntity {
         return new Rectangle(length, thickness);
     }
 
-    private static Convex createTriangularShape(ThreadLocalRandom random) {
+    private static Convex createTriangularShape(Random random) {
         double baseSize = random.nextDouble(15, 70);
 
         // 20% chance for massive jagged rocks
@@ -321,7 +323,7 @@ public class Obstacle extends GameEntity {
         return new Polygon(ensureCounterClockwiseWinding(vertices));
     }
 
-    private static Convex createIrregularPolygon(ThreadLocalRandom random) {
+    private static Convex createIrregularPolygon(Random random) {
         int sides = random.nextInt(4, 12); // 4-11 sided for more variety
         double baseRadius = random.nextDouble(15, 100);
 
@@ -354,7 +356,7 @@ public class Obstacle extends GameEntity {
         return new Polygon(ensureCounterClockwiseWinding(vertices));
     }
 
-    private static Convex createRegularPolygon(int sides, ThreadLocalRandom random) {
+    private static Convex createRegularPolygon(int sides, Random random) {
         double radius = random.nextDouble(18, 120);
 
         // 12% chance for massive crystal formations
@@ -379,7 +381,7 @@ public class Obstacle extends GameEntity {
         return new Polygon(ensureCounterClockwiseWinding(vertices));
     }
 
-    private static Convex createDiamondShape(ThreadLocalRandom random) {
+    private static Convex createDiamondShape(Random random) {
         double width = random.nextDouble(20, 120);
         double height = random.nextDouble(20, 120);
 
@@ -404,7 +406,7 @@ public class Obstacle extends GameEntity {
         return new Polygon(ensureCounterClockwiseWinding(vertices));
     }
 
-    private static Convex createLShape(ThreadLocalRandom random) {
+    private static Convex createLShape(Random random) {
         // Since L-shapes are inherently concave, create a convex approximation
         // Use an irregular pentagon that suggests an L-shape but remains convex
         double size = random.nextDouble(35, 80);
@@ -427,7 +429,7 @@ public class Obstacle extends GameEntity {
         return new Polygon(ensureCounterClockwiseWinding(vertices));
     }
 
-    private static Convex createCrossShape(ThreadLocalRandom random) {
+    private static Convex createCrossShape(Random random) {
         // Since cross shapes are inherently concave, create a convex approximation
         // Use a regular octagon with slight variations to suggest a cross
         double size = random.nextDouble(30, 70);
@@ -509,10 +511,10 @@ public class Obstacle extends GameEntity {
             if (!active) {
                 return;
             }
-            if (System.currentTimeMillis() > expires) {
-                active = false;
+            if (GameClock.currentTimeMillis() > expires) {
+                setActive(false);
             }
-            lastUpdateTime = System.currentTimeMillis();
+            lastUpdateTime = GameClock.currentTimeMillis();
         }
     }
 
@@ -520,7 +522,7 @@ public class Obstacle extends GameEntity {
      * Factory method to create extra chaotic obstacles with maximum randomization.
      */
     public static Obstacle createChaoticObstacle(double x, double y) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Random random = GameRandom.current();
 
         // Bias towards more interesting shapes for chaotic generation
         ObstacleType[] chaoticTypes = {
@@ -568,7 +570,7 @@ public class Obstacle extends GameEntity {
             }
             health -= damage;
             if (health <= 0) {
-                active = false;
+                setActive(false);
             }
             return !active; // Return true if barrier was destroyed
         }
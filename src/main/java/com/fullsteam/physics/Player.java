@@ -1,6 +1,8 @@
 package com.fullsteam.physics;
 
 import com.fullsteam.Config;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.AttributeModification;
 import com.fullsteam.model.Ordinance;
@@ -8,6 +10,7 @@ import com.fullsteam.model.PlayerInput;
 import com.fullsteam.model.UtilityWeapon;
 import com.fullsteam.model.Weapon;
 import com.fullsteam.model.WeaponConfig;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -15,11 +18,13 @@ import org.dyn4j.geometry.Circle;
 import org.dyn4j.geometry.MassType;
 import org.dyn4j.geometry.Vector2;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Getter
 @Setter
@@ -39,7 +44,25 @@ public class Player extends GameEntity {
     private long respawnTime = 0;
     private Vector2 respawnPoint;
     private double maxSpeed = Config.PLAYER_SPEED;
-    private final Set<AttributeModification> attributeModifications = new HashSet<>();
+    // Insertion ordered, so modifications apply in the same order every time a game is replayed
+    private final Set<AttributeModification> attributeModifications = new LinkedHashSet<>();
+
+    // Weapon with all attribute modifications applied; rebuilt only when the weapon or modifications change
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Weapon effectiveWeapon;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean effectiveWeaponDirty = true;
+    // Earliest expiration among the attribute modifications; nothing can expire before it
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long nextModificationExpiry = Long.MAX_VALUE;
+
+    // Notified when kills, captures or team change; set while the player is part of a game
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PACKAGE)
+    private Consumer<Player> scoreListener;
 
     private int livesRemaining = -1; // -1 = unlimited, 0 = eliminated
     private boolean eliminated = false; // Permanently eliminated (no more respawns)
@@ -74,24 +97,40 @@ public class Player extends GameEntity {
 
     @Override
     public void update(double deltaTime) {
-        attributeModifications.removeIf(am -> {
-            if (am.isExpired()) {
-                am.revert(this);
-                return true; // Remove expired modifications
-            }
+        long now = GameClock.currentTimeMillis();
+        if (now > nextModificationExpiry) {
+            expireAttributeModifications();
+        }
+        for (AttributeModification am : attributeModifications) {
             am.update(this, deltaTime);
-            return false; // Keep active modifications
-        });
+        }
 
         // Handle reloading
         if (isReloading) {
             reloadTimeRemaining -= deltaTime;
             if (reloadTimeRemaining <= 0) {
-                getCurrentWeapon().reload();
+                weapon.reload(); // Always reload primary weapon
                 isReloading = false;
             }
         }
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = now;
+    }
+
+    private void expireAttributeModifications() {
+        nextModificationExpiry = Long.MAX_VALUE;
+        boolean expired = attributeModifications.removeIf(am -> {
+            if (am.isExpired()) {
+                am.revert(this);
+                return true; // Remove expired modifications
+            }
+            if (am.getExpiration() > 0) {
+                nextModificationExpiry = Math.min(nextModificationExpiry, am.getExpiration());
+            }
+            return false; // Keep active modifications
+        });
+        if (expired) {
+            effectiveWeaponDirty = true;
+        }
     }
 
     public void processInput(PlayerInput input) {
@@ -153,7 +192,7 @@ public class Player extends GameEntity {
 
     public void applyWeaponConfig(WeaponConfig primary, UtilityWeapon utility) {
         if (primary != null) {
-            weapon = primary.buildWeapon();
+            setWeapon(primary.buildWeapon());
             weapon.reload();
         }
         if (utility != null) {
@@ -163,7 +202,7 @@ public class Player extends GameEntity {
 
     public boolean canShoot() {
         Weapon weapon = this.weapon;
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         double fireInterval = 1000.0 / weapon.getFireRate();
         // Check if we have enough ammo for at least one bullet (partial bursts are allowed)
         return isActive()
@@ -178,7 +217,7 @@ public class Player extends GameEntity {
             return false;
         }
 
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         double cooldownMs = utilityWeapon.getCooldown() * 1000.0;
         return (now - lastUtilityUseTime) >= cooldownMs;
     }
@@ -191,7 +230,12 @@ public class Player extends GameEntity {
         lastUtilityUseTime = 0;
     }
 
-    public List<Projectile> shoot() {
+    /**
+     * Fire the primary weapon.
+     *
+     * @param pool the game's projectile pool to draw bodies from, or null to always create new ones
+     */
+    public List<Projectile> shoot(ProjectilePool pool) {
         Weapon weapon = this.weapon; // Always use primary weapon
         if (!canShoot()) {
             if (!isReloading && weapon.getCurrentAmmo() <= 0) {
@@ -200,7 +244,7 @@ public class Player extends GameEntity {
             return List.of();
         }
 
-        lastShotTime = System.currentTimeMillis();
+        lastShotTime = GameClock.currentTimeMillis();
 
         Vector2 pos = getPosition();
         Vector2 baseDirection = aimDirection.copy();
@@ -213,20 +257,20 @@ public class Player extends GameEntity {
         // Calculate maximum accuracy-based spread for each bullet
         double maxAccuracySpread = (1.0 - weapon.getAccuracy()) * 0.17; // Reduced from 0.2 for multi-shot
 
-        List<Projectile> toFire = new LinkedList<>();
+        List<Projectile> toFire = new ArrayList<>(actualBulletsToFire);
         // Store additional projectiles for GameManager to retrieve
         double angle = baseAngle;
         for (int i = 0; i < actualBulletsToFire; i++) {
             // Apply random accuracy spread independently for each bullet
-            angle += (ThreadLocalRandom.current().nextDouble() - 0.5) * 2.0 * maxAccuracySpread;
+            angle += (GameRandom.current().nextDouble() - 0.5) * 2.0 * maxAccuracySpread;
 
             Vector2 direction = new Vector2(Math.cos(angle), Math.sin(angle));
             Vector2 velocity = direction.multiply(weapon.getProjectileSpeed());
 
             toFire.add(new Projectile(
                     id,
-                    pos.x + ((i > 0) ? ThreadLocalRandom.current().nextDouble(-3, 3) : 0),
-                    pos.y + ((i > 0) ? ThreadLocalRandom.current().nextDouble(-3, 3) : 0),
+                    pos.x + ((i > 0) ? GameRandom.current().nextDouble(-3, 3) : 0),
+                    pos.y + ((i > 0) ? GameRandom.current().nextDouble(-3, 3) : 0),
                     velocity.x,
                     velocity.y,
                     weapon.getDamage(),
@@ -234,7 +278,8 @@ public class Player extends GameEntity {
                     team,
                     weapon.getLinearDamping(),
                     weapon.getBulletEffects(),
-                    weapon.getOrdinance()
+                    weapon.getOrdinance(),
+                    pool
             ));
 
         }
@@ -255,7 +300,7 @@ public class Player extends GameEntity {
             return null;
         }
 
-        lastShotTime = System.currentTimeMillis();
+        lastShotTime = GameClock.currentTimeMillis();
         weapon.setCurrentAmmo(weapon.getCurrentAmmo() - 1); // Beams consume 1 ammo
 
         Vector2 pos = getPosition();
@@ -291,7 +336,7 @@ public class Player extends GameEntity {
             return null;
         }
 
-        lastUtilityUseTime = System.currentTimeMillis();
+        lastUtilityUseTime = GameClock.currentTimeMillis();
         Vector2 pos = getPosition();
 
         return new UtilityActivation(
@@ -331,21 +376,45 @@ public class Player extends GameEntity {
     }
 
     public void die() {
-        active = false;
+        setActive(false);
         deaths++;
         health = 0;
         attributeModifications.removeIf(am -> {
             am.revert(this);
             return true;
         });
+        effectiveWeaponDirty = true;
     }
 
     public void addKill() {
         kills++;
+        scoreChanged();
     }
 
     public void addCapture() {
         captures++;
+        scoreChanged();
+    }
+
+    public void setKills(int kills) {
+        this.kills = kills;
+        scoreChanged();
+    }
+
+    public void setCaptures(int captures) {
+        this.captures = captures;
+        scoreChanged();
+    }
+
+    public void setTeam(int team) {
+        this.team = team;
+        scoreChanged();
+    }
+
+    private void scoreChanged() {
+        if (scoreListener != null) {
+            scoreListener.accept(this);
+        }
     }
 
     /**
@@ -379,13 +448,91 @@ public class Player extends GameEntity {
         return livesRemaining != 0; // -1 (unlimited) or > 0
     }
 
+    public void setWeapon(Weapon weapon) {
+        this.weapon = weapon;
+        effectiveWeaponDirty = true;
+    }
+
+    /**
+     * Read-only view of the active attribute modifications.
+     * Use {@link #addAttributeModification} and {@link #removeAttributeModifications} to change them.
+     */
+    public Set<AttributeModification> getAttributeModifications() {
+        return Collections.unmodifiableSet(attributeModifications);
+    }
+
+    public void addAttributeModification(AttributeModification attributeModification) {
+        attributeModifications.add(attributeModification);
+        if (attributeModification.getExpiration() > 0) {
+            nextModificationExpiry = Math.min(nextModificationExpiry, attributeModification.getExpiration());
+        }
+        effectiveWeaponDirty = true;
+    }
+
+    /**
+     * Remove all attribute modifications matching the filter, without reverting them.
+     *
+     * @return true if any modification was removed
+     */
+    public boolean removeAttributeModifications(Predicate<AttributeModification> filter) {
+        boolean removed = attributeModifications.removeIf(filter);
+        if (removed) {
+            effectiveWeaponDirty = true;
+        }
+        return removed;
+    }
+
+    /**
+     * Get the primary weapon with all attribute modifications applied (utility weapons are handled separately).
+     * The result is cached until the weapon or the modifications change. Its ammo mirrors the primary weapon,
+     * but reloading or spending ammo must go through {@link #getWeapon()}.
+     */
     public Weapon getCurrentWeapon() {
-        // Always return primary weapon (utility weapons are handled separately)
-        Weapon w = weapon;
-        for (AttributeModification attributeModification : attributeModifications) {
-            w = attributeModification.update(w);
+        if (attributeModifications.isEmpty()) {
+            return weapon;
+        }
+        if (effectiveWeaponDirty || effectiveWeapon == null) {
+            Weapon w = weapon;
+            for (AttributeModification attributeModification : attributeModifications) {
+                w = attributeModification.update(w);
+            }
+            effectiveWeapon = w;
+            effectiveWeaponDirty = false;
+        }
+        if (effectiveWeapon != weapon) {
+            effectiveWeapon.setCurrentAmmo(weapon.getCurrentAmmo());
         }
-        return w;
+        return effectiveWeapon;
+    }
+
+    // Primitive accessors for the effective weapon stats, for hot paths that only need a number
+
+    public double getWeaponDamage() {
+        return getCurrentWeapon().getDamage();
+    }
+
+    public double getWeaponFireRate() {
+        return getCurrentWeapon().getFireRate();
+    }
+
+    public double getWeaponRange() {
+        return getCurrentWeapon().getRange();
+    }
+
+    public double getWeaponAccuracy() {
+        return getCurrentWeapon().getAccuracy();
+    }
+
+    public double getWeaponProjectileSpeed() {
+        return getCurrentWeapon().getProjectileSpeed();
+    }
+
+    public int getMagazineSize() {
+        return getCurrentWeapon().getMagazineSize();
+    }
+
+    public int getCurrentAmmo() {
+        return getCurrentWeapon().getCurrentAmmo();
     }
 
     /**
@@ -1,8 +1,10 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
 import com.fullsteam.util.IdGenerator;
 import com.fullsteam.model.BulletEffect;
 import com.fullsteam.model.Ordinance;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.dyn4j.dynamics.Body;
 import org.dyn4j.geometry.Circle;
@@ -24,20 +26,36 @@ public class Projectile extends GameEntity {
     private boolean hasExploded = false; // Track if explosive projectiles have already exploded
     private boolean dismissedByVelocity = false; // Track if dismissed due to low velocity
     private boolean dismissedByRange = false; // Track if dismissed due to reaching max range/time
+    private final boolean sweptHitTest; // Hit-tested along its path each tick instead of by physics CCD
 
-    // prevent double hits
-    private final Set<Integer> affectedPlayers;
-    private final Set<Integer> affectedObstacles;
+    // prevent double hits; most projectiles never hit anything, so these are created on first hit
+    @Getter(AccessLevel.NONE)
+    private Set<Integer> affectedPlayers;
+    @Getter(AccessLevel.NONE)
+    private Set<Integer> affectedObstacles;
 
     public Projectile(int ownerId, double x, double y, double vx, double vy, double damage, double maxRange,
                       int ownerTeam, double linearDamping, Set<BulletEffect> bulletEffects, Ordinance ordinance) {
-        super(IdGenerator.nextEntityId(), createProjectileBody(x, y, vx, vy, linearDamping, ordinance, bulletEffects), 1.0);
+        this(ownerId, x, y, vx, vy, damage, maxRange, ownerTeam, linearDamping, bulletEffects, ordinance, null);
+    }
+
+    /**
+     * Create a projectile whose body is taken from the given pool, if it has one to spare.
+     */
+    public Projectile(int ownerId, double x, double y, double vx, double vy, double damage, double maxRange,
+                      int ownerTeam, double linearDamping, Set<BulletEffect> bulletEffects, Ordinance ordinance,
+                      ProjectilePool pool) {
+        super(IdGenerator.nextEntityId(),
+                prepareBody(pool != null ? pool.acquire(ordinance) : null, x, y, vx, vy, linearDamping, ordinance, bulletEffects),
+                1.0);
         this.ownerId = ownerId;
         this.ownerTeam = ownerTeam;
         this.damage = damage;
         this.linearDamping = linearDamping;
-        this.bulletEffects = new HashSet<>(bulletEffects);
+        // Shared and in declaration order, so effects apply in the same order in every process
+        this.bulletEffects = BulletEffect.setOf(bulletEffects);
         this.ordinance = ordinance;
+        this.sweptHitTest = usesSweptHitTest(ordinance, bulletEffects);
 
         // Calculate time to live based on range and speed
         double speed = new Vector2(vx, vy).getMagnitude();
@@ -46,30 +64,61 @@ public class Projectile extends GameEntity {
         } else {
             this.timeToLive = 0; // Deactivate immediately if speed is zero
         }
-        this.affectedPlayers = new HashSet<>();
-        this.affectedObstacles = new HashSet<>();
     }
 
-    private static Body createProjectileBody(double x, double y, double vx, double vy, double linearDamping, Ordinance ordinance, Set<BulletEffect> bulletEffects) {
-        Body body = new Body();
-        Circle circle = new Circle(ordinance.getSize());
-        body.addFixture(circle);
-        
+    /**
+     * Set up a projectile body, either a new one (when {@code body} is null) or one recycled by a
+     * {@link ProjectilePool}. Recycled bodies already carry a fixture of the ordinance's size and were
+     * removed from the world, so only their motion and per-shot properties need resetting.
+     */
+    static Body prepareBody(Body body, double x, double y, double vx, double vy, double linearDamping, Ordinance ordinance, Set<BulletEffect> bulletEffects) {
+        if (body == null) {
+            body = new Body();
+            body.addFixture(new Circle(ordinance.getSize()));
+            body.setMass(MassType.NORMAL);
+        } else {
+            body.getTransform().identity();
+            body.setAngularVelocity(0);
+            body.clearForce();
+            body.clearTorque();
+            body.clearAccumulatedForce();
+            body.clearAccumulatedTorque();
+        }
+
         // Set restitution for bouncy projectiles
         if (bulletEffects.contains(BulletEffect.BOUNCY)) {
             body.getFixture(0).setRestitution(0.8); // High bounce - retains 80% of velocity
         } else {
             body.getFixture(0).setRestitution(0.0); // No bounce for non-bouncy projectiles
         }
-        
-        body.setMass(MassType.NORMAL);
+
         body.getTransform().setTranslation(x, y);
         body.setLinearVelocity(vx, vy);
-        body.setBullet(true);
         body.setLinearDamping(linearDamping);
+        // Whether it needs dyn4j's continuous collision detection depends on the length of the step,
+        // so CollisionProcessor#sweepProjectiles decides that before each one
+        body.setBullet(false);
         return body;
     }
 
+    /**
+     * Bouncing and homing projectiles don't travel in a straight line through the tick, so only plain
+     * straight-flying ordinances are swept.
+     */
+    static boolean usesSweptHitTest(Ordinance ordinance, Set<BulletEffect> bulletEffects) {
+        return ordinance.isSweptHitTest()
+               && !bulletEffects.contains(BulletEffect.BOUNCY)
+               && !bulletEffects.contains(BulletEffect.HOMING);
+    }
+
+    /**
+     * Whether a projectile moving at this speed travels further than its own diameter in one step,
+     * and so could pass through thin geometry between two discrete collision checks.
+     */
+    static boolean isFasterThanOwnSize(double speed, double stepSeconds, Ordinance ordinance) {
+        return speed * stepSeconds > ordinance.getSize() * 2;
+    }
+
     @Override
     public void update(double deltaTime) {
         if (!active) {
@@ -92,7 +141,7 @@ public class Projectile extends GameEntity {
             dismissedByVelocity = true;
             active = false;
         }
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
 
     /**
@@ -125,8 +174,28 @@ public class Projectile extends GameEntity {
         return bulletEffects.contains(effect);
     }
 
-    public Set<BulletEffect> getBulletEffects() {
-        return new HashSet<>(bulletEffects);
+    /**
+     * Record a hit on a player.
+     *
+     * @return false if this projectile already hit the player
+     */
+    public boolean markPlayerHit(int playerId) {
+        if (affectedPlayers == null) {
+            affectedPlayers = new HashSet<>(2);
+        }
+        return affectedPlayers.add(playerId);
+    }
+
+    /**
+     * Record a hit on an obstacle, turret or headquarters.
+     *
+     * @return false if this projectile already hit the entity
+     */
+    public boolean markObstacleHit(int entityId) {
+        if (affectedObstacles == null) {
+            affectedObstacles = new HashSet<>(2);
+        }
+        return affectedObstacles.add(entityId);
     }
 
     public void markAsExploded() {
@@ -0,0 +1,106 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.model.Ordinance;
+import org.dyn4j.dynamics.Body;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-game pool of projectile bodies.
+ * <p>
+ * Every shot used to build a new dyn4j {@link Body} with its own fixture, only to drop it once the
+ * projectile expired. Expired projectile bodies are now handed back here after they leave the world and
+ * reused by the next shot of the same ordinance (the fixture's radius depends on the ordinance).
+ * Projectile entities themselves are not recycled: their ids are how clients tell projectiles apart.
+ * <p>
+ * Only the game loop fires and removes projectiles, so the pool is not synchronized; the counters
+ * may be read from other threads for reporting.
+ */
+public class ProjectilePool {
+
+    /**
+     * Idle bodies kept per ordinance. Enough to cover a burst of shotgun and fragmentation fire;
+     * anything past this is left to the garbage collector.
+     */
+    static final int MAX_IDLE_PER_ORDINANCE = 256;
+
+    private static final Ordinance[] ORDINANCES = Ordinance.values();
+
+    @SuppressWarnings("unchecked")
+    private final Deque<Body>[] idle = new Deque[ORDINANCES.length];
+
+    private volatile long hits;
+    private volatile long misses;
+    private volatile long released;
+    private volatile long dropped;
+
+    public ProjectilePool() {
+        for (int i = 0; i < idle.length; i++) {
+            idle[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Take an idle body for the ordinance.
+     *
+     * @return the body to reuse, or null if the caller should create one
+     */
+    Body acquire(Ordinance ordinance) {
+        Body body = idle[ordinance.ordinal()].pollLast();
+        if (body != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return body;
+    }
+
+    /**
+     * Return a projectile's body to the pool. The body must already be removed from the world, and
+     * the projectile must not be used afterwards.
+     */
+    public void release(Projectile projectile) {
+        Body body = projectile.getBody();
+        body.setUserData(null);
+        Deque<Body> bodies = idle[projectile.getOrdinance().ordinal()];
+        if (bodies.size() < MAX_IDLE_PER_ORDINANCE) {
+            bodies.addLast(body);
+            released++;
+        } else {
+            dropped++;
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getReleased() {
+        return released;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Fraction of shots that reused a body, or 0 before the first shot.
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total : 0;
+    }
+
+    public int getIdleCount() {
+        int count = 0;
+        for (Deque<Body> bodies : idle) {
+            count += bodies.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fullsteam.physics;
+
+/**
+ * Receives changes to the scores kept on players and KOTH zones, so scoreboards can be
+ * updated as points are earned instead of being recomputed from every entity.
+ */
+public interface ScoreListener {
+
+    /**
+     * A player was added, or their kills or captures changed.
+     */
+    void playerScoreChanged(Player player);
+
+    void playerRemoved(Player player);
+
+    /**
+     * A KOTH zone was added, or awarded points to the given team.
+     */
+    void zoneScoreChanged(KothZone zone, int team);
+
+    void zoneRemoved(KothZone zone);
+}
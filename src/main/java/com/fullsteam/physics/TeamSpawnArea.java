@@ -1,9 +1,9 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameRandom;
 import lombok.Getter;
 import org.dyn4j.geometry.Vector2;
 
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a team's spawn area and future base location.
@@ -51,8 +51,8 @@ public class TeamSpawnArea {
      * @return Random spawn point within team area
      */
     public Vector2 generateSpawnPoint() {
-        double x = minBounds.x + ThreadLocalRandom.current().nextDouble() * (maxBounds.x - minBounds.x);
-        double y = minBounds.y + ThreadLocalRandom.current().nextDouble() * (maxBounds.y - minBounds.y);
+        double x = minBounds.x + GameRandom.current().nextDouble() * (maxBounds.x - minBounds.x);
+        double y = minBounds.y + GameRandom.current().nextDouble() * (maxBounds.y - minBounds.y);
         return new Vector2(x, y);
     }
     
@@ -113,7 +113,7 @@ public class TeamSpawnArea {
      */
     public Vector2 getDefensivePosition() {
         // Position 75% of the way from center to edge
-        double angle = ThreadLocalRandom.current().nextDouble() * 2 * Math.PI;
+        double angle = GameRandom.current().nextDouble() * 2 * Math.PI;
         double distance = Math.min(width, height) * 0.375; // 75% of half the smaller dimension
         
         return new Vector2(
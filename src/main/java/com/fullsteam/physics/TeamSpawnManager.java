@@ -1,6 +1,7 @@
 package com.fullsteam.physics;
 
 import com.fullsteam.Config;
+import com.fullsteam.util.GameRandom;
 import lombok.Getter;
 import org.dyn4j.geometry.Vector2;
 import org.slf4j.Logger;
@@ -185,8 +186,8 @@ public class TeamSpawnManager {
         double spawnWidth = Math.max(worldWidth - Config.PLAYER_RADIUS * 2, 50);
         double spawnHeight = Math.max(worldHeight - Config.PLAYER_RADIUS * 2, 50);
 
-        double x = (Math.random() - 0.5) * spawnWidth;
-        double y = (Math.random() - 0.5) * spawnHeight;
+        double x = (GameRandom.current().nextDouble() - 0.5) * spawnWidth;
+        double y = (GameRandom.current().nextDouble() - 0.5) * spawnHeight;
 
         return new Vector2(x, y);
     }
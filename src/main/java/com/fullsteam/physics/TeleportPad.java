@@ -1,5 +1,6 @@
 package com.fullsteam.physics;
 
+import com.fullsteam.util.GameClock;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -40,7 +41,7 @@ public class TeleportPad extends GameEntity {
         this.activationRadius = 25.0; // Players must be within this distance
         this.cooldownTime = 1.0; // 1 second cooldown between teleports
         this.maxLifespan = maxLifespan;
-        this.expires = (long) (System.currentTimeMillis() + (maxLifespan * 1000));
+        this.expires = (long) (GameClock.currentTimeMillis() + (maxLifespan * 1000));
     }
 
     private static Body createTeleportPadBody(Vector2 position) {
@@ -71,12 +72,12 @@ public class TeleportPad extends GameEntity {
         pulseTime += deltaTime * 3.0; // Fast pulsing
 
         // Clear recently teleported players after cooldown
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         if (currentTime - lastActivationTime > cooldownTime * 1000) {
             recentlyTeleportedPlayers.clear();
         }
 
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
 
     /**
@@ -124,8 +125,8 @@ public class TeleportPad extends GameEntity {
         recentlyTeleportedPlayers.add(player.getId());
         linkedPad.recentlyTeleportedPlayers.add(player.getId());
 
-        lastActivationTime = System.currentTimeMillis();
-        linkedPad.lastActivationTime = System.currentTimeMillis();
+        lastActivationTime = GameClock.currentTimeMillis();
+        linkedPad.lastActivationTime = GameClock.currentTimeMillis();
 
         return true;
     }
@@ -151,7 +152,7 @@ public class TeleportPad extends GameEntity {
         }
 
         // Check cooldown
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.currentTimeMillis();
         if (currentTime - lastActivationTime < cooldownTime * 1000) {
             return false;
         }
@@ -203,6 +204,6 @@ public class TeleportPad extends GameEntity {
      */
     public void destroy() {
         unlink();
-        active = false;
+        setActive(false);
     }
 }
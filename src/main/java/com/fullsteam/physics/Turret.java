@@ -2,6 +2,8 @@ package com.fullsteam.physics;
 
 import com.fullsteam.Config;
 import com.fullsteam.model.Ordinance;
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -11,7 +13,6 @@ import org.dyn4j.geometry.Vector2;
 
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Automated defense turret that targets enemies within range
@@ -25,7 +26,6 @@ public class Turret extends GameEntity {
     private final double fireRate; // shots per second
     private final double damage;
     private final double projectileSpeed;
-    private final long expires;
     private long lastShotTime = 0;
     private Player currentTarget;
     private Vector2 aimDirection = new Vector2(1, 0);
@@ -38,8 +38,8 @@ public class Turret extends GameEntity {
         this.fireRate = 3.0; // 3 shots per second
         this.damage = 15.0; // Moderate damage
         this.projectileSpeed = 400.0; // Fast projectiles
-        this.expires = (long) (System.currentTimeMillis() + (lifespan * 1000));
-        this.setRotation(Math.random() * 2 * Math.PI);
+        this.expires = (long) (GameClock.currentTimeMillis() + (lifespan * 1000));
+        this.setRotation(GameRandom.current().nextDouble() * 2 * Math.PI);
     }
 
     private static Body createTurretBody(Vector2 position) {
@@ -58,8 +58,8 @@ public class Turret extends GameEntity {
         }
 
         // Update lifespan
-        if (System.currentTimeMillis() > expires) {
-            active = false;
+        if (GameClock.currentTimeMillis() > expires) {
+            setActive(false);
             return;
         }
 
@@ -68,7 +68,7 @@ public class Turret extends GameEntity {
             currentTarget = null;
         }
 
-        lastUpdateTime = System.currentTimeMillis();
+        lastUpdateTime = GameClock.currentTimeMillis();
     }
 
     /**
@@ -133,13 +133,15 @@ public class Turret extends GameEntity {
 
     /**
      * Attempt to fire at the current target
+     *
+     * @param pool the game's projectile pool to draw bodies from
      */
-    public Projectile tryFire() {
+    public Projectile tryFire(ProjectilePool pool) {
         if (currentTarget == null || !canFire()) {
             return null;
         }
 
-        lastShotTime = System.currentTimeMillis();
+        lastShotTime = GameClock.currentTimeMillis();
 
         // Predict target movement for better accuracy
         Vector2 targetPos = predictTargetPosition();
@@ -159,7 +161,7 @@ public class Turret extends GameEntity {
 
         // Add slight inaccuracy to make it less overpowered
         double inaccuracy = 0.1; // 10% inaccuracy
-        double angleOffset = (ThreadLocalRandom.current().nextDouble() - 0.5) * 2.0 * inaccuracy;
+        double angleOffset = (GameRandom.current().nextDouble() - 0.5) * 2.0 * inaccuracy;
         double currentAngle = Math.atan2(velocity.y, velocity.x);
         double newAngle = currentAngle + angleOffset;
         velocity = new Vector2(Math.cos(newAngle) * projectileSpeed, Math.sin(newAngle) * projectileSpeed);
@@ -175,7 +177,8 @@ public class Turret extends GameEntity {
                 ownerTeam,
                 0.02, // Slight linear damping
                 Set.of(), // No special bullet effects
-                Ordinance.BULLET  // Standard bullet ordinance
+                Ordinance.BULLET,  // Standard bullet ordinance
+                pool
         );
     }
 
@@ -210,7 +213,7 @@ public class Turret extends GameEntity {
             return false;
         }
 
-        long now = System.currentTimeMillis();
+        long now = GameClock.currentTimeMillis();
         double fireInterval = 1000.0 / fireRate;
         return (now - lastShotTime) >= fireInterval;
     }
@@ -1,6 +1,7 @@
 package com.fullsteam.physics;
 
 import com.fullsteam.Config;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.dyn4j.dynamics.Body;
@@ -10,13 +11,18 @@ import org.dyn4j.geometry.Vector2;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Workshop entity that allows players to craft power-ups by standing near it.
  * Players must remain within the craft radius for the required time to generate power-ups.
  * Extends Obstacle to inherit shape data serialization capabilities.
+ * <p>
+ * Players enter when they first touch the workshop and leave once they are out of reach; progress of a
+ * player who left is kept for one more update in case they step straight back in.
  */
 @Getter
 @Setter
@@ -25,6 +31,14 @@ public class Workshop extends Obstacle {
     private final int maxPowerUps;
     private final Set<Player> presentPlayers = new HashSet<>();
     private final Map<Integer, Double> playerProgress = new HashMap<>();
+    // Players who left since the last update; their progress is dropped unless they come back first
+    @Getter(AccessLevel.NONE)
+    private final Set<Integer> departedPlayers = new HashSet<>();
+    // Half the workshop's width and height, for telling whether a player still touches it
+    @Getter(AccessLevel.NONE)
+    private final double halfWidth;
+    @Getter(AccessLevel.NONE)
+    private final double halfHeight;
 
     public Workshop(int id, Vector2 position, double craftTime, int maxPowerUps) {
         super(id, position.x, position.y, ObstacleType.HOUSE);
@@ -37,15 +51,20 @@ public class Workshop extends Obstacle {
         Rectangle workshopRect = new Rectangle(Config.PLAYER_RADIUS * 4, Config.PLAYER_RADIUS * 2);
         BodyFixture bodyFixture = body.addFixture(workshopRect);
         bodyFixture.setSensor(true);
+        this.halfWidth = Config.PLAYER_RADIUS * 2;
+        this.halfHeight = Config.PLAYER_RADIUS;
         body.setUserData(this);
+        CollisionCategories.apply(this);
     }
 
     /**
      * Add a player to the workshop range (mimic KOTH zone approach).
      */
     public void addPlayer(Player player) {
-        presentPlayers.add(player);
-        playerProgress.computeIfAbsent(player.getId(), v -> 0D);
+        if (presentPlayers.add(player)) {
+            departedPlayers.remove(player.getId());
+            playerProgress.computeIfAbsent(player.getId(), v -> 0D);
+        }
     }
 
     public boolean incrementProgress(Player player, double deltaTime) {
@@ -55,9 +74,42 @@ public class Workshop extends Obstacle {
 
     public void removePlayer(Player player) {
         presentPlayers.remove(player);
+        departedPlayers.remove(player.getId());
         playerProgress.remove(player.getId());
     }
 
+    /**
+     * Drop the progress of players who left before the previous update, then mark every present player
+     * matching the predicate as left. Nothing is checked while nobody is at the workshop.
+     */
+    void updateOccupancy(Predicate<Player> departed) {
+        if (!departedPlayers.isEmpty()) {
+            playerProgress.keySet().removeAll(departedPlayers);
+            departedPlayers.clear();
+        }
+        if (presentPlayers.isEmpty()) {
+            return;
+        }
+        Iterator<Player> iterator = presentPlayers.iterator();
+        while (iterator.hasNext()) {
+            Player player = iterator.next();
+            if (departed.test(player)) {
+                iterator.remove();
+                departedPlayers.add(player.getId());
+            }
+        }
+    }
+
+    /**
+     * Whether a player centered at the given world position would still touch the workshop's rectangle.
+     */
+    boolean isInReach(Vector2 position) {
+        Vector2 local = getBody().getTransform().getInverseTransformed(position);
+        double dx = Math.max(Math.abs(local.x) - halfWidth, 0);
+        double dy = Math.max(Math.abs(local.y) - halfHeight, 0);
+        return dx * dx + dy * dy <= Config.PLAYER_RADIUS * Config.PLAYER_RADIUS;
+    }
+
     /**
      * Get the number of active crafters (players who have started crafting).
      */
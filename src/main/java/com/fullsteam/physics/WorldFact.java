@@ -0,0 +1,20 @@
+package com.fullsteam.physics;
+
+/**
+ * Facts about the game world that AI behaviors and other caches read.
+ * World-level facts are versioned by {@link WorldFactTracker} and change only on game events;
+ * the SELF_ facts are evaluated per AI player, CARRIER_POSITIONS is read from the carriers when
+ * evaluated, and ENEMY_POSITIONS changes every tick.
+ */
+public enum WorldFact {
+    FLAGS,            // Flag and oddball state (at home, carried, dropped)
+    KOTH_ZONES,       // KOTH zone control state
+    POWER_UPS,        // Power-ups spawned, collected or expired
+    WORKSHOPS,        // Workshops added or removed
+    HEADQUARTERS,     // Headquarters health and destruction
+    OBSTACLES,        // Obstacles and player barriers added or removed
+    SELF_POSITION,    // The evaluating AI player's position
+    SELF_HEALTH,      // The evaluating AI player's health
+    CARRIER_POSITIONS, // Positions of players carrying a flag or the oddball
+    ENEMY_POSITIONS   // Positions of other players - never stable between ticks
+}
@@ -0,0 +1,24 @@
+package com.fullsteam.physics;
+
+/**
+ * Keeps a version counter for each world-level {@link WorldFact}.
+ * Game systems bump a fact's version whenever it changes (a flag is picked up, a zone flips, ...),
+ * which lets caches detect staleness by comparing versions instead of re-reading the world.
+ */
+public class WorldFactTracker {
+    private final long[] versions = new long[WorldFact.values().length];
+
+    /**
+     * Mark a fact as changed.
+     */
+    public void touch(WorldFact fact) {
+        versions[fact.ordinal()]++;
+    }
+
+    /**
+     * Get the current version of a fact.
+     */
+    public long getVersion(WorldFact fact) {
+        return versions[fact.ordinal()];
+    }
+}
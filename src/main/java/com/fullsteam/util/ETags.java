@@ -0,0 +1,53 @@
+package com.fullsteam.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Entity tags for responses served from memory, so clients can revalidate them with a 304.
+ */
+public final class ETags {
+
+    private ETags() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Short hex hash of the content, also used to version asset URLs.
+     */
+    public static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    /**
+     * The quoted entity tag of the content.
+     */
+    public static String of(byte[] content) {
+        return "\"" + hash(content) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the entity tag.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
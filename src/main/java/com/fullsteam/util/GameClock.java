@@ -0,0 +1,93 @@
+package com.fullsteam.util;
+
+/**
+ * Source of wall-clock time for game logic.
+ * Live games use the system clock. A headless simulation installs a simulated clock on its thread so
+ * timers, cooldowns and expirations advance with simulated ticks instead of real time. Recorded and
+ * replayed games install a clock that is held still for the length of each tick.
+ */
+public final class GameClock {
+    private static final ThreadLocal<SimulatedClock> SIMULATED = new ThreadLocal<>();
+
+    private GameClock() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Get the current time in milliseconds, simulated if a simulated clock is installed on this thread.
+     *
+     * @return Current time in milliseconds
+     */
+    public static long currentTimeMillis() {
+        SimulatedClock clock = SIMULATED.get();
+        return clock != null ? clock.millis : System.currentTimeMillis();
+    }
+
+    /**
+     * Install a simulated clock on the current thread.
+     *
+     * @param startMillis Initial simulated time in milliseconds
+     * @return The installed clock, to be advanced by the caller
+     */
+    public static SimulatedClock installSimulated(long startMillis) {
+        SimulatedClock clock = new SimulatedClock(startMillis);
+        SIMULATED.set(clock);
+        return clock;
+    }
+
+    /**
+     * Remove the simulated clock from the current thread, returning it to the system clock.
+     */
+    public static void uninstallSimulated() {
+        SIMULATED.remove();
+    }
+
+    /**
+     * Install an existing simulated clock on the current thread.
+     *
+     * @param clock Clock to install
+     * @return The clock it replaces, or null if the thread was on the system clock, to be passed to
+     * {@link #restore(SimulatedClock)}
+     */
+    public static SimulatedClock install(SimulatedClock clock) {
+        SimulatedClock previous = SIMULATED.get();
+        SIMULATED.set(clock);
+        return previous;
+    }
+
+    /**
+     * Put back the clock that {@link #install(SimulatedClock)} replaced.
+     *
+     * @param previous The clock returned by {@link #install(SimulatedClock)}
+     */
+    public static void restore(SimulatedClock previous) {
+        if (previous != null) {
+            SIMULATED.set(previous);
+        } else {
+            SIMULATED.remove();
+        }
+    }
+
+    /**
+     * A manually advanced clock.
+     */
+    public static final class SimulatedClock {
+        private long millis;
+
+        public SimulatedClock(long millis) {
+            this.millis = millis;
+        }
+
+        public void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        public void set(long millis) {
+            this.millis = millis;
+        }
+
+        public long millis() {
+            return millis;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.fullsteam.util;
 
+import java.util.UUID;
+
 /**
  * Centralized game constants to replace magic numbers throughout the codebase.
  */
@@ -12,5 +14,20 @@ public final class GameConstants {
     public static final double WORLD_BOUNDARY_THICKNESS = Double.parseDouble(System.getProperty("world.boundary.thickness", "50.0"));
     public static final double SPAWN_CLEARANCE_RADIUS = Double.parseDouble(System.getProperty("spawn.clearanceRadius", "100.0"));
     public static final double SPAWN_INVINCIBILITY_DURATION = Double.parseDouble(System.getProperty("spawn.invincibilityDuration", "3.0"));
+    public static final String REPLAY_DIR = System.getProperty("replay.dir", System.getProperty("java.io.tmpdir"));
+    // Directory shared by the nodes of a cluster; unset to run as a single node
+    public static final String CLUSTER_DIR = System.getProperty("cluster.dir");
+    // Shared by the nodes of a cluster, which need it to hand games to each other; unset, nobody can
+    public static final String CLUSTER_SECRET = System.getProperty("cluster.secret");
+    public static final String NODE_ID = System.getProperty("node.id", UUID.randomUUID().toString().substring(0, 8));
+    // Base URL clients reach this node at, e.g. http://10.0.0.5:8080; only needed in a cluster
+    public static final String NODE_ADDRESS = System.getProperty("node.address");
+    // Features that cost the server memory or disk; clients creating a game can only turn on those allowed here
+    public static final boolean ALLOW_AI_TRACE = Boolean.parseBoolean(System.getProperty("allow.ai.trace", "false"));
+    public static final boolean ALLOW_SNAPSHOT_ARCHIVE = Boolean.parseBoolean(System.getProperty("allow.snapshot.archive", "false"));
+    public static final int MAX_SNAPSHOT_SEGMENT_MEGABYTES = Integer.parseInt(System.getProperty("snapshot.maxSegmentMegabytes", "16"));
+    public static final int MAX_SNAPSHOT_RETENTION_SECONDS = Integer.parseInt(System.getProperty("snapshot.maxRetentionSeconds", "600"));
+    public static final boolean ALLOW_REPLAY_RECORDING = Boolean.parseBoolean(System.getProperty("allow.replay.recording", "false"));
+    // Keep the replay logs of ended games in REPLAY_DIR, rather than deleting them
+    public static final boolean KEEP_REPLAYS = Boolean.parseBoolean(System.getProperty("replay.keep", "false"));
 }
-
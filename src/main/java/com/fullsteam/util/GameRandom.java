@@ -0,0 +1,69 @@
+package com.fullsteam.util;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of randomness for game logic.
+ * Each game installs its own seeded generator on the thread running its tick, so a game's random
+ * choices follow from its seed alone. Code running outside any game falls back to
+ * {@link ThreadLocalRandom}.
+ */
+public final class GameRandom {
+    private static final ThreadLocal<Random> SEEDED = new ThreadLocal<>();
+
+    private GameRandom() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Get the random generator for the current thread.
+     *
+     * @return The seeded generator if one is installed, otherwise {@link ThreadLocalRandom#current()}
+     */
+    public static Random current() {
+        Random seeded = SEEDED.get();
+        return seeded != null ? seeded : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Install a seeded generator on the current thread.
+     *
+     * @param seed Seed for the generator
+     */
+    public static void installSeeded(long seed) {
+        SEEDED.set(new Random(seed));
+    }
+
+    /**
+     * Install a generator on the current thread.
+     *
+     * @param random Generator to install
+     * @return The generator it replaces, or null if there was none, to be passed to {@link #restore(Random)}
+     */
+    public static Random install(Random random) {
+        Random previous = SEEDED.get();
+        SEEDED.set(random);
+        return previous;
+    }
+
+    /**
+     * Put back the generator that {@link #install(Random)} replaced.
+     *
+     * @param previous The generator returned by {@link #install(Random)}
+     */
+    public static void restore(Random previous) {
+        if (previous != null) {
+            SEEDED.set(previous);
+        } else {
+            SEEDED.remove();
+        }
+    }
+
+    /**
+     * Remove the seeded generator from the current thread.
+     */
+    public static void uninstallSeeded() {
+        SEEDED.remove();
+    }
+}
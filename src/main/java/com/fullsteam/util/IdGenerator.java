@@ -2,15 +2,28 @@ package com.fullsteam.util;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Centralized ID generation for all game entities.
  * Provides thread-safe, unique ID generation for entities, games, and players.
+ * <p>
+ * Each game installs its own entity id sequence on the thread running its tick, so a game hands out
+ * the same ids every time it is played with the same seed and inputs. Entity ids are then unique
+ * within a game, which is the only scope clients see them in.
  */
 public final class IdGenerator {
+    /**
+     * First entity id of every game's own sequence, well clear of player ids.
+     */
+    public static final int GAME_ENTITY_ID_BASE = 1 << 24;
+
     private static final AtomicInteger ENTITY_ID = new AtomicInteger(1);
+    private static final ThreadLocal<AtomicInteger> GAME_ENTITY_IDS = new ThreadLocal<>();
     private static final AtomicLong GAME_ID = new AtomicLong(1);
     private static final AtomicInteger PLAYER_ID = new AtomicInteger(1);
+    // Game ids name files in the node registry, so they must not lead out of its directory
+    private static final Pattern GAME_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
 
     private IdGenerator() {
         // Prevent instantiation
@@ -23,14 +36,41 @@ public final class IdGenerator {
      * @return Unique entity ID
      */
     public static int nextEntityId() {
-        int id = ENTITY_ID.incrementAndGet();
+        AtomicInteger gameIds = GAME_ENTITY_IDS.get();
+        AtomicInteger ids = gameIds != null ? gameIds : ENTITY_ID;
+        int id = ids.incrementAndGet();
         // Zero is magic, don't use it
         if (id == 0) {
-            id = ENTITY_ID.incrementAndGet();
+            id = ids.incrementAndGet();
         }
         return id;
     }
 
+    /**
+     * Install a game's entity id sequence on the current thread.
+     *
+     * @param entityIds The game's sequence, holding the last id handed out
+     * @return The sequence it replaces, or null if there was none, to be passed to {@link #restore(AtomicInteger)}
+     */
+    public static AtomicInteger install(AtomicInteger entityIds) {
+        AtomicInteger previous = GAME_ENTITY_IDS.get();
+        GAME_ENTITY_IDS.set(entityIds);
+        return previous;
+    }
+
+    /**
+     * Put back the sequence that {@link #install(AtomicInteger)} replaced.
+     *
+     * @param previous The sequence returned by {@link #install(AtomicInteger)}
+     */
+    public static void restore(AtomicInteger previous) {
+        if (previous != null) {
+            GAME_ENTITY_IDS.set(previous);
+        } else {
+            GAME_ENTITY_IDS.remove();
+        }
+    }
+
     /**
      * Generate next game ID with "game_" prefix.
      *
@@ -40,6 +80,15 @@ public final class IdGenerator {
         return "" + GAME_ID.getAndIncrement();
     }
 
+    /**
+     * Check a game id that came from outside this process, e.g. from a client or a game image.
+     *
+     * @return true if the id could have been handed out for a game
+     */
+    public static boolean isValidGameId(String gameId) {
+        return gameId != null && GAME_ID_PATTERN.matcher(gameId).matches();
+    }
+
     /**
      * Generate next player ID.
      *
@@ -48,5 +97,13 @@ public final class IdGenerator {
     public static int nextPlayerId() {
         return PLAYER_ID.getAndIncrement();
     }
+
+    /**
+     * Make sure player ids handed out from now on are above the given id, e.g. for players whose
+     * game was moved here from another process.
+     */
+    public static void reservePlayerIds(int upTo) {
+        PLAYER_ID.accumulateAndGet(upTo + 1, Math::max);
+    }
 }
 
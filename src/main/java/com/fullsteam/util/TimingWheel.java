@@ -0,0 +1,136 @@
+package com.fullsteam.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel keyed on game loop ticks.
+ * <p>
+ * Items are scheduled once for the tick they are due and handed back when the wheel is advanced past
+ * that tick, so advancing only costs as much as what actually comes due. Level 0 has one slot per tick;
+ * each higher level has one slot per full rotation of the level below and is cascaded down as time
+ * reaches it. Items beyond the last level wait in an overflow list.
+ * <p>
+ * Scheduled items cannot be cancelled; the consumer is expected to ignore items that are no longer
+ * relevant when they come due. Not thread safe, must only be used from the game loop.
+ *
+ * @param <T> the scheduled item type
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final List<List<Entry<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<Entry<T>> firing = new ArrayList<>();
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * @param startTick the tick the wheel starts at; items due at or before it fire on the next advance
+     */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Schedule an item for the given tick. Items due at or before the current tick fire on the next advance.
+     */
+    public void schedule(long dueTick, T item) {
+        insert(new Entry<>(Math.max(dueTick, currentTick + 1), item));
+        size++;
+    }
+
+    /**
+     * Advance the wheel to the given tick, handing every item due at or before it to the consumer.
+     * The consumer may schedule new items; they will be due after the current tick at the earliest.
+     */
+    public void advance(long tick, Consumer<T> consumer) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                // Nothing can come due, skip straight to the target tick
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            cascade();
+            List<Entry<T>> due = slots.get((int) (currentTick & SLOT_MASK));
+            if (due.isEmpty()) {
+                continue;
+            }
+            firing.addAll(due);
+            due.clear();
+            size -= firing.size();
+            for (Entry<T> entry : firing) {
+                consumer.accept(entry.item());
+            }
+            firing.clear();
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        long delta = entry.dueTick() - currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int slot = (int) ((entry.dueTick() >>> (SLOT_BITS * level)) & SLOT_MASK);
+                slots.get(level * SLOTS + slot).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * Move the entries of every higher level slot that has just been reached down towards level 0,
+     * highest level first.
+     */
+    private void cascade() {
+        if ((currentTick & SLOT_MASK) != 0) {
+            return;
+        }
+        int highest = 1;
+        while (highest < LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        if (highest == LEVELS - 1 && (currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            reinsert(overflow);
+        }
+        for (int level = highest; level >= 1; level--) {
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            reinsert(slots.get(level * SLOTS + slot));
+        }
+    }
+
+    private void reinsert(List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        firing.addAll(entries);
+        entries.clear();
+        for (Entry<T> entry : firing) {
+            insert(entry);
+        }
+        firing.clear();
+    }
+
+    private record Entry<T>(long dueTick, T item) {
+    }
+}
@@ -830,19 +830,24 @@ class GameEngine {
         const params = new URLSearchParams(window.location.search);
         const gameId = params.get('gameId') || 'default';
         const spectate = params.get('spectate') === 'true';
+        // Set when the game moved here from another server: picks up the same player
+        const resumeToken = params.get('resume');
         
         // Set spectator flag
         this.isSpectator = spectate;
         
         const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:';
-        const wsUrl = `${protocol}//${window.location.host}/game/${gameId}?spectate=${spectate}`;
+        let wsUrl = `${protocol}//${window.location.host}/game/${gameId}?spectate=${spectate}`;
+        if (resumeToken) {
+            wsUrl += `&resume=${encodeURIComponent(resumeToken)}`;
+        }
         
         return new Promise((resolve, reject) => {
             this.websocket = new WebSocket(wsUrl);
             
             this.websocket.onopen = () => {
-                // Spectators don't need to send configuration
-                if (!this.isSpectator) {
+                // Spectators don't need to send configuration, and resumed players keep their loadout
+                if (!this.isSpectator && !resumeToken) {
                     this.sendPlayerConfiguration();
                 }
                 resolve();
@@ -857,9 +862,7 @@ class GameEngine {
                 }
             };
             
-            this.websocket.onclose = () => {
-                this.showConnectionError();
-            };
+            this.websocket.onclose = () => this.handleDisconnect();
             
             this.websocket.onerror = (error) => {
                 reject(error);
@@ -1015,7 +1018,81 @@ class GameEngine {
             case 'gameOver':
                 this.showGameOverScreen(data);
                 break;
+            case 'migrate':
+                this.handleMigrate(data);
+                break;
+            case 'resumed':
+                this.handleResumed(data);
+                break;
+        }
+    }
+    
+    handleDisconnect() {
+        if (this.migrating) {
+            return;
+        }
+        // The server holds a dropped player for a while; pick it back up rather than starting over
+        const maxAttempts = 10;
+        this.reconnectAttempts = (this.reconnectAttempts || 0) + 1;
+        if (this.isSpectator || !this.resumeToken || this.reconnectAttempts > maxAttempts) {
+            this.showConnectionError();
+            return;
+        }
+        this.updateLoadingProgress(0, "Connection lost. Reconnecting...");
+        document.getElementById('loading-screen').style.display = 'flex';
+        this.safeSetTimeout(() => this.reconnectToServer(), 1000);
+    }
+    
+    reconnectToServer() {
+        const params = new URLSearchParams(window.location.search);
+        const gameId = params.get('gameId') || 'default';
+        const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:';
+        // The token is used up by this attempt; the server sends a new one once the player is back
+        const resumeToken = this.resumeToken;
+        this.resumeToken = null;
+        const wsUrl = `${protocol}//${window.location.host}/game/${gameId}?spectate=false&reconnect=true&resume=${encodeURIComponent(resumeToken)}`;
+        
+        this.websocket = new WebSocket(wsUrl);
+        this.websocket.onmessage = (event) => {
+            try {
+                this.handleServerMessage(JSON.parse(event.data));
+            } catch (error) {
+                console.error('Error parsing server message:', error);
+            }
+        };
+        let opened = false;
+        this.websocket.onopen = () => {
+            opened = true;
+        };
+        this.websocket.onclose = () => {
+            // A connection that never opened didn't use the token up
+            if (!opened && !this.resumeToken) {
+                this.resumeToken = resumeToken;
+            }
+            this.handleDisconnect();
+        };
+    }
+    
+    handleResumed(data) {
+        // Back in the game with the world we already have; the next game state catches us up
+        this.myPlayerId = data.playerId;
+        this.resumeToken = data.resumeToken;
+        this.reconnectAttempts = 0;
+        document.getElementById('loading-screen').style.display = 'none';
+    }
+    
+    handleMigrate(data) {
+        // The game moved to another server; follow it there
+        this.migrating = true;
+        this.updateLoadingProgress(0, "Moving to another server...");
+        document.getElementById('loading-screen').style.display = 'flex';
+        const params = new URLSearchParams({ gameId: data.gameId });
+        if (this.isSpectator) {
+            params.set('spectate', 'true');
+        } else if (data.resumeToken) {
+            params.set('resume', data.resumeToken);
         }
+        window.location.href = `${data.node || ''}/game.html?${params}`;
     }
     
     handleSpectatorInit(data) {
@@ -1055,6 +1132,7 @@ class GameEngine {
     
     handleInitialState(data) {
         this.myPlayerId = data.playerId;
+        this.resumeToken = data.resumeToken || null;
         this.worldBounds.width = data.worldWidth || 2000;
         this.worldBounds.height = data.worldHeight || 2000;
         
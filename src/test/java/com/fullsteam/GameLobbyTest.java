@@ -0,0 +1,169 @@
+package com.fullsteam;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.cluster.InMemoryNodeRegistry;
+import com.fullsteam.cluster.NodeRegistry;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameImage;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.model.GameInfo;
+import com.fullsteam.model.NodeInfo;
+import com.fullsteam.util.GameConstants;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for placing games across the nodes of a cluster.
+ */
+class GameLobbyTest {
+
+    private static final GameConfig CONFIG = GameConfig.builder().enableAIFilling(false).build();
+
+    @Test
+    @DisplayName("New games should go to the live node with the most headroom")
+    void testPlacement() {
+        InMemoryNodeRegistry registry = new InMemoryNodeRegistry();
+        GameLobby lobby = new GameLobby(new ObjectMapper(), registry, "a", "http://a:8080", true);
+        GameManager local = lobby.createGameWithConfig(CONFIG);
+        try {
+            assertTrue(local.getGameId().startsWith("a-"), "Game ids should be unique across the cluster");
+            long now = System.currentTimeMillis();
+            registry.heartbeat(node("busy", "http://busy:8080", 0.0, 0, now));
+            registry.heartbeat(node("unreachable", null, 1.0, 0, now));
+            registry.heartbeat(node("gone", "http://gone:8080", 1.0, 0, now - NodeRegistry.NODE_TIMEOUT_MS - 1000));
+            // Nothing but saturated, unreachable or dead nodes: the game stays here
+            assertEquals("a", lobby.choosePlacement().nodeId());
+
+            // Idle like this node, but with fewer games
+            registry.heartbeat(node("b", "http://b:8080", 1.0, 0, now));
+            assertEquals("b", lobby.choosePlacement().nodeId());
+        } finally {
+            lobby.removeGame(local.getGameId());
+        }
+    }
+
+    @Test
+    @DisplayName("The game list should cover every node, and players should be sent to the node hosting their game")
+    void testGamesAcrossNodes() {
+        InMemoryNodeRegistry registry = new InMemoryNodeRegistry();
+        GameLobby lobby = new GameLobby(new ObjectMapper(), registry, "a", "http://a:8080", true);
+        GameManager local = lobby.createGameWithConfig(CONFIG);
+        try {
+            GameInfo remoteGame = new GameInfo("b-1", 2, 8, 1000L, "running", CONFIG, "http://b:8080");
+            registry.heartbeat(new NodeInfo("b", "http://b:8080", 0.5, 1, 2, System.currentTimeMillis(), List.of(remoteGame)));
+            registry.assignGame("b-1", "b");
+
+            List<GameInfo> games = lobby.getActiveGames();
+            assertEquals(2, games.size());
+            assertEquals("http://a:8080", games.get(0).nodeAddress());
+            assertEquals(remoteGame, games.get(1));
+            assertEquals(2, lobby.getGlobalPlayerCount());
+
+            assertEquals("http://b:8080", lobby.getRemoteGameAddress("b-1"));
+            assertNull(lobby.getRemoteGameAddress(local.getGameId()));
+            assertNull(lobby.getRemoteGameAddress("unknown"));
+        } finally {
+            lobby.removeGame(local.getGameId());
+        }
+        assertNull(registry.getGameNode(local.getGameId()), "Removed games should be released");
+    }
+
+    @Test
+    @DisplayName("A single node should keep every game local")
+    void testSingleNode() {
+        GameLobby lobby = new GameLobby(new ObjectMapper(), new InMemoryNodeRegistry(), "solo", null, false);
+        GameLobby.PlacedGame placed = lobby.placeGame(CONFIG, false);
+        try {
+            assertNull(placed.nodeAddress());
+            assertTrue(lobby.getGame(placed.gameId()) != null);
+            assertNull(lobby.getActiveGames().get(0).nodeAddress());
+        } finally {
+            lobby.removeGame(placed.gameId());
+        }
+    }
+
+    @Test
+    @DisplayName("Clients should only get the debugging and archiving features the server allows")
+    void testServerLimits() {
+        GameConfig requested = GameConfig.builder()
+                .enableAITrace(true)
+                .enableReplayRecording(true)
+                .enableSnapshotArchive(true)
+                .snapshotSegmentMegabytes(1024)
+                .snapshotRetentionSeconds(86400)
+                .build();
+        GameLobby.applyServerLimits(requested);
+        assertFalse(requested.isEnableAITrace());
+        assertFalse(requested.isEnableReplayRecording());
+        assertFalse(requested.isEnableSnapshotArchive());
+        assertEquals(GameConstants.MAX_SNAPSHOT_SEGMENT_MEGABYTES, requested.getSnapshotSegmentMegabytes());
+        assertEquals(GameConstants.MAX_SNAPSHOT_RETENTION_SECONDS, requested.getSnapshotRetentionSeconds());
+    }
+
+    @Test
+    @DisplayName("An imported game should only get the features this server allows")
+    void testImportAppliesServerLimits() throws Exception {
+        GameManager original = new GameManager("import-limits-test", GameConfig.builder()
+                .enableAIFilling(false)
+                .enableAITrace(true)
+                .snapshotRetentionSeconds(86400)
+                .build(), null, false);
+        GameLobby lobby = new GameLobby(new ObjectMapper(), new InMemoryNodeRegistry(), "solo", null, false);
+        try {
+            CompletableFuture<GameImage.Captured> captured = original.freezeForMigration();
+            original.step(1.0 / 60.0);
+
+            GameManager imported = lobby.importGame(captured.get().image());
+            assertFalse(imported.getGameConfig().isEnableAITrace());
+            assertEquals(GameConstants.MAX_SNAPSHOT_RETENTION_SECONDS, imported.getGameConfig().getSnapshotRetentionSeconds());
+            lobby.removeGame(imported.getGameId());
+        } finally {
+            original.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Ending a game should delete its replay log")
+    void testReplayDeletedWithGame() {
+        GameLobby lobby = new GameLobby(new ObjectMapper(), new InMemoryNodeRegistry(), "solo", null, false);
+        GameManager game = lobby.createGameWithConfig(GameConfig.builder()
+                .enableAIFilling(false)
+                .enableReplayRecording(true)
+                .build());
+        Path file = game.getReplayRecorder().getFile();
+        assertTrue(Files.exists(file));
+
+        lobby.removeGame(game.getGameId());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("A drained node should take games again once undrained")
+    void testUndrain() {
+        InMemoryNodeRegistry registry = new InMemoryNodeRegistry();
+        GameLobby lobby = new GameLobby(new ObjectMapper(), registry, "a", "http://a:8080", true);
+        // No other node to move games to
+        assertEquals(0, lobby.drain());
+        assertTrue(lobby.isDraining());
+        assertEquals(0.0, lobby.createNodeInfo().tickHeadroom());
+
+        lobby.undrain();
+        assertFalse(lobby.isDraining());
+        assertTrue(lobby.createNodeInfo().tickHeadroom() > 0);
+        assertTrue(registry.getLiveNodes().get(0).tickHeadroom() > 0, "Other nodes should see it taking games");
+    }
+
+    private static NodeInfo node(String nodeId, String address, double headroom, int games, long heartbeatMillis) {
+        return new NodeInfo(nodeId, address, headroom, games, 0, heartbeatMillis, List.of());
+    }
+}
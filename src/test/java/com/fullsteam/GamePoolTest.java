@@ -0,0 +1,156 @@
+package com.fullsteam;
+
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for keeping games built ahead of time.
+ */
+class GamePoolTest {
+
+    private long now = 1_000_000L;
+    private final List<GameManager> built = new ArrayList<>();
+
+    private GamePool createPool() {
+        return new GamePool(gameConfig -> {
+            GameManager game = new GameManager("pooled-" + built.size(), gameConfig, null, false);
+            built.add(game);
+            return game;
+        }, () -> now, false);
+    }
+
+    private static GameConfig smallConfig() {
+        return GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(2)
+                .worldWidth(800)
+                .worldHeight(800)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A config that was asked for should have a game ready the next time")
+    void testClaimAfterDemand() {
+        try (GamePool pool = createPool()) {
+            assertNull(pool.claim(smallConfig()), "Nothing is built before anyone asks");
+            pool.refill();
+            assertEquals(1, pool.getReadyCount(smallConfig()));
+
+            GameManager claimed = pool.claim(smallConfig());
+            assertSame(built.get(0), claimed);
+            assertEquals(0, pool.getReadyCount(smallConfig()));
+            claimed.shutdown();
+
+            pool.refill();
+            assertEquals(1, pool.getReadyCount(smallConfig()), "A claimed game should be replaced");
+        } finally {
+            built.forEach(GameManager::shutdown);
+        }
+    }
+
+    @Test
+    @DisplayName("More games should be kept ready for busier configs, up to a limit")
+    void testPoolGrowsWithDemand() {
+        try (GamePool pool = createPool()) {
+            for (int i = 0; i < 200; i++) {
+                pool.claim(smallConfig());
+            }
+            for (int i = 0; i < GamePool.MAX_READY_PER_CONFIG + 2; i++) {
+                pool.refill();
+            }
+            assertEquals(GamePool.MAX_READY_PER_CONFIG, pool.getReadyCount(smallConfig()));
+        } finally {
+            built.forEach(GameManager::shutdown);
+        }
+    }
+
+    @Test
+    @DisplayName("Games nobody asks for anymore should be let go")
+    void testIdleConfigIsDropped() {
+        try (GamePool pool = createPool()) {
+            pool.prime(smallConfig());
+            pool.refill();
+            assertEquals(1, pool.getReadyCount(smallConfig()));
+
+            now += 10 * GamePool.DEMAND_HALF_LIFE_MS;
+            pool.refill();
+            assertEquals(0, pool.getReadyCount(smallConfig()));
+        } finally {
+            built.forEach(GameManager::shutdown);
+        }
+    }
+
+    @Test
+    @DisplayName("Pooled games should each have their own config, apart from the one asked for")
+    void testPooledGamesDontShareConfig() {
+        try (GamePool pool = createPool()) {
+            GameConfig asked = smallConfig();
+            for (int i = 0; i < 200; i++) {
+                pool.claim(asked);
+            }
+            pool.refill();
+            pool.refill();
+            assertEquals(2, pool.getReadyCount(smallConfig()));
+
+            asked.setMaxPlayers(10);
+            assertEquals(2, pool.getReadyCount(smallConfig()), "Changing the config asked with shouldn't move the pool");
+
+            GameManager first = pool.claim(smallConfig());
+            GameManager second = pool.claim(smallConfig());
+            assertNotSame(first.getGameConfig(), second.getGameConfig());
+            assertNotSame(first.getGameConfig().getRules(), second.getGameConfig().getRules());
+            first.getGameConfig().getRules().setScoreLimit(99);
+            assertEquals(smallConfig().getRules().getScoreLimit(), second.getGameConfig().getRules().getScoreLimit());
+
+            pool.refill();
+            assertEquals(smallConfig().getRules().getScoreLimit(), pool.claim(smallConfig()).getGameConfig().getRules().getScoreLimit(),
+                    "Games built later should get the config as it was asked for");
+        } finally {
+            built.forEach(GameManager::shutdown);
+        }
+    }
+
+    @Test
+    @DisplayName("Games that record from the moment they're built shouldn't be pooled")
+    void testRecordingConfigsAreNotPooled() {
+        GameConfig recorded = GameConfig.builder()
+                .enableAIFilling(false)
+                .enableReplayRecording(true)
+                .build();
+        try (GamePool pool = createPool()) {
+            assertNull(pool.claim(recorded));
+            pool.refill();
+            assertEquals(0, pool.getReadyCount(recorded));
+            assertTrue(built.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("A game started late should have its clock and timers start when it does")
+    void testStartRebasesClock() throws Exception {
+        GameConfig gameConfig = smallConfig();
+        gameConfig.getRules().setRoundDuration(60);
+        GameManager game = new GameManager("late-start", gameConfig, null, false);
+        try {
+            long builtAt = game.getGameStartTime();
+            long roundLength = game.getRuleSystem().getRoundEndTime() - builtAt;
+            Thread.sleep(50);
+            game.start();
+            assertTrue(game.getGameStartTime() >= builtAt + 50);
+            assertEquals(roundLength, game.getRuleSystem().getRoundEndTime() - game.getGameStartTime());
+        } finally {
+            game.shutdown();
+        }
+    }
+}
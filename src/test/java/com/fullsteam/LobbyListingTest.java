@@ -0,0 +1,108 @@
+package com.fullsteam;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.model.GameInfo;
+import com.fullsteam.model.LobbyInfo;
+import com.fullsteam.model.PlayerSession;
+import com.fullsteam.util.ETags;
+import com.fullsteam.util.IdGenerator;
+import io.micronaut.websocket.WebSocketSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the encoded lobby game list.
+ */
+class LobbyListingTest {
+
+    @Test
+    @DisplayName("The list should only be encoded again once it has changed")
+    void testEncodedOncePerChange() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        List<GameInfo> games = new ArrayList<>();
+        ObjectMapper objectMapper = new ObjectMapper();
+        LobbyListing listing = new LobbyListing(() -> {
+            builds.incrementAndGet();
+            return new LobbyInfo(games.size(), 100, List.copyOf(games));
+        }, objectMapper);
+
+        LobbyListing.Encoded first = listing.get();
+        assertSame(first, listing.get());
+        assertEquals(1, builds.get());
+        assertEquals(0, objectMapper.readValue(first.json(), LobbyInfo.class).globalPlayerCount());
+
+        games.add(new GameInfo("game-1", 1, 8, 0, "waiting", null, null));
+        listing.invalidate();
+        LobbyListing.Encoded second = listing.get();
+        assertEquals(2, builds.get());
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(1, objectMapper.readValue(second.json(), LobbyInfo.class).activeGames().size());
+
+        listing.invalidate();
+        assertEquals(second.etag(), listing.get().etag(), "An unchanged list should keep its ETag");
+    }
+
+    @Test
+    @DisplayName("If-None-Match should match the ETag in any of its forms")
+    void testMatches() {
+        String etag = "\"abc-12\"";
+        assertTrue(ETags.matches(etag, etag));
+        assertTrue(ETags.matches("W/" + etag, etag));
+        assertTrue(ETags.matches("\"other\", " + etag, etag));
+        assertTrue(ETags.matches("*", etag));
+        assertFalse(ETags.matches("\"other\"", etag));
+        assertFalse(ETags.matches(null, etag));
+    }
+
+    @Test
+    @DisplayName("A game should tell the lobby when players join or leave")
+    void testGameInfoChanges() {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("listing-test", gameConfig, null, false);
+        try {
+            AtomicInteger changes = new AtomicInteger();
+            game.setLobbyListener(changes::incrementAndGet);
+            GameInfo before = game.getGameInfo();
+            assertSame(before, game.getGameInfo(), "An unchanged game should keep its entry");
+
+            int playerId = IdGenerator.nextPlayerId();
+            assertTrue(game.addPlayer(new PlayerSession(playerId, closedSession())));
+            assertEquals(1, changes.get());
+            assertEquals(1, game.getGameInfo().playerCount());
+
+            game.removePlayer(playerId);
+            assertEquals(2, changes.get());
+            assertEquals(before, game.getGameInfo());
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    private static WebSocketSession closedSession() {
+        return (WebSocketSession) Proxy.newProxyInstance(
+                LobbyListingTest.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "ClosedSession";
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+    }
+}
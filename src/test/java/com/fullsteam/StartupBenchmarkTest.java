@@ -0,0 +1,34 @@
+package com.fullsteam;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of how long a node takes from starting up to letting its first player into a game.
+ * It prints the time to a started server and to the first accepted player.
+ */
+class StartupBenchmarkTest {
+
+    @Test
+    @DisplayName("A node should let its first player in soon after starting")
+    void testTimeToFirstPlayer() throws Exception {
+        long start = System.nanoTime();
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, Map.of("micronaut.server.port", -1))) {
+            long started = System.nanoTime();
+            String firstMessage = StartupProbe.connectPlayer(server.getURI());
+            long joined = System.nanoTime();
+            assertNotNull(firstMessage);
+            assertTrue(firstMessage.contains("\"type\""), "The player should be sent the game");
+
+            System.out.printf("Startup: server up in %d ms, first player in after %d ms%n",
+                    (started - start) / 1_000_000, (joined - start) / 1_000_000);
+        }
+    }
+}
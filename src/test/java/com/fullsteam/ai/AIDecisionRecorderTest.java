@@ -0,0 +1,78 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.model.PlayerInput;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped AI decision trace ring buffer.
+ */
+public class AIDecisionRecorderTest {
+
+    private static final List<String> BEHAVIORS = List.of("Idle", "Combat", "KOTH");
+
+    @Test
+    public void testRecordsAreDecodedPerPlayer() {
+        AIDecisionRecorder recorder = new AIDecisionRecorder(64, BEHAVIORS);
+
+        recorder.recordPriority(1, 1, 72, false);
+        recorder.recordBehaviorSwitch(1, 0, 1, 72);
+        recorder.recordPriority(2, 2, 40, true);
+        recorder.recordTarget(1, 9);
+
+        PlayerInput input = new PlayerInput();
+        input.setMoveX(0.5);
+        input.setWorldX(120);
+        input.setLeft(true);
+        recorder.recordInput(1, 1, input);
+
+        List<AIDecisionRecorder.TraceEntry> entries = recorder.query(1, 60_000);
+        assertEquals(4, entries.size(), "Only player 1's records should be returned");
+
+        assertEquals(AIDecisionRecorder.EventType.PRIORITY, entries.get(0).type());
+        assertEquals("Combat", entries.get(0).behavior());
+        assertEquals(72, entries.get(0).value());
+
+        assertEquals(AIDecisionRecorder.EventType.BEHAVIOR_SWITCH, entries.get(1).type());
+        assertEquals("Idle", entries.get(1).previousBehavior());
+        assertEquals("Combat", entries.get(1).behavior());
+
+        assertEquals(AIDecisionRecorder.EventType.TARGET, entries.get(2).type());
+        assertEquals(9, entries.get(2).value());
+
+        AIDecisionRecorder.TraceEntry inputEntry = entries.get(3);
+        assertEquals(AIDecisionRecorder.EventType.INPUT, inputEntry.type());
+        assertEquals(0.5, inputEntry.moveX(), 0.0001);
+        assertEquals(120, inputEntry.aimX(), 0.0001);
+        assertTrue(inputEntry.primaryFire());
+        assertFalse(inputEntry.altFire());
+    }
+
+    @Test
+    public void testUnchangedTargetIsNotRecordedTwice() {
+        AIDecisionRecorder recorder = new AIDecisionRecorder(64, BEHAVIORS);
+
+        recorder.recordTarget(1, 9);
+        recorder.recordTarget(1, 9);
+        recorder.recordTarget(1, -1);
+
+        assertEquals(2, recorder.query(1, 60_000).size());
+    }
+
+    @Test
+    public void testOldestRecordsAreOverwritten() {
+        AIDecisionRecorder recorder = new AIDecisionRecorder(8, BEHAVIORS);
+
+        for (int i = 0; i < 20; i++) {
+            recorder.recordPriority(1, 0, i, false);
+        }
+
+        List<AIDecisionRecorder.TraceEntry> entries = recorder.query(1, 60_000);
+        assertEquals(8, entries.size());
+        assertEquals(12, entries.get(0).value(), "Oldest surviving record should follow the overwritten ones");
+        assertEquals(19, entries.get(7).value());
+    }
+}
@@ -0,0 +1,174 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.model.Rules;
+import com.fullsteam.physics.Flag;
+import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.WorldFact;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Correctness checks and a before/after benchmark for the AI behavior priority cache.
+ * The benchmark prints the average decision cost with the cache disabled and enabled.
+ */
+public class AIPriorityCacheBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURED_ROUNDS = 20_000;
+
+    private GameManager gameManager;
+    private GameEntities gameEntities;
+    private AIPlayerManager aiPlayerManager;
+
+    @BeforeEach
+    void setUp() {
+        Rules rules = Rules.builder()
+                .kothZones(2)
+                .flagsPerTeam(1)
+                .addWorkshops(true)
+                .addHeadquarters(true)
+                .build();
+
+        GameConfig config = GameConfig.builder()
+                .maxPlayers(16)
+                .teamCount(2)
+                .worldWidth(3000)
+                .worldHeight(3000)
+                .enableAIFilling(true)
+                .rules(rules)
+                .build();
+
+        gameManager = new GameManager("priority_cache_bench", config, null);
+        // Stop the scheduled game loop so the benchmark owns the AI manager
+        gameManager.shutdown();
+        gameEntities = gameManager.getGameEntities();
+        aiPlayerManager = gameManager.getAiPlayerManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameManager.shutdown();
+    }
+
+    @Test
+    void testCachedPriorityReusedUntilFactChanges() {
+        AIPlayer aiPlayer = aiPlayerManager.getAiPlayers().values().iterator().next();
+        AIPriorityCache cache = new AIPriorityCache();
+        KothBehavior koth = new KothBehavior();
+
+        int first = cache.getPriority(koth, aiPlayer, gameEntities);
+        int second = cache.getPriority(koth, aiPlayer, gameEntities);
+        assertEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        // A zone flipping must invalidate the KOTH score
+        gameEntities.getWorldFacts().touch(WorldFact.KOTH_ZONES);
+        cache.getPriority(koth, aiPlayer, gameEntities);
+        assertEquals(2, cache.getMisses());
+
+        // An unrelated fact must not
+        gameEntities.getWorldFacts().touch(WorldFact.FLAGS);
+        cache.getPriority(koth, aiPlayer, gameEntities);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testCarrierMovingInvalidatesFlagPriority() {
+        List<AIPlayer> aiPlayers = new ArrayList<>(aiPlayerManager.getAiPlayers().values());
+        AIPlayer aiPlayer = aiPlayers.get(0);
+        AIPlayer carrier = aiPlayers.get(1);
+        Flag flag = gameEntities.getAllFlags().iterator().next();
+        flag.pickUp(carrier.getId());
+        AIPriorityCache cache = new AIPriorityCache();
+        FlagBehavior flagBehavior = new FlagBehavior();
+
+        cache.getPriority(flagBehavior, aiPlayer, gameEntities);
+        cache.getPriority(flagBehavior, aiPlayer, gameEntities);
+        assertEquals(1, cache.getMisses());
+
+        // The carried flag moves with its carrier, so the carrier leaving its cell must invalidate the score
+        Vector2 position = carrier.getBody().getTransform().getTranslation();
+        carrier.getBody().getTransform().setTranslation(position.x + AIPriorityCache.POSITION_CELL_SIZE * 4, position.y);
+        cache.getPriority(flagBehavior, aiPlayer, gameEntities);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testEnemyDependentBehaviorsAreNeverCached() {
+        AIPlayer aiPlayer = aiPlayerManager.getAiPlayers().values().iterator().next();
+        AIPriorityCache cache = new AIPriorityCache();
+        CombatBehavior combat = new CombatBehavior();
+
+        cache.getPriority(combat, aiPlayer, gameEntities);
+        cache.getPriority(combat, aiPlayer, gameEntities);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testCachedDecisionsMatchUncachedDecisions() {
+        List<AIPlayer> aiPlayers = new ArrayList<>(aiPlayerManager.getAiPlayers().values());
+        assertFalse(aiPlayers.isEmpty());
+
+        for (AIPlayer aiPlayer : aiPlayers) {
+            aiPlayerManager.setPriorityCacheEnabled(false);
+            aiPlayerManager.updateBehavior(aiPlayer, gameEntities);
+            String uncached = aiPlayer.getCurrentBehavior().getName();
+
+            aiPlayerManager.setPriorityCacheEnabled(true);
+            aiPlayerManager.updateBehavior(aiPlayer, gameEntities);
+            aiPlayerManager.updateBehavior(aiPlayer, gameEntities);
+            assertEquals(uncached, aiPlayer.getCurrentBehavior().getName(),
+                    "Cached scoring should pick the same behavior as uncached scoring");
+        }
+    }
+
+    @Test
+    void benchmarkDecisionCost() {
+        List<AIPlayer> aiPlayers = new ArrayList<>(aiPlayerManager.getAiPlayers().values());
+        assertFalse(aiPlayers.isEmpty());
+
+        long uncachedNanos = measureDecisions(aiPlayers, false);
+        long cachedNanos = measureDecisions(aiPlayers, true);
+
+        long decisions = (long) MEASURED_ROUNDS * aiPlayers.size();
+        System.out.println("AI priority cache benchmark (" + aiPlayers.size() + " AI players, "
+                           + gameEntities.getAllKothZones().size() + " KOTH zones)");
+        System.out.println("=====================================");
+        System.out.printf("Uncached: %.1f ns/decision%n", uncachedNanos / (double) decisions);
+        System.out.printf("Cached:   %.1f ns/decision%n", cachedNanos / (double) decisions);
+    }
+
+    private long measureDecisions(List<AIPlayer> aiPlayers, boolean cacheEnabled) {
+        aiPlayerManager.setPriorityCacheEnabled(cacheEnabled);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(aiPlayers, round);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            runRound(aiPlayers, round);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void runRound(List<AIPlayer> aiPlayers, int round) {
+        // Simulate an occasional objective event, roughly once per second of game time
+        if (round % 60 == 0) {
+            gameEntities.getWorldFacts().touch(WorldFact.KOTH_ZONES);
+        }
+        for (AIPlayer aiPlayer : aiPlayers) {
+            aiPlayerManager.updateBehavior(aiPlayer, gameEntities);
+        }
+    }
+}
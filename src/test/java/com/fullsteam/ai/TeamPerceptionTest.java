@@ -0,0 +1,61 @@
+package com.fullsteam.ai;
+
+import com.fullsteam.physics.Player;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared team perception blackboard and the per-AI memory views on top of it.
+ */
+public class TeamPerceptionTest {
+
+    @Test
+    public void testPlayerObservedOncePerTick() {
+        TeamPerception perception = new TeamPerception(1);
+        Player enemy = new Player(10, "Enemy", 50, 50, 2, 100.0);
+
+        assertTrue(perception.observe(enemy, 1, 1000L), "First observation in a tick should be recorded");
+        assertFalse(perception.observe(enemy, 1, 1000L), "Second observation in the same tick should be ignored");
+        assertTrue(perception.isObservedThisTick(10, 1));
+        assertEquals(1, perception.getTrack(10).getBehaviorPattern().getObservationCount());
+
+        assertTrue(perception.observe(enemy, 2, 1016L), "Observation in a new tick should be recorded");
+        assertEquals(2, perception.getTrack(10).getBehaviorPattern().getObservationCount());
+    }
+
+    @Test
+    public void testTeammatesShareObservations() {
+        TeamPerception perception = new TeamPerception(1);
+        AIMemory first = new AIMemory(perception);
+        AIMemory second = new AIMemory(perception);
+        Player enemy = new Player(10, "Enemy", 120, -40, 2, 100.0);
+
+        first.observePlayer(enemy);
+
+        Vector2 lastKnown = second.getLastKnownPosition(10);
+        assertNotNull(lastKnown, "Teammate should see observations made by another AI");
+        assertEquals(120, lastKnown.x, 0.001);
+        assertEquals(-40, lastKnown.y, 0.001);
+        assertTrue(second.hasSeenPlayerRecently(10, 1000));
+    }
+
+    @Test
+    public void testExpiryOnlyForgetsStalePlayers() {
+        TeamPerception perception = new TeamPerception(1);
+        Player stale = new Player(10, "Stale", 0, 0, 2, 100.0);
+        Player fresh = new Player(11, "Fresh", 0, 0, 2, 100.0);
+
+        perception.observe(stale, 1, 0L);
+        perception.observe(fresh, 1, 0L);
+        // Fresh player keeps being seen, stale one does not
+        perception.observe(fresh, 2, TeamPerception.PLAYER_MEMORY_DURATION);
+
+        perception.expire(TeamPerception.PLAYER_MEMORY_DURATION + 1);
+
+        assertNull(perception.getTrack(10), "Player not seen within the memory window should be forgotten");
+        assertNotNull(perception.getTrack(11), "Recently seen player should be retained");
+        assertEquals(1, perception.getTrackedPlayerCount());
+    }
+}
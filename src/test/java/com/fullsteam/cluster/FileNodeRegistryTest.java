@@ -0,0 +1,84 @@
+package com.fullsteam.cluster;
+
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.model.GameInfo;
+import com.fullsteam.model.NodeInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the node registry shared through a directory.
+ */
+class FileNodeRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Nodes should see each other's heartbeats and games through the shared directory")
+    void testNodesShareRegistry() {
+        FileNodeRegistry first = new FileNodeRegistry(tempDir);
+        FileNodeRegistry second = new FileNodeRegistry(tempDir);
+
+        GameInfo game = new GameInfo("a-1", 3, 8, 1000L, "running", GameConfig.builder().build(), "http://a:8080");
+        first.heartbeat(node("a", System.currentTimeMillis(), List.of(game)));
+        first.assignGame("a-1", "a");
+
+        List<NodeInfo> nodes = second.getLiveNodes();
+        assertEquals(1, nodes.size());
+        NodeInfo node = nodes.get(0);
+        assertEquals("a", node.nodeId());
+        assertEquals("http://a:8080", node.address());
+        assertEquals(List.of(game), node.games());
+        assertEquals("a", second.getGameNode("a-1"));
+
+        second.releaseGame("a-1");
+        assertNull(first.getGameNode("a-1"));
+    }
+
+    @Test
+    @DisplayName("Nodes that stopped sending heartbeats should be dropped, along with their games")
+    void testStaleNodesAreDropped() {
+        FileNodeRegistry registry = new FileNodeRegistry(tempDir);
+        long now = System.currentTimeMillis();
+        registry.heartbeat(node("live", now, List.of()));
+        registry.heartbeat(node("dead", now - NodeRegistry.NODE_TIMEOUT_MS - 1000, List.of()));
+        registry.assignGame("dead-1", "dead");
+
+        List<NodeInfo> nodes = registry.getLiveNodes();
+        assertEquals(1, nodes.size());
+        assertEquals("live", nodes.get(0).nodeId());
+        assertNull(registry.getGameNode("dead-1"));
+    }
+
+    @Test
+    @DisplayName("Game ids from clients should never lead outside the registry")
+    void testInvalidGameIds() throws Exception {
+        FileNodeRegistry registry = new FileNodeRegistry(tempDir.resolve("registry"));
+        assertNull(registry.getGameNode("../nodes/a.json"));
+        assertNull(registry.getGameNode(""));
+        assertNull(registry.getGameNode("missing"));
+        assertTrue(registry.getLiveNodes().isEmpty());
+
+        Path outside = tempDir.resolve("escaped");
+        registry.assignGame("../../escaped", "a");
+        assertFalse(Files.exists(outside), "Assigning should never write outside the registry");
+        Files.writeString(outside, "a");
+        registry.releaseGame("../../escaped");
+        assertTrue(Files.exists(outside), "Releasing should never delete outside the registry");
+    }
+
+    private static NodeInfo node(String nodeId, long heartbeatMillis, List<GameInfo> games) {
+        return new NodeInfo(nodeId, "http://" + nodeId + ":8080", 0.5, games.size(), 3, heartbeatMillis, games);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fullsteam.controller;
+
+import com.fullsteam.cluster.NodeClient;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for keeping node routes to the nodes of the cluster.
+ */
+class NodeAuthFilterTest {
+
+    private final NodeAuthFilter filter = new NodeAuthFilter("cluster-secret");
+
+    @Test
+    @DisplayName("Node routes should need the cluster secret")
+    void testNodeRoutesNeedSecret() {
+        List<Supplier<MutableHttpRequest<?>>> requests = List.of(
+                () -> HttpRequest.POST(NodeAuthFilter.IMPORT_PATH, new byte[0]),
+                () -> HttpRequest.POST(NodeAuthFilter.IMPORT_PATH + "/", new byte[0]),
+                () -> HttpRequest.POST("/api//games/import//", new byte[0]),
+                () -> HttpRequest.POST("/api/games/%69mport", new byte[0]),
+                () -> HttpRequest.POST("/api/games/abc123/migrate?node=b", ""),
+                () -> HttpRequest.POST("/api/games/abc123/migrate/?node=b", ""),
+                () -> HttpRequest.POST("/api/games/abc123/migrat%65", ""),
+                () -> HttpRequest.POST("/api/node/drain", ""),
+                () -> HttpRequest.POST("/api/node/drain/", ""),
+                () -> HttpRequest.POST("/api/node/undrain", ""),
+                () -> HttpRequest.POST("/api/games", "{}").header(NodeClient.PLACED_HEADER, "true"));
+        for (Supplier<MutableHttpRequest<?>> request : requests) {
+            String path = request.get().getPath();
+            assertEquals(HttpStatus.FORBIDDEN, filter.authorizeNodeRoutes(request.get()).getStatus(), path);
+            assertEquals(HttpStatus.FORBIDDEN,
+                    filter.authorizeNodeRoutes(request.get().header(NodeClient.SECRET_HEADER, "guess")).getStatus(), path);
+            assertNull(filter.authorizeNodeRoutes(request.get().header(NodeClient.SECRET_HEADER, "cluster-secret")), path);
+        }
+    }
+
+    @Test
+    @DisplayName("Other routes should pass without a secret")
+    void testPublicRoutes() {
+        assertNull(filter.authorizeNodeRoutes(HttpRequest.POST("/api/games", "{}")));
+        assertNull(filter.authorizeNodeRoutes(HttpRequest.GET("/api/games")));
+        assertNull(filter.authorizeNodeRoutes(HttpRequest.GET("/api/games/abc123/snapshot")));
+        assertNull(filter.authorizeNodeRoutes(HttpRequest.GET("/api/games/")));
+        assertNull(filter.authorizeNodeRoutes(HttpRequest.GET("/api/games/migrate/snapshot")));
+    }
+
+    @Test
+    @DisplayName("Paths should be compared as the router sees them")
+    void testNormalize() {
+        assertEquals("/api/games/import", NodeAuthFilter.normalize("/api/games/import/"));
+        assertEquals("/api/games/import", NodeAuthFilter.normalize("//api/games//import///"));
+        assertEquals("/api/node/drain", NodeAuthFilter.normalize("/api/n%6Fde/drain"));
+        assertEquals("/a+b", NodeAuthFilter.normalize("/a+b"));
+        assertEquals("/", NodeAuthFilter.normalize("/"));
+        assertNull(NodeAuthFilter.normalize("/api/%zz"));
+    }
+
+    @Test
+    @DisplayName("Without a configured secret, node routes should be refused")
+    void testNoSecretConfigured() {
+        NodeAuthFilter unconfigured = new NodeAuthFilter(null);
+        assertEquals(HttpStatus.FORBIDDEN,
+                unconfigured.authorizeNodeRoutes(HttpRequest.POST("/api/node/drain", "")).getStatus());
+        assertNull(unconfigured.authorizeNodeRoutes(HttpRequest.GET("/api/games")));
+    }
+}
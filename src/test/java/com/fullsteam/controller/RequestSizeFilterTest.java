@@ -0,0 +1,38 @@
+package com.fullsteam.controller;
+
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for limiting request bodies by route.
+ */
+class RequestSizeFilterTest {
+
+    private final RequestSizeFilter filter = new RequestSizeFilter();
+
+    @Test
+    @DisplayName("Only the import route should take large bodies")
+    void testLargeBodiesOnlyForImport() {
+        String large = String.valueOf(RequestSizeFilter.MAX_REQUEST_SIZE + 1);
+        assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, filter.limitRequestSize(
+                HttpRequest.POST("/api/games", "{}").header(HttpHeaders.CONTENT_LENGTH, large)).getStatus());
+        assertNull(filter.limitRequestSize(
+                HttpRequest.POST(RequestSizeFilter.IMPORT_PATH, "{}").header(HttpHeaders.CONTENT_LENGTH, large)));
+    }
+
+    @Test
+    @DisplayName("Small bodies should pass, and bodies of unknown length should not")
+    void testSmallAndChunkedBodies() {
+        assertNull(filter.limitRequestSize(
+                HttpRequest.POST("/api/games", "{}").header(HttpHeaders.CONTENT_LENGTH, "2")));
+        assertNull(filter.limitRequestSize(HttpRequest.GET("/api/games")));
+        assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, filter.limitRequestSize(
+                HttpRequest.POST("/api/games", "{}").header(HttpHeaders.TRANSFER_ENCODING, "chunked")).getStatus());
+    }
+}
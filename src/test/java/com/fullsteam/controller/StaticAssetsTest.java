@@ -0,0 +1,65 @@
+package com.fullsteam.controller;
+
+import io.micronaut.core.io.ResourceResolver;
+import io.micronaut.http.MediaType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for serving static files from memory.
+ */
+class StaticAssetsTest {
+
+    @Test
+    @DisplayName("Pages should refer to their scripts and styles by versioned URLs")
+    void testPagesAreVersioned() {
+        StaticAssets staticAssets = new StaticAssets(new ResourceResolver());
+        StaticAssets.Asset page = staticAssets.get("game.html");
+        assertNotNull(page);
+        assertEquals(MediaType.TEXT_HTML_TYPE, page.contentType());
+
+        StaticAssets.Asset script = staticAssets.get("js/GameEngine.js");
+        assertNotNull(script);
+        String html = new String(page.content(), StandardCharsets.UTF_8);
+        assertTrue(html.contains("src=\"js/GameEngine.js?v=" + script.hash() + "\""));
+        assertSame(script, staticAssets.get("js/GameEngine.js"), "Assets should be read once");
+        assertNull(staticAssets.get("js/missing.js"));
+        assertNull(staticAssets.get("js/../application.yml"));
+    }
+
+    @Test
+    @DisplayName("Compressible assets should be kept gzipped as well")
+    void testGzippedCopy() throws Exception {
+        byte[] content = "{\"weapon\":\"rifle\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+        StaticAssets.Asset asset = StaticAssets.Asset.of(content, MediaType.APPLICATION_JSON_TYPE);
+        assertNotNull(asset.gzipped());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(asset.gzipped()))) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertNull(StaticAssets.Asset.of("{}".getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON_TYPE).gzipped(),
+                "Tiny assets aren't worth compressing");
+    }
+
+    @Test
+    @DisplayName("Gzip should only be sent to clients that accept it")
+    void testAcceptsGzip() {
+        assertTrue(StaticAssets.acceptsGzip("gzip, deflate, br"));
+        assertTrue(StaticAssets.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(StaticAssets.acceptsGzip("*"));
+        assertFalse(StaticAssets.acceptsGzip("gzip;q=0"));
+        assertFalse(StaticAssets.acceptsGzip("identity"));
+        assertFalse(StaticAssets.acceptsGzip(null));
+    }
+}
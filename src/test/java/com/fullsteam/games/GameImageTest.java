@@ -0,0 +1,304 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.ai.AIPlayer;
+import com.fullsteam.model.PlayerSession;
+import com.fullsteam.model.Rules;
+import com.fullsteam.physics.Flag;
+import com.fullsteam.physics.Player;
+import com.fullsteam.physics.Turret;
+import com.fullsteam.util.IdGenerator;
+import io.micronaut.websocket.WebSocketSession;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for moving games between processes as images.
+ */
+class GameImageTest {
+
+    private static final double TICK = 1.0 / 60.0;
+
+    @Test
+    @DisplayName("A restored game should carry on with the captured players and scores")
+    void testCaptureAndRestore() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("image-test", gameConfig, null, false);
+        GameManager restored = null;
+        try {
+            for (int i = 0; i < 120; i++) {
+                game.step(TICK);
+            }
+            GameImage.Captured captured = capture(game);
+            assertTrue(captured.resumeTokens().isEmpty(), "AI players don't reconnect");
+
+            restored = GameImage.restore(captured.image(), null, false);
+            assertTrue(restored.isFrozen(), "A restored game should wait to be thawed");
+            assertEquals(game.getGameId(), restored.getGameId());
+            assertEquals(game.getSeed(), restored.getSeed());
+            assertEquals(game.getGameEntities().getAllPlayers().size(), restored.getGameEntities().getAllPlayers().size());
+            for (Player player : game.getGameEntities().getAllPlayers()) {
+                Player copy = restored.getGameEntities().getPlayer(player.getId());
+                assertNotNull(copy, "Player " + player.getId() + " should be restored");
+                assertTrue(restored.isAIPlayer(player.getId()));
+                assertEquals(player.getPlayerName(), copy.getPlayerName());
+                assertEquals(player.getTeam(), copy.getTeam());
+                assertEquals(player.getHealth(), copy.getHealth());
+                assertEquals(player.isActive(), copy.isActive());
+                assertEquals(player.getKills(), copy.getKills());
+                assertEquals(player.getDeaths(), copy.getDeaths());
+                assertEquals(player.getPosition(), copy.getPosition());
+                assertEquals(player.getVelocity(), copy.getVelocity());
+                assertEquals(player.getWeapon().getLoadout(), copy.getWeapon().getLoadout());
+                assertEquals(player.getCurrentAmmo(), copy.getCurrentAmmo());
+                assertEquals(player.getUtilityWeapon(), copy.getUtilityWeapon());
+            }
+            assertEquals(game.getRuleSystem().getTeamScores(), restored.getRuleSystem().getTeamScores());
+            assertEquals(game.getRuleSystem().getGameState(), restored.getRuleSystem().getGameState());
+            assertTrue(Math.abs(game.getGameStartTime() - restored.getGameStartTime()) < 1000,
+                    "The game's age should carry over");
+
+            restored.thaw();
+            for (int i = 0; i < 60; i++) {
+                restored.step(TICK);
+            }
+            assertFalse(restored.isFrozen());
+        } finally {
+            game.shutdown();
+            if (restored != null) {
+                restored.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A frozen game shouldn't move")
+    void testFrozenGameHoldsStill() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("image-frozen-test", gameConfig, null, false);
+        try {
+            for (int i = 0; i < 30; i++) {
+                game.step(TICK);
+            }
+            capture(game);
+            long digest = game.computeStateDigest();
+            for (int i = 0; i < 30; i++) {
+                game.step(TICK);
+            }
+            assertEquals(digest, game.computeStateDigest());
+
+            game.thaw();
+            assertFalse(game.isFrozen());
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A finished game should still be captured on its next tick")
+    void testFinishedGameCanBeCaptured() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("image-finished-test", gameConfig, null, false);
+        try {
+            game.step(TICK);
+            game.getRuleSystem().declareVictory(1, -1, "test");
+            assertTrue(game.getRuleSystem().isGameOver());
+            assertNotNull(capture(game).image());
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A human player should resume their player with the token they were given, once")
+    void testResumeToken() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("image-resume-test", gameConfig, objectMapper, false);
+        GameManager restored = null;
+        try {
+            int playerId = IdGenerator.nextPlayerId();
+            PlayerSession playerSession = new PlayerSession(playerId, session(new ArrayList<>()));
+            assertTrue(game.addPlayer(playerSession));
+            game.getGameEntities().getPlayer(playerId).setKills(3);
+            game.step(TICK);
+
+            GameImage.Captured captured = capture(game);
+            String token = captured.resumeTokens().get(playerId);
+            assertNotNull(token);
+
+            restored = GameImage.restore(captured.image(), objectMapper, false);
+            assertTrue(restored.hasHumanPlayers(), "A player still expected back should keep the game alive");
+            assertEquals(0, restored.getPlayerCount());
+            assertNull(restored.claimResumeToken("not-a-token"));
+            assertEquals(playerId, restored.claimResumeToken(token));
+            assertNull(restored.claimResumeToken(token), "A token should only resume once");
+
+            List<String> received = new ArrayList<>();
+            PlayerSession resumed = new PlayerSession(playerId, session(received));
+            assertTrue(restored.resumePlayer(resumed, false));
+            assertEquals(playerSession.getPlayerName(), resumed.getPlayerName());
+            assertEquals(1, restored.getPlayerCount());
+            assertEquals(3, restored.getGameEntities().getPlayer(playerId).getKills());
+            assertFalse(received.isEmpty(), "The resumed player should be sent the game's state");
+        } finally {
+            game.shutdown();
+            if (restored != null) {
+                restored.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A restored game should keep its carried flags, turrets, status effects and AI state")
+    void testTransientStateCarriesOver() throws Exception {
+        Rules rules = Rules.builder()
+                .flagsPerTeam(1)
+                .build();
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(true)
+                .maxPlayers(4)
+                .rules(rules)
+                .build();
+        GameManager game = new GameManager("image-transient-test", gameConfig, null, false);
+        GameManager restored = null;
+        try {
+            for (int i = 0; i < 120; i++) {
+                game.step(TICK);
+            }
+            AIPlayer aiPlayer = game.getAiPlayerManager().getAiPlayers().values().iterator().next();
+            Flag flag = game.getGameEntities().getAllFlags().stream()
+                    .filter(f -> f.getOwnerTeam() != aiPlayer.getTeam())
+                    .findFirst()
+                    .orElseThrow();
+            flag.pickUp(aiPlayer.getId());
+            StatusEffectManager.applySpeedBoost(aiPlayer, 1.5, 10, "test");
+            Turret turret = new Turret(IdGenerator.nextEntityId(), aiPlayer.getId(), aiPlayer.getTeam(), new Vector2(100, 100), 15);
+            turret.setHealth(20);
+            game.addRestoredTurret(turret);
+            Player enemy = new Player(12345, "Enemy", 300, -200, aiPlayer.getTeam() == 1 ? 2 : 1, 100.0);
+            aiPlayer.getMemory().observePlayer(enemy);
+
+            GameImage.Captured captured = capture(game);
+            restored = GameImage.restore(captured.image(), null, false);
+
+            Flag restoredFlag = restored.getGameEntities().getFlag(flag.getId());
+            assertTrue(restoredFlag.isCarried());
+            assertEquals(aiPlayer.getId(), restoredFlag.getCarriedByPlayerId());
+
+            Turret restoredTurret = restored.getGameEntities().getAllTurrets().stream()
+                    .filter(t -> t.getId() == turret.getId())
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(aiPlayer.getId(), restoredTurret.getOwnerId());
+            assertEquals(20, restoredTurret.getHealth());
+            assertEquals(turret.getPosition(), restoredTurret.getPosition());
+
+            Player restoredPlayer = restored.getGameEntities().getPlayer(aiPlayer.getId());
+            assertTrue(restoredPlayer.getAttributeModifications().stream().anyMatch(am -> am.uniqueKey().equals("speedBoost")),
+                    "The speed boost should still be on the player");
+
+            AIPlayer restoredAI = restored.getAiPlayerManager().getAiPlayers().get(aiPlayer.getId());
+            assertEquals(aiPlayer.getCurrentBehavior().getName(), restoredAI.getCurrentBehavior().getName());
+            assertEquals(aiPlayer.getMemory().getThreatLevel(12345), restoredAI.getMemory().getThreatLevel(12345));
+            assertEquals(aiPlayer.getMemory().getLastKnownPosition(12345), restoredAI.getMemory().getLastKnownPosition(12345));
+            assertEquals(aiPlayer.getMemory().getPerception().getTrackedPlayerCount(),
+                    restoredAI.getMemory().getPerception().getTrackedPlayerCount());
+        } finally {
+            game.shutdown();
+            if (restored != null) {
+                restored.shutdown();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Anything but a game image should be refused")
+    void testRejectsOtherData() {
+        assertThrows(IOException.class, () -> GameImage.restore(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}, null, false));
+    }
+
+    @Test
+    @DisplayName("An image with a game id that isn't one should be refused")
+    void testRejectsInvalidGameId() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(GameImage.MAGIC);
+        out.writeInt(GameImage.VERSION);
+        out.writeUTF("../../escaped");
+        out.writeLong(42);
+        out.flush();
+        assertThrows(IOException.class, () -> GameImage.restore(bytes.toByteArray(), null, false));
+    }
+
+    @Test
+    @DisplayName("An image with a corrupt length should be refused")
+    void testRejectsCorruptLengths() throws Exception {
+        for (int length : new int[]{-1, Integer.MAX_VALUE}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(GameImage.MAGIC);
+            out.writeInt(GameImage.VERSION);
+            out.writeUTF("image-corrupt-test");
+            out.writeLong(42);
+            out.writeInt(length);
+            out.flush();
+            assertThrows(IOException.class, () -> GameImage.restore(bytes.toByteArray(), null, false),
+                    "A length of " + length + " should be refused");
+        }
+    }
+
+    private static GameImage.Captured capture(GameManager game) throws Exception {
+        CompletableFuture<GameImage.Captured> capture = game.freezeForMigration();
+        assertFalse(capture.isDone(), "The game should be captured on its next tick");
+        game.step(TICK);
+        assertTrue(game.isFrozen());
+        return capture.get();
+    }
+
+    private static WebSocketSession session(List<String> received) {
+        return (WebSocketSession) Proxy.newProxyInstance(
+                GameImageTest.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "sendSync" -> {
+                        received.add((String) args[0]);
+                        yield args[0];
+                    }
+                    case "isOpen", "isWritable" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestSession";
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+    }
+}
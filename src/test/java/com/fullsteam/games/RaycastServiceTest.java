@@ -0,0 +1,102 @@
+package com.fullsteam.games;
+
+import com.fullsteam.BaseTestClass;
+import com.fullsteam.model.Ordinance;
+import com.fullsteam.physics.Beam;
+import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.Obstacle;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RaycastService.
+ * Tests distance ordering, batched casts and the static emitter obstacle cache.
+ */
+class RaycastServiceTest extends BaseTestClass {
+
+    private RaycastService raycastService;
+    private GameEntities gameEntities;
+    private World<Body> world;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        world = new World<>();
+        GameConfig testConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .build();
+        gameEntities = new GameEntities(testConfig, world);
+        raycastService = new RaycastService(gameEntities, world);
+    }
+
+    private Obstacle addBarrier(int id, double x) {
+        // Barriers are placed perpendicular to the given direction, so this one crosses the x axis
+        Obstacle barrier = Obstacle.createPlayerBarrier(id, 1, 1, new Vector2(x, 0), new Vector2(1, 0), 60.0);
+        gameEntities.addObstacle(barrier);
+        world.addBody(barrier.getBody());
+        return barrier;
+    }
+
+    @Test
+    @DisplayName("Should return hits ordered by distance")
+    void testHitsOrderedByDistance() {
+        Obstacle far = addBarrier(1, 150);
+        Obstacle near = addBarrier(2, 50);
+
+        RaycastService.RayHits hits = raycastService.castAll(new Vector2(0, 0), new Vector2(200, 0));
+
+        assertEquals(2, hits.size());
+        assertSame(near, hits.getUserData(0));
+        assertSame(far, hits.getUserData(1));
+        assertTrue(hits.getDistance(0) < hits.getDistance(1));
+    }
+
+    @Test
+    @DisplayName("Batched casts should match direct casts")
+    void testBatchedCastMatchesDirectCast() {
+        Obstacle near = addBarrier(1, 50);
+        addBarrier(2, 150);
+        Vector2 start = new Vector2(0, 0);
+        Vector2 end = new Vector2(200, 0);
+
+        RaycastService.RayHits direct = raycastService.castAll(start, end);
+        int directSize = direct.size();
+        double directNearest = direct.getDistance(0);
+
+        Beam beam = new Beam(99, start, new Vector2(1, 0), 200, 10, 1, 1, Ordinance.LASER, Set.of());
+        raycastService.beginBatch(List.of(beam));
+        RaycastService.RayHits batched = raycastService.castAll(start, end);
+        raycastService.endBatch();
+
+        assertEquals(directSize, batched.size());
+        assertSame(near, batched.getUserData(0));
+        assertEquals(directNearest, batched.getDistance(0), 0.001);
+    }
+
+    @Test
+    @DisplayName("Static emitter cache should pick up new obstacles")
+    void testStaticEmitterCacheInvalidatedByNewObstacle() {
+        Vector2 origin = new Vector2(0, 0);
+        Vector2 end = new Vector2(200, 0);
+
+        Vector2 unblocked = raycastService.findStaticObstacleIntersection(7, origin, 200, origin, end);
+        assertEquals(200, unblocked.x, 0.1, "Beam should reach full range without obstacles");
+
+        addBarrier(1, 100);
+
+        Vector2 blocked = raycastService.findStaticObstacleIntersection(7, origin, 200, origin, end);
+        assertTrue(blocked.x < 100, "Beam should stop at the newly added barrier");
+        assertEquals(0, blocked.y, 0.1);
+    }
+}
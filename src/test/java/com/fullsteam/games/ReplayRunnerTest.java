@@ -0,0 +1,91 @@
+package com.fullsteam.games;
+
+import com.fullsteam.model.PlayerInput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for recording games and replaying them from their input logs.
+ */
+class ReplayRunnerTest {
+
+    private static final int TICKS = 300;
+
+    @Test
+    @DisplayName("A replay should reproduce the recorded game's end state")
+    void testReplayReproducesRecordedGame() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(true)
+                .enableReplayRecording(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("replay-test", gameConfig, null, false);
+        ReplayRecorder recorder = game.getReplayRecorder();
+        assertNotNull(recorder);
+        Path file = recorder.getFile();
+        try {
+            for (int i = 0; i < TICKS; i++) {
+                game.step(1.0 / 60.0);
+            }
+            long digest = game.computeStateDigest();
+            game.shutdown();
+
+            ReplayRunner.Result result = ReplayRunner.replay(file);
+            assertEquals(game.getSeed(), result.seed());
+            assertEquals(TICKS, result.ticks());
+            assertEquals(digest, result.recordedDigest());
+            assertTrue(result.reproduced(), "Replay should end in the recorded state");
+            assertEquals(0, result.aiInputMismatches());
+            assertEquals(game.getRuleSystem().getTeamScores(), result.teamScores());
+        } finally {
+            game.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Inputs should survive encoding, including an unset reload")
+    void testInputEncoding() {
+        PlayerInput input = new PlayerInput();
+        input.setMoveX(-1);
+        input.setMoveY(0.5);
+        input.setWorldX(1234.5);
+        input.setWorldY(-87.25);
+        input.setLeft(true);
+        input.setAltFire(true);
+
+        ByteBuffer buffer = ByteBuffer.allocate(ReplayRecorder.INPUT_SIZE);
+        ReplayRecorder.encodeInput(buffer, input);
+        assertEquals(ReplayRecorder.INPUT_SIZE, buffer.position());
+        buffer.flip();
+        PlayerInput decoded = ReplayRecorder.decodeInput(buffer);
+        assertEquals(input, decoded);
+        assertNull(decoded.getReload());
+
+        input.setReload(false);
+        buffer.clear();
+        ReplayRecorder.encodeInput(buffer, input);
+        buffer.flip();
+        assertEquals(input, ReplayRecorder.decodeInput(buffer));
+    }
+
+    @Test
+    @DisplayName("Games that aren't recorded should have no recorder")
+    void testRecordingIsOptIn() {
+        GameManager game = new GameManager("unrecorded", GameConfig.builder().enableAIFilling(false).build(), null, false);
+        try {
+            assertNull(game.getReplayRecorder());
+        } finally {
+            game.shutdown();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.fullsteam.games;
+
+import com.fullsteam.model.Rules;
+import com.fullsteam.model.ScoreStyle;
+import com.fullsteam.physics.GameEntities;
+import com.fullsteam.physics.KothZone;
+import com.fullsteam.physics.Player;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally maintained scoreboard.
+ */
+class ScoreboardTest extends BaseTestClass {
+
+    private GameEntities gameEntities;
+    private RuleSystem ruleSystem;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        GameConfig config = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .build();
+        gameEntities = new GameEntities(config, new World<Body>());
+        Rules rules = Rules.builder()
+                .scoreStyle(ScoreStyle.TOTAL)
+                .scoreLimit(1000)
+                .build();
+        ruleSystem = new RuleSystem("test-game", rules, gameEntities, null, new TestBroadcaster(), 2);
+    }
+
+    @Test
+    @DisplayName("Team totals should follow kills, captures, zone points and bonus points as they happen")
+    void testTeamTotalsFollowEvents() {
+        Player player1 = new Player(1, "Player1", 0, 0, 1, 100.0);
+        Player player2 = new Player(2, "Player2", 0, 0, 2, 100.0);
+        gameEntities.addPlayer(player1);
+        gameEntities.addPlayer(player2);
+        KothZone zone = new KothZone(101, 0, 0, 0, 5.0);
+        gameEntities.addKothZone(zone);
+
+        Map<Integer, Integer> teamScores = ruleSystem.getTeamScores();
+        assertEquals(0, teamScores.get(1));
+        assertEquals(0, teamScores.get(2));
+
+        player1.addKill();
+        player2.addCapture(); // TOTAL counts a capture both as player score and as objective
+        zone.awardPointsToTeam(2, 2.6);
+        ruleSystem.addTeamPoints(1, 10);
+
+        assertEquals(11, teamScores.get(1));
+        assertEquals(5, teamScores.get(2));
+        assertSame(teamScores, ruleSystem.getTeamScores(), "Reads should not allocate a new map");
+    }
+
+    @Test
+    @DisplayName("Leaving players should take their points with them")
+    void testPlayerRemoval() {
+        Player player = new Player(1, "Player1", 0, 0, 1, 100.0);
+        player.setKills(4);
+        gameEntities.addPlayer(player);
+        assertEquals(4, ruleSystem.getTeamScores().get(1));
+
+        gameEntities.removePlayer(1);
+        assertFalse(ruleSystem.getTeamScores().containsKey(1));
+
+        player.addKill(); // No longer part of the game
+        assertFalse(ruleSystem.getTeamScores().containsKey(1));
+    }
+
+    @Test
+    @DisplayName("Rankings should stay sorted by score as scores change")
+    void testRankings() {
+        Scoreboard scoreboard = new Scoreboard();
+        scoreboard.setContribution(Scoreboard.Source.BONUS, 1, 0, 1, 5);
+        scoreboard.setContribution(Scoreboard.Source.BONUS, 2, 0, 2, 3);
+        scoreboard.setContribution(Scoreboard.Source.BONUS, 3, 0, 3, 3);
+        assertEquals(List.of(1, 2, 3), scoreboard.getTeamRanking());
+
+        scoreboard.addToContribution(Scoreboard.Source.BONUS, 3, 0, 3, 4);
+        assertEquals(List.of(3, 1, 2), scoreboard.getTeamRanking());
+        assertEquals(3, scoreboard.getLeadingTeam());
+        assertEquals(7, scoreboard.getHighestTeamScore());
+
+        scoreboard.removeContribution(Scoreboard.Source.BONUS, 3, 0);
+        assertEquals(List.of(1, 2), scoreboard.getTeamRanking());
+
+        scoreboard.setPlayerScore(10, 2);
+        scoreboard.setPlayerScore(11, 6);
+        assertEquals(11, scoreboard.getLeadingPlayer());
+        scoreboard.removePlayer(11);
+        assertEquals(2, scoreboard.getHighestPlayerScore());
+    }
+
+    @Test
+    @DisplayName("Moving a source to another team should move its points")
+    void testContributionChangesTeam() {
+        Player player = new Player(1, "Player1", 0, 0, 1, 100.0);
+        player.setKills(3);
+        gameEntities.addPlayer(player);
+
+        player.setTeam(2);
+        assertFalse(ruleSystem.getTeamScores().containsKey(1));
+        assertEquals(3, ruleSystem.getTeamScores().get(2));
+    }
+}
@@ -0,0 +1,217 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.model.PlayerSession;
+import com.fullsteam.util.IdGenerator;
+import io.micronaut.websocket.WebSocketSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for holding players whose connection dropped until they reconnect.
+ */
+class SessionResumeTest {
+
+    private static final double TICK = 1.0 / 60.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static GameConfig smallConfig() {
+        return GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(4)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A dropped player should be held and picked back up without resending the world")
+    void testSuspendAndResume() throws Exception {
+        GameManager game = new GameManager("resume-test", smallConfig(), objectMapper, false);
+        try {
+            List<String> received = new ArrayList<>();
+            int playerId = IdGenerator.nextPlayerId();
+            PlayerSession playerSession = new PlayerSession(playerId, session(received));
+            assertTrue(game.addPlayer(playerSession));
+            JsonNode initialState = objectMapper.readTree(received.get(0));
+            String token = initialState.path("resumeToken").asText();
+            assertEquals(playerSession.getResumeToken(), token);
+            game.getGameEntities().getPlayer(playerId).setKills(2);
+
+            assertTrue(game.suspendPlayer(playerId));
+            assertEquals(0, game.getPlayerCount());
+            assertTrue(game.hasHumanPlayers(), "A held player should keep the game up");
+            game.step(TICK);
+            assertNotNull(game.getGameEntities().getPlayer(playerId), "The player should stay in the game");
+
+            assertEquals(playerId, game.claimResumeToken(token));
+            List<String> resumedMessages = new ArrayList<>();
+            PlayerSession resumed = new PlayerSession(playerId, session(resumedMessages));
+            assertTrue(game.resumePlayer(resumed, true));
+            assertEquals(1, game.getPlayerCount());
+            assertEquals(2, game.getGameEntities().getPlayer(playerId).getKills());
+
+            JsonNode resumedState = objectMapper.readTree(resumedMessages.get(0));
+            assertEquals("resumed", resumedState.path("type").asText());
+            assertEquals(playerId, resumedState.path("playerId").asInt());
+            assertFalse(resumedState.has("obstacles"), "The client kept the world");
+            assertNotEquals(token, resumedState.path("resumeToken").asText(), "Each resume should get a new token");
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A held player who doesn't come back should leave the game")
+    void testExpiry() {
+        GameManager game = new GameManager("resume-expiry-test", smallConfig(), objectMapper, false);
+        try {
+            int playerId = IdGenerator.nextPlayerId();
+            PlayerSession playerSession = new PlayerSession(playerId, session(new ArrayList<>()));
+            assertTrue(game.addPlayer(playerSession));
+            assertTrue(game.suspendPlayer(playerId));
+
+            game.expireResumeToken(playerSession.getResumeToken());
+            assertNull(game.getGameEntities().getPlayer(playerId));
+            assertNull(game.claimResumeToken(playerSession.getResumeToken()));
+            assertFalse(game.hasHumanPlayers());
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A held player should keep their slot until they come back")
+    void testHeldPlayersKeepTheirSlot() {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(2)
+                .build();
+        GameManager game = new GameManager("resume-capacity-test", gameConfig, objectMapper, false);
+        try {
+            int heldId = IdGenerator.nextPlayerId();
+            PlayerSession held = new PlayerSession(heldId, session(new ArrayList<>()));
+            assertTrue(game.addPlayer(held));
+            assertTrue(game.addPlayer(new PlayerSession(IdGenerator.nextPlayerId(), session(new ArrayList<>()))));
+            assertTrue(game.suspendPlayer(heldId));
+            assertEquals(1, game.getPlayerCount());
+
+            PlayerSession newcomer = new PlayerSession(IdGenerator.nextPlayerId(), session(new ArrayList<>()));
+            assertFalse(game.addPlayer(newcomer), "The held player's slot shouldn't be given away");
+            assertEquals(heldId, game.claimResumeToken(held.getResumeToken()));
+            assertFalse(game.addPlayer(newcomer), "Nor while they're reconnecting");
+            assertTrue(game.resumePlayer(new PlayerSession(heldId, session(new ArrayList<>())), true));
+            assertEquals(2, game.getPlayerCount());
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A player shouldn't resume into a game that is over its player limit")
+    void testResumeIntoOverfilledGame() {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(2)
+                .build();
+        GameManager game = new GameManager("resume-overfilled-test", gameConfig, objectMapper, false);
+        try {
+            int heldId = IdGenerator.nextPlayerId();
+            PlayerSession held = new PlayerSession(heldId, session(new ArrayList<>()));
+            assertTrue(game.addPlayer(held));
+            assertTrue(game.addPlayer(new PlayerSession(IdGenerator.nextPlayerId(), session(new ArrayList<>()))));
+            assertTrue(game.suspendPlayer(heldId));
+            gameConfig.setMaxPlayers(1);
+
+            assertEquals(heldId, game.claimResumeToken(held.getResumeToken()));
+            assertFalse(game.resumePlayer(new PlayerSession(heldId, session(new ArrayList<>())), true));
+            assertEquals(1, game.getPlayerCount());
+            assertNull(game.getGameEntities().getPlayer(heldId), "A player turned away should leave the game");
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A recorded game should still apply joins and leaves once it is over")
+    void testRecordedGameTakesJoinsAfterGameOver() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .enableReplayRecording(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("resume-game-over-test", gameConfig, objectMapper, false);
+        Path file = game.getReplayRecorder().getFile();
+        try {
+            int winnerId = IdGenerator.nextPlayerId();
+            assertTrue(game.addPlayer(new PlayerSession(winnerId, session(new ArrayList<>()))));
+            game.step(TICK);
+            game.getRuleSystem().declareVictory(0, winnerId, "test");
+            assertTrue(game.getRuleSystem().isGameOver());
+
+            int playerId = IdGenerator.nextPlayerId();
+            assertTrue(game.addPlayer(new PlayerSession(playerId, session(new ArrayList<>()))));
+            assertNull(game.getGameEntities().getPlayer(playerId), "A recorded game joins players on its next tick");
+            game.step(TICK);
+            assertNotNull(game.getGameEntities().getPlayer(playerId));
+
+            game.removePlayer(winnerId);
+            game.step(TICK);
+            assertNull(game.getGameEntities().getPlayer(winnerId));
+        } finally {
+            game.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Recorded games should let dropped players leave")
+    void testRecordedGamesDontHold() throws Exception {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .enableReplayRecording(true)
+                .maxPlayers(4)
+                .build();
+        GameManager game = new GameManager("resume-recorded-test", gameConfig, objectMapper, false);
+        Path file = game.getReplayRecorder().getFile();
+        try {
+            int playerId = IdGenerator.nextPlayerId();
+            assertTrue(game.addPlayer(new PlayerSession(playerId, session(new ArrayList<>()))));
+            assertFalse(game.suspendPlayer(playerId));
+            assertEquals(1, game.getPlayerCount(), "A player that can't be held should be left to the caller");
+        } finally {
+            game.shutdown();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static WebSocketSession session(List<String> received) {
+        return (WebSocketSession) Proxy.newProxyInstance(
+                SessionResumeTest.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "sendSync" -> {
+                        received.add((String) args[0]);
+                        yield args[0];
+                    }
+                    case "isOpen", "isWritable" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestSession";
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+    }
+}
@@ -0,0 +1,63 @@
+package com.fullsteam.games;
+
+import com.fullsteam.util.GameClock;
+import com.fullsteam.util.GameRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for headless bot-vs-bot simulation.
+ */
+class SimulationRunnerTest {
+
+    private static final long TICKS = 300;
+
+    private GameConfig simulationConfig() {
+        return GameConfig.builder()
+                .enableAIFilling(true)
+                .maxPlayers(4)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should run on simulated time and report per-phase costs")
+    void testRunUsesSimulatedTime() {
+        SimulationRunner.Result result = SimulationRunner.run(simulationConfig(), 42, TICKS);
+
+        assertEquals(TICKS, result.ticks());
+        assertEquals(TICKS * SimulationRunner.TICK_MILLIS / 1000.0, result.simulatedSeconds(), 0.0001);
+        assertTrue(result.wallSeconds() < result.simulatedSeconds(), "Simulation should run faster than real time");
+        assertEquals(TickProfiler.Phase.values().length, result.phaseMicrosPerTick().size());
+        assertTrue(result.phaseMicrosPerTick().get(TickProfiler.Phase.PHYSICS) > 0);
+        assertNotNull(result.teamScores());
+    }
+
+    @Test
+    @DisplayName("Should restore the real clock and randomness after a run")
+    void testRunRestoresThreadState() {
+        SimulationRunner.run(simulationConfig(), 7, 10);
+
+        assertSame(ThreadLocalRandom.current(), GameRandom.current());
+        assertTrue(Math.abs(GameClock.currentTimeMillis() - System.currentTimeMillis()) < 1000);
+    }
+
+    @Test
+    @DisplayName("Should run seeded games in parallel")
+    void testRunAllInParallel() {
+        List<SimulationRunner.Result> results = SimulationRunner.runAll(simulationConfig(), 100, 3, TICKS, 3);
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(100 + i, results.get(i).seed());
+            assertEquals(TICKS, results.get(i).ticks());
+        }
+    }
+}
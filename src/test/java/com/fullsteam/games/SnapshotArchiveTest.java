@@ -0,0 +1,179 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the keyframe and delta snapshot archive.
+ */
+class SnapshotArchiveTest {
+
+    private static final long START = 1_000_000L;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private SnapshotArchive archive;
+    private final Map<Long, Map<String, Object>> recorded = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        if (archive != null) {
+            archive.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Any archived time should be reconstructed exactly from its keyframe and deltas")
+    void testSeekReconstructsState() throws Exception {
+        archive = new SnapshotArchive(tempDir.resolve("archive"), 1000, 1L << 20, 600_000);
+        recordFrames(200);
+        archive.drain();
+
+        for (long t = START; t < START + 200 * SnapshotArchive.FRAME_INTERVAL_MS; t += 7 * SnapshotArchive.FRAME_INTERVAL_MS) {
+            assertEquals(expected(t), archive.stateAt(t), "State at " + t);
+        }
+        // Between frames, the last frame before is in effect
+        assertEquals(expected(START + 500), archive.stateAt(START + 520));
+    }
+
+    @Test
+    @DisplayName("Clips and kill-cams should hold every frame in their window")
+    void testClipAndKillCam() throws Exception {
+        archive = new SnapshotArchive(tempDir.resolve("archive"), 1000, 1L << 20, 600_000);
+        recordFrames(200);
+        archive.recordKill(START + 8000, 3, 1);
+
+        List<JsonNode> clip = archive.clip(START + 2000, START + 3000);
+        assertEquals(21, clip.size());
+        assertEquals(expected(START + 2000), clip.get(0));
+        assertEquals(expected(START + 3000), clip.get(20));
+
+        SnapshotArchive.KillCam killCam = archive.killCam(3);
+        assertNotNull(killCam);
+        assertEquals(1, killCam.killerId());
+        // 5 seconds before the kill and the one second after it that has been archived
+        assertEquals(121, killCam.frames().size());
+        assertNull(archive.killCam(2), "Player 2 never died");
+    }
+
+    @Test
+    @DisplayName("Kill-cams should be held back until their whole clip may be shown")
+    void testKillCamHeldBack() throws Exception {
+        archive = new SnapshotArchive(tempDir.resolve("archive"), 1000, 1L << 20, 600_000);
+        recordFrames(200);
+        archive.recordKill(START + 2000, 3, 1);
+        archive.recordKill(START + 8000, 3, 2);
+
+        assertEquals(START + 8000, archive.killCam(3, START + 9000).timestamp());
+        SnapshotArchive.KillCam earlier = archive.killCam(3, START + 8999);
+        assertNotNull(earlier);
+        assertEquals(START + 2000, earlier.timestamp(), "The latest death can't be shown yet");
+        assertNull(archive.killCam(3, START + 2999));
+    }
+
+    @Test
+    @DisplayName("Old segments should be compressed, then dropped once past retention")
+    void testCompressionAndRetention() throws Exception {
+        // Every keyframe starts a new segment
+        archive = new SnapshotArchive(tempDir.resolve("archive"), 1000, 1, 5000);
+        recordFrames(100);
+        archive.drain();
+        assertEquals(5, archive.getSegmentCount());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (archive.getCompressedSegmentCount() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, archive.getCompressedSegmentCount(), "All but the current segment should be compressed");
+        assertEquals(expected(START + 1250), archive.stateAt(START + 1250));
+
+        recordFrames(100, 100);
+        archive.drain();
+        archive.enforceRetention();
+        assertEquals(6, archive.getSegmentCount(), "Only segments within 5 seconds of the newest frame are kept");
+        // Times before the retained range get the oldest retained state
+        assertEquals(expected(START + 4000), archive.stateAt(START));
+    }
+
+    @Test
+    @DisplayName("Closing the archive should delete it")
+    void testCloseDeletesArchive() {
+        Path directory = tempDir.resolve("archive");
+        archive = new SnapshotArchive(directory, 1000, 1L << 20, 600_000);
+        recordFrames(50);
+        archive.drain();
+        assertTrue(Files.exists(directory));
+
+        archive.close();
+        assertFalse(Files.exists(directory));
+        assertNull(archive.stateAt(START));
+    }
+
+    /**
+     * The recorded state as the archive stores it, which is as JSON.
+     */
+    private JsonNode expected(long timestamp) throws Exception {
+        return JSON.readTree(JSON.writeValueAsBytes(recorded.get(timestamp)));
+    }
+
+    private void recordFrames(int count) {
+        recordFrames(0, count);
+    }
+
+    /**
+     * Record frames of a small game where players move, join, leave and change fields.
+     */
+    private void recordFrames(int first, int count) {
+        for (int frame = first; frame < first + count; frame++) {
+            long timestamp = START + frame * SnapshotArchive.FRAME_INTERVAL_MS;
+            List<Map<String, Object>> players = new ArrayList<>();
+            for (int id = 1; id <= 4; id++) {
+                // Player 4 is only around for part of the game
+                if (id == 4 && (frame / 30) % 2 == 1) {
+                    continue;
+                }
+                Map<String, Object> player = new HashMap<>();
+                player.put("id", id);
+                player.put("x", id * 100.0 + frame);
+                player.put("y", id == 2 ? 50.0 : frame * 0.5);
+                player.put("health", 100.0 - (frame % 10) * id);
+                if (id == 3 && frame % 20 < 10) {
+                    player.put("reloading", true);
+                }
+                players.add(player);
+            }
+            Map<String, Object> state = new HashMap<>();
+            state.put("type", "gameState");
+            state.put("timestamp", timestamp);
+            state.put("players", players);
+            state.put("teamScores", Map.of("1", frame / 40, "2", frame / 50));
+            if (frame % 25 < 5) {
+                state.put("event", "surge");
+            }
+            recorded.put(timestamp, state);
+
+            assertTrue(archive.isFrameDue(timestamp));
+            archive.record(timestamp, state);
+            assertFalse(archive.isFrameDue(timestamp + 1));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.fullsteam.games;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullsteam.model.PlayerSession;
+import com.fullsteam.util.IdGenerator;
+import io.micronaut.websocket.WebSocketSession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for delivering broadcasts to spectators.
+ */
+class SpectatorFanoutTest {
+
+    private long now = 1_000_000L;
+
+    @Test
+    @DisplayName("Broadcasts should be held back from spectators for the delay")
+    void testDelay() {
+        SpectatorFanout fanout = new SpectatorFanout(2000, () -> now, false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true)));
+
+        fanout.publishMessage("event");
+        fanout.publishFrame("frame-1");
+        now += 1000;
+        fanout.pump();
+        assertTrue(received.isEmpty(), "Nothing should be sent before the delay has passed");
+
+        now += 1000;
+        fanout.pump();
+        assertEquals(List.of("event", "frame-1"), received);
+    }
+
+    @Test
+    @DisplayName("Only the newest frame should be sent, and never twice")
+    void testFramesAreLatestWins() {
+        SpectatorFanout fanout = new SpectatorFanout(0, () -> now, false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true)));
+
+        fanout.publishFrame("frame-1");
+        fanout.publishFrame("frame-2");
+        fanout.publishFrame("frame-3");
+        fanout.pump();
+        now += SpectatorFanout.PUMP_INTERVAL_MS;
+        fanout.pump();
+        assertEquals(List.of("frame-3"), received);
+    }
+
+    @Test
+    @DisplayName("A viewer that can't keep up should skip frames and be sent them less often, but get every event")
+    void testSlowViewerIsDownsampled() {
+        List<CompletableFuture<Object>> pending = new ArrayList<>();
+        SpectatorFanout fanout = new SpectatorFanout(0, () -> now, false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true), pending));
+        SpectatorFanout.Viewer viewer = fanout.getViewer(1);
+
+        // The first write never completes, so every following frame finds the viewer busy
+        fanout.publishFrame("frame-0");
+        fanout.pump();
+        assertEquals(1, pending.size());
+        for (int i = 1; i <= 40; i++) {
+            now += SpectatorFanout.PUMP_INTERVAL_MS;
+            fanout.publishFrame("frame-" + i);
+            fanout.publishMessage("event-" + i);
+            fanout.pump();
+        }
+        assertEquals(1, pending.size(), "A busy viewer shouldn't be handed more writes");
+        assertTrue(viewer.getSkippedFrames() > 0);
+        assertEquals(SpectatorFanout.MAX_FRAME_INTERVAL_MS, viewer.getFrameInterval());
+
+        // Once the write completes, the viewer has every event and then gets the newest frame
+        pending.remove(0).complete(null);
+        now += SpectatorFanout.MAX_FRAME_INTERVAL_MS;
+        fanout.pump();
+        assertEquals(41, pending.size());
+        List<String> expected = new ArrayList<>();
+        expected.add("frame-0");
+        for (int i = 1; i <= 40; i++) {
+            expected.add("event-" + i);
+        }
+        expected.add("frame-40");
+        assertEquals(expected, received);
+        assertTrue(viewer.getFrameInterval() < SpectatorFanout.MAX_FRAME_INTERVAL_MS, "Keeping up should ease the interval back");
+
+        // Only the last of the writes completing frees the viewer
+        pending.remove(0).complete(null);
+        now += SpectatorFanout.MAX_FRAME_INTERVAL_MS;
+        fanout.publishFrame("frame-41");
+        fanout.pump();
+        assertEquals(40, pending.size());
+        pending.remove(pending.size() - 1).complete(null);
+        now += SpectatorFanout.MAX_FRAME_INTERVAL_MS;
+        fanout.pump();
+        assertEquals("frame-41", received.get(received.size() - 1));
+    }
+
+    @Test
+    @DisplayName("A viewer whose connection isn't taking more writes should skip frames")
+    void testUnwritableViewerSkipsFrames() {
+        SpectatorFanout fanout = new SpectatorFanout(0, () -> now, false);
+        AtomicBoolean writable = new AtomicBoolean(false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true), writable, null));
+
+        fanout.publishFrame("frame-1");
+        fanout.pump();
+        assertTrue(received.isEmpty());
+        assertEquals(1, fanout.getViewer(1).getSkippedFrames());
+
+        writable.set(true);
+        now += SpectatorFanout.MAX_FRAME_INTERVAL_MS;
+        fanout.publishFrame("frame-2");
+        fanout.pump();
+        assertEquals(List.of("frame-2"), received);
+    }
+
+    @Test
+    @DisplayName("A busy viewer should only have the newest events waiting")
+    void testPendingMessagesAreBounded() {
+        List<CompletableFuture<Object>> pending = new ArrayList<>();
+        SpectatorFanout fanout = new SpectatorFanout(0, () -> now, false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true), pending));
+
+        fanout.publishMessage("event-0");
+        fanout.pump();
+        int published = SpectatorFanout.MAX_PENDING_MESSAGES + 10;
+        for (int i = 1; i <= published; i++) {
+            fanout.publishMessage("event-" + i);
+        }
+        fanout.pump();
+        assertEquals(10, fanout.getViewer(1).getDroppedMessages());
+
+        pending.remove(0).complete(null);
+        fanout.pump();
+        assertEquals(SpectatorFanout.MAX_PENDING_MESSAGES + 1, received.size());
+        assertEquals("event-11", received.get(1));
+        assertEquals("event-" + published, received.get(received.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Frames held back for a long delay should be kept further apart, and the buffer capped")
+    void testDelayedBufferIsBounded() {
+        long delay = 300_000;
+        SpectatorFanout fanout = new SpectatorFanout(delay, () -> now, false);
+        List<String> received = new ArrayList<>();
+        fanout.addViewer(viewer(1, received, new AtomicBoolean(true)));
+
+        // A minute of frames at the tick rate
+        for (int i = 0; i < 3750; i++) {
+            fanout.publishFrame("frame-" + i);
+            now += 16;
+        }
+        long interval = delay / SpectatorFanout.MAX_DELAYED_FRAMES;
+        int heldBack = fanout.getHeldBackCount();
+        assertTrue(heldBack <= 60_000 / interval + 1, "Frames should be held back at most one per " + interval + " ms");
+        assertEquals(0, fanout.getDroppedMessages());
+
+        for (int i = 0; i < SpectatorFanout.MAX_DELAYED_MESSAGES; i++) {
+            fanout.publishMessage("event-" + i);
+        }
+        assertEquals(SpectatorFanout.MAX_DELAYED_MESSAGES, fanout.getHeldBackCount());
+        assertEquals(heldBack, fanout.getDroppedMessages());
+
+        // Released messages make room again
+        now += delay;
+        fanout.pump();
+        assertEquals(0, fanout.getHeldBackCount());
+        assertTrue(received.size() > 1);
+    }
+
+    @Test
+    @DisplayName("The pump should only be scheduled once started, and never after closing")
+    void testStartAndClose() {
+        SpectatorFanout fanout = new SpectatorFanout(0, () -> now, false);
+        assertFalse(fanout.isScheduled());
+        fanout.start();
+        fanout.start();
+        assertTrue(fanout.isScheduled());
+        fanout.close();
+        assertFalse(fanout.isScheduled());
+        fanout.start();
+        assertFalse(fanout.isScheduled(), "A closed fanout shouldn't start again");
+    }
+
+    @Test
+    @DisplayName("An unscheduled game should pump its spectators from its own ticks")
+    void testUnscheduledGamePumpsOnStep() {
+        GameConfig gameConfig = GameConfig.builder()
+                .enableAIFilling(false)
+                .maxPlayers(2)
+                .build();
+        GameManager game = new GameManager("spectated-unscheduled", gameConfig, new ObjectMapper(), false);
+        try {
+            assertFalse(game.getSpectatorFanout().isScheduled(), "Nothing should run for a game nobody started");
+            List<String> received = new ArrayList<>();
+            assertTrue(game.addPlayer(viewer(IdGenerator.nextPlayerId(), received, new AtomicBoolean(true))));
+            received.clear();
+            for (int i = 0; i < 3; i++) {
+                game.step(1.0 / 60.0);
+            }
+            assertFalse(received.isEmpty(), "Spectators should be sent the game's frames");
+        } finally {
+            game.shutdown();
+        }
+    }
+
+    private static PlayerSession viewer(int playerId, List<String> received, AtomicBoolean open) {
+        return viewer(playerId, received, open, new AtomicBoolean(true), null);
+    }
+
+    private static PlayerSession viewer(int playerId, List<String> received, AtomicBoolean open,
+                                        List<CompletableFuture<Object>> pending) {
+        return viewer(playerId, received, open, new AtomicBoolean(true), pending);
+    }
+
+    /**
+     * @param pending collects the futures of writes, which complete when the test says so, or null for
+     *                writes that complete straight away
+     */
+    private static PlayerSession viewer(int playerId, List<String> received, AtomicBoolean open,
+                                        AtomicBoolean writable, List<CompletableFuture<Object>> pending) {
+        WebSocketSession session = (WebSocketSession) Proxy.newProxyInstance(
+                SpectatorFanoutTest.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "sendAsync" -> {
+                        received.add((String) args[0]);
+                        if (pending == null) {
+                            yield CompletableFuture.completedFuture(args[0]);
+                        }
+                        CompletableFuture<Object> write = new CompletableFuture<>();
+                        pending.add(write);
+                        yield write;
+                    }
+                    case "isOpen" -> open.get();
+                    case "isWritable" -> writable.get();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestSession-" + playerId;
+                    default -> method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                });
+        PlayerSession playerSession = new PlayerSession(playerId, session);
+        playerSession.setSpectator(true);
+        return playerSession;
+    }
+}
@@ -0,0 +1,108 @@
+package com.fullsteam.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for interned weapon loadouts and the precomputed attribute tables.
+ */
+class WeaponLoadoutTest {
+
+    @Test
+    @DisplayName("Table lookups should match computed attribute values across each range")
+    void testAttributeTables() {
+        for (WeaponAttribute attribute : WeaponAttribute.values()) {
+            for (int points = attribute.getMin(); points <= attribute.getMax(); points++) {
+                assertEquals(attribute.compute(points), attribute.value(points), attribute + " at " + points);
+            }
+            assertThrows(IllegalArgumentException.class, () -> attribute.value(attribute.getMax() + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Identical configs should share one loadout while weapons keep their own ammo")
+    void testIdenticalConfigsShareLoadout() {
+        WeaponConfig copy = new WeaponConfig();
+        WeaponConfig preset = WeaponConfig.ROCKET_LAUNCHER_PRESET;
+        copy.setType(preset.getType());
+        copy.setDamage(preset.getDamage());
+        copy.setFireRate(preset.getFireRate());
+        copy.setRange(preset.getRange());
+        copy.setAccuracy(preset.getAccuracy());
+        copy.setMagazineSize(preset.getMagazineSize());
+        copy.setReloadTime(preset.getReloadTime());
+        copy.setProjectileSpeed(preset.getProjectileSpeed());
+        copy.setBulletsPerShot(preset.getBulletsPerShot());
+        copy.setLinearDamping(preset.getLinearDamping());
+        copy.setBulletEffects(Set.copyOf(preset.getBulletEffects()));
+        copy.setOrdinance(preset.getOrdinance());
+
+        Weapon first = preset.buildWeapon();
+        Weapon second = copy.buildWeapon();
+        assertSame(first.getLoadout(), second.getLoadout());
+
+        second.setCurrentAmmo(0);
+        assertNotEquals(0, first.getCurrentAmmo());
+        second.reload();
+        assertEquals(second.getMagazineSize(), second.getCurrentAmmo());
+        assertEquals(100, first.getLoadout().getTotalPoints());
+    }
+
+    @Test
+    @DisplayName("Changing a config after use should not change the loadout it already produced")
+    void testMutatedConfigGetsNewLoadout() {
+        WeaponConfig config = new WeaponConfig();
+        config.setType("Loadout Test");
+        config.setDamage(20);
+        WeaponLoadout before = WeaponLoadout.of(config);
+
+        config.setDamage(30);
+        WeaponLoadout after = WeaponLoadout.of(config);
+        assertNotSame(before, after);
+        assertEquals(30.0, before.getDamage());
+        assertEquals(40.0, after.getDamage());
+    }
+
+    @Test
+    @DisplayName("Over budget configs should be rejected every time and never interned")
+    void testOverBudgetRejected() {
+        WeaponConfig config = new WeaponConfig();
+        config.setType("Over Budget");
+        config.setDamage(40);
+        config.setFireRate(30);
+        config.setRange(35);
+        int interned = WeaponLoadout.internedCount();
+
+        assertThrows(IllegalArgumentException.class, config::buildWeapon);
+        assertThrows(IllegalArgumentException.class, config::buildWeapon);
+        assertEquals(interned, WeaponLoadout.internedCount());
+    }
+
+    @Test
+    @DisplayName("Bullet effects should iterate in declaration order, whatever order they were given in")
+    void testBulletEffectOrder() {
+        Set<BulletEffect> effects = BulletEffect.setOf(new LinkedHashSet<>(List.of(
+                BulletEffect.HOMING, BulletEffect.EXPLOSIVE, BulletEffect.FRAGMENTING, BulletEffect.INCENDIARY)));
+        assertEquals(List.of(BulletEffect.EXPLOSIVE, BulletEffect.INCENDIARY, BulletEffect.FRAGMENTING, BulletEffect.HOMING),
+                new ArrayList<>(effects));
+        assertSame(effects, BulletEffect.setOf(Set.of(BulletEffect.INCENDIARY, BulletEffect.HOMING,
+                BulletEffect.FRAGMENTING, BulletEffect.EXPLOSIVE)), "Equal combinations should be shared");
+        assertTrue(BulletEffect.setOf(List.of()).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> effects.add(BulletEffect.BOUNCY));
+
+        WeaponConfig config = new WeaponConfig();
+        config.setType("Ordered");
+        config.setDamage(10);
+        config.setBulletEffects(new HashSet<>(List.of(BulletEffect.PIERCING, BulletEffect.BOUNCY)));
+        assertEquals(List.of(BulletEffect.BOUNCY, BulletEffect.PIERCING),
+                new ArrayList<>(WeaponLoadout.of(config).getBulletEffects()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.BaseTestClass;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.model.Ordinance;
+import com.fullsteam.model.Rules;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the entity kind based collision dispatch in CollisionProcessor.
+ */
+class CollisionDispatchTest extends BaseTestClass {
+
+    private GameManager gameManager;
+    private CollisionProcessor collisionProcessor;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .rules(Rules.builder().addWorkshops(true).build())
+                .build();
+        gameManager = new GameManager("test_game", gameConfig, null);
+        collisionProcessor = new CollisionProcessor(gameManager, gameManager.getGameEntities());
+    }
+
+    private Projectile createProjectile(int ownerId, int ownerTeam) {
+        return new Projectile(ownerId, 0.0, 0.0, 10.0, 0.0, 25, 200.0, ownerTeam, 0.1, Set.of(), Ordinance.BULLET);
+    }
+
+    @Test
+    @DisplayName("Entities should be classified by their most specific kind")
+    void testEntityKinds() {
+        Player player = new Player(1, "Player", 0, 0, 1, 100.0);
+        Workshop workshop = gameManager.getGameEntities().getAllWorkshops().iterator().next();
+
+        assertEquals(EntityKind.PLAYER, player.getKind());
+        assertEquals(EntityKind.PROJECTILE, createProjectile(1, 1).getKind());
+        assertEquals(EntityKind.WORKSHOP, workshop.getKind(), "Workshops must not be treated as plain obstacles");
+    }
+
+    @Test
+    @DisplayName("Handlers should receive arguments in the same order regardless of collision order")
+    void testHandlerArgumentsAreSwapped() {
+        Player target = new Player(2, "Target", 0, 0, 2, 100.0);
+        gameManager.getGameEntities().addPlayer(target);
+
+        assertFalse(collisionProcessor.handleEntityCollision(target, createProjectile(1, 1)));
+        assertEquals(75, target.getHealth(), 0.001);
+
+        assertFalse(collisionProcessor.handleEntityCollision(createProjectile(1, 1), target));
+        assertEquals(50, target.getHealth(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Pairs that can never interact should be rejected in the broadphase")
+    void testIgnoredPairs() {
+        assertFalse(CollisionCategories.canInteract(EntityKind.PROJECTILE, EntityKind.WORKSHOP));
+        assertFalse(CollisionCategories.canInteract(EntityKind.WORKSHOP, EntityKind.PROJECTILE));
+        assertFalse(CollisionCategories.canInteract(EntityKind.FLAG, EntityKind.OBSTACLE));
+        assertFalse(CollisionCategories.canInteract(EntityKind.KOTH_ZONE, EntityKind.PROJECTILE));
+
+        assertTrue(CollisionCategories.canInteract(EntityKind.PLAYER, EntityKind.FLAG));
+        assertTrue(CollisionCategories.canInteract(EntityKind.PLAYER, EntityKind.OBSTACLE));
+        assertTrue(CollisionCategories.canInteract(EntityKind.NET_PROJECTILE, EntityKind.WORKSHOP));
+        assertTrue(CollisionCategories.canInteract(EntityKind.BEAM, EntityKind.TURRET));
+    }
+
+    @Test
+    @DisplayName("Nets should reach their handler for every kind of entity, sensors included")
+    void testNetsReachTheirHandler() {
+        for (EntityKind kind : EntityKind.values()) {
+            assertTrue(CollisionCategories.canInteract(EntityKind.NET_PROJECTILE, kind), "Nets should interact with " + kind);
+            assertTrue(CollisionCategories.canInteract(kind, EntityKind.NET_PROJECTILE), kind + " should interact with nets");
+        }
+
+        NetProjectile net = new NetProjectile(100, 1, 1, new Vector2(0, 0), new Vector2(100, 0), 2.0);
+        Flag flag = new Flag(101, 2, 0, 0);
+        assertTrue(collisionProcessor.handleEntityCollision(flag, net), "Nets pass through sensors");
+        assertTrue(net.isActive());
+
+        Obstacle obstacle = new Obstacle(102, 0, 0, Obstacle.ObstacleType.HOUSE);
+        assertFalse(collisionProcessor.handleEntityCollision(obstacle, net), "Nets stop at obstacles");
+        assertFalse(net.isActive());
+    }
+}
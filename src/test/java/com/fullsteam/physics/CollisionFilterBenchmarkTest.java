@@ -0,0 +1,143 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.model.Ordinance;
+import org.dyn4j.collision.CategoryFilter;
+import org.dyn4j.collision.Filter;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.dynamics.BodyFixture;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.world.ManifoldCollisionData;
+import org.dyn4j.world.World;
+import org.dyn4j.world.listener.CollisionListenerAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the collision category matrix and benchmarks world steps at high sensor density (power-ups
+ * lying around), with and without collision filters applied. Field effects aren't physics bodies, so
+ * they don't take part.
+ */
+public class CollisionFilterBenchmarkTest {
+
+    private static final int POWER_UPS = 300;
+    private static final int OBSTACLES = 60;
+    private static final int PROJECTILES = 300;
+    private static final int PLAYERS = 16;
+    private static final double AREA = 1500;
+    private static final int WARMUP_STEPS = 200;
+    private static final int MEASURED_STEPS = 600;
+
+    @Test
+    void testFiltersMatchInteractionMatrix() {
+        for (EntityKind a : EntityKind.values()) {
+            for (EntityKind b : EntityKind.values()) {
+                boolean allowed = CollisionCategories.filterFor(a).isAllowed(CollisionCategories.filterFor(b));
+                assertEquals(CollisionCategories.canInteract(a, b), allowed, a + " vs " + b);
+            }
+        }
+    }
+
+    @Test
+    void testFiltersAppliedOnCreation() {
+        PowerUp powerUp = createPowerUp(1, new Vector2(0, 0));
+        for (BodyFixture fixture : powerUp.getBody().getFixtures()) {
+            CategoryFilter filter = (CategoryFilter) fixture.getFilter();
+            assertEquals(CollisionCategories.category(EntityKind.POWER_UP), filter.getCategory());
+        }
+
+        Player player = new Player(3, "Player", 0, 0, 1, 100);
+        Obstacle obstacle = new Obstacle(2, 0, 0, Obstacle.ObstacleType.HOUSE);
+        assertFalse(powerUp.getBody().getFixture(0).getFilter().isAllowed(obstacle.getBody().getFixture(0).getFilter()));
+        assertTrue(powerUp.getBody().getFixture(0).getFilter().isAllowed(player.getBody().getFixture(0).getFilter()));
+    }
+
+    @Test
+    void benchmarkHighSensorDensity() {
+        Result unfiltered = measure(false);
+        Result filtered = measure(true);
+
+        assertTrue(filtered.manifolds <= unfiltered.manifolds,
+                "Filters should never produce more manifolds than no filters");
+
+        System.out.println("Collision filter benchmark (" + POWER_UPS + " power-ups, " + OBSTACLES + " obstacles, "
+                           + PROJECTILES + " projectiles, " + PLAYERS + " players)");
+        System.out.println("=====================================");
+        System.out.printf("Unfiltered: %.1f us/step, %d manifolds/step%n",
+                unfiltered.nanos / 1000.0 / MEASURED_STEPS, unfiltered.manifolds / MEASURED_STEPS);
+        System.out.printf("Filtered:   %.1f us/step, %d manifolds/step%n",
+                filtered.nanos / 1000.0 / MEASURED_STEPS, filtered.manifolds / MEASURED_STEPS);
+    }
+
+    private record Result(long nanos, long manifolds) {
+    }
+
+    private Result measure(boolean filtersEnabled) {
+        Random random = new Random(42);
+        World<Body> world = new World<>();
+        world.setGravity(World.ZERO_GRAVITY);
+
+        List<GameEntity> entities = new ArrayList<>();
+        for (int i = 0; i < POWER_UPS; i++) {
+            entities.add(createPowerUp(i, randomPosition(random)));
+        }
+        for (int i = 0; i < OBSTACLES; i++) {
+            Vector2 position = randomPosition(random);
+            entities.add(new Obstacle(POWER_UPS + i, position.x, position.y, Obstacle.ObstacleType.HOUSE));
+        }
+        for (int i = 0; i < PLAYERS; i++) {
+            Vector2 position = randomPosition(random);
+            entities.add(new Player(1000 + i, "Player" + i, position.x, position.y, i % 2 + 1, 100));
+        }
+        for (int i = 0; i < PROJECTILES; i++) {
+            entities.add(createProjectile(random));
+        }
+        for (GameEntity entity : entities) {
+            if (!filtersEnabled) {
+                for (BodyFixture fixture : entity.getBody().getFixtures()) {
+                    fixture.setFilter(Filter.DEFAULT_FILTER);
+                }
+            }
+            world.addBody(entity.getBody());
+        }
+
+        long[] manifolds = {0};
+        world.addCollisionListener(new CollisionListenerAdapter<>() {
+            @Override
+            public boolean collision(ManifoldCollisionData<Body, BodyFixture> collision) {
+                manifolds[0]++;
+                return false; // Keep everything moving freely so both runs do identical work
+            }
+        });
+
+        for (int i = 0; i < WARMUP_STEPS; i++) {
+            world.step(1);
+        }
+        manifolds[0] = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_STEPS; i++) {
+            world.step(1);
+        }
+        return new Result(System.nanoTime() - start, manifolds[0]);
+    }
+
+    private Vector2 randomPosition(Random random) {
+        return new Vector2(random.nextDouble() * AREA, random.nextDouble() * AREA);
+    }
+
+    private PowerUp createPowerUp(int id, Vector2 position) {
+        return new PowerUp(id, position, PowerUp.PowerUpType.SPEED_BOOST, -1, 10, 1.5);
+    }
+
+    private Projectile createProjectile(Random random) {
+        Vector2 position = randomPosition(random);
+        double angle = random.nextDouble() * Math.PI * 2;
+        return new Projectile(1, position.x, position.y, Math.cos(angle) * 100, Math.sin(angle) * 100,
+                10, 10_000, 1, 0, Set.of(), Ordinance.BULLET);
+    }
+}
@@ -0,0 +1,107 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.BaseTestClass;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.games.StatusEffectManager;
+import com.fullsteam.util.GameClock;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for timing wheel driven entity expiry and queued removal of deactivated entities.
+ */
+class EntityExpiryTest extends BaseTestClass {
+
+    private GameClock.SimulatedClock clock;
+    private GameEntities gameEntities;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        clock = GameClock.installSimulated(1_000_000L);
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .build();
+        GameManager gameManager = new GameManager("test_game", gameConfig, null);
+        gameEntities = gameManager.getGameEntities();
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameClock.uninstallSimulated();
+    }
+
+    @Test
+    @DisplayName("Entities should be removed on the first cleanup after they expire")
+    void testExpiredEntitiesRemoved() {
+        Turret turret = new Turret(1, 1, 1, new Vector2(0, 0), 1.0);
+        gameEntities.addTurret(turret);
+        gameEntities.getWorld().addBody(turret.getBody());
+
+        clock.advance(1000);
+        gameEntities.removeInactiveEntities();
+        assertTrue(gameEntities.getAllTurrets().contains(turret), "Not expired until after its lifespan");
+
+        clock.advance(16);
+        gameEntities.removeInactiveEntities();
+        assertTrue(gameEntities.getAllTurrets().isEmpty());
+        assertFalse(gameEntities.getWorld().containsBody(turret.getBody()));
+    }
+
+    @Test
+    @DisplayName("Extended lifetimes should be rescheduled rather than removed")
+    void testExtendedLifetimeRescheduled() {
+        TeleportPad pad = new TeleportPad(2, 1, 1, new Vector2(0, 0), 1.0);
+        gameEntities.addTeleportPad(pad);
+        pad.setExpires(pad.getExpires() + 5000);
+
+        clock.advance(2000);
+        gameEntities.removeInactiveEntities();
+        assertTrue(gameEntities.getAllTeleportPads().contains(pad));
+
+        clock.advance(5000);
+        gameEntities.removeInactiveEntities();
+        assertTrue(gameEntities.getAllTeleportPads().isEmpty());
+        assertFalse(pad.isActive(), "Expired pads should be destroyed");
+    }
+
+    @Test
+    @DisplayName("Deactivated entities should be removed without waiting for their expiry")
+    void testDeactivatedEntitiesRemoved() {
+        NetProjectile net = new NetProjectile(3, 1, 1, new Vector2(0, 0), new Vector2(100, 0), 10.0);
+        gameEntities.addNetProjectile(net);
+        Obstacle barrier = new Obstacle(4, 200, 200, Obstacle.ObstacleType.PLAYER_BARRIER, 1, 1, 30.0, 100.0);
+        gameEntities.addObstacle(barrier);
+
+        net.hitPlayer(new Player(5, "Target", 0, 0, 2, 100.0));
+        barrier.takeDamage(150.0);
+        gameEntities.removeInactiveEntities();
+
+        assertTrue(gameEntities.getAllNetProjectiles().isEmpty());
+        assertFalse(gameEntities.getAllObstacles().contains(barrier));
+    }
+
+    @Test
+    @DisplayName("Status effects should expire once their expiration passes")
+    void testStatusEffectsExpire() {
+        Player player = new Player(6, "Player", 0, 0, 1, 100.0);
+        StatusEffectManager.applyDamageBoost(player, 2.0, 1.0, "test");
+        StatusEffectManager.applyDamageResistance(player, 0.5, 3.0, "test");
+
+        clock.advance(1001);
+        player.update(0.016);
+        assertEquals(1, player.getAttributeModifications().size());
+        assertEquals(player.getWeapon().getDamage(), player.getWeaponDamage(), 0.0001);
+
+        clock.advance(2000);
+        player.update(0.016);
+        assertTrue(player.getAttributeModifications().isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.BaseTestClass;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.GameManager;
+import com.fullsteam.model.FieldEffect;
+import com.fullsteam.model.FieldEffectType;
+import com.fullsteam.model.Ordinance;
+import org.dyn4j.geometry.Vector2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the grid-based field effect overlap pass that replaces sensor contacts.
+ */
+class FieldEffectOverlapTest extends BaseTestClass {
+
+    private GameManager gameManager;
+    private GameEntities gameEntities;
+    private CollisionProcessor collisionProcessor;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .build();
+        gameManager = new GameManager("test_game", gameConfig, null);
+        gameEntities = gameManager.getGameEntities();
+        collisionProcessor = new CollisionProcessor(gameManager, gameEntities);
+    }
+
+    @Test
+    @DisplayName("Field effects should not be added to the physics world")
+    void testFieldEffectsStayOutOfPhysicsWorld() {
+        int bodies = gameEntities.getWorld().getBodyCount();
+        gameManager.getCollisionProcessor().getBulletEffectProcessor()
+                .createExplosion(new Projectile(1, 0, 0, 10, 0, 50, 200, 1, 0.1, Set.of(), Ordinance.BULLET),
+                        new Vector2(100, 100));
+
+        assertEquals(1, gameEntities.getAllFieldEffects().size());
+        assertEquals(bodies, gameEntities.getWorld().getBodyCount());
+    }
+
+    @Test
+    @DisplayName("Only players overlapping a field effect should be affected")
+    void testOverlapPassAffectsOnlyOverlappingPlayers() {
+        Player inside = new Player(10, "Inside", 500, 500, 2, 100.0);
+        Player outside = new Player(11, "Outside", 900, 900, 2, 100.0);
+        gameEntities.addPlayer(inside);
+        gameEntities.addPlayer(outside);
+        gameEntities.addFieldEffect(new FieldEffect(1, 1, FieldEffectType.FIRE, new Vector2(510, 500), 50, 30, 5, 1));
+
+        collisionProcessor.updateFieldEffects();
+
+        assertTrue(inside.getHealth() < 100.0, "Player inside the fire should take damage");
+        assertEquals(100.0, outside.getHealth(), 0.001, "Player outside the fire should not");
+    }
+
+    @Test
+    @DisplayName("Instant effects should only hit a player once")
+    void testInstantEffectAppliedOnce() {
+        Player target = new Player(10, "Target", 500, 500, 2, 100.0);
+        gameEntities.addPlayer(target);
+        gameEntities.addFieldEffect(new FieldEffect(1, 1, FieldEffectType.EXPLOSION, new Vector2(500, 500), 80, 20, 1, 1));
+
+        collisionProcessor.updateFieldEffects();
+        double afterFirst = target.getHealth();
+        collisionProcessor.updateFieldEffects();
+
+        assertTrue(afterFirst < 100.0);
+        assertEquals(afterFirst, target.getHealth(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Grid should return each field effect at most once per query")
+    void testGridCandidates() {
+        FieldEffectGrid grid = new FieldEffectGrid(64, 20);
+        FieldEffect large = new FieldEffect(1, 1, FieldEffectType.FIRE, new Vector2(0, 0), 200, 10, 5, 1);
+        FieldEffect far = new FieldEffect(2, 1, FieldEffectType.FIRE, new Vector2(2000, 2000), 10, 10, 5, 1);
+        grid.insert(large);
+        grid.insert(far);
+
+        List<FieldEffect> candidates = grid.candidates(150, 0);
+        assertEquals(1, candidates.size());
+        assertSame(large, candidates.get(0));
+        assertTrue(FieldEffectGrid.overlaps(large, 150, 0, 20));
+        assertFalse(FieldEffectGrid.overlaps(large, 230, 0, 20));
+
+        grid.clear();
+        assertTrue(grid.isEmpty());
+        assertTrue(grid.candidates(150, 0).isEmpty());
+    }
+}
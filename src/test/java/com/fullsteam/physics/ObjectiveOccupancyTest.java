@@ -0,0 +1,165 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.Config;
+import com.fullsteam.games.BaseTestClass;
+import com.fullsteam.games.GameConfig;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for event-driven occupancy of KOTH zones and workshops.
+ */
+class ObjectiveOccupancyTest extends BaseTestClass {
+
+    private World<Body> world;
+    private GameEntities gameEntities;
+    private CollisionProcessor collisionProcessor;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .build();
+        world = new World<>();
+        world.setGravity(World.ZERO_GRAVITY);
+        gameEntities = new GameEntities(gameConfig, world);
+        collisionProcessor = new CollisionProcessor(null, gameEntities);
+    }
+
+    @Test
+    @DisplayName("Zone control should follow players entering and leaving without being re-reported")
+    void testZoneControlFollowsEnterAndExit() {
+        KothZone zone = new KothZone(100, 0, 0, 0, 5.0);
+        gameEntities.addKothZone(zone);
+        Player first = addPlayer(1, 1, 10, 0);
+        Player second = addPlayer(2, 1, -10, 0);
+        Player rival = addPlayer(3, 2, 0, 10);
+
+        zone.addPlayer(first);
+        zone.addPlayer(second);
+        zone.addPlayer(first); // Already in the zone
+        assertEquals(2, zone.getTeamPlayerCount(1));
+
+        // Nobody is reported again, but everyone is still in the zone
+        for (int i = 0; i < 10; i++) {
+            collisionProcessor.updateKothZones(0.1);
+        }
+        assertEquals(KothZone.ZoneState.CONTROLLED, zone.getState());
+        assertEquals(1, zone.getControllingTeam());
+        assertEquals(5.0, zone.getTeamScore(1), 1e-9);
+
+        zone.addPlayer(rival);
+        collisionProcessor.updateKothZones(0.1);
+        assertEquals(KothZone.ZoneState.CONTESTED, zone.getState());
+        assertEquals(5.0, zone.getTeamScore(1), 1e-9);
+
+        // The rival walks away and one teammate dies
+        rival.getBody().getTransform().setTranslation(500, 500);
+        second.setHealth(0);
+        collisionProcessor.updateKothZones(0.1);
+        assertEquals(KothZone.ZoneState.CONTROLLED, zone.getState());
+        assertEquals(1, zone.getTeamPlayerCount(1));
+        assertEquals(0, zone.getTeamPlayerCount(2));
+        assertEquals(1, zone.getTotalPlayerCount());
+
+        // The last player leaves the game
+        gameEntities.removePlayer(first.getId());
+        collisionProcessor.updateKothZones(0.1);
+        assertEquals(KothZone.ZoneState.NEUTRAL, zone.getState());
+        assertEquals(0, zone.getTotalPlayerCount());
+    }
+
+    @Test
+    @DisplayName("Control should be counted by the team a player entered for")
+    void testTeamChangeInsideZone() {
+        KothZone zone = new KothZone(100, 0, 0, 0, 5.0);
+        gameEntities.addKothZone(zone);
+        Player player = addPlayer(1, 1, 0, 0);
+
+        zone.addPlayer(player);
+        player.setTeam(2);
+        zone.removePlayer(player);
+        zone.update(0.1);
+        assertEquals(0, zone.getTeamPlayerCount(1));
+        assertEquals(KothZone.ZoneState.NEUTRAL, zone.getState());
+    }
+
+    @Test
+    @DisplayName("Crafting progress should survive one update after leaving and be kept on return")
+    void testWorkshopDepartureGrace() {
+        Workshop workshop = new Workshop(100, new Vector2(0, 0), 5.0, 3);
+        gameEntities.addWorkshop(workshop);
+        Player player = addPlayer(1, 1, 0, 0);
+
+        workshop.addPlayer(player);
+        workshop.incrementProgress(player, 1.0);
+        collisionProcessor.updateWorkshops(0.1);
+        assertEquals(1, workshop.getActiveCrafters(), "Still at the workshop");
+
+        // Step out and straight back in
+        player.getBody().getTransform().setTranslation(300, 0);
+        collisionProcessor.updateWorkshops(0.1);
+        assertEquals(0, workshop.getActiveCrafters());
+        player.getBody().getTransform().setTranslation(0, 0);
+        workshop.addPlayer(player);
+        collisionProcessor.updateWorkshops(0.1);
+        assertEquals(0.2, workshop.getAllCraftingProgress().get(player.getId()), 1e-9);
+
+        // Step out for good
+        player.getBody().getTransform().setTranslation(300, 0);
+        collisionProcessor.updateWorkshops(0.1);
+        collisionProcessor.updateWorkshops(0.1);
+        assertTrue(workshop.getAllCraftingProgress().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Players should be at the workshop while touching its rectangle, not its bounding circle")
+    void testWorkshopReachFollowsItsRectangle() {
+        Workshop workshop = new Workshop(100, new Vector2(0, 0), 5.0, 3);
+        gameEntities.addWorkshop(workshop);
+        double r = Config.PLAYER_RADIUS;
+        Player besideEnd = addPlayer(1, 1, r * 2.9, 0);
+        Player aboveSide = addPlayer(2, 1, 0, r * 2.5);
+        Player nearCorner = addPlayer(3, 1, r * 2.6, r * 1.5);
+
+        workshop.addPlayer(besideEnd);
+        workshop.addPlayer(aboveSide);
+        workshop.addPlayer(nearCorner);
+        collisionProcessor.updateWorkshops(0.1);
+        // Above the long side is within the rectangle's bounding circle plus a player radius, but not touching
+        assertEquals(Set.of(besideEnd, nearCorner), workshop.getPresentPlayers());
+    }
+
+    @Test
+    @DisplayName("Only neutral flags should be indexed as oddballs")
+    void testOddballIndex() {
+        Flag flag = new Flag(100, 1, 0, 0);
+        Flag oddball = new Flag(101, 0, 0, 0);
+        gameEntities.addFlag(flag);
+        gameEntities.addFlag(oddball);
+        world.addBody(flag.getBody());
+        world.addBody(oddball.getBody());
+        assertEquals(1, gameEntities.getAllOddballs().size());
+        assertSame(oddball, gameEntities.getAllOddballs().iterator().next());
+
+        gameEntities.removeFlag(101);
+        assertTrue(gameEntities.getAllOddballs().isEmpty());
+        assertEquals(1, gameEntities.getAllFlags().size());
+    }
+
+    private Player addPlayer(int id, int team, double x, double y) {
+        Player player = new Player(id, "Player" + id, x, y, team, 100.0);
+        gameEntities.addPlayer(player);
+        return player;
+    }
+}
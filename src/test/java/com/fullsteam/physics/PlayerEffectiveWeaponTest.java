@@ -0,0 +1,74 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.games.StatusEffectManager;
+import com.fullsteam.model.Weapon;
+import com.fullsteam.model.WeaponConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cached effective weapon on Player.
+ */
+class PlayerEffectiveWeaponTest {
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = new Player(1, "Player", 0, 0, 1, 100.0);
+    }
+
+    @Test
+    @DisplayName("Without modifications the primary weapon is returned as-is")
+    void testNoModificationsReturnsPrimaryWeapon() {
+        assertSame(player.getWeapon(), player.getCurrentWeapon());
+        assertEquals(player.getWeapon().getDamage(), player.getWeaponDamage(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Modified weapon should be built once and reused")
+    void testModifiedWeaponIsCached() {
+        double baseDamage = player.getWeapon().getDamage();
+        StatusEffectManager.applyDamageBoost(player, 2.0, 10, "test");
+
+        Weapon first = player.getCurrentWeapon();
+        Weapon second = player.getCurrentWeapon();
+        assertSame(first, second);
+        assertNotSame(player.getWeapon(), first);
+        assertEquals(baseDamage * 2.0, player.getWeaponDamage(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Cached weapon should mirror the primary weapon's ammo")
+    void testCachedWeaponTracksAmmo() {
+        StatusEffectManager.applyDamageBoost(player, 2.0, 10, "test");
+        player.getCurrentWeapon();
+
+        player.getWeapon().setCurrentAmmo(3);
+        assertEquals(3, player.getCurrentAmmo());
+        assertEquals(3, player.getCurrentWeapon().getCurrentAmmo());
+    }
+
+    @Test
+    @DisplayName("Cache should be invalidated when modifications or the weapon change")
+    void testCacheInvalidation() {
+        StatusEffectManager.applyDamageBoost(player, 2.0, 10, "test");
+        Weapon boosted = player.getCurrentWeapon();
+
+        player.setWeapon(WeaponConfig.ASSAULT_RIFLE_PRESET.buildWeapon());
+        assertNotSame(boosted, player.getCurrentWeapon());
+        assertEquals(player.getWeapon().getDamage() * 2.0, player.getWeaponDamage(), 0.0001);
+
+        player.removeAttributeModifications(am -> "damageBoost".equals(am.uniqueKey()));
+        assertSame(player.getWeapon(), player.getCurrentWeapon());
+    }
+
+    @Test
+    @DisplayName("Attribute modifications should only be changed through the player")
+    void testModificationsViewIsReadOnly() {
+        assertThrows(UnsupportedOperationException.class, () -> player.getAttributeModifications().clear());
+    }
+}
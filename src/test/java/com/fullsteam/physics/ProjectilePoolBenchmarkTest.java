@@ -0,0 +1,136 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.model.BulletEffect;
+import com.fullsteam.model.Ordinance;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.geometry.Vector2;
+import org.dyn4j.world.World;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that recycled projectile bodies come back fully reset, and benchmarks firing and despawning
+ * projectiles with and without the pool.
+ */
+public class ProjectilePoolBenchmarkTest {
+
+    private static final int SHOTS_PER_STEP = 64;
+    private static final int LIFETIME_STEPS = 8;
+    private static final int WARMUP_STEPS = 500;
+    private static final int MEASURED_STEPS = 2000;
+
+    @Test
+    void testRecycledBodiesAreReset() {
+        World<Body> world = new World<>();
+        world.setGravity(World.ZERO_GRAVITY);
+        ProjectilePool pool = new ProjectilePool();
+
+        Projectile first = new Projectile(1, 10, 20, 300, 0, 10, 500, 1, 0.1, Set.of(BulletEffect.BOUNCY), Ordinance.BULLET, pool);
+        world.addBody(first.getBody());
+        first.getBody().applyForce(new Vector2(50, 50));
+        world.step(5);
+        first.setActive(false);
+        world.removeBody(first.getBody());
+        pool.release(first);
+        assertEquals(0, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(1, pool.getIdleCount());
+
+        Projectile second = new Projectile(2, -40, 5, 0, -200, 10, 500, 2, 0.3, Set.of(), Ordinance.BULLET, pool);
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getIdleCount());
+
+        Body body = second.getBody();
+        assertSame(second, body.getUserData());
+        assertEquals(-40, body.getTransform().getTranslationX(), 1e-9);
+        assertEquals(5, body.getTransform().getTranslationY(), 1e-9);
+        assertEquals(0, body.getTransform().getRotationAngle(), 1e-9);
+        assertEquals(0, body.getLinearVelocity().x, 1e-9);
+        assertEquals(-200, body.getLinearVelocity().y, 1e-9);
+        assertEquals(0, body.getAngularVelocity(), 1e-9);
+        assertEquals(0.3, body.getLinearDamping(), 1e-9);
+        assertEquals(0.0, body.getFixture(0).getRestitution(), 1e-9, "Bounciness should not carry over");
+        assertTrue(second.isActive());
+        assertTrue(body.isEnabled());
+
+        // Bodies are sized per ordinance, so another ordinance must not reuse this one
+        world.removeBody(second.getBody());
+        pool.release(second);
+        Projectile rocket = new Projectile(3, 0, 0, 100, 0, 10, 500, 1, 0, Set.of(), Ordinance.ROCKET, pool);
+        assertNotSame(body, rocket.getBody());
+        assertEquals(2, pool.getMisses());
+    }
+
+    @Test
+    void testProjectilesRecordEachHitOnce() {
+        Projectile projectile = new Projectile(1, 0, 0, 100, 0, 10, 500, 1, 0, Set.of(), Ordinance.BULLET);
+        assertTrue(projectile.markPlayerHit(5));
+        assertFalse(projectile.markPlayerHit(5));
+        assertTrue(projectile.markObstacleHit(5));
+        assertFalse(projectile.markObstacleHit(5));
+    }
+
+    @Test
+    void benchmarkFiringThroughput() {
+        long unpooled = measure(null);
+        ProjectilePool pool = new ProjectilePool();
+        long pooled = measure(pool);
+
+        assertTrue(pool.getHitRate() > 0.9, "Steady fire should almost always reuse a body: " + pool.getHitRate());
+
+        long shots = (long) SHOTS_PER_STEP * MEASURED_STEPS;
+        System.out.println("Projectile pool benchmark (" + SHOTS_PER_STEP + " shots/step, "
+                           + LIFETIME_STEPS + " step lifetime)");
+        System.out.println("=====================================");
+        System.out.printf("Unpooled: %.0f ns/shot%n", (double) unpooled / shots);
+        System.out.printf("Pooled:   %.0f ns/shot, hit rate %.3f%n", (double) pooled / shots, pool.getHitRate());
+    }
+
+    /**
+     * Fire a steady stream of projectiles into a world, stepping it and despawning each projectile after
+     * a fixed number of steps, the way the game loop does.
+     *
+     * @return nanoseconds spent in the measured steps
+     */
+    private long measure(ProjectilePool pool) {
+        Random random = new Random(42);
+        World<Body> world = new World<>();
+        world.setGravity(World.ZERO_GRAVITY);
+        List<List<Projectile>> inFlight = new ArrayList<>();
+        for (int i = 0; i < LIFETIME_STEPS; i++) {
+            inFlight.add(new ArrayList<>());
+        }
+
+        long start = 0;
+        for (int step = 0; step < WARMUP_STEPS + MEASURED_STEPS; step++) {
+            if (step == WARMUP_STEPS) {
+                start = System.nanoTime();
+            }
+            List<Projectile> expiring = inFlight.get(step % LIFETIME_STEPS);
+            for (Projectile projectile : expiring) {
+                world.removeBody(projectile.getBody());
+                if (pool != null) {
+                    pool.release(projectile);
+                }
+            }
+            expiring.clear();
+
+            for (int i = 0; i < SHOTS_PER_STEP; i++) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                Projectile projectile = new Projectile(1, random.nextDouble() * 1000, random.nextDouble() * 1000,
+                        Math.cos(angle) * 400, Math.sin(angle) * 400, 10, 10_000, 1, 0, Set.of(), Ordinance.BULLET, pool);
+                world.addBody(projectile.getBody());
+                expiring.add(projectile);
+            }
+            world.step(1);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,134 @@
+package com.fullsteam.physics;
+
+import com.fullsteam.games.BaseTestClass;
+import com.fullsteam.games.GameConfig;
+import com.fullsteam.games.RaycastService;
+import com.fullsteam.model.BulletEffect;
+import com.fullsteam.model.Ordinance;
+import org.dyn4j.dynamics.Body;
+import org.dyn4j.world.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for swept hit tests of fast projectiles and per-ordinance continuous collision detection.
+ */
+class ProjectileSweepTest extends BaseTestClass {
+
+    private static final double STEP = 1.0 / 60.0;
+
+    private World<Body> world;
+    private GameEntities gameEntities;
+    private CollisionProcessor collisionProcessor;
+    private RaycastService raycastService;
+    private Obstacle barrier;
+
+    @Override
+    @BeforeEach
+    protected void baseSetUp() {
+        GameConfig gameConfig = GameConfig.builder()
+                .teamCount(2)
+                .enableAIFilling(false)
+                .build();
+        world = new World<>();
+        world.setGravity(World.ZERO_GRAVITY);
+        gameEntities = new GameEntities(gameConfig, world);
+        collisionProcessor = new CollisionProcessor(null, gameEntities);
+        raycastService = new RaycastService(gameEntities, world);
+
+        // 80 wide along x, 10 thick along y, centered on the origin
+        barrier = new Obstacle(100, 0, 0, Obstacle.ObstacleType.PLAYER_BARRIER, 50, 1, 30.0, 100.0);
+        barrier.setRotation(0);
+        gameEntities.addObstacle(barrier);
+        world.addBody(barrier.getBody());
+    }
+
+    @Test
+    @DisplayName("A projectile fast enough to skip over a thin barrier in one step should still hit it")
+    void testFastProjectileHitsThinBarrier() {
+        // Travels 20 units this step: from 12 below the barrier to 8 above it, never overlapping it
+        Projectile dart = fire(Ordinance.DART, Set.of(), -12, 1200);
+
+        collisionProcessor.sweepProjectiles(STEP, raycastService);
+
+        assertFalse(dart.isActive());
+        assertEquals(90.0, barrier.getHealth(), 1e-9);
+        assertEquals(-5.0, dart.getBody().getTransform().getTranslationY(), 0.01,
+                "Projectile should be moved to the point of impact");
+    }
+
+    @Test
+    @DisplayName("Piercing projectiles should hit everything on their path once and keep their position")
+    void testPiercingProjectileContinues() {
+        Player target = new Player(7, "Target", 0, 30, 1, 100.0);
+        gameEntities.addPlayer(target);
+        world.addBody(target.getBody());
+
+        // Travels 60 units this step, through the barrier and into the player
+        Projectile dart = fire(Ordinance.DART, Set.of(BulletEffect.PIERCING), -12, 3600);
+        collisionProcessor.sweepProjectiles(STEP, raycastService);
+
+        assertTrue(dart.isActive());
+        assertEquals(-12.0, dart.getBody().getTransform().getTranslationY(), 1e-9);
+        assertEquals(90.0, barrier.getHealth(), 1e-9);
+        assertEquals(90.0, target.getHealth(), 1e-9);
+
+        // Physics reporting the same contacts later must not hit again
+        assertFalse(collisionProcessor.handleEntityCollision(dart, target));
+        assertEquals(90.0, target.getHealth(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Slow projectiles and projectiles short of their target should be left to physics")
+    void testSlowAndDistantProjectilesUntouched() {
+        Projectile slow = fire(Ordinance.BULLET, Set.of(), -12, 120);
+        Projectile distant = fire(Ordinance.DART, Set.of(), -200, 1200);
+
+        collisionProcessor.sweepProjectiles(STEP, raycastService);
+
+        assertTrue(slow.isActive());
+        assertTrue(distant.isActive());
+        assertEquals(100.0, barrier.getHealth(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Only fast projectiles that can't be swept should use physics CCD")
+    void testBulletFlagPerOrdinance() {
+        Projectile dart = fire(Ordinance.DART, Set.of(), -300, 1200);
+        Projectile fastRocket = fire(Ordinance.ROCKET, Set.of(), -300, 1200);
+        Projectile slowRocket = fire(Ordinance.ROCKET, Set.of(), -300, 120);
+        Projectile bouncyDart = fire(Ordinance.DART, Set.of(BulletEffect.BOUNCY), -300, 1200);
+
+        collisionProcessor.sweepProjectiles(STEP, raycastService);
+
+        assertFalse(dart.getBody().isBullet(), "Swept instead");
+        assertTrue(fastRocket.getBody().isBullet());
+        assertFalse(slowRocket.getBody().isBullet(), "Too slow to tunnel");
+        assertTrue(bouncyDart.getBody().isBullet(), "Bouncing projectiles can't be swept as a straight line");
+    }
+
+    @Test
+    @DisplayName("Physics CCD should be decided from the length of the actual step")
+    void testBulletFlagFollowsStepLength() {
+        // Covers 5 units in a 60th of a second, less than its 8 unit diameter, but 15 in a 20th
+        Projectile rocket = fire(Ordinance.ROCKET, Set.of(), -300, 300);
+
+        collisionProcessor.sweepProjectiles(STEP, raycastService);
+        assertFalse(rocket.getBody().isBullet());
+
+        collisionProcessor.sweepProjectiles(1.0 / 20.0, raycastService);
+        assertTrue(rocket.getBody().isBullet(), "A longer step lets the same projectile tunnel");
+    }
+
+    private Projectile fire(Ordinance ordinance, Set<BulletEffect> effects, double y, double speed) {
+        Projectile projectile = new Projectile(1, 0, y, 0, speed, 10, 10_000, 2, 0, effects, ordinance);
+        gameEntities.addProjectile(projectile);
+        world.addBody(projectile.getBody());
+        return projectile;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fullsteam.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hierarchical tick timing wheel.
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Items should fire exactly on their due tick across all levels")
+    void testItemsFireOnDueTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000);
+        Random random = new Random(7);
+        List<Long> dueTicks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Spread over level 0 through level 2, plus a few far out in level 3
+            long due = 1001 + (i % 50 == 0 ? random.nextInt(400_000) : random.nextInt(20_000));
+            dueTicks.add(due);
+            wheel.schedule(due, due);
+        }
+
+        long[] tick = {1000};
+        List<Long> fired = new ArrayList<>();
+        while (!wheel.isEmpty()) {
+            tick[0] += 1 + random.nextInt(3);
+            wheel.advance(tick[0], due -> {
+                assertTrue(due <= tick[0], "Fired before due");
+                assertTrue(due > tick[0] - 3, "Fired late: due " + due + " at " + tick[0]);
+                fired.add(due);
+            });
+        }
+
+        assertEquals(dueTicks.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Items beyond the last level should wait in overflow until due")
+    void testOverflowItemsFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        long farTick = (1L << 24) + 12345;
+        wheel.schedule(farTick, "far");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(farTick - 1, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(farTick, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    @DisplayName("Past due items should fire on the next advance, and rescheduling from the consumer should work")
+    void testPastDueAndReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule(50, "late");
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(101, item -> {
+            fired.add(item);
+            if (fired.size() == 1) {
+                wheel.schedule(105, "again");
+            }
+        });
+        assertEquals(List.of("late"), fired);
+
+        wheel.advance(104, fired::add);
+        assertEquals(1, fired.size());
+        wheel.advance(105, fired::add);
+        assertEquals(List.of("late", "again"), fired);
+    }
+
+    @Test
+    @DisplayName("An empty wheel should skip ahead without visiting every tick")
+    void testEmptyWheelSkipsAhead() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.advance(1_000_000_000L, item -> fail("Nothing scheduled"));
+        assertEquals(1_000_000_000L, wheel.getCurrentTick());
+
+        wheel.schedule(1_000_000_010L, "soon");
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_000_000_010L, fired::add);
+        assertEquals(List.of("soon"), fired);
+    }
+}